@@ -46,6 +46,8 @@ import org.springframework.data.gemfire.config.annotation.support.AbstractAnnota
 import org.springframework.data.gemfire.listener.ContinuousQueryDefinition;
 import org.springframework.data.gemfire.listener.ContinuousQueryListenerContainer;
 import org.springframework.data.gemfire.listener.annotation.ContinuousQuery;
+import org.springframework.data.gemfire.listener.support.ContinuousQueryMetrics;
+import org.springframework.data.gemfire.listener.support.KeyOrderedEventDispatcher;
 import org.springframework.data.gemfire.util.CacheUtils;
 import org.springframework.util.Assert;
 import org.springframework.util.ErrorHandler;
@@ -82,11 +84,16 @@ public class ContinuousQueryConfiguration extends AbstractAnnotationConfigSuppor
 	protected static final String ORG_SPRINGFRAMEWORK_PACKAGE_NAME = "org.springframework";
 
 	private int phase;
+	private int registrationConcurrency = ContinuousQueryListenerContainer.DEFAULT_REGISTRATION_CONCURRENCY;
+
+	private long registrationStaggerInterval;
 
 	@Autowired(required = false)
 	private List<ContinuousQueryListenerContainerConfigurer> configurers = Collections.emptyList();
 
 	private String errorHandlerBeanName;
+	private String eventDispatcherBeanName;
+	private String metricsBeanName;
 	private String poolName;
 	private String queryServiceBeanName;
 	private String taskExecutorBeanName;
@@ -115,9 +122,13 @@ public class ContinuousQueryConfiguration extends AbstractAnnotationConfigSuppor
 			AnnotationAttributes enableContinuousQueriesAttributes = getAnnotationAttributes(importingClassMetadata);
 
 			setErrorHandlerBeanName(enableContinuousQueriesAttributes.getString("errorHandlerBeanName"));
+			setEventDispatcherBeanName(enableContinuousQueriesAttributes.getString("eventDispatcherBeanName"));
+			setMetricsBeanName(enableContinuousQueriesAttributes.getString("metricsBeanName"));
 			setPhase(enableContinuousQueriesAttributes.<Integer>getNumber("phase"));
 			setPoolName(enableContinuousQueriesAttributes.getString("poolName"));
 			setQueryServiceBeanName(enableContinuousQueriesAttributes.getString("queryServiceBeanName"));
+			setRegistrationConcurrency(enableContinuousQueriesAttributes.<Integer>getNumber("registrationConcurrency"));
+			setRegistrationStaggerInterval(enableContinuousQueriesAttributes.<Long>getNumber("registrationStaggerInterval"));
 			setTaskExecutorBeanName(enableContinuousQueriesAttributes.getString("taskExecutorBeanName"));
 		}
 	}
@@ -205,11 +216,16 @@ public class ContinuousQueryConfiguration extends AbstractAnnotationConfigSuppor
 		container.setContinuousQueryListenerContainerConfigurers(resolveContinuousQueryListenerContainerConfigurers());
 
 		resolveErrorHandler().ifPresent(container::setErrorHandler);
+		resolveEventDispatcher().ifPresent(container::setEventDispatcher);
+		resolveMetrics().ifPresent(container::setMetrics);
 		resolvePhase().ifPresent(container::setPhase);
 		resolvePoolName().ifPresent(container::setPoolName);
 		resolveQueryService().ifPresent(container::setQueryService);
 		resolveTaskExecutor().ifPresent(container::setTaskExecutor);
 
+		container.setRegistrationConcurrency(getRegistrationConcurrency());
+		container.setRegistrationStaggerInterval(getRegistrationStaggerInterval());
+
 		return container;
 	}
 
@@ -240,6 +256,21 @@ public class ContinuousQueryConfiguration extends AbstractAnnotationConfigSuppor
 			.map(errorHandlerBeanName -> getBeanFactory().getBean(errorHandlerBeanName, ErrorHandler.class));
 	}
 
+	protected Optional<KeyOrderedEventDispatcher> resolveEventDispatcher() {
+
+		return Optional.ofNullable(getEventDispatcherBeanName())
+			.filter(StringUtils::hasText)
+			.map(eventDispatcherBeanName ->
+				getBeanFactory().getBean(eventDispatcherBeanName, KeyOrderedEventDispatcher.class));
+	}
+
+	protected Optional<ContinuousQueryMetrics> resolveMetrics() {
+
+		return Optional.ofNullable(getMetricsBeanName())
+			.filter(StringUtils::hasText)
+			.map(metricsBeanName -> getBeanFactory().getBean(metricsBeanName, ContinuousQueryMetrics.class));
+	}
+
 	protected Optional<Integer> resolvePhase() {
 		return Optional.of(getPhase()).filter(phase -> phase != 0);
 	}
@@ -270,6 +301,22 @@ public class ContinuousQueryConfiguration extends AbstractAnnotationConfigSuppor
 		return this.errorHandlerBeanName;
 	}
 
+	public void setEventDispatcherBeanName(String eventDispatcherBeanName) {
+		this.eventDispatcherBeanName = eventDispatcherBeanName;
+	}
+
+	protected String getEventDispatcherBeanName() {
+		return this.eventDispatcherBeanName;
+	}
+
+	public void setMetricsBeanName(String metricsBeanName) {
+		this.metricsBeanName = metricsBeanName;
+	}
+
+	protected String getMetricsBeanName() {
+		return this.metricsBeanName;
+	}
+
 	public void setPhase(int phase) {
 		this.phase = phase;
 	}
@@ -294,6 +341,22 @@ public class ContinuousQueryConfiguration extends AbstractAnnotationConfigSuppor
 		return this.queryServiceBeanName;
 	}
 
+	public void setRegistrationConcurrency(int registrationConcurrency) {
+		this.registrationConcurrency = registrationConcurrency;
+	}
+
+	protected int getRegistrationConcurrency() {
+		return this.registrationConcurrency;
+	}
+
+	public void setRegistrationStaggerInterval(long registrationStaggerInterval) {
+		this.registrationStaggerInterval = registrationStaggerInterval;
+	}
+
+	protected long getRegistrationStaggerInterval() {
+		return this.registrationStaggerInterval;
+	}
+
 	public void setTaskExecutorBeanName(String taskExecutorBeanName) {
 		this.taskExecutorBeanName = taskExecutorBeanName;
 	}
@@ -65,6 +65,22 @@ public @interface EnableContinuousQueries {
 	 */
 	String errorHandlerBeanName() default "";
 
+	/**
+	 * Refers to the name of the declared {@link org.springframework.data.gemfire.listener.support.KeyOrderedEventDispatcher}
+	 * bean used to process CQ events in key order, in place of the {@link #taskExecutorBeanName() Task Executor}.
+	 *
+	 * Defaults to unset.
+	 */
+	String eventDispatcherBeanName() default "";
+
+	/**
+	 * Refers to the name of the declared {@link org.springframework.data.gemfire.listener.support.ContinuousQueryMetrics}
+	 * bean recording the metrics of each CQ.
+	 *
+	 * Defaults to unset.
+	 */
+	String metricsBeanName() default "";
+
 	/**
 	 * Defines the Spring container lifecycle phase in which the SDG {@link ContinuousQueryListenerContainer}
 	 * will be started on auto-start.
@@ -87,6 +103,22 @@ public @interface EnableContinuousQueries {
 	 */
 	String queryServiceBeanName() default "";
 
+	/**
+	 * Defines the maximum number of CQs executed (registered with the servers) concurrently
+	 * when the SDG {@link ContinuousQueryListenerContainer} starts.
+	 *
+	 * Defaults to {@literal 1}.
+	 */
+	int registrationConcurrency() default ContinuousQueryListenerContainer.DEFAULT_REGISTRATION_CONCURRENCY;
+
+	/**
+	 * Defines the upper bound, in milliseconds, of the random delay applied before executing each CQ
+	 * when the SDG {@link ContinuousQueryListenerContainer} starts.
+	 *
+	 * Defaults to {@literal 0} (no delay).
+	 */
+	long registrationStaggerInterval() default 0L;
+
 	/**
 	 * Refers to the name of the {@link Executor} bean used to process CQ events asynchronously.
 	 *
@@ -57,8 +57,12 @@ class GemfireListenerContainerParser extends AbstractSingleBeanDefinitionParser
 		ParsingUtils.setPropertyValue(element, builder, "auto-startup");
 		ParsingUtils.setPropertyValue(element, builder, "phase");
 		ParsingUtils.setPropertyValue(element, builder, "pool-name");
+		ParsingUtils.setPropertyValue(element, builder, "registration-concurrency");
+		ParsingUtils.setPropertyValue(element, builder, "registration-stagger-interval");
 		ParsingUtils.setPropertyReference(element, builder, "error-handler", "errorHandler");
 		ParsingUtils.setPropertyReference(element, builder, "task-executor", "taskExecutor");
+		ParsingUtils.setPropertyReference(element, builder, "event-dispatcher", "eventDispatcher");
+		ParsingUtils.setPropertyReference(element, builder, "metrics", "metrics");
 
 		// parse nested Continuous Query Listeners
 		List<Element> listenerElements = DomUtils.getChildElementsByTagName(element, "listener");
@@ -113,6 +117,10 @@ class GemfireListenerContainerParser extends AbstractSingleBeanDefinitionParser
 			continuousQueryBuilder.addConstructorArgValue(attribute);
 		}
 
+		ParsingUtils.setPropertyValue(element, continuousQueryBuilder, "batch-size");
+		ParsingUtils.setPropertyValue(element, continuousQueryBuilder, "batch-time-interval");
+		ParsingUtils.setPropertyValue(element, continuousQueryBuilder, "execute-with-initial-results");
+
 		return continuousQueryBuilder.getBeanDefinition();
 	}
 }
@@ -48,6 +48,10 @@ class GemfireRegionAutoProxyParser implements BeanDefinitionParser {
 
 		ParsingUtils.setPropertyValue(element, jsonRegionAdviceBuilder, "pretty-print");
 		ParsingUtils.setPropertyValue(element, jsonRegionAdviceBuilder, "convert-returned-collections");
+		ParsingUtils.setPropertyValue(element, jsonRegionAdviceBuilder, "streaming");
+		ParsingUtils.setPropertyValue(element, jsonRegionAdviceBuilder, "stream-query-results");
+		ParsingUtils.setPropertyValue(element, jsonRegionAdviceBuilder, "parallel-conversion-threshold");
+		ParsingUtils.setPropertyValue(element, jsonRegionAdviceBuilder, "put-all-chunk-size");
 
 		String regionNames = element.getAttribute("included-regions");
 
@@ -14,60 +14,97 @@ package org.springframework.data.gemfire.function;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.apache.geode.cache.execute.ResultSender;
+import org.apache.geode.cache.util.ObjectSizer;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 
 /**
- * Sends collection results using a {@link ResultSender} in chunks determined by batchSize
+ * Sends collection results using a {@link ResultSender} in chunks determined by batchSize and, optionally,
+ * by the approximate serialized size in bytes of each chunk.
+ *
+ * {@link Stream Streams} and {@link Iterator Iterators} are consumed lazily, one chunk at a time.  The final chunk
+ * is always sent with {@link ResultSender#lastResult(Object)}, even when the results are empty.
  *
  * @author David Turanski
  * @since 1.3.0
  */
 class BatchingResultSender  {
+
+	private static final int DEFAULT_CHUNK_CAPACITY = 16;
+	private static final int MAX_CHUNK_CAPACITY = 1024;
+
 	private final int batchSize;
+
+	private final long batchBytes;
+
 	private ResultSender<Object> resultSender;
 
 	public BatchingResultSender(int batchSize, ResultSender<Object> resultSender) {
+		this(batchSize, 0L, resultSender);
+	}
+
+	/**
+	 * @param batchSize maximum number of results in a chunk; {@literal 0} does not limit chunks by count.
+	 * @param batchBytes maximum approximate serialized size in bytes of a chunk; {@literal 0} does not limit chunks
+	 * by size.  A chunk always contains at least one result.
+	 * @param resultSender {@link ResultSender} used to send the chunks.
+	 */
+	public BatchingResultSender(int batchSize, long batchBytes, ResultSender<Object> resultSender) {
 		Assert.notNull(resultSender, "resultSender cannot be null");
 		Assert.isTrue(batchSize >= 0, "batchSize must be >= 0");
+		Assert.isTrue(batchBytes >= 0, "batchBytes must be >= 0");
 		this.batchSize = batchSize;
+		this.batchBytes = batchBytes;
 		this.resultSender = resultSender;
 	}
 
+	boolean isBatching() {
+		return (batchSize > 0 || batchBytes > 0);
+	}
 
 	public void sendResults(Iterable<?> result) {
-		if (batchSize == 0) {
+		if (!isBatching()) {
 			resultSender.lastResult(result);
 			return;
 		}
 
-		List<Object> chunk = new ArrayList<Object>(batchSize);
+		sendResults(result.iterator());
+	}
+
+	public void sendResults(Stream<?> result) {
+		try (Stream<?> stream = result) {
+			sendResults(stream.iterator());
+		}
+	}
+
+	public void sendResults(Iterator<?> result) {
+		List<Object> chunk = newChunk();
+		long chunkBytes = 0L;
+
+		while (result.hasNext()) {
+			Object element = result.next();
 
-		for (Iterator<?> it = result.iterator(); it.hasNext();) {
-		    if (chunk.size() < batchSize) {
-				chunk.add(it.next());
-		    }
+			chunk.add(element);
+			chunkBytes += (batchBytes > 0 ? sizeOf(element) : 0L);
 
-			if (chunk.size() == batchSize || !it.hasNext()) {
-                if (it.hasNext()) {
-                		resultSender.sendResult(chunk);
-                } else {
-                		resultSender.lastResult(chunk);
-                }
-           		chunk.clear();
+			if (isFull(chunk.size(), chunkBytes) && result.hasNext()) {
+				resultSender.sendResult(chunk);
+				chunk = newChunk();
+				chunkBytes = 0L;
 			}
 		}
-	}
 
+		resultSender.lastResult(chunk);
+	}
 
 	public void sendArrayResults(Object result) {
 
-		if (batchSize == 0) {
+		if (!isBatching()) {
 			resultSender.lastResult(result);
 			return;
 		}
@@ -76,11 +113,19 @@ class BatchingResultSender  {
 
 		int length = Array.getLength(result);
 
-		for (int from =0; from <  length; from += batchSize) {
-			int to = Math.min(length,from + batchSize);
-			Object chunk = copyOfRange(result,from, to);
+		if (length == 0) {
+			resultSender.lastResult(result);
+			return;
+		}
+
+		Class<?> componentType = result.getClass().getComponentType();
+
+		for (int from = 0, to; from < length; from = to) {
+			to = nextChunkEnd(result, componentType, from, length);
 
-			if (to == length -1) {
+			Object chunk = copyOfRange(result, componentType, from, to);
+
+			if (to == length) {
 				resultSender.lastResult(chunk);
 			} else {
 				resultSender.sendResult(chunk);
@@ -88,83 +133,124 @@ class BatchingResultSender  {
 		}
 	}
 
+	private List<Object> newChunk() {
+		return new ArrayList<Object>(batchSize > 0 ? Math.min(batchSize, MAX_CHUNK_CAPACITY) : DEFAULT_CHUNK_CAPACITY);
+	}
+
+	private boolean isFull(int chunkSize, long chunkBytes) {
+		return (batchSize > 0 && chunkSize >= batchSize) || (batchBytes > 0 && chunkBytes >= batchBytes);
+	}
+
+	/**
+	 * Determines the (exclusive) end index of the array chunk starting at the given index.  For primitive arrays,
+	 * the number of elements fitting in batchBytes is computed up front.
+	 */
+	private int nextChunkEnd(Object array, Class<?> componentType, int from, int length) {
+
+		int limit = (batchSize > 0 ? (int) Math.min(length, (long) from + batchSize) : length);
+
+		if (batchBytes <= 0) {
+			return limit;
+		}
+
+		if (componentType.isPrimitive()) {
+			long elements = Math.max(1L, batchBytes / primitiveSize(componentType));
+			return (int) Math.min(limit, from + elements);
+		}
+
+		Object[] elements = (Object[]) array;
+
+		int to = from;
+		long chunkBytes = 0L;
+
+		while (to < limit && chunkBytes < batchBytes) {
+			chunkBytes += sizeOf(elements[to++]);
+		}
+
+		return to;
+	}
+
+	private Object copyOfRange(Object array, Class<?> componentType, int from, int to) {
+
+		Object chunk = Array.newInstance(componentType, to - from);
+
+		System.arraycopy(array, from, chunk, 0, to - from);
+
+		return chunk;
+	}
 
 	/**
-	 * @param result
-	 * @param from
-	 * @param to
-	 * @return
+	 * Approximates the serialized size of the given result, or chunk of results, summing the sizes of the elements
+	 * of {@link Iterable} and {@link Object} array chunks.
 	 */
-	private Object copyOfRange(Object result, int from, int to) {
+	static long sizeOfResult(Object result) {
+
+		if (result instanceof Iterable) {
 
-		Class<?> arrayClass = result.getClass();
-		int size = to - from;
+			long size = 0L;
 
-		if (int[].class.isAssignableFrom(arrayClass)) {
-			int[] array = new int[size];
-			for(int i = 0; i < size ; ++i){
-                array[i] = Array.getInt(result, from + i);
-            }
-			return array;
+			for (Object element : (Iterable<?>) result) {
+				size += sizeOf(element);
+			}
+
+			return size;
 		}
 
-		if (float[].class.isAssignableFrom(arrayClass)) {
-			float[] array = new float[size];
-			for(int i = 0; i < size ; ++i){
-                array[i] = Array.getFloat(result, from + i);
-            }
-			return array;
+		if (result instanceof Object[]) {
+
+			long size = 0L;
+
+			for (Object element : (Object[]) result) {
+				size += sizeOf(element);
+			}
+
+			return size;
 		}
 
-		if (double[].class.isAssignableFrom(arrayClass)) {
-			double[] array = new double[size];
-			for(int i = 0; i < size ; ++i){
-                array[i] = Array.getDouble(result, from + i);
-            }
-			return array;
+		return sizeOf(result);
+	}
+
+	/**
+	 * Approximates the serialized size of the given result element.  Common value types are sized by their contents;
+	 * other types are sized using GemFire's {@link ObjectSizer#DEFAULT}, which reflectively sizes each class once.
+	 */
+	private static long sizeOf(Object element) {
+
+		if (element == null) {
+			return 1L;
 		}
 
-		if (boolean[].class.isAssignableFrom(arrayClass)) {
-			boolean[] array = new boolean[size];
-			for(int i = 0; i < size ; ++i){
-                array[i] = Array.getBoolean(result, from + i);
-            }
-			return array;
+		if (element instanceof CharSequence) {
+			return ((CharSequence) element).length();
 		}
 
-		if (byte[].class.isAssignableFrom(arrayClass)) {
-			byte[] array = new byte[size];
-			for(int i = 0; i < size ; ++i){
-                array[i] = Array.getByte(result, from + i);
-            }
-			return array;
+		if (element instanceof Number || element instanceof Boolean || element instanceof Character) {
+			return 8L;
 		}
 
-		if (short[].class.isAssignableFrom(arrayClass)) {
-			short[] array = new short[size];
-			for(int i = 0; i < size ; ++i){
-                array[i] = Array.getShort(result, from + i);
-            }
-			return array;
+		Class<?> type = element.getClass();
+
+		if (type.isArray() && type.getComponentType().isPrimitive()) {
+			return (long) Array.getLength(element) * primitiveSize(type.getComponentType());
 		}
 
-		if (long[].class.isAssignableFrom(arrayClass)) {
-			long[] array = new long[size];
-			for(int i = 0; i < size ; ++i){
-                array[i] = Array.getLong(result, from + i);
-            }
-			return array;
+		return ObjectSizer.DEFAULT.sizeof(element);
+	}
+
+	private static int primitiveSize(Class<?> primitiveType) {
+
+		if (long.class.equals(primitiveType) || double.class.equals(primitiveType)) {
+			return 8;
 		}
 
-		if (char[].class.isAssignableFrom(arrayClass)) {
-			char[] array = new char[size];
-			for(int i = 0; i < size ; ++i){
-                array[i] = Array.getChar(result, from + i);
-            }
-			return array;
+		if (int.class.equals(primitiveType) || float.class.equals(primitiveType)) {
+			return 4;
 		}
 
-	    return Arrays.copyOfRange((Object[])result, from, to);
+		if (short.class.equals(primitiveType) || char.class.equals(primitiveType)) {
+			return 2;
+		}
 
+		return 1;
 	}
 }
@@ -25,7 +25,6 @@ import org.apache.geode.cache.execute.ResultSender;
 import org.apache.geode.cache.partition.PartitionRegionHelper;
 import org.springframework.data.gemfire.function.annotation.Filter;
 import org.springframework.data.gemfire.function.annotation.RegionData;
-import org.springframework.data.gemfire.util.ArrayUtils;
 import org.springframework.util.Assert;
 
 /**
@@ -37,11 +36,23 @@ class FunctionContextInjectingArgumentResolver extends PdxFunctionArgumentResolv
 
 	private static final Log logger = LogFactory.getLog(FunctionContextInjectingArgumentResolver.class);
 
+	private static final int REGION = -1;
+	private static final int FILTER = -2;
+	private static final int FUNCTION_CONTEXT = -3;
+	private static final int RESULT_SENDER = -4;
+
 	private final int filterParameterPosition;
 	private final int functionContextParameterPosition;
 	private final int regionParameterPosition;
 	private final int resultSenderParameterPosition;
 
+	private final int argumentCount;
+	private final int parameterCount;
+	private final int regionArgumentCount;
+
+	private final int[] argumentLayout;
+	private final int[] regionArgumentLayout;
+
 	private final Method method;
 
 	public FunctionContextInjectingArgumentResolver(Method method) {
@@ -72,6 +83,54 @@ class FunctionContextInjectingArgumentResolver extends PdxFunctionArgumentResolv
 		functionContextParameterPosition = getArgumentTypePosition(method, FunctionContext.class);
 
 		resultSenderParameterPosition = getArgumentTypePosition(method, ResultSender.class);
+
+		parameterCount = method.getParameterTypes().length;
+		argumentLayout = newArgumentLayout(false);
+		argumentCount = countFunctionArguments(argumentLayout);
+		regionArgumentLayout = newArgumentLayout(true);
+		regionArgumentCount = countFunctionArguments(regionArgumentLayout);
+	}
+
+	/*
+	 * Maps each method parameter to either the index of the Function argument or the kind of injected argument
+	 * bound to it, so arguments are resolved in a single pass.
+	 */
+	private int[] newArgumentLayout(boolean regionFunctionContext) {
+		int[] layout = new int[parameterCount];
+		int argumentIndex = 0;
+
+		for (int position = 0; position < layout.length; position++) {
+			if (regionFunctionContext && position == regionParameterPosition) {
+				layout[position] = REGION;
+			}
+			else if (regionFunctionContext && position == filterParameterPosition) {
+				layout[position] = FILTER;
+			}
+			else if (position == functionContextParameterPosition) {
+				layout[position] = FUNCTION_CONTEXT;
+			}
+			else if (position == resultSenderParameterPosition) {
+				layout[position] = RESULT_SENDER;
+			}
+			else {
+				layout[position] = argumentIndex++;
+			}
+		}
+
+		return layout;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 */
+	private static int countFunctionArguments(int[] layout) {
+		int count = 0;
+
+		for (int argumentIndex : layout) {
+			count += (argumentIndex >= 0 ? 1 : 0);
+		}
+
+		return count;
 	}
 
 	@Override
@@ -81,31 +140,42 @@ class FunctionContextInjectingArgumentResolver extends PdxFunctionArgumentResolv
 
 	@Override
 	public Object[] resolveFunctionArguments(FunctionContext functionContext) {
-		Object[] args = super.resolveFunctionArguments(functionContext);
+		Object[] arguments = super.resolveFunctionArguments(functionContext);
 
-		if (functionContext instanceof RegionFunctionContext) {
-			if (this.regionParameterPosition >= 0) {
-				args = ArrayUtils.insert(args, regionParameterPosition, getRegionForContext(
-					(RegionFunctionContext) functionContext));
-			}
+		boolean regionFunctionContext = (functionContext instanceof RegionFunctionContext);
 
-			if (this.filterParameterPosition >= 0) {
-				args = ArrayUtils.insert(args, filterParameterPosition,
-					((RegionFunctionContext) functionContext).getFilter());
-			}
-		}
+		int expectedArgumentCount = (regionFunctionContext ? this.regionArgumentCount : this.argumentCount);
 
-		if (this.functionContextParameterPosition >= 0) {
-			args = ArrayUtils.insert(args, functionContextParameterPosition, functionContext);
-		}
+		Assert.isTrue(arguments.length == expectedArgumentCount, () -> String.format(
+			"wrong number of arguments for method %s. Expected %d, but was %d", method.getName(), parameterCount,
+				parameterCount - expectedArgumentCount + arguments.length));
 
-		if (this.resultSenderParameterPosition >= 0) {
-			args = ArrayUtils.insert(args, resultSenderParameterPosition, functionContext.getResultSender());
+		if (expectedArgumentCount == parameterCount) {
+			return arguments;
 		}
 
-		Assert.isTrue(args.length == method.getParameterTypes().length, String.format(
-			"wrong number of arguments for method %s. Expected %d, but was %d", method.getName(),
-				method.getParameterTypes().length, args.length));
+		int[] layout = (regionFunctionContext ? this.regionArgumentLayout : this.argumentLayout);
+
+		Object[] args = new Object[parameterCount];
+
+		for (int position = 0; position < parameterCount; position++) {
+			switch (layout[position]) {
+				case REGION:
+					args[position] = getRegionForContext((RegionFunctionContext) functionContext);
+					break;
+				case FILTER:
+					args[position] = ((RegionFunctionContext) functionContext).getFilter();
+					break;
+				case FUNCTION_CONTEXT:
+					args[position] = functionContext;
+					break;
+				case RESULT_SENDER:
+					args[position] = functionContext.getResultSender();
+					break;
+				default:
+					args[position] = arguments[layout[position]];
+			}
+		}
 
 		return args;
 	}
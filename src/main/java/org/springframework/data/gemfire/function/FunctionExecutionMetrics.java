@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function;
+
+/**
+ * Service Provider Interface (SPI) notified of the executions of GemFire Functions, both by the callers executing
+ * Functions, using the {@literal GemfireFunctionTemplates} (and therefore, the Function execution proxies),
+ * and by the members invoking {@link org.springframework.data.gemfire.function.annotation.GemfireFunction}
+ * annotated POJO methods, using the {@link PojoFunctionWrapper}.
+ *
+ * Callbacks on the member invoking the Function are recorded per member, so that comparing them across members
+ * reveals skewed members.
+ *
+ * Implementations must be thread-safe and fast, since they are invoked on the Function execution path.
+ *
+ * @see org.springframework.data.gemfire.function.MicrometerFunctionExecutionMetrics
+ * @see org.springframework.data.gemfire.function.PojoFunctionWrapper#setMetrics(FunctionExecutionMetrics)
+ * @since 2.1.0
+ */
+public interface FunctionExecutionMetrics {
+
+	/**
+	 * Called by the caller after a Function execution completed, whether successfully or not.
+	 *
+	 * @param functionId {@link String} containing the ID of the Function.
+	 * @param executionTime time, in nanoseconds, from submission of the Function execution to receipt
+	 * of all results.
+	 * @param success whether the Function execution completed successfully.
+	 */
+	void onExecution(String functionId, long executionTime, boolean success);
+
+	/**
+	 * Called by the caller when the results of a Function execution were not received within the configured timeout.
+	 *
+	 * @param functionId {@link String} containing the ID of the Function.
+	 */
+	void onTimeout(String functionId);
+
+	/**
+	 * Called by the caller when (part of) a failed Function execution is retried.
+	 *
+	 * @param functionId {@link String} containing the ID of the Function.
+	 */
+	void onRetry(String functionId);
+
+	/**
+	 * Called by the member invoking a POJO Function after the Function completed, whether successfully or not.
+	 *
+	 * @param functionId {@link String} containing the ID of the Function.
+	 * @param invocationTime time, in nanoseconds, spent invoking the Function and sending its results.
+	 * @param success whether the Function completed successfully.
+	 */
+	void onInvocation(String functionId, long invocationTime, boolean success);
+
+	/**
+	 * Called by the member invoking a POJO Function after all results of the Function have been sent.
+	 *
+	 * @param functionId {@link String} containing the ID of the Function.
+	 * @param chunkCount number of results (chunks) sent.
+	 * @param bytes approximate serialized size, in bytes, of the results sent.
+	 */
+	void onResultsSent(String functionId, int chunkCount, long bytes);
+
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.Assert;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link FunctionExecutionMetrics} implementation publishing the metrics of each Function to a Micrometer
+ * {@link MeterRegistry}, tagged with the ID of the Function.
+ *
+ * The following meters are registered per Function by callers executing the Function:
+ *
+ * <ul>
+ *     <li>{@literal gemfire.function.executions} - {@link Timer} of Function executions, tagged with
+ *     the {@literal outcome} ({@literal success} or {@literal failure}), publishing a percentile histogram.</li>
+ *     <li>{@literal gemfire.function.timeouts} - {@link Counter} of Function executions that timed out.</li>
+ *     <li>{@literal gemfire.function.retries} - {@link Counter} of retried Function executions.</li>
+ * </ul>
+ *
+ * And by the members invoking the Function:
+ *
+ * <ul>
+ *     <li>{@literal gemfire.function.invocations} - {@link Timer} of Function invocations, tagged with
+ *     the {@literal outcome}, publishing a percentile histogram.</li>
+ *     <li>{@literal gemfire.function.results.chunks} - {@link Counter} of results (chunks) sent.</li>
+ *     <li>{@literal gemfire.function.results.size} - {@link DistributionSummary} of the approximate size,
+ *     in bytes, of the results sent per invocation.</li>
+ * </ul>
+ *
+ * Requires {@literal io.micrometer:micrometer-core} on the application classpath.
+ *
+ * @see io.micrometer.core.instrument.MeterRegistry
+ * @see org.springframework.data.gemfire.function.FunctionExecutionMetrics
+ * @since 2.1.0
+ */
+public class MicrometerFunctionExecutionMetrics implements FunctionExecutionMetrics {
+
+	protected static final String FUNCTION_TAG_NAME = "function";
+	protected static final String OUTCOME_TAG_NAME = "outcome";
+
+	private final ConcurrentMap<String, ExecutionMeters> executionMeters = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<String, InvocationMeters> invocationMeters = new ConcurrentHashMap<>();
+
+	private final MeterRegistry meterRegistry;
+
+	/**
+	 * Constructs a new instance of {@link MicrometerFunctionExecutionMetrics} registering meters with
+	 * the given {@link MeterRegistry}.
+	 *
+	 * @param meterRegistry {@link MeterRegistry} with which the Function meters are registered.
+	 * @throws IllegalArgumentException if {@link MeterRegistry} is {@literal null}.
+	 * @see io.micrometer.core.instrument.MeterRegistry
+	 */
+	public MicrometerFunctionExecutionMetrics(MeterRegistry meterRegistry) {
+
+		Assert.notNull(meterRegistry, "MeterRegistry is required");
+
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * Returns the {@link MeterRegistry} with which the Function meters are registered.
+	 *
+	 * @return the {@link MeterRegistry} with which the Function meters are registered.
+	 */
+	protected MeterRegistry getMeterRegistry() {
+		return this.meterRegistry;
+	}
+
+	/* (non-Javadoc) */
+	private ExecutionMeters getExecutionMeters(String functionId) {
+
+		ExecutionMeters meters = this.executionMeters.get(functionId);
+
+		return (meters != null ? meters : this.executionMeters.computeIfAbsent(functionId, this::newExecutionMeters));
+	}
+
+	/* (non-Javadoc) */
+	private ExecutionMeters newExecutionMeters(String functionId) {
+
+		return new ExecutionMeters(
+			newTimer("gemfire.function.executions", "Time to execute the Function and receive all results",
+				functionId, "success"),
+			newTimer("gemfire.function.executions", "Time to execute the Function and receive all results",
+				functionId, "failure"),
+			Counter.builder("gemfire.function.timeouts")
+				.description("Number of Function executions that timed out")
+				.tag(FUNCTION_TAG_NAME, functionId)
+				.register(getMeterRegistry()),
+			Counter.builder("gemfire.function.retries")
+				.description("Number of retried Function executions")
+				.tag(FUNCTION_TAG_NAME, functionId)
+				.register(getMeterRegistry()));
+	}
+
+	/* (non-Javadoc) */
+	private InvocationMeters getInvocationMeters(String functionId) {
+
+		InvocationMeters meters = this.invocationMeters.get(functionId);
+
+		return (meters != null ? meters : this.invocationMeters.computeIfAbsent(functionId, this::newInvocationMeters));
+	}
+
+	/* (non-Javadoc) */
+	private InvocationMeters newInvocationMeters(String functionId) {
+
+		return new InvocationMeters(
+			newTimer("gemfire.function.invocations", "Time spent invoking the Function and sending its results",
+				functionId, "success"),
+			newTimer("gemfire.function.invocations", "Time spent invoking the Function and sending its results",
+				functionId, "failure"),
+			Counter.builder("gemfire.function.results.chunks")
+				.description("Number of results (chunks) sent by the Function")
+				.tag(FUNCTION_TAG_NAME, functionId)
+				.register(getMeterRegistry()),
+			DistributionSummary.builder("gemfire.function.results.size")
+				.description("Approximate size of the results sent per Function invocation")
+				.baseUnit("bytes")
+				.tag(FUNCTION_TAG_NAME, functionId)
+				.register(getMeterRegistry()));
+	}
+
+	/* (non-Javadoc) */
+	private Timer newTimer(String name, String description, String functionId, String outcome) {
+
+		return Timer.builder(name)
+			.description(description)
+			.tag(FUNCTION_TAG_NAME, functionId)
+			.tag(OUTCOME_TAG_NAME, outcome)
+			.publishPercentileHistogram()
+			.register(getMeterRegistry());
+	}
+
+	@Override
+	public void onExecution(String functionId, long executionTime, boolean success) {
+
+		ExecutionMeters meters = getExecutionMeters(functionId);
+
+		(success ? meters.successfulExecutions : meters.failedExecutions)
+			.record(executionTime, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void onTimeout(String functionId) {
+		getExecutionMeters(functionId).timeouts.increment();
+	}
+
+	@Override
+	public void onRetry(String functionId) {
+		getExecutionMeters(functionId).retries.increment();
+	}
+
+	@Override
+	public void onInvocation(String functionId, long invocationTime, boolean success) {
+
+		InvocationMeters meters = getInvocationMeters(functionId);
+
+		(success ? meters.successfulInvocations : meters.failedInvocations)
+			.record(invocationTime, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void onResultsSent(String functionId, int chunkCount, long bytes) {
+
+		InvocationMeters meters = getInvocationMeters(functionId);
+
+		meters.resultChunks.increment(chunkCount);
+		meters.resultSize.record(bytes);
+	}
+
+	private static class ExecutionMeters {
+
+		private final Counter retries;
+		private final Counter timeouts;
+
+		private final Timer failedExecutions;
+		private final Timer successfulExecutions;
+
+		ExecutionMeters(Timer successfulExecutions, Timer failedExecutions, Counter timeouts, Counter retries) {
+
+			this.successfulExecutions = successfulExecutions;
+			this.failedExecutions = failedExecutions;
+			this.timeouts = timeouts;
+			this.retries = retries;
+		}
+	}
+
+	private static class InvocationMeters {
+
+		private final Counter resultChunks;
+
+		private final DistributionSummary resultSize;
+
+		private final Timer failedInvocations;
+		private final Timer successfulInvocations;
+
+		InvocationMeters(Timer successfulInvocations, Timer failedInvocations, Counter resultChunks,
+				DistributionSummary resultSize) {
+
+			this.successfulInvocations = successfulInvocations;
+			this.failedInvocations = failedInvocations;
+			this.resultChunks = resultChunks;
+			this.resultSize = resultSize;
+		}
+	}
+}
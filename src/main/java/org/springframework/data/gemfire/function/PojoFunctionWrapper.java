@@ -12,7 +12,13 @@
  */
 package org.springframework.data.gemfire.function;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -52,10 +58,16 @@ public class PojoFunctionWrapper implements Function {
 
 	private volatile int batchSize;
 
+	private volatile long batchBytes;
+
+	private transient volatile FunctionExecutionMetrics metrics;
+
 	private final FunctionArgumentResolver functionArgumentResolver;
 
 	private final Method method;
 
+	private final MethodHandle methodHandle;
+
 	private final Object target;
 
 	private final String id;
@@ -64,16 +76,67 @@ public class PojoFunctionWrapper implements Function {
 		this.functionArgumentResolver = new FunctionContextInjectingArgumentResolver(method);
 		this.target = target;
 		this.method = method;
+		this.methodHandle = newMethodHandle(target, method);
 		this.id = (StringUtils.hasText(id) ? id : method.getName());
 		this.HA = false;
 		this.hasResult = !method.getReturnType().equals(void.class);
 		this.optimizeForWrite = false;
 	}
 
+	/**
+	 * Creates a {@link MethodHandle} bound to the target object, accepting the {@link Method} arguments
+	 * as an {@link Object} array and returning the boxed result, or {@literal null} for {@literal void} methods.
+	 * Returns {@literal null} if the {@link Method} cannot be accessed this way, in which case the {@link Method}
+	 * is invoked reflectively.
+	 */
+	private static MethodHandle newMethodHandle(Object target, Method method) {
+
+		try {
+			ReflectionUtils.makeAccessible(method);
+
+			MethodHandle methodHandle = MethodHandles.lookup().unreflect(method);
+
+			if (!Modifier.isStatic(method.getModifiers())) {
+				methodHandle = methodHandle.bindTo(target);
+			}
+
+			return methodHandle.asSpreader(Object[].class, method.getParameterCount())
+				.asType(MethodType.methodType(Object.class, Object[].class));
+		}
+		catch (IllegalAccessException | RuntimeException cause) {
+
+			if (logger.isDebugEnabled()) {
+				logger.debug(String.format("Unable to create a MethodHandle for method [%s]; using reflection",
+					method), cause);
+			}
+
+			return null;
+		}
+	}
+
 	public void setBatchSize(int batchSize) {
 		this.batchSize = batchSize;
 	}
 
+	/**
+	 * Sets the maximum approximate serialized size in bytes of each batch of results sent at one time.
+	 *
+	 * @param batchBytes maximum approximate size in bytes of a batch; {@literal 0} disables size-based batching.
+	 */
+	public void setBatchBytes(long batchBytes) {
+		this.batchBytes = batchBytes;
+	}
+
+	/**
+	 * Sets the {@link FunctionExecutionMetrics} notified of each invocation of this {@link Function}, and the results
+	 * (chunks) it sent.  No metrics are recorded by default.
+	 *
+	 * @param metrics {@link FunctionExecutionMetrics} recording the invocations of this {@link Function}.
+	 */
+	public void setMetrics(FunctionExecutionMetrics metrics) {
+		this.metrics = metrics;
+	}
+
 	public void setHA(boolean HA) {
 		this.HA = HA;
 	}
@@ -110,6 +173,13 @@ public class PojoFunctionWrapper implements Function {
 	@SuppressWarnings("unchecked")
 	public void execute(final FunctionContext functionContext) {
 
+		FunctionExecutionMetrics metrics = this.metrics;
+
+		if (metrics != null) {
+			executeInstrumented(functionContext, metrics);
+			return;
+		}
+
 		Object[] args = this.functionArgumentResolver.resolveFunctionArguments(functionContext);
 
 		Object result = invokeTargetMethod(args);
@@ -119,6 +189,39 @@ public class PojoFunctionWrapper implements Function {
 		}
 	}
 
+	/**
+	 * Invokes the target method and sends its results, as {@link #execute(FunctionContext)} does, timing
+	 * the invocation, which includes sending lazily produced results, and counting the results (chunks) sent.
+	 */
+	@SuppressWarnings("unchecked")
+	private void executeInstrumented(FunctionContext functionContext, FunctionExecutionMetrics metrics) {
+
+		long startTime = System.nanoTime();
+
+		boolean success = false;
+
+		try {
+			Object[] args = this.functionArgumentResolver.resolveFunctionArguments(functionContext);
+
+			Object result = invokeTargetMethod(args);
+
+			if (hasResult()) {
+
+				InstrumentedResultSender resultSender =
+					new InstrumentedResultSender(functionContext.getResultSender());
+
+				sendResults(resultSender, result);
+
+				metrics.onResultsSent(getId(), resultSender.chunkCount, resultSender.bytes);
+			}
+
+			success = true;
+		}
+		finally {
+			metrics.onInvocation(getId(), System.nanoTime() - startTime, success);
+		}
+	}
+
 	protected final Object invokeTargetMethod(Object[] args) {
 
 		if (logger.isDebugEnabled()) {
@@ -127,11 +230,22 @@ public class PojoFunctionWrapper implements Function {
 				this.method.getName(), this.target.getClass().getName(), getId()));
 
 			for (Object arg : args) {
-				logger.debug(String.format("Argument of type [%s] is [%s]", arg.getClass().getName(), arg.toString()));
+				logger.debug(String.format("Argument of type [%s] is [%s]",
+					(arg != null ? arg.getClass().getName() : null), arg));
 			}
 		}
 
-		return ReflectionUtils.invokeMethod(this.method, this.target, (Object[]) args);
+		if (this.methodHandle == null) {
+			return ReflectionUtils.invokeMethod(this.method, this.target, (Object[]) args);
+		}
+
+		try {
+			return (Object) this.methodHandle.invokeExact(args);
+		}
+		catch (Throwable cause) {
+			ReflectionUtils.rethrowRuntimeException(cause);
+			return null;
+		}
 	}
 
 	private void sendResults(ResultSender<Object> resultSender, Object result) {
@@ -141,14 +255,63 @@ public class PojoFunctionWrapper implements Function {
 		}
 		else {
 			if (ObjectUtils.isArray(result)) {
-				new BatchingResultSender(batchSize, resultSender).sendArrayResults(result);
+				newBatchingResultSender(resultSender).sendArrayResults(result);
+			}
+			else if (result instanceof Iterable) {
+				newBatchingResultSender(resultSender).sendResults((Iterable<?>) result);
 			}
-			else if (Iterable.class.isAssignableFrom(result.getClass())) {
-				new BatchingResultSender(batchSize, resultSender).sendResults((Iterable<?>) result);
+			else if (result instanceof Stream) {
+				newBatchingResultSender(resultSender).sendResults((Stream<?>) result);
+			}
+			else if (result instanceof Iterator) {
+				newBatchingResultSender(resultSender).sendResults((Iterator<?>) result);
 			}
 			else {
 				resultSender.lastResult(result);
 			}
 		}
 	}
+
+	private BatchingResultSender newBatchingResultSender(ResultSender<Object> resultSender) {
+		return new BatchingResultSender(this.batchSize, this.batchBytes, resultSender);
+	}
+
+	/**
+	 * {@link ResultSender} counting the results (chunks) sent, and their approximate size, on behalf of
+	 * the {@link FunctionExecutionMetrics}.
+	 */
+	private static class InstrumentedResultSender implements ResultSender<Object> {
+
+		private final ResultSender<Object> delegate;
+
+		private int chunkCount;
+
+		private long bytes;
+
+		InstrumentedResultSender(ResultSender<Object> delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void lastResult(Object result) {
+			record(result);
+			this.delegate.lastResult(result);
+		}
+
+		@Override
+		public void sendResult(Object result) {
+			record(result);
+			this.delegate.sendResult(result);
+		}
+
+		@Override
+		public void sendException(Throwable cause) {
+			this.delegate.sendException(cause);
+		}
+
+		private void record(Object result) {
+			this.chunkCount++;
+			this.bytes += BatchingResultSender.sizeOfResult(result);
+		}
+	}
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Collapses concurrent invocations of an {@link OnRegion} Function execution interface method having
+ * a {@link Filter} parameter into a single Function execution, whose filter is the union of the filters
+ * of the collapsed invocations.
+ *
+ * Invocations are collapsed when their other arguments are equal.  The first invocation waits for at most
+ * {@link #window()} milliseconds, or until the merged filter has {@link #maxKeys()} keys, before executing
+ * the Function.  The Function must return {@link java.util.Map Maps} keyed by filter key, such as the entries
+ * found for the keys; each invocation receives the {@link java.util.Map Maps} restricted to its own keys,
+ * omitting empty ones.
+ *
+ * Asynchronous methods are not collapsed.
+ *
+ * @see org.springframework.data.gemfire.function.annotation.Filter
+ * @see org.springframework.data.gemfire.function.annotation.OnRegion
+ * @since 2.1.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD })
+public @interface CollapsedExecution {
+
+	/**
+	 * Maximum time, in milliseconds, an invocation waits for concurrent invocations to collapse with.
+	 *
+	 * @return the maximum time, in milliseconds, to wait for concurrent invocations.
+	 */
+	long window() default 5L;
+
+	/**
+	 * Maximum number of keys of the merged filter, upon which the Function is executed without waiting
+	 * for the {@link #window()} to elapse.
+	 *
+	 * @return the maximum number of keys of the merged filter.
+	 */
+	int maxKeys() default 1000;
+
+}
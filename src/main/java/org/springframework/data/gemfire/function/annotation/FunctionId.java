@@ -30,4 +30,11 @@ public @interface FunctionId {
 	 * @return the function id
      */
 	String value();
+
+	/**
+	 * Timeout of the function execution in milliseconds, overriding the timeout of the function template
+	 * the proxy delegates to. Defaults to 0, using the timeout of the template.
+	 * @return the function execution timeout
+	 */
+	long timeout() default 0L;
 }
@@ -55,6 +55,18 @@ public @interface GemfireFunction {
 	 */
 	int batchSize() default 0;
 
+	/**
+	 * Controls the maximum approximate serialized size, in bytes, of the results sent at one time, keeping the size
+	 * of each batch stable regardless of the size of the individual results.  May be combined with
+	 * {@link #batchSize()}, in which case a batch is sent as soon as either limit is reached.
+	 *
+	 * Results returned as a {@link java.util.stream.Stream} or {@link java.util.Iterator} are consumed lazily,
+	 * one batch at a time.
+	 *
+	 * @return a long value indicating the maximum approximate size in bytes of the results sent at one time.
+	 */
+	long batchBytes() default 0L;
+
 	/**
 	 * Normally follows the method return type, i.e., false if void, true otherwise. This allows overriding
 	 * a void method which uses the resultSender directly.
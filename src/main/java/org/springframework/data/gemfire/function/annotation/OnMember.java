@@ -48,4 +48,11 @@ public @interface OnMember {
 	 */
 	String resultCollector() default "";
 
+	/**
+	 * Optional FunctionExecutionMetrics bean reference.
+	 *
+	 * @return an optional bean name of the FunctionExecutionMetrics recording the Function executions.
+	 */
+	String metrics() default "";
+
 }
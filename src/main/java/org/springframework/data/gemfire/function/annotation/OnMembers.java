@@ -46,5 +46,12 @@ public @interface OnMembers {
 	 * @return an optional bean name of the ResultCollector to process the Function results.
 	 */
 	String resultCollector() default "";
+
+	/**
+	 * Optional FunctionExecutionMetrics bean reference.
+	 *
+	 * @return an optional bean name of the FunctionExecutionMetrics recording the Function executions.
+	 */
+	String metrics() default "";
 	
 }
@@ -47,4 +47,11 @@ public @interface OnRegion {
 	 */
 	String resultCollector() default "";
 
+	/**
+	 * Optional FunctionExecutionMetrics bean reference.
+	 *
+	 * @return an optional bean name of the FunctionExecutionMetrics recording the Function executions.
+	 */
+	String metrics() default "";
+
 }
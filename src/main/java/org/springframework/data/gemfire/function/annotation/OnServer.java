@@ -53,5 +53,12 @@ public @interface OnServer {
 	 * @return an optional bean name of the ResultCollector to process the Function results.
 	 */
 	String resultCollector() default "";
+
+	/**
+	 * Optional FunctionExecutionMetrics bean reference.
+	 *
+	 * @return an optional bean name of the FunctionExecutionMetrics recording the Function executions.
+	 */
+	String metrics() default "";
 	
 }
@@ -54,4 +54,11 @@ public @interface OnServers {
 	 */
 	String resultCollector() default "";
 
+	/**
+	 * Optional FunctionExecutionMetrics bean reference.
+	 *
+	 * @return an optional bean name of the FunctionExecutionMetrics recording the Function executions.
+	 */
+	String metrics() default "";
+
 }
@@ -70,6 +70,12 @@ abstract class AbstractFunctionExecutionBeanDefinitionBuilder {
 			functionTemplateBuilder.addPropertyReference("resultCollector", resultCollectorReference);
 		}
 
+		String metricsReference = (String) configuration.getAttribute("metrics");
+
+		if (StringUtils.hasText(metricsReference)) {
+			functionTemplateBuilder.addPropertyReference("metrics", metricsReference);
+		}
+
 		return functionTemplateBuilder.getBeanDefinition();
 	}
 
@@ -19,9 +19,13 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.gemfire.function.FunctionExecutionMetrics;
 import org.springframework.data.gemfire.function.GemfireFunctionUtils;
 import org.springframework.data.gemfire.function.annotation.GemfireFunction;
 import org.springframework.util.Assert;
@@ -31,12 +35,26 @@ import org.springframework.util.ReflectionUtils;
  * Spring {@link BeanPostProcessor} that discovers bean components wired as Function implementations,
  * i.e. beans containing methods annotated with {@link GemfireFunction}.
  *
+ * When the Spring container defines a single {@link FunctionExecutionMetrics} bean, it records the invocations
+ * of the registered Functions.
+ *
  * @author David Turanski
  * @author John Blum
  * @see org.springframework.beans.factory.config.BeanPostProcessor
  * @see org.springframework.data.gemfire.function.annotation.GemfireFunction
  */
-public class GemfireFunctionBeanPostProcessor implements BeanPostProcessor {
+public class GemfireFunctionBeanPostProcessor implements BeanFactoryAware, BeanPostProcessor {
+
+	private BeanFactory beanFactory;
+
+	private volatile FunctionExecutionMetrics metrics;
+
+	private volatile boolean metricsResolved;
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		this.beanFactory = beanFactory;
+	}
 
 	/* (non-Javadoc)
 	 * @see org.springframework.beans.factory.config.BeanPostProcessor#postProcessAfterInitialization(java.lang.Object, java.lang.String)
@@ -64,8 +82,33 @@ public class GemfireFunctionBeanPostProcessor implements BeanPostProcessor {
 				AnnotationAttributes annotationAttributes = AnnotationAttributes.fromMap(
 					AnnotationUtils.getAnnotationAttributes(gemfireFunctionAnnotation,false,true));
 
-				GemfireFunctionUtils.registerFunctionForPojoMethod(bean, method, annotationAttributes, false);
+				GemfireFunctionUtils.registerFunctionForPojoMethod(bean, method, annotationAttributes, false,
+					resolveMetrics());
 			}
 		});
 	}
+
+	/**
+	 * Lazily resolves the single {@link FunctionExecutionMetrics} bean, if any, once the first
+	 * {@link GemfireFunction} annotated method is registered.
+	 */
+	private FunctionExecutionMetrics resolveMetrics() {
+
+		if (!this.metricsResolved) {
+
+			if (this.beanFactory instanceof ListableBeanFactory) {
+
+				String[] beanNames = ((ListableBeanFactory) this.beanFactory)
+					.getBeanNamesForType(FunctionExecutionMetrics.class, true, false);
+
+				if (beanNames.length == 1) {
+					this.metrics = this.beanFactory.getBean(beanNames[0], FunctionExecutionMetrics.class);
+				}
+			}
+
+			this.metricsResolved = true;
+		}
+
+		return this.metrics;
+	}
 }
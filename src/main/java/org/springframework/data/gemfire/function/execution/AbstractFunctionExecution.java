@@ -15,7 +15,15 @@ package org.springframework.data.gemfire.function.execution;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -24,6 +32,8 @@ import org.apache.geode.cache.execute.Function;
 import org.apache.geode.cache.execute.FunctionException;
 import org.apache.geode.cache.execute.FunctionService;
 import org.apache.geode.cache.execute.ResultCollector;
+import org.springframework.data.gemfire.function.FunctionExecutionMetrics;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
@@ -48,6 +58,8 @@ abstract class AbstractFunctionExecution {
 
 	private volatile ResultCollector<?, ?> resultCollector;
 
+	private FunctionExecutionMetrics metrics;
+
 	private String functionId;
 
 	public AbstractFunctionExecution(Function function, Object... args) {
@@ -86,17 +98,38 @@ abstract class AbstractFunctionExecution {
 		return timeout;
 	}
 
+	FunctionExecutionMetrics getMetrics() {
+		return metrics;
+	}
+
 	<T> Iterable<T> execute() {
 		return execute(true);
 	}
 
-	@SuppressWarnings("unchecked")
 	<T> Iterable<T> execute(Boolean returnResult) {
-		Execution execution = getExecution();
+		FunctionExecutionMetrics metrics = this.metrics;
+
+		if (metrics == null) {
+			return doExecute(returnResult, null);
+		}
+
+		long startTime = System.nanoTime();
+
+		boolean success = false;
+
+		try {
+			Iterable<T> results = doExecute(returnResult, metrics);
+			success = true;
+			return results;
+		}
+		finally {
+			metrics.onExecution(resolveFunctionId(), System.nanoTime() - startTime, success);
+		}
+	}
 
-		execution = execution.withArgs(getArgs());
-		execution = (getCollector() == null ? execution : execution.withCollector(getCollector()));
-		execution = (getKeys() == null ? execution : execution.withFilter(getKeys()));
+	@SuppressWarnings("unchecked")
+	private <T> Iterable<T> doExecute(Boolean returnResult, FunctionExecutionMetrics metrics) {
+		Execution execution = prepareExecution(getCollector());
 
 		ResultCollector<?, ?> resultCollector;
 
@@ -123,10 +156,18 @@ abstract class AbstractFunctionExecution {
 
 		try {
 			if (this.timeout > 0) {
+				long startTime = System.nanoTime();
+
 				try {
 					results = (Iterable<T>) resultCollector.getResult(this.timeout, TimeUnit.MILLISECONDS);
 				}
 				catch (FunctionException e) {
+					// GemFire signals that not all results were received in time with a FunctionException
+					if (metrics != null
+							&& System.nanoTime() - startTime >= TimeUnit.MILLISECONDS.toNanos(this.timeout)) {
+						metrics.onTimeout(resolveFunctionId());
+					}
+
 					throw new RuntimeException(e);
 				}
 				catch (InterruptedException e) {
@@ -149,10 +190,240 @@ abstract class AbstractFunctionExecution {
 		return results;
 	}
 
+	/**
+	 * Executes the Function asynchronously, returning a {@link CompletableFuture} completed with the Function results
+	 * when GemFire signals the end of the results, rather than blocking on {@link ResultCollector#getResult()}.
+	 *
+	 * The Function {@link Execution} is submitted to the given {@link Executor}, which is only occupied
+	 * for as long as GemFire takes to dispatch the Function (for client/server Function executions, GemFire
+	 * waits for all results before returning). If a timeout is set, the {@link CompletableFuture} completes
+	 * exceptionally with a {@link TimeoutException} when the results have not been received in time.
+	 * Cancelling the {@link CompletableFuture} does not stop the Function on the members executing it;
+	 * its results are simply discarded.
+	 *
+	 * @param <T> type of the Function results.
+	 * @param executor {@link Executor} used to submit the Function {@link Execution}.
+	 * @return a {@link CompletableFuture} completed with the Function results, or {@literal null}
+	 * if the Function has no result.
+	 * @see java.util.concurrent.CompletableFuture
+	 */
 	@SuppressWarnings("unchecked")
+	<T> CompletableFuture<Iterable<T>> executeAsync(Executor executor) {
+
+		long startTime = System.nanoTime();
+
+		CompletableFutureResultCollector resultCollector = new CompletableFutureResultCollector(getCollector());
+
+		CompletableFuture<Object> future = resultCollector.getFuture();
+
+		try {
+			executor.execute(() -> {
+				try {
+					if (!execute(prepareExecution(resultCollector), resultCollector)) {
+						future.complete(null);
+					}
+				}
+				catch (Throwable cause) {
+					future.completeExceptionally(cause);
+				}
+			});
+		}
+		catch (Throwable cause) {
+			future.completeExceptionally(cause);
+		}
+
+		scheduleTimeout(future);
+		recordExecution(future, startTime);
+
+		return propagateCancellation(future,
+			future.thenApply(results -> replaceSingletonNullCollectionWithEmptyList((Iterable<T>) results)));
+	}
+
+	/**
+	 * Executes the Function asynchronously, returning a {@link CompletableFuture} completed with
+	 * the singleton result.
+	 *
+	 * @param <T> type of the Function result.
+	 * @param executor {@link Executor} used to submit the Function {@link Execution}.
+	 * @return a {@link CompletableFuture} completed with the first Function result.
+	 * @see #executeAsync(Executor)
+	 */
+	<T> CompletableFuture<T> executeAndExtractAsync(Executor executor) {
+		CompletableFuture<Iterable<T>> results = executeAsync(executor);
+
+		return propagateCancellation(results, results.thenApply(this::extract));
+	}
+
+	/**
+	 * Executes the Function, returning a {@link Stream} of the Function results handed to the caller while they
+	 * arrive, buffering at most the given number of results (chunks) at a time.
+	 *
+	 * The Function {@link Execution} is submitted to the given {@link Executor}, which remains occupied until all
+	 * results have been consumed, or the {@link Stream} is closed. Any configured {@link ResultCollector} is bypassed.
+	 * If a timeout is set, it bounds the time waited for each successive result, as well as the time the GemFire
+	 * {@link Thread} receiving the results is blocked handing off each result to the caller.
+	 *
+	 * @param <T> type of the Function results.
+	 * @param executor {@link Executor} used to submit the Function {@link Execution}.
+	 * @param bufferSize maximum number of results buffered before the sender is blocked.
+	 * @return a {@link Stream} of the Function results; empty if the Function has no result.
+	 * @see org.springframework.data.gemfire.function.execution.StreamingResultCollector
+	 * @see java.util.stream.Stream
+	 */
+	<T> Stream<T> executeAsStream(Executor executor, int bufferSize) {
+
+		StreamingResultCollector<T> resultCollector = new StreamingResultCollector<>(bufferSize, this.timeout);
+
+		try {
+			executor.execute(() -> {
+				long startTime = System.nanoTime();
+
+				boolean success = false;
+
+				try {
+					if (!execute(prepareExecution(resultCollector), resultCollector)) {
+						resultCollector.endResults();
+					}
+
+					success = true;
+				}
+				catch (Throwable cause) {
+					resultCollector.fail(cause);
+				}
+				finally {
+					if (this.metrics != null) {
+						this.metrics.onExecution(resolveFunctionId(), System.nanoTime() - startTime, success);
+					}
+				}
+			});
+		}
+		catch (Throwable cause) {
+			resultCollector.fail(cause);
+		}
+
+		return resultCollector.stream();
+	}
+
+	/**
+	 * Executes the Function with the given {@link Execution}, determining whether the Function has a result,
+	 * in which case GemFire ends the results of the given {@link ResultCollector}.
+	 *
+	 * GemFire does not end the results of a Function having no result.  For a Function executed by ID,
+	 * {@link Function#hasResult()} is resolved from the {@link Function} registered with the {@link FunctionService}
+	 * and otherwise, as when executing a Function registered on the servers only, from the {@link ResultCollector}
+	 * returned by GemFire, which replaces the given {@link ResultCollector} when the Function has no result.
+	 *
+	 * @param execution {@link Execution} of the Function.
+	 * @param resultCollector {@link ResultCollector} the {@link Execution} was configured with.
+	 * @return a boolean value indicating whether the Function has a result.
+	 */
+	private boolean execute(Execution execution, ResultCollector<?, ?> resultCollector) {
+
+		if (isRegisteredFunction()) {
+			ResultCollector<?, ?> returnedResultCollector = execution.execute(this.functionId);
+
+			Function registeredFunction = FunctionService.getFunction(this.functionId);
+
+			return (registeredFunction != null ? registeredFunction.hasResult()
+				: (returnedResultCollector == null || returnedResultCollector == resultCollector));
+		}
+
+		execution.execute(this.function);
+
+		return this.function.hasResult();
+	}
+
+	/**
+	 * Runs the given synchronous Function execution in the calling {@link Thread}, returning a {@link CompletableFuture}
+	 * completed with its result, or completed exceptionally if the execution fails.
+	 *
+	 * @param <T> type of the result.
+	 * @param execution synchronous Function execution.
+	 * @return a completed {@link CompletableFuture}.
+	 */
+	static <T> CompletableFuture<T> completedExecution(Supplier<T> execution) {
+
+		CompletableFuture<T> future = new CompletableFuture<>();
+
+		try {
+			future.complete(execution.get());
+		}
+		catch (RuntimeException cause) {
+			future.completeExceptionally(cause);
+		}
+
+		return future;
+	}
+
+	/**
+	 * Cancels the {@code source} {@link CompletableFuture} when the {@code dependent} one is cancelled.
+	 *
+	 * @param <T> type of the result of the {@code dependent} {@link CompletableFuture}.
+	 * @param source {@link CompletableFuture} of the Function execution.
+	 * @param dependent {@link CompletableFuture} depending on the {@code source}.
+	 * @return the {@code dependent} {@link CompletableFuture}.
+	 */
+	static <T> CompletableFuture<T> propagateCancellation(CompletableFuture<?> source,
+			CompletableFuture<T> dependent) {
+
+		dependent.whenComplete((result, cause) -> {
+			if (dependent.isCancelled()) {
+				source.cancel(false);
+			}
+		});
+
+		return dependent;
+	}
+
+	/* (non-Javadoc) */
+	private void scheduleTimeout(CompletableFuture<?> future) {
+
+		if (this.timeout > 0 && !future.isDone()) {
+
+			long timeout = this.timeout;
+
+			ScheduledFuture<?> scheduledTimeout = TimeoutScheduler.INSTANCE.schedule(() -> {
+				boolean timedOut = future.completeExceptionally(new TimeoutException(String.format(
+					"Execution of Function %1$s did not complete within %2$d ms", describeFunction(), timeout)));
+
+				if (timedOut && this.metrics != null) {
+					this.metrics.onTimeout(resolveFunctionId());
+				}
+			}, timeout, TimeUnit.MILLISECONDS);
+
+			future.whenComplete((results, cause) -> scheduledTimeout.cancel(false));
+		}
+	}
+
+	/* (non-Javadoc) */
+	private void recordExecution(CompletableFuture<?> future, long startTime) {
+
+		FunctionExecutionMetrics metrics = this.metrics;
+
+		if (metrics != null) {
+			future.whenComplete((results, cause) ->
+				metrics.onExecution(resolveFunctionId(), System.nanoTime() - startTime, cause == null));
+		}
+	}
+
+	/* (non-Javadoc) */
+	private Execution prepareExecution(ResultCollector<?, ?> resultCollector) {
+		Execution execution = getExecution().withArgs(getArgs());
+
+		Set<?> keys = getKeys();
+
+		execution = (resultCollector == null ? execution : execution.withCollector(resultCollector));
+		execution = (keys == null ? execution : execution.withFilter(keys));
+
+		return execution;
+	}
+
 	<T> T executeAndExtract() {
-		Iterable<T> results = execute();
+		return extract(this.<T>execute());
+	}
 
+	@SuppressWarnings("unchecked")
+	private <T> T extract(Iterable<T> results) {
 		if (results == null || !results.iterator().hasNext()) {
 			return null;
 		}
@@ -160,14 +431,23 @@ abstract class AbstractFunctionExecution {
 		Object result = results.iterator().next();
 
 		if (result instanceof Throwable) {
-			throw new FunctionException(String.format("Execution of Function %1$s failed",
-				(function != null ? function.getClass().getName() : String.format("with ID '%1$s'", functionId))),
-					(Throwable) result);
+			throw new FunctionException(String.format("Execution of Function %1$s failed", describeFunction()),
+				(Throwable) result);
 		}
 
 		return (T) result;
 	}
 
+	/* (non-Javadoc) */
+	private String resolveFunctionId() {
+		return (function != null ? function.getId() : functionId);
+	}
+
+	/* (non-Javadoc) */
+	private String describeFunction() {
+		return (function != null ? function.getClass().getName() : String.format("with ID '%1$s'", functionId));
+	}
+
 	protected abstract Execution getExecution();
 
 	protected AbstractFunctionExecution setArgs(Object... args) {
@@ -190,6 +470,11 @@ abstract class AbstractFunctionExecution {
 		return this;
 	}
 
+	protected AbstractFunctionExecution setMetrics(FunctionExecutionMetrics metrics) {
+		this.metrics = metrics;
+		return this;
+	}
+
 	protected AbstractFunctionExecution setTimeout(long timeout) {
 		this.timeout = timeout;
 		return this;
@@ -219,4 +504,24 @@ abstract class AbstractFunctionExecution {
 		return results;
 	}
 
+	/**
+	 * Lazily created, shared daemon {@link ScheduledExecutorService} timing out asynchronous Function executions.
+	 */
+	private static class TimeoutScheduler {
+
+		private static final ScheduledExecutorService INSTANCE = newScheduledExecutorService();
+
+		private static ScheduledExecutorService newScheduledExecutorService() {
+
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("GemfireFunctionTimeout-");
+
+			threadFactory.setDaemon(true);
+
+			ScheduledThreadPoolExecutor scheduledExecutorService = new ScheduledThreadPoolExecutor(1, threadFactory);
+
+			scheduledExecutorService.setRemoveOnCancelPolicy(true);
+
+			return scheduledExecutorService;
+		}
+	}
 }
@@ -12,10 +12,21 @@
  */
 package org.springframework.data.gemfire.function.execution;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.geode.cache.execute.Function;
 import org.apache.geode.cache.execute.ResultCollector;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.gemfire.function.FunctionExecutionMetrics;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 /**
  * The base class for GemFire FunctionTemplates used to invoke GemFire Functions.
@@ -25,14 +36,28 @@ import org.apache.geode.cache.execute.ResultCollector;
  * @see org.apache.geode.cache.execute.Function
  * @see org.apache.geode.cache.execute.ResultCollector
  */
-abstract class AbstractFunctionTemplate implements GemfireFunctionOperations {
+abstract class AbstractFunctionTemplate implements GemfireFunctionOperations, DisposableBean {
+
+	/**
+	 * Maximum number of {@link Thread Threads} of the {@link Executor} used for asynchronous Function executions
+	 * when none is set.
+	 */
+	public static final int DEFAULT_EXECUTOR_POOL_SIZE = 16;
 
 	protected Log log = LogFactory.getLog(this.getClass());
 
 	protected long timeout;
 
+	protected int streamingBufferSize = StreamingResultCollector.DEFAULT_CAPACITY;
+
+	protected volatile Executor executor;
+
+	private ExecutorService defaultExecutor;
+
 	protected volatile ResultCollector<?, ?> resultCollector;
 
+	protected volatile FunctionExecutionMetrics metrics;
+
 	@Override
 	public <T> Iterable<T> execute(Function function, Object... args) {
 		 return execute(getFunctionExecution().setArgs(args).setFunction(function));
@@ -58,21 +83,104 @@ abstract class AbstractFunctionTemplate implements GemfireFunctionOperations {
 		execute(getFunctionExecution().setArgs(args).setFunctionId(functionId), false);
 	}
 
+	@Override
+	public <T> CompletableFuture<Iterable<T>> executeAsync(Function function, Object... args) {
+		return executeAsync(getFunctionExecution().setArgs(args).setFunction(function));
+	}
+
+	@Override
+	public <T> CompletableFuture<Iterable<T>> executeAsync(String functionId, Object... args) {
+		return executeAsync(getFunctionExecution().setArgs(args).setFunctionId(functionId));
+	}
+
+	@Override
+	public <T> CompletableFuture<T> executeAndExtractAsync(String functionId, Object... args) {
+		return executeAndExtractAsync(getFunctionExecution().setArgs(args).setFunctionId(functionId));
+	}
+
+	@Override
+	public <T> Stream<T> executeAsStream(String functionId, Object... args) {
+		return executeAsStream(getFunctionExecution().setArgs(args).setFunctionId(functionId));
+	}
+
 	@Override
 	public <T> T execute(GemfireFunctionCallback<T> callback) {
 		return callback.doInGemfire(getFunctionExecution().getExecution());
 	}
 
+	/**
+	 * Executes the Function registered with the given ID with the given timeout, used by Function execution proxies
+	 * for methods declaring their own timeout.
+	 *
+	 * @param <T> type of the Function results.
+	 * @param timeout timeout of the Function execution in milliseconds, or {@literal 0} to use the timeout
+	 * of this template.
+	 * @param functionId ID of the Function to execute.
+	 * @param args arguments of the Function.
+	 * @return the results of the Function execution.
+	 * @see org.springframework.data.gemfire.function.annotation.FunctionId#timeout()
+	 */
+	<T> Iterable<T> execute(long timeout, String functionId, Object... args) {
+		return configure(getFunctionExecution().setArgs(args).setFunctionId(functionId), timeout).execute();
+	}
+
+	/* (non-Javadoc) */
+	<T> T executeAndExtract(long timeout, String functionId, Object... args) {
+		return configure(getFunctionExecution().setArgs(args).setFunctionId(functionId), timeout).executeAndExtract();
+	}
+
+	/* (non-Javadoc) */
+	<T> CompletableFuture<Iterable<T>> executeAsync(long timeout, String functionId, Object... args) {
+		return configure(getFunctionExecution().setArgs(args).setFunctionId(functionId), timeout)
+			.executeAsync(getExecutor());
+	}
+
+	/* (non-Javadoc) */
+	<T> CompletableFuture<T> executeAndExtractAsync(long timeout, String functionId, Object... args) {
+		return configure(getFunctionExecution().setArgs(args).setFunctionId(functionId), timeout)
+			.executeAndExtractAsync(getExecutor());
+	}
+
 	protected <T> Iterable<T> execute(AbstractFunctionExecution execution) {
-		 return execution.setTimeout(timeout).setResultCollector(resultCollector).execute();
+		return configure(execution, 0L).execute();
 	}
 
 	protected <T> Iterable<T> execute(AbstractFunctionExecution execution, boolean returnResult) {
-		 return execution.setTimeout(timeout).setResultCollector(resultCollector).execute(returnResult);
+		return configure(execution, 0L).execute(returnResult);
 	}
 
 	protected <T> T executeAndExtract(AbstractFunctionExecution execution) {
-		 return execution.setTimeout(timeout).setResultCollector(resultCollector).executeAndExtract();
+		return configure(execution, 0L).executeAndExtract();
+	}
+
+	protected <T> CompletableFuture<Iterable<T>> executeAsync(AbstractFunctionExecution execution) {
+		return configure(execution, 0L).executeAsync(getExecutor());
+	}
+
+	protected <T> CompletableFuture<T> executeAndExtractAsync(AbstractFunctionExecution execution) {
+		return configure(execution, 0L).executeAndExtractAsync(getExecutor());
+	}
+
+	protected <T> Stream<T> executeAsStream(AbstractFunctionExecution execution) {
+		return execution.setTimeout(timeout).setMetrics(metrics).executeAsStream(getExecutor(), streamingBufferSize);
+	}
+
+	/**
+	 * Configures the given Function execution with the settings of this template at the time of the execution.
+	 *
+	 * @param execution {@link AbstractFunctionExecution} to configure.
+	 * @param timeout timeout of the Function execution in milliseconds, or {@literal 0} to use the timeout
+	 * of this template.
+	 * @return the configured {@link AbstractFunctionExecution}.
+	 */
+	AbstractFunctionExecution configure(AbstractFunctionExecution execution, long timeout) {
+		return execution.setTimeout(resolveTimeout(timeout)).setMetrics(this.metrics)
+			.setResultCollector(this.resultCollector);
+	}
+
+	/* (non-Javadoc) */
+	long resolveTimeout(long timeout) {
+		return (timeout > 0 ? timeout : this.timeout);
 	}
 
 	public void setResultCollector(ResultCollector<?,?> resultCollector) {
@@ -83,10 +191,97 @@ abstract class AbstractFunctionTemplate implements GemfireFunctionOperations {
 		return this.resultCollector;
 	}
 
+	/**
+	 * Sets the {@link FunctionExecutionMetrics} notified of each Function execution, timeout and retry.
+	 * No metrics are recorded by default.
+	 *
+	 * @param metrics {@link FunctionExecutionMetrics} recording the Function executions.
+	 */
+	public void setMetrics(FunctionExecutionMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	public FunctionExecutionMetrics getMetrics() {
+		return this.metrics;
+	}
+
 	public void setTimeout(long timeout) {
 		this.timeout = timeout;
 	}
 
+	/**
+	 * Sets the {@link Executor} used to submit asynchronous Function executions.
+	 *
+	 * Defaults to a pool of at most {@link #DEFAULT_EXECUTOR_POOL_SIZE} daemon {@link Thread Threads} owned by
+	 * this template, queueing executions when all are busy, and shut down when this template is destroyed.
+	 * An {@link Executor} set explicitly is not shut down by this template.
+	 *
+	 * @param executor {@link Executor} used to submit asynchronous Function executions; {@literal null} restores
+	 * the default.
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Returns the {@link Executor} used to submit asynchronous Function executions, creating the default
+	 * {@link Executor} on first use if none is set.
+	 *
+	 * @return the {@link Executor} used to submit asynchronous Function executions.
+	 * @see #setExecutor(Executor)
+	 */
+	public Executor getExecutor() {
+		Executor executor = this.executor;
+		return (executor != null ? executor : resolveDefaultExecutor());
+	}
+
+	/* (non-Javadoc) */
+	private synchronized ExecutorService resolveDefaultExecutor() {
+
+		if (this.defaultExecutor == null) {
+
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("GemfireFunctionExecution-");
+
+			threadFactory.setDaemon(true);
+
+			ThreadPoolExecutor defaultExecutor = new ThreadPoolExecutor(DEFAULT_EXECUTOR_POOL_SIZE,
+				DEFAULT_EXECUTOR_POOL_SIZE, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+
+			defaultExecutor.allowCoreThreadTimeOut(true);
+
+			this.defaultExecutor = defaultExecutor;
+		}
+
+		return this.defaultExecutor;
+	}
+
+	/**
+	 * Shuts down the default {@link Executor} of this template, if it was created.
+	 */
+	@Override
+	public synchronized void destroy() {
+
+		if (this.defaultExecutor != null) {
+			this.defaultExecutor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Sets the maximum number of results (chunks) buffered by streaming Function executions before the sender
+	 * is blocked.
+	 *
+	 * @param streamingBufferSize maximum number of buffered results; defaults to
+	 * {@link StreamingResultCollector#DEFAULT_CAPACITY}.
+	 * @see #executeAsStream(String, Object...)
+	 */
+	public void setStreamingBufferSize(int streamingBufferSize) {
+		this.streamingBufferSize = streamingBufferSize;
+	}
+
+	public int getStreamingBufferSize() {
+		return this.streamingBufferSize;
+	}
+
 	protected abstract AbstractFunctionExecution getFunctionExecution();
 
 }
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.execution;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import org.apache.geode.cache.execute.FunctionException;
+import org.springframework.util.Assert;
+
+/**
+ * Collapses concurrent executions of a Region Function, with equal arguments, into a single execution whose filter
+ * is the union of the filters of the collapsed executions, and splits the results back per caller.
+ *
+ * The first caller of a batch leads it: it waits for at most the configured window, or until the merged filter
+ * has the configured maximum number of keys, then closes the batch and executes the Function on behalf of all
+ * callers of the batch.  The Function must return {@link Map Maps} keyed by filter key; each caller receives
+ * the {@link Map Maps} restricted to its own keys, omitting empty ones.
+ *
+ * @see org.springframework.data.gemfire.function.annotation.CollapsedExecution
+ * @see org.springframework.data.gemfire.function.execution.OnRegionFunctionProxyFactoryBean
+ * @since 2.1.0
+ */
+class CollapsingFunctionExecutor {
+
+	private final BiFunction<Set<?>, Object[], Iterable<?>> execution;
+
+	private final int maxKeys;
+
+	private final long window;
+
+	private final Map<List<Object>, Batch> openBatches = new HashMap<>();
+
+	private final String functionId;
+
+	/**
+	 * @param functionId {@link String} containing the ID of the collapsed Function.
+	 * @param window maximum time, in milliseconds, the leader of a batch waits for other callers.
+	 * @param maxKeys maximum number of keys of the merged filter.
+	 * @param execution {@link BiFunction} executing the Function with the merged filter and the arguments.
+	 */
+	CollapsingFunctionExecutor(String functionId, long window, int maxKeys,
+			BiFunction<Set<?>, Object[], Iterable<?>> execution) {
+
+		Assert.hasText(functionId, "Function ID is required");
+		Assert.isTrue(window >= 0, String.format("Window [%d] must be greater than or equal to 0", window));
+		Assert.isTrue(maxKeys > 0, String.format("Maximum keys [%d] must be greater than 0", maxKeys));
+		Assert.notNull(execution, "Execution is required");
+
+		this.functionId = functionId;
+		this.window = window;
+		this.maxKeys = maxKeys;
+		this.execution = execution;
+	}
+
+	/**
+	 * Executes the Function for the given filter and arguments, collapsed with concurrent executions
+	 * having equal arguments.
+	 *
+	 * @param keys {@link Set} of keys of the filter.
+	 * @param args Function arguments.
+	 * @return the results of the Function, restricted to the given keys.
+	 */
+	Iterable<Object> execute(Set<?> keys, Object[] args) {
+
+		List<Object> arguments = Arrays.asList(args != null ? args : new Object[0]);
+
+		Request request = new Request(keys);
+
+		Batch batch;
+
+		boolean leader = false;
+
+		synchronized (this.openBatches) {
+
+			batch = this.openBatches.get(arguments);
+
+			if (batch == null) {
+				batch = new Batch(args);
+				this.openBatches.put(arguments, batch);
+				leader = true;
+			}
+
+			batch.add(request);
+
+			if (batch.keys.size() >= this.maxKeys) {
+				this.openBatches.remove(arguments, batch);
+				batch.full.countDown();
+			}
+		}
+
+		if (leader) {
+			await(batch);
+
+			synchronized (this.openBatches) {
+				this.openBatches.remove(arguments, batch);
+			}
+
+			execute(batch);
+		}
+
+		return join(request.results);
+	}
+
+	/* (non-Javadoc) */
+	private void await(Batch batch) {
+
+		try {
+			batch.full.await(this.window, TimeUnit.MILLISECONDS);
+		}
+		catch (InterruptedException ignore) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/* (non-Javadoc) */
+	private void execute(Batch batch) {
+
+		try {
+			Iterable<?> results = this.execution.apply(batch.keys, batch.args);
+
+			List<List<Object>> resultsPerRequest = new ArrayList<>(batch.requests.size());
+
+			for (int index = 0; index < batch.requests.size(); index++) {
+				resultsPerRequest.add(new ArrayList<>());
+			}
+
+			if (results != null) {
+				for (Object result : results) {
+					split(result, batch.requests, resultsPerRequest);
+				}
+			}
+
+			for (int index = 0; index < batch.requests.size(); index++) {
+				batch.requests.get(index).results.complete(resultsPerRequest.get(index));
+			}
+		}
+		catch (Throwable cause) {
+			batch.requests.forEach(request -> request.results.completeExceptionally(cause));
+		}
+	}
+
+	/* (non-Javadoc) */
+	private void split(Object result, List<Request> requests, List<List<Object>> resultsPerRequest) {
+
+		if (result == null) {
+			return;
+		}
+
+		if (result instanceof Throwable) {
+			throw new FunctionException(String.format("Execution of Function with ID '%s' failed", this.functionId),
+				(Throwable) result);
+		}
+
+		if (!(result instanceof Map)) {
+			throw new FunctionException(String.format(
+				"Collapsed Function with ID '%1$s' must return Maps keyed by filter key; was [%2$s]",
+					this.functionId, result.getClass().getName()));
+		}
+
+		Map<?, ?> resultMap = (Map<?, ?>) result;
+
+		for (int index = 0; index < requests.size(); index++) {
+
+			Map<Object, Object> requestResultMap = new LinkedHashMap<>();
+
+			for (Object key : requests.get(index).keys) {
+
+				Object value = resultMap.get(key);
+
+				if (value != null || resultMap.containsKey(key)) {
+					requestResultMap.put(key, value);
+				}
+			}
+
+			if (!requestResultMap.isEmpty()) {
+				resultsPerRequest.get(index).add(requestResultMap);
+			}
+		}
+	}
+
+	/* (non-Javadoc) */
+	private Iterable<Object> join(CompletableFuture<Iterable<Object>> results) {
+
+		try {
+			return results.get();
+		}
+		catch (InterruptedException cause) {
+			Thread.currentThread().interrupt();
+			throw new FunctionException(cause);
+		}
+		catch (ExecutionException cause) {
+
+			Throwable failure = cause.getCause();
+
+			if (failure instanceof RuntimeException) {
+				throw (RuntimeException) failure;
+			}
+
+			throw new FunctionException(failure);
+		}
+	}
+
+	/**
+	 * Function executions collapsed into one, sharing the same arguments.
+	 */
+	private static class Batch {
+
+		private final CountDownLatch full = new CountDownLatch(1);
+
+		private final List<Request> requests = new ArrayList<>();
+
+		private final Object[] args;
+
+		private final Set<Object> keys = new LinkedHashSet<>();
+
+		Batch(Object[] args) {
+			this.args = args;
+		}
+
+		void add(Request request) {
+			this.requests.add(request);
+			this.keys.addAll(request.keys);
+		}
+	}
+
+	/**
+	 * Filter of a single caller, and the {@link CompletableFuture} completed with its share of the results.
+	 */
+	private static class Request {
+
+		private final CompletableFuture<Iterable<Object>> results = new CompletableFuture<>();
+
+		private final Set<?> keys;
+
+		Request(Set<?> keys) {
+			this.keys = keys;
+		}
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.geode.cache.execute.FunctionException;
+import org.apache.geode.cache.execute.ResultCollector;
+import org.apache.geode.distributed.DistributedMember;
+
+/**
+ * {@link ResultCollector} completing a {@link CompletableFuture} when GemFire signals the end of the results,
+ * so that no {@link Thread} has to block on {@link ResultCollector#getResult()} waiting for the Function results.
+ *
+ * Results are collected by the given {@link ResultCollector}, if any, otherwise in a {@link List}. Results received
+ * after the {@link CompletableFuture} completed, for example, because it was cancelled or timed out, are ignored.
+ *
+ * @see java.util.concurrent.CompletableFuture
+ * @see org.apache.geode.cache.execute.ResultCollector
+ * @since 2.1.0
+ */
+class CompletableFutureResultCollector implements ResultCollector<Object, Object> {
+
+	private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+	private List<Object> results = new ArrayList<>();
+
+	private final ResultCollector<Object, Object> delegate;
+
+	@SuppressWarnings("unchecked")
+	CompletableFutureResultCollector(ResultCollector<?, ?> delegate) {
+		this.delegate = (ResultCollector<Object, Object>) delegate;
+	}
+
+	/**
+	 * Returns the {@link CompletableFuture} completed with the Function results.
+	 *
+	 * @return the {@link CompletableFuture} completed with the Function results.
+	 */
+	CompletableFuture<Object> getFuture() {
+		return this.future;
+	}
+
+	@Override
+	public synchronized void addResult(DistributedMember memberId, Object result) {
+
+		if (!this.future.isDone()) {
+			if (this.delegate != null) {
+				this.delegate.addResult(memberId, result);
+			}
+			else {
+				this.results.add(result);
+			}
+		}
+	}
+
+	@Override
+	public void endResults() {
+
+		Object result;
+
+		synchronized (this) {
+			if (this.delegate != null) {
+				this.delegate.endResults();
+				result = this.delegate.getResult();
+			}
+			else {
+				result = this.results;
+				this.results = new ArrayList<>();
+			}
+		}
+
+		this.future.complete(result);
+	}
+
+	@Override
+	public synchronized void clearResults() {
+
+		if (this.delegate != null) {
+			this.delegate.clearResults();
+		}
+		else {
+			this.results.clear();
+		}
+	}
+
+	@Override
+	public Object getResult() throws FunctionException {
+
+		try {
+			return this.future.get();
+		}
+		catch (InterruptedException cause) {
+			Thread.currentThread().interrupt();
+			throw new FunctionException(cause);
+		}
+		catch (CancellationException | ExecutionException cause) {
+			throw new FunctionException(cause.getCause() != null ? cause.getCause() : cause);
+		}
+	}
+
+	@Override
+	public Object getResult(long timeout, TimeUnit unit) throws FunctionException, InterruptedException {
+
+		try {
+			return this.future.get(timeout, unit);
+		}
+		catch (CancellationException | ExecutionException | TimeoutException cause) {
+			throw new FunctionException(cause.getCause() != null ? cause.getCause() : cause);
+		}
+	}
+}
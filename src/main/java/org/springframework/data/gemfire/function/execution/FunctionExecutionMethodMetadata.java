@@ -15,7 +15,9 @@ package org.springframework.data.gemfire.function.execution;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import org.springframework.core.ResolvableType;
 import org.springframework.data.gemfire.function.annotation.FunctionId;
 import org.springframework.util.Assert;
 import org.springframework.util.ReflectionUtils;
@@ -68,11 +70,37 @@ abstract class FunctionExecutionMethodMetadata<T extends MethodMetadata > {
 
 class MethodMetadata {
 
+	private final boolean async;
+
+	private final long timeout;
+
+	private final ResolvableType resultType;
+
 	private String functionId;
 
 	public MethodMetadata(Method method) {
-		String annotatedFunctionId = annotatedFunctionId(method);
-		this.functionId = (annotatedFunctionId == null) ? null : annotatedFunctionId;
+		FunctionId functionIdAnnotation = method.getAnnotation(FunctionId.class);
+		this.functionId = (functionIdAnnotation == null) ? null : functionIdAnnotation.value();
+		this.timeout = (functionIdAnnotation == null) ? 0L : functionIdAnnotation.timeout();
+		this.async = isAsync(method);
+		this.resultType = (this.async ? ResolvableType.forMethodReturnType(method).getGeneric(0)
+			: ResolvableType.forMethodReturnType(method));
+	}
+
+	/**
+	 * @return whether the method returns a {@link CompletableFuture} (or one of its interfaces, such as
+	 * {@link java.util.concurrent.CompletionStage}), in which case the Function is executed asynchronously.
+	 */
+	public boolean isAsync() {
+		return async;
+	}
+
+	/**
+	 * @return the type of the Function result returned by the method; for asynchronous executions, the type
+	 * the returned {@link CompletableFuture} is completed with.
+	 */
+	public ResolvableType getResultType() {
+		return resultType;
 	}
 
 	/**
@@ -86,9 +114,17 @@ class MethodMetadata {
 		this.functionId = functionId;
 	}
 
-	private String annotatedFunctionId(Method method) {
-		FunctionId functionIdAnnotation = method.getAnnotation(FunctionId.class);
-		return (functionIdAnnotation == null) ? null : functionIdAnnotation.value();
+	/**
+	 * @return the timeout of the Function execution in milliseconds declared by {@link FunctionId#timeout()},
+	 * or {@literal 0} to use the timeout of the Function template.
+	 */
+	public long getTimeout() {
+		return timeout;
+	}
+
+	private static boolean isAsync(Method method) {
+		Class<?> returnType = method.getReturnType();
+		return (!Object.class.equals(returnType) && returnType.isAssignableFrom(CompletableFuture.class));
 	}
 
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.execution;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.geode.cache.execute.FunctionException;
+import org.springframework.core.CollectionFactory;
+import org.springframework.core.ResolvableType;
+
+/**
+ * Collects the results of a Function execution into the {@link Collection} type returned by a proxied method.
+ *
+ * Results sent in chunks, as {@link Iterable Iterables} or arrays, are flattened into the returned {@link Collection}
+ * unless its element type is itself an {@link Iterable} or an array, so that methods returning a {@link List}
+ * receive the elements sent by the Function rather than a singleton {@link List} of the {@link List} sent.
+ *
+ * @see org.springframework.data.gemfire.function.execution.GemfireFunctionProxyFactoryBean
+ * @since 2.1.0
+ */
+class FunctionResultExtractor {
+
+	private final boolean flatten;
+
+	private final Class<?> collectionType;
+
+	private final Class<?> elementType;
+
+	private final String functionId;
+
+	/**
+	 * Returns a {@link FunctionResultExtractor} for the given method return type, or {@literal null}
+	 * if the type is not an {@link Iterable} and a single result is extracted instead.
+	 *
+	 * @param functionId {@link String} containing the ID of the executed Function.
+	 * @param returnType {@link ResolvableType} of the value returned by the proxied method.
+	 * @return a {@link FunctionResultExtractor} for the type, or {@literal null}.
+	 */
+	static FunctionResultExtractor forType(String functionId, ResolvableType returnType) {
+		Class<?> type = returnType.resolve(Object.class);
+
+		if (Object.class.equals(type) || !Iterable.class.isAssignableFrom(type)) {
+			return null;
+		}
+
+		Class<?> collectionType = (Collection.class.isAssignableFrom(type) ? type : List.class);
+		Class<?> elementType = returnType.as(Iterable.class).getGeneric(0).resolve(Object.class);
+
+		return new FunctionResultExtractor(functionId, collectionType, elementType);
+	}
+
+	/**
+	 * Extracts the single result of a Function execution.
+	 *
+	 * @param functionId {@link String} containing the ID of the executed Function.
+	 * @param results results of the Function execution.
+	 * @return the first result, or {@literal null} if the Function returned no results.
+	 * @throws FunctionException if the result is a {@link Throwable}.
+	 */
+	static Object extractSingle(String functionId, Iterable<?> results) {
+		Object result = (results != null && results.iterator().hasNext() ? results.iterator().next() : null);
+
+		if (result instanceof Throwable) {
+			throw new FunctionException(String.format("Execution of Function with ID '%s' failed", functionId),
+				(Throwable) result);
+		}
+
+		return result;
+	}
+
+	private FunctionResultExtractor(String functionId, Class<?> collectionType, Class<?> elementType) {
+		this.functionId = functionId;
+		this.collectionType = collectionType;
+		this.elementType = elementType;
+		this.flatten = !(Iterable.class.isAssignableFrom(elementType) || elementType.isArray());
+	}
+
+	/**
+	 * Collects the given Function results into a new {@link Collection} of the method return type.
+	 *
+	 * @param results results of the Function execution.
+	 * @return a {@link Collection} of the results, or {@literal null} if the Function returned no results.
+	 * @throws FunctionException if one of the results is a {@link Throwable}.
+	 */
+	Collection<Object> extract(Iterable<?> results) {
+		if (results == null) {
+			return null;
+		}
+
+		Collection<Object> collection = CollectionFactory.createCollection(this.collectionType, this.elementType,
+			(results instanceof Collection ? ((Collection<?>) results).size() : 16));
+
+		for (Object result : results) {
+			if (result instanceof Throwable) {
+				throw new FunctionException(String.format("Execution of Function with ID '%s' failed",
+					this.functionId), (Throwable) result);
+			}
+
+			if (this.flatten && result instanceof Iterable) {
+				((Iterable<?>) result).forEach(collection::add);
+			}
+			else if (this.flatten && result instanceof Object[]) {
+				collection.addAll(Arrays.asList((Object[]) result));
+			}
+			else {
+				collection.add(result);
+			}
+		}
+
+		return collection;
+	}
+
+}
@@ -13,6 +13,10 @@
 
 package org.springframework.data.gemfire.function.execution;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 import org.apache.geode.cache.execute.Function;
 
 /**
@@ -72,6 +76,76 @@ public interface GemfireFunctionOperations {
 	 */
 	void executeWithNoResult(String functionId, Object... args);
 
+	/**
+	 * Asynchronously execute an unregistered GemFire Function with the given arguments.
+	 *
+	 * The calling {@link Thread} does not wait for the Function results. The returned {@link CompletableFuture}
+	 * completes exceptionally with a {@link java.util.concurrent.TimeoutException} if a timeout is configured
+	 * and the results are not received in time. Cancelling the {@link CompletableFuture} discards the results.
+	 *
+	 * The default implementation executes {@link #execute(Function, Object...)} synchronously, in the calling
+	 * {@link Thread}, and returns a {@link CompletableFuture} completed with its results, or completed exceptionally
+	 * if it fails.
+	 *
+	 * @param <T> type parameter specifying the result type of the Function execution.
+	 * @param function the GemFire Function object to execute.
+	 * @param args an array of Object arguments to the Function call.
+	 * @return a {@link CompletableFuture} completed with the contents of the ResultsCollector.
+	 * @see java.util.concurrent.CompletableFuture
+	 */
+	default <T> CompletableFuture<Iterable<T>> executeAsync(Function function, Object... args) {
+		return AbstractFunctionExecution.completedExecution(() -> execute(function, args));
+	}
+
+	/**
+	 * Asynchronously execute a GemFire Function registered with the given ID.
+	 *
+	 * @param <T> type parameter specifying the result type of the Function execution.
+	 * @param functionId the ID under which the GemFire function is registered.
+	 * @param args an array of Object arguments to the Function call.
+	 * @return a {@link CompletableFuture} completed with the results.
+	 * @see #executeAsync(Function, Object...)
+	 */
+	default <T> CompletableFuture<Iterable<T>> executeAsync(String functionId, Object... args) {
+		return AbstractFunctionExecution.completedExecution(() -> execute(functionId, args));
+	}
+
+	/**
+	 * Asynchronously execute a GemFire Function registered with an ID and with an expected singleton result.
+	 *
+	 * @param <T> type parameter specifying the result type of the Function execution.
+	 * @param functionId the ID under which the GemFire function is registered.
+	 * @param args an array of Object arguments to the Function call.
+	 * @return a {@link CompletableFuture} completed with the first item in the results collector.
+	 * @see #executeAsync(Function, Object...)
+	 */
+	default <T> CompletableFuture<T> executeAndExtractAsync(String functionId, Object... args) {
+		return AbstractFunctionExecution.completedExecution(() -> executeAndExtract(functionId, args));
+	}
+
+	/**
+	 * Execute a GemFire Function registered with the given ID, streaming the results to the caller while they arrive.
+	 *
+	 * Results are buffered in a bounded buffer, blocking the sender when full, so that large results are consumed
+	 * in constant memory. Results sent in chunks, as collections or arrays, are flattened into their elements.
+	 * The returned {@link Stream} should be closed when not fully consumed, which discards the remaining results.
+	 *
+	 * The default implementation streams the results of {@link #execute(String, Object...)} once all have been
+	 * received.
+	 *
+	 * @param <T> type parameter specifying the result type of the Function execution.
+	 * @param functionId the ID under which the GemFire function is registered.
+	 * @param args an array of Object arguments to the Function call.
+	 * @return a {@link Stream} of the Function results.
+	 * @see org.springframework.data.gemfire.function.execution.StreamingResultCollector
+	 * @see java.util.stream.Stream
+	 */
+	default <T> Stream<T> executeAsStream(String functionId, Object... args) {
+		Iterable<T> results = execute(functionId, args);
+
+		return (results != null ? StreamSupport.stream(results.spliterator(), false) : Stream.empty());
+	}
+
     /**
      * Execute a GemFire Function using a native GemFire {@link org.apache.geode.cache.execute.Execution} instance.
 	 *
@@ -13,6 +13,10 @@
 package org.springframework.data.gemfire.function.execution;
 
 import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
@@ -45,6 +49,8 @@ public class GemfireFunctionProxyFactoryBean implements FactoryBean<Object>, Met
 
 	private volatile Object functionExecutionProxy;
 
+	private final ConcurrentMap<Method, InvocationPlan> invocationPlans = new ConcurrentHashMap<>();
+
 	private final GemfireFunctionOperations gemfireFunctionOperations;
 
 	protected Log logger = LogFactory.getLog(this.getClass());
@@ -87,8 +93,107 @@ public class GemfireFunctionProxyFactoryBean implements FactoryBean<Object>, Met
 	}
 
 	protected Object invokeFunction(Method method, Object[] args) {
-		return this.gemfireFunctionOperations.executeAndExtract(
-			methodMetadata.getMethodMetadata(method).getFunctionId(), args);
+		return getInvocationPlan(method).invoke(args);
+	}
+
+	/**
+	 * Returns the {@link InvocationPlan} of the given proxied {@link Method}, created on first invocation,
+	 * so that the method metadata is only resolved once.
+	 *
+	 * @param method proxied {@link Method}.
+	 * @return the {@link InvocationPlan} of the {@link Method}.
+	 */
+	protected InvocationPlan getInvocationPlan(Method method) {
+		InvocationPlan invocationPlan = this.invocationPlans.get(method);
+
+		return (invocationPlan != null ? invocationPlan
+			: this.invocationPlans.computeIfAbsent(method, this::newInvocationPlan));
+	}
+
+	/**
+	 * Creates the {@link InvocationPlan} of the given proxied {@link Method}, resolving the Function ID, the timeout
+	 * and the extraction of the results matched to the method return type: methods returning
+	 * a {@link java.util.Collection} or {@link Iterable} receive all results collected into that type,
+	 * other methods a single result.
+	 *
+	 * @param method proxied {@link Method}.
+	 * @return a new {@link InvocationPlan} for the {@link Method}.
+	 * @see org.springframework.data.gemfire.function.annotation.FunctionId#timeout()
+	 */
+	protected InvocationPlan newInvocationPlan(Method method) {
+		MethodMetadata metadata = methodMetadata.getMethodMetadata(method);
+
+		String functionId = metadata.getFunctionId();
+
+		long timeout = metadata.getTimeout();
+
+		FunctionResultExtractor resultExtractor = FunctionResultExtractor.forType(functionId, metadata.getResultType());
+
+		if (resultExtractor != null) {
+			return (metadata.isAsync()
+				? args -> thenApply(executeAsync(timeout, functionId, args), resultExtractor::extract)
+				: args -> resultExtractor.extract(execute(timeout, functionId, args)));
+		}
+
+		return (metadata.isAsync()
+			? args -> executeAndExtractAsync(timeout, functionId, args)
+			: args -> executeAndExtract(timeout, functionId, args));
+	}
+
+	/**
+	 * Returns a {@link CompletableFuture} completed with the result of applying the given {@link Function}
+	 * to the results of the given Function execution, cancelling the execution when it is cancelled.
+	 *
+	 * @param <T> type of the result.
+	 * @param results {@link CompletableFuture} of the Function execution.
+	 * @param function {@link Function} extracting the result.
+	 * @return a {@link CompletableFuture} of the extracted result.
+	 */
+	<T> CompletableFuture<T> thenApply(CompletableFuture<Iterable<Object>> results,
+			Function<? super Iterable<Object>, ? extends T> function) {
+
+		return AbstractFunctionExecution.propagateCancellation(results, results.thenApply(function));
+	}
+
+	/**
+	 * Determines whether Functions are executed with the given timeout, which only applies when delegating
+	 * to one of the provided Function templates.
+	 *
+	 * @param timeout timeout of Function executions in milliseconds, or {@literal 0} to use the timeout
+	 * of the {@link GemfireFunctionOperations}.
+	 * @return a boolean indicating whether Functions are executed with the given timeout.
+	 */
+	boolean isTimed(long timeout) {
+		return (timeout > 0 && this.gemfireFunctionOperations instanceof AbstractFunctionTemplate);
+	}
+
+	/* (non-Javadoc) */
+	Iterable<Object> execute(long timeout, String functionId, Object[] args) {
+		return (isTimed(timeout)
+			? ((AbstractFunctionTemplate) this.gemfireFunctionOperations).execute(timeout, functionId, args)
+			: this.gemfireFunctionOperations.execute(functionId, args));
+	}
+
+	/* (non-Javadoc) */
+	CompletableFuture<Iterable<Object>> executeAsync(long timeout, String functionId, Object[] args) {
+		return (isTimed(timeout)
+			? ((AbstractFunctionTemplate) this.gemfireFunctionOperations).executeAsync(timeout, functionId, args)
+			: this.gemfireFunctionOperations.executeAsync(functionId, args));
+	}
+
+	/* (non-Javadoc) */
+	private Object executeAndExtract(long timeout, String functionId, Object[] args) {
+		return (isTimed(timeout)
+			? ((AbstractFunctionTemplate) this.gemfireFunctionOperations).executeAndExtract(timeout, functionId, args)
+			: this.gemfireFunctionOperations.executeAndExtract(functionId, args));
+	}
+
+	/* (non-Javadoc) */
+	private CompletableFuture<Object> executeAndExtractAsync(long timeout, String functionId, Object[] args) {
+		return (isTimed(timeout)
+			? ((AbstractFunctionTemplate) this.gemfireFunctionOperations)
+				.executeAndExtractAsync(timeout, functionId, args)
+			: this.gemfireFunctionOperations.executeAndExtractAsync(functionId, args));
 	}
 
 	@Override
@@ -111,6 +216,16 @@ public class GemfireFunctionProxyFactoryBean implements FactoryBean<Object>, Met
 		return true;
 	}
 
+	/**
+	 * Precompiled invocation of a proxied {@link Method}, binding the method arguments to a Function execution.
+	 */
+	@FunctionalInterface
+	protected interface InvocationPlan {
+
+		Object invoke(Object[] args);
+
+	}
+
 	protected void onInit() {
 		if (!initialized) {
 			ProxyFactory proxyFactory = new ProxyFactory(functionExecutionInterface, this);
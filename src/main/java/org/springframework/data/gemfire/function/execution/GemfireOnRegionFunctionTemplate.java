@@ -13,9 +13,12 @@
 package org.springframework.data.gemfire.function.execution;
 
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.execute.Function;
+import org.springframework.data.gemfire.function.FunctionExecutionMetrics;
 import org.springframework.util.Assert;
 
 /**
@@ -24,6 +27,13 @@ import org.springframework.util.Assert;
  */
 public class GemfireOnRegionFunctionTemplate extends AbstractFunctionTemplate implements GemfireOnRegionOperations {
 
+	public static final int DEFAULT_KEY_PARTITION_PARALLELISM = 4;
+	public static final int DEFAULT_KEY_PARTITION_RETRIES = 2;
+
+	private int keyPartitionParallelism = DEFAULT_KEY_PARTITION_PARALLELISM;
+	private int keyPartitionRetries = DEFAULT_KEY_PARTITION_RETRIES;
+	private int keyPartitionThreshold;
+
 	private Region<?, ?> region;
 
 	/**
@@ -39,14 +49,41 @@ public class GemfireOnRegionFunctionTemplate extends AbstractFunctionTemplate im
 
 	@Override
 	public <T> Iterable<T> execute(Function function, Set<?> keys, Object... args) {
+		if (isKeyPartitioned(keys)) {
+			return executeKeyPartitioned(function.getId(), keys, 0L, partitionKeys ->
+				new RegionFunctionExecution(region).setKeys(partitionKeys).setFunction(function).setArgs(args), true);
+		}
+
 		return execute(new RegionFunctionExecution(region).setKeys(keys).setFunction(function).setTimeout(timeout)
 				.setArgs(args));
 	}
 
 	@Override
 	public <T> Iterable<T> execute(String functionId, Set<?> keys, Object... args) {
-		return execute(new RegionFunctionExecution(region).setKeys(keys).setFunctionId(functionId).setTimeout(timeout)
-				.setArgs(args));
+		return execute(0L, functionId, keys, args);
+	}
+
+	/**
+	 * Executes the Function registered with the given ID on the given keys with the given timeout, used by
+	 * Function execution proxies for methods declaring their own timeout.
+	 *
+	 * @param <T> type of the Function results.
+	 * @param timeout timeout of the Function execution in milliseconds, or {@literal 0} to use the timeout
+	 * of this template.
+	 * @param functionId ID of the Function to execute.
+	 * @param keys {@link Set} of keys the Function is executed on.
+	 * @param args arguments of the Function.
+	 * @return the results of the Function execution.
+	 * @see org.springframework.data.gemfire.function.annotation.FunctionId#timeout()
+	 */
+	<T> Iterable<T> execute(long timeout, String functionId, Set<?> keys, Object... args) {
+		if (isKeyPartitioned(keys)) {
+			return executeKeyPartitioned(functionId, keys, timeout, partitionKeys -> new RegionFunctionExecution(region)
+				.setKeys(partitionKeys).setFunctionId(functionId).setArgs(args), true);
+		}
+
+		return configure(new RegionFunctionExecution(region).setKeys(keys).setFunctionId(functionId).setArgs(args),
+			timeout).execute();
 	}
 
 	@Override
@@ -55,6 +92,29 @@ public class GemfireOnRegionFunctionTemplate extends AbstractFunctionTemplate im
 				.setTimeout(timeout).setArgs(args));
 	}
 
+	@Override
+	public <T> CompletableFuture<Iterable<T>> executeAsync(String functionId, Set<?> keys, Object... args) {
+		return executeAsync(0L, functionId, keys, args);
+	}
+
+	/* (non-Javadoc) */
+	<T> CompletableFuture<Iterable<T>> executeAsync(long timeout, String functionId, Set<?> keys, Object... args) {
+		return configure(new RegionFunctionExecution(region).setKeys(keys).setFunctionId(functionId).setArgs(args),
+			timeout).executeAsync(getExecutor());
+	}
+
+	@Override
+	public <T> CompletableFuture<T> executeAndExtractAsync(String functionId, Set<?> keys, Object... args) {
+		return executeAndExtractAsync(new RegionFunctionExecution(region).setKeys(keys).setFunctionId(functionId)
+				.setArgs(args));
+	}
+
+	@Override
+	public <T> Stream<T> executeAsStream(String functionId, Set<?> keys, Object... args) {
+		return executeAsStream(new RegionFunctionExecution(region).setKeys(keys).setFunctionId(functionId)
+				.setArgs(args));
+	}
+
 	@Override
 	protected AbstractFunctionExecution getFunctionExecution() {
 		return new RegionFunctionExecution(this.region);
@@ -62,8 +122,91 @@ public class GemfireOnRegionFunctionTemplate extends AbstractFunctionTemplate im
 
 	@Override
 	public void executeWithNoResult(String functionId, Set<?> keys, Object... args) {
+		if (isKeyPartitioned(keys)) {
+			executeKeyPartitioned(functionId, keys, 0L, partitionKeys -> new RegionFunctionExecution(region)
+				.setKeys(partitionKeys).setFunctionId(functionId).setArgs(args), false);
+
+			return;
+		}
+
 		execute(new RegionFunctionExecution(region).setKeys(keys).setFunctionId(functionId).setTimeout(timeout)
 				.setArgs(args), false);
 	}
 
+	/* (non-Javadoc) */
+	private boolean isKeyPartitioned(Set<?> keys) {
+		return (this.keyPartitionThreshold > 0 && keys != null && keys.size() > this.keyPartitionThreshold);
+	}
+
+	/* (non-Javadoc) */
+	private <T> Iterable<T> executeKeyPartitioned(String functionId, Set<?> keys, long timeout,
+			java.util.function.Function<Set<?>, AbstractFunctionExecution> executionFactory, boolean returnResult) {
+
+		FunctionExecutionMetrics metrics = this.metrics;
+
+		long resolvedTimeout = resolveTimeout(timeout);
+
+		KeyPartitionedFunctionExecutor keyPartitionedFunctionExecutor = new KeyPartitionedFunctionExecutor(
+			this.region, getExecutor(), this.keyPartitionThreshold, this.keyPartitionParallelism,
+				this.keyPartitionRetries, () -> {
+					if (metrics != null) {
+						metrics.onRetry(functionId);
+					}
+				});
+
+		return keyPartitionedFunctionExecutor.execute(keys, partitionKeys ->
+			executionFactory.apply(partitionKeys).setTimeout(resolvedTimeout).setMetrics(metrics)
+				.<T>execute(returnResult));
+	}
+
+	/**
+	 * Sets the number of filter keys above which Function executions are split into partitions of keys executed
+	 * concurrently, on the template's {@link java.util.concurrent.Executor}, and retried independently when
+	 * a member departs.
+	 *
+	 * On peers hosting a {@literal PARTITION} Region, keys are partitioned by primary member; otherwise,
+	 * into partitions of at most this many keys.  The configured {@link org.apache.geode.cache.execute.ResultCollector}
+	 * is not used for partitioned executions.  Defaults to {@literal 0}, which disables partitioning.
+	 *
+	 * @param keyPartitionThreshold number of filter keys above which Function executions are partitioned.
+	 */
+	public void setKeyPartitionThreshold(int keyPartitionThreshold) {
+		this.keyPartitionThreshold = Math.max(keyPartitionThreshold, 0);
+	}
+
+	public int getKeyPartitionThreshold() {
+		return this.keyPartitionThreshold;
+	}
+
+	/**
+	 * Sets the maximum number of partitions of keys executed concurrently.
+	 *
+	 * @param keyPartitionParallelism maximum number of concurrently executed partitions;
+	 * defaults to {@link #DEFAULT_KEY_PARTITION_PARALLELISM}.
+	 * @see #setKeyPartitionThreshold(int)
+	 */
+	public void setKeyPartitionParallelism(int keyPartitionParallelism) {
+		this.keyPartitionParallelism = (keyPartitionParallelism > 0 ? keyPartitionParallelism
+			: DEFAULT_KEY_PARTITION_PARALLELISM);
+	}
+
+	public int getKeyPartitionParallelism() {
+		return this.keyPartitionParallelism;
+	}
+
+	/**
+	 * Sets the number of times the execution of a failed partition of keys is retried, when the Function could not
+	 * be invoked on its target member, or a member departed.
+	 *
+	 * @param keyPartitionRetries number of retries of a failed partition;
+	 * defaults to {@link #DEFAULT_KEY_PARTITION_RETRIES}.
+	 * @see #setKeyPartitionThreshold(int)
+	 */
+	public void setKeyPartitionRetries(int keyPartitionRetries) {
+		this.keyPartitionRetries = Math.max(keyPartitionRetries, 0);
+	}
+
+	public int getKeyPartitionRetries() {
+		return this.keyPartitionRetries;
+	}
 }
@@ -13,8 +13,14 @@
 package org.springframework.data.gemfire.function.execution;
 
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.geode.cache.execute.Function;
+import org.apache.geode.cache.execute.FunctionException;
+import org.springframework.util.Assert;
 
 /**
  * @author David Turanski
@@ -26,4 +32,103 @@ public interface GemfireOnRegionOperations extends GemfireFunctionOperations {
 	public abstract void executeWithNoResult(String functionId, Set<?> keys, Object... args);
 	public abstract <T> T executeAndextract(String functionId, Set<?> keys, Object... args);
 
+	/**
+	 * Asynchronously execute a GemFire Function registered with the given ID on the given keys.
+	 *
+	 * The default implementation executes {@link #execute(String, Set, Object...)} synchronously, in the calling
+	 * {@link Thread}, and returns a {@link CompletableFuture} completed with its results, or completed exceptionally
+	 * if it fails.
+	 *
+	 * @param <T> type parameter specifying the result type of the Function execution.
+	 * @param functionId the ID under which the GemFire function is registered.
+	 * @param keys {@link Set} of keys the Function is executed on.
+	 * @param args an array of Object arguments to the Function call.
+	 * @return a {@link CompletableFuture} completed with the results.
+	 * @see GemfireFunctionOperations#executeAsync(Function, Object...)
+	 */
+	default <T> CompletableFuture<Iterable<T>> executeAsync(String functionId, Set<?> keys, Object... args) {
+		return AbstractFunctionExecution.completedExecution(() -> execute(functionId, keys, args));
+	}
+
+	/**
+	 * Asynchronously execute a GemFire Function registered with the given ID on the given keys,
+	 * with an expected singleton result.
+	 *
+	 * The default implementation executes {@link #executeAndextract(String, Set, Object...)} synchronously,
+	 * in the calling {@link Thread}, and returns a {@link CompletableFuture} completed with its result, or completed
+	 * exceptionally if it fails.
+	 *
+	 * @param <T> type parameter specifying the result type of the Function execution.
+	 * @param functionId the ID under which the GemFire function is registered.
+	 * @param keys {@link Set} of keys the Function is executed on.
+	 * @param args an array of Object arguments to the Function call.
+	 * @return a {@link CompletableFuture} completed with the first item in the results collector.
+	 * @see GemfireFunctionOperations#executeAsync(Function, Object...)
+	 */
+	default <T> CompletableFuture<T> executeAndExtractAsync(String functionId, Set<?> keys, Object... args) {
+		return AbstractFunctionExecution.completedExecution(() -> executeAndextract(functionId, keys, args));
+	}
+
+	/**
+	 * Execute a GemFire Function registered with the given ID on the given keys, streaming the results
+	 * to the caller while they arrive.
+	 *
+	 * The default implementation streams the results of {@link #execute(String, Set, Object...)} once all have been
+	 * received.
+	 *
+	 * @param <T> type parameter specifying the result type of the Function execution.
+	 * @param functionId the ID under which the GemFire function is registered.
+	 * @param keys {@link Set} of keys the Function is executed on.
+	 * @param args an array of Object arguments to the Function call.
+	 * @return a {@link Stream} of the Function results.
+	 * @see GemfireFunctionOperations#executeAsStream(String, Object...)
+	 */
+	default <T> Stream<T> executeAsStream(String functionId, Set<?> keys, Object... args) {
+		Iterable<T> results = execute(functionId, keys, args);
+
+		return (results != null ? StreamSupport.stream(results.spliterator(), false) : Stream.empty());
+	}
+
+	/**
+	 * Executes a map-reduce Function, such as a
+	 * {@link org.springframework.data.gemfire.function.mapreduce.MapReduceFunction}, registered with the given ID,
+	 * reducing the partial aggregates returned by each member with the given {@link Collector}.
+	 *
+	 * @param <A> type of the partial aggregates.
+	 * @param <R> type of the final result.
+	 * @param functionId the ID under which the GemFire function is registered.
+	 * @param collector {@link Collector} used by the Function to aggregate the mapped values.
+	 * @param keys {@link Set} of keys restricting the aggregation; may be {@literal null} or empty.
+	 * @param args an array of Object arguments to the Function call.
+	 * @return the result of the {@link Collector} after reducing all partial aggregates.
+	 * @throws org.apache.geode.cache.execute.FunctionException if one of the partial aggregates is
+	 * a {@link Throwable}.
+	 * @see #execute(String, Set, Object...)
+	 * @see org.springframework.data.gemfire.function.mapreduce.MapReduceFunction
+	 * @see java.util.stream.Collector
+	 */
+	@SuppressWarnings("unchecked")
+	default <A, R> R mapReduce(String functionId, Collector<?, A, R> collector, Set<?> keys, Object... args) {
+		Assert.notNull(collector, "Collector is required");
+
+		Iterable<Object> partialAggregates = execute(functionId, keys, args);
+
+		A result = collector.supplier().get();
+
+		if (partialAggregates != null) {
+			for (Object partialAggregate : partialAggregates) {
+				if (partialAggregate instanceof Throwable) {
+					throw new FunctionException(String.format("Execution of Function with ID '%s' failed",
+						functionId), (Throwable) partialAggregate);
+				}
+
+				if (partialAggregate != null) {
+					result = collector.combiner().apply(result, (A) partialAggregate);
+				}
+			}
+		}
+
+		return collector.finisher().apply(result);
+	}
+
 }
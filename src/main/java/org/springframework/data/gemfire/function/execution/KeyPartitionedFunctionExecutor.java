@@ -0,0 +1,281 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.execution;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.client.ServerConnectivityException;
+import org.apache.geode.cache.execute.FunctionException;
+import org.apache.geode.cache.execute.FunctionInvocationTargetException;
+import org.apache.geode.cache.partition.PartitionRegionHelper;
+import org.apache.geode.distributed.DistributedMember;
+import org.springframework.util.Assert;
+
+/**
+ * Executes a Region Function having a large filter by splitting the filter keys into partitions, executing
+ * the Function for each partition concurrently, with bounded parallelism, and merging the results.
+ *
+ * On peers hosting a {@literal PARTITION} Region, the keys are grouped by the member hosting the primary bucket
+ * of each key, using {@link PartitionRegionHelper}. Otherwise, for example on clients, the keys are split
+ * into partitions of the configured size, and each partition is routed by GemFire (using single-hop, when enabled).
+ *
+ * When the execution of a partition fails because a member departed, or the Function could not be invoked
+ * on its target member ({@link FunctionInvocationTargetException}), only the keys of the failed partition
+ * are re-partitioned and retried, up to the configured number of retries.
+ *
+ * @see org.apache.geode.cache.partition.PartitionRegionHelper
+ * @see org.springframework.data.gemfire.function.execution.GemfireOnRegionFunctionTemplate
+ * @since 2.1.0
+ */
+class KeyPartitionedFunctionExecutor {
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final Executor executor;
+
+	private final int parallelism;
+	private final int partitionSize;
+	private final int retries;
+
+	private final Region<?, ?> region;
+
+	private final Runnable retryListener;
+
+	KeyPartitionedFunctionExecutor(Region<?, ?> region, Executor executor, int partitionSize, int parallelism,
+			int retries) {
+
+		this(region, executor, partitionSize, parallelism, retries, () -> {});
+	}
+
+	/**
+	 * @param retryListener {@link Runnable} called each time the execution of a failed partition is retried.
+	 */
+	KeyPartitionedFunctionExecutor(Region<?, ?> region, Executor executor, int partitionSize, int parallelism,
+			int retries, Runnable retryListener) {
+
+		Assert.notNull(region, "Region is required");
+		Assert.notNull(executor, "Executor is required");
+		Assert.isTrue(partitionSize > 0, String.format("Partition size [%d] must be greater than 0", partitionSize));
+		Assert.isTrue(parallelism > 0, String.format("Parallelism [%d] must be greater than 0", parallelism));
+
+		this.region = region;
+		this.executor = executor;
+		this.partitionSize = partitionSize;
+		this.parallelism = parallelism;
+		this.retries = Math.max(retries, 0);
+		this.retryListener = (retryListener != null ? retryListener : () -> {});
+	}
+
+	/**
+	 * Executes the Function for the given keys, partition by partition, using the given {@link Function}
+	 * to execute the GemFire Function with the keys of a partition as the filter.
+	 *
+	 * @param <T> type of the Function results.
+	 * @param keys {@link Set} of keys to partition.
+	 * @param execution {@link Function} executing the GemFire Function for the keys of a partition.
+	 * @return the merged results of all partitions, in partition order.
+	 */
+	<T> Iterable<T> execute(Set<?> keys, Function<Set<?>, Iterable<T>> execution) {
+
+		List<Set<Object>> partitions = partition(keys);
+
+		if (partitions.size() == 1) {
+			return executeWithRetry(partitions.get(0), execution, 0);
+		}
+
+		Semaphore permits = new Semaphore(this.parallelism);
+
+		List<CompletableFuture<List<T>>> futures = new ArrayList<>(partitions.size());
+
+		for (Set<Object> partition : partitions) {
+
+			acquire(permits);
+
+			CompletableFuture<List<T>> future = new CompletableFuture<>();
+
+			futures.add(future);
+
+			try {
+				this.executor.execute(() -> {
+					try {
+						future.complete(executeWithRetry(partition, execution, 0));
+					}
+					catch (Throwable cause) {
+						future.completeExceptionally(cause);
+					}
+					finally {
+						permits.release();
+					}
+				});
+			}
+			catch (RuntimeException cause) {
+				permits.release();
+				future.completeExceptionally(cause);
+			}
+		}
+
+		List<T> results = new ArrayList<>();
+
+		for (CompletableFuture<List<T>> future : futures) {
+			results.addAll(join(future));
+		}
+
+		return results;
+	}
+
+	/* (non-Javadoc) */
+	private <T> List<T> executeWithRetry(Set<Object> partition, Function<Set<?>, Iterable<T>> execution,
+			int attempt) {
+
+		try {
+			List<T> results = new ArrayList<>();
+
+			Iterable<T> partitionResults = execution.apply(partition);
+
+			if (partitionResults != null) {
+				partitionResults.forEach(results::add);
+			}
+
+			return results;
+		}
+		catch (RuntimeException cause) {
+
+			if (attempt < this.retries && isRetryable(cause)) {
+
+				if (logger.isDebugEnabled()) {
+					logger.debug(String.format("Retrying Function execution for %d keys after failure [%s]",
+						partition.size(), cause));
+				}
+
+				this.retryListener.run();
+
+				List<T> results = new ArrayList<>();
+
+				for (Set<Object> retryPartition : partition(partition)) {
+					results.addAll(executeWithRetry(retryPartition, execution, attempt + 1));
+				}
+
+				return results;
+			}
+
+			throw cause;
+		}
+	}
+
+	/**
+	 * Splits the given keys by primary member on peers hosting a {@literal PARTITION} Region,
+	 * otherwise into partitions of the configured size.
+	 */
+	List<Set<Object>> partition(Set<?> keys) {
+
+		if (PartitionRegionHelper.isPartitionedRegion(this.region)) {
+
+			Map<DistributedMember, Set<Object>> keysByMember = new LinkedHashMap<>();
+
+			for (Object key : keys) {
+				keysByMember.computeIfAbsent(PartitionRegionHelper.getPrimaryMemberForKey(this.region, key),
+					member -> new LinkedHashSet<>()).add(key);
+			}
+
+			return new ArrayList<>(keysByMember.values());
+		}
+
+		if (keys.size() <= this.partitionSize) {
+			return Collections.singletonList(new LinkedHashSet<>(keys));
+		}
+
+		List<Set<Object>> partitions = new ArrayList<>(keys.size() / this.partitionSize + 1);
+
+		Set<Object> partition = new LinkedHashSet<>();
+
+		for (Object key : keys) {
+
+			partition.add(key);
+
+			if (partition.size() == this.partitionSize) {
+				partitions.add(partition);
+				partition = new LinkedHashSet<>();
+			}
+		}
+
+		if (!partition.isEmpty()) {
+			partitions.add(partition);
+		}
+
+		return partitions;
+	}
+
+	/* (non-Javadoc) */
+	private boolean isRetryable(Throwable cause) {
+
+		for (Throwable current = cause; current != null; current = current.getCause()) {
+			if (current instanceof FunctionInvocationTargetException || current instanceof ServerConnectivityException) {
+				return true;
+			}
+
+			if (current.getCause() == current) {
+				break;
+			}
+		}
+
+		return false;
+	}
+
+	/* (non-Javadoc) */
+	private void acquire(Semaphore permits) {
+
+		try {
+			permits.acquire();
+		}
+		catch (InterruptedException cause) {
+			Thread.currentThread().interrupt();
+			throw new FunctionException(cause);
+		}
+	}
+
+	/* (non-Javadoc) */
+	private <T> List<T> join(CompletableFuture<List<T>> future) {
+
+		try {
+			return future.get();
+		}
+		catch (InterruptedException cause) {
+			Thread.currentThread().interrupt();
+			throw new FunctionException(cause);
+		}
+		catch (ExecutionException cause) {
+
+			Throwable failure = cause.getCause();
+
+			if (failure instanceof RuntimeException) {
+				throw (RuntimeException) failure;
+			}
+
+			throw new FunctionException(failure);
+		}
+	}
+}
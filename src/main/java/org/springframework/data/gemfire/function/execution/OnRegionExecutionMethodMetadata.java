@@ -15,7 +15,9 @@ package org.springframework.data.gemfire.function.execution;
 import java.lang.reflect.Method;
 import java.util.Set;
 
+import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.data.gemfire.function.GemfireFunctionUtils;
+import org.springframework.data.gemfire.function.annotation.CollapsedExecution;
 import org.springframework.data.gemfire.function.annotation.Filter;
 
  
@@ -46,13 +48,31 @@ class OnRegionExecutionMethodMetadata extends FunctionExecutionMethodMetadata<On
 class OnRegionMethodMetadata extends MethodMetadata {
 
 	private final int filterArgPosition;
+
+	private final CollapsedExecution collapsedExecution;
 	
 	public OnRegionMethodMetadata(Method method) {
 		super(method);
 		this.filterArgPosition = GemfireFunctionUtils.getAnnotationParameterPosition(method, Filter.class, new Class<?>[]{Set.class});
+		this.collapsedExecution = AnnotationUtils.findAnnotation(method, CollapsedExecution.class);
 	}
 	
 	public int getFilterArgPosition() {
 		return this.filterArgPosition;
 	}
+
+	/**
+	 * @return the {@link CollapsedExecution} annotation of the method, or {@literal null} if concurrent invocations
+	 * are not collapsed.
+	 */
+	public CollapsedExecution getCollapsedExecution() {
+		return this.collapsedExecution;
+	}
+
+	/**
+	 * @return whether concurrent invocations of the (synchronous) method having a filter are collapsed.
+	 */
+	public boolean isCollapsed() {
+		return (this.collapsedExecution != null && this.filterArgPosition >= 0 && !isAsync());
+	}
 }
\ No newline at end of file
@@ -14,7 +14,11 @@ package org.springframework.data.gemfire.function.execution;
 
 import java.lang.reflect.Method;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
+import org.springframework.core.ResolvableType;
+import org.springframework.data.gemfire.function.annotation.CollapsedExecution;
 import org.springframework.data.gemfire.util.ArrayUtils;
 
 /**
@@ -34,27 +38,108 @@ public class OnRegionFunctionProxyFactoryBean extends GemfireFunctionProxyFactor
 		methodMetadata = new OnRegionExecutionMethodMetadata(serviceInterface);
 	}
 
+	/**
+	 * Creates the {@link InvocationPlan} of the given proxied {@link Method}, resolving the position of the filter
+	 * argument, whether concurrent invocations are collapsed, and the extraction of the results matched to the method
+	 * return type: {@link Iterable} and {@link Object} return types receive the results as returned by the execution,
+	 * {@link java.util.Collection} types all results collected into that type, other types a single result.
+	 *
+	 * @param method proxied {@link Method}.
+	 * @return a new {@link InvocationPlan} for the {@link Method}.
+	 */
 	@Override
-	protected Iterable<?> invokeFunction(Method method, Object[] args) {
-		GemfireOnRegionOperations gemfireOnRegionOperations = (GemfireOnRegionOperations) getGemfireFunctionOperations();
-
+	protected InvocationPlan newInvocationPlan(Method method) {
 		OnRegionMethodMetadata onRegionMethodMetadata = methodMetadata.getMethodMetadata(method);
 
+		long timeout = onRegionMethodMetadata.getTimeout();
+
+		boolean async = onRegionMethodMetadata.isAsync();
 		int filterArgPosition = onRegionMethodMetadata.getFilterArgPosition();
 		String functionId = onRegionMethodMetadata.getFunctionId();
 
-		Set<?> filter = null;
+		Function<Iterable<?>, Object> resultExtractor =
+			newResultExtractor(functionId, onRegionMethodMetadata.getResultType());
+
+		if (filterArgPosition < 0) {
+			return (async
+				? args -> thenApply(executeAsync(timeout, functionId, args), resultExtractor)
+				: args -> resultExtractor.apply(execute(timeout, functionId, args)));
+		}
+
+		CollapsingFunctionExecutor collapsingFunctionExecutor = (onRegionMethodMetadata.isCollapsed()
+			? newCollapsingFunctionExecutor(timeout, functionId, onRegionMethodMetadata.getCollapsedExecution())
+			: null);
 
 		/*
-		 * extract filter from args if necessary
+		 * extract filter from args
 		 */
-		if (filterArgPosition >= 0) {
-			filter = (Set<?>) args[filterArgPosition];
-			args = ArrayUtils.remove(args, filterArgPosition);
+		return args -> {
+			Set<?> filter = (Set<?>) args[filterArgPosition];
+			Object[] functionArgs = ArrayUtils.remove(args, filterArgPosition);
+
+			if (filter == null) {
+				return (async ? thenApply(executeAsync(timeout, functionId, functionArgs), resultExtractor)
+					: resultExtractor.apply(execute(timeout, functionId, functionArgs)));
+			}
+
+			if (collapsingFunctionExecutor != null) {
+				return resultExtractor.apply(collapsingFunctionExecutor.execute(filter, functionArgs));
+			}
+
+			return (async
+				? thenApply(executeAsync(timeout, functionId, filter, functionArgs), resultExtractor)
+				: resultExtractor.apply(execute(timeout, functionId, filter, functionArgs)));
+		};
+	}
+
+	/* (non-Javadoc) */
+	private GemfireOnRegionOperations getGemfireOnRegionOperations() {
+		return (GemfireOnRegionOperations) getGemfireFunctionOperations();
+	}
+
+	/* (non-Javadoc) */
+	private boolean isTimedOnRegion(long timeout) {
+		return (timeout > 0 && getGemfireFunctionOperations() instanceof GemfireOnRegionFunctionTemplate);
+	}
+
+	/* (non-Javadoc) */
+	private Iterable<Object> execute(long timeout, String functionId, Set<?> filter, Object[] args) {
+		return (isTimedOnRegion(timeout)
+			? ((GemfireOnRegionFunctionTemplate) getGemfireOnRegionOperations())
+				.execute(timeout, functionId, filter, args)
+			: getGemfireOnRegionOperations().execute(functionId, filter, args));
+	}
+
+	/* (non-Javadoc) */
+	private CompletableFuture<Iterable<Object>> executeAsync(long timeout, String functionId, Set<?> filter,
+			Object[] args) {
+
+		return (isTimedOnRegion(timeout)
+			? ((GemfireOnRegionFunctionTemplate) getGemfireOnRegionOperations())
+				.executeAsync(timeout, functionId, filter, args)
+			: getGemfireOnRegionOperations().executeAsync(functionId, filter, args));
+	}
+
+	/* (non-Javadoc) */
+	private Function<Iterable<?>, Object> newResultExtractor(String functionId, ResolvableType resultType) {
+		Class<?> resultClass = resultType.resolve(Object.class);
+
+		if (Object.class.equals(resultClass) || Iterable.class.equals(resultClass)) {
+			return results -> results;
 		}
 
-		return (filter == null ?  gemfireOnRegionOperations.execute(functionId, args)
-			: gemfireOnRegionOperations.execute(functionId, filter, args));
+		FunctionResultExtractor functionResultExtractor = FunctionResultExtractor.forType(functionId, resultType);
+
+		return (functionResultExtractor != null ? functionResultExtractor::extract
+			: results -> FunctionResultExtractor.extractSingle(functionId, results));
+	}
+
+	/* (non-Javadoc) */
+	private CollapsingFunctionExecutor newCollapsingFunctionExecutor(long timeout, String functionId,
+			CollapsedExecution collapsedExecution) {
+
+		return new CollapsingFunctionExecutor(functionId, collapsedExecution.window(), collapsedExecution.maxKeys(),
+			(keys, args) -> execute(timeout, functionId, keys, args));
 	}
 
 }
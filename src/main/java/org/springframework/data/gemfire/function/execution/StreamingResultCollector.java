@@ -0,0 +1,303 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.execution;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.geode.cache.execute.FunctionException;
+import org.apache.geode.cache.execute.ResultCollector;
+import org.apache.geode.distributed.DistributedMember;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ResultCollector} handing Function results to the caller as a {@link Stream} while they arrive, rather than
+ * collecting all results before returning them.
+ *
+ * Results are buffered in a bounded queue. When the queue is full, {@link #addResult(DistributedMember, Object)}
+ * blocks the GemFire {@link Thread} receiving the results until the caller consumes some, which applies backpressure
+ * all the way to the members sending the results, so large results are processed in constant memory. The receiving
+ * {@link Thread} is blocked for at most the handoff timeout per result; if the caller does not consume a result
+ * in time, for instance because the {@link Stream} was dropped without being closed, the {@link Stream} is failed
+ * with a {@link TimeoutException} and all remaining results are discarded without blocking.
+ *
+ * Chunks sent by a Function in batches, as {@link Iterable Iterables} or {@link Object} arrays, are flattened into
+ * their elements. A {@link Throwable} result fails the {@link Stream} with a {@link FunctionException}.
+ * {@link Stream#close() Closing} the {@link Stream} discards the remaining results and releases the sending
+ * {@link Thread}.
+ *
+ * Since GemFire blocks the {@link Thread} executing a client/server Function until all results have been received,
+ * the Function must be executed on a different {@link Thread} than the one consuming the {@link Stream}.
+ *
+ * Streaming is intended for client/server Function executions, where results are received on a {@link Thread}
+ * dedicated to the execution. On a peer, results are received on the P2P reader {@link Thread} of the connection
+ * to the sending member, so blocking it also stalls all other messages sent on that connection; with
+ * {@literal conserve-sockets} enabled, the default, connections are shared and a consumer waiting on another
+ * message from the same member deadlocks until the handoff timeout fails the {@link Stream}. Peers should set
+ * {@literal conserve-sockets} to {@literal false} or consume the {@link Stream} promptly.
+ *
+ * @param <T> type of the streamed results.
+ * @see java.util.stream.Stream
+ * @see org.apache.geode.cache.execute.ResultCollector
+ * @since 2.1.0
+ */
+public class StreamingResultCollector<T> implements ResultCollector<Object, Stream<T>> {
+
+	public static final int DEFAULT_CAPACITY = 16;
+
+	public static final long DEFAULT_HANDOFF_TIMEOUT = 30000L;
+
+	private static final long POLL_INTERVAL = 100L;
+
+	private static final Object END_OF_RESULTS = new Object();
+
+	private final BlockingQueue<Object> buffer;
+
+	private final long handoffTimeout;
+	private final long timeout;
+
+	private volatile boolean closed;
+	private volatile boolean streamed;
+
+	private volatile Throwable failure;
+
+	private final ResultIterator iterator = new ResultIterator();
+
+	/**
+	 * Constructs a new instance of {@link StreamingResultCollector} buffering up to {@link #DEFAULT_CAPACITY}
+	 * results, waiting indefinitely for results and waiting up to {@link #DEFAULT_HANDOFF_TIMEOUT} for each result
+	 * to be handed off to the caller.
+	 */
+	public StreamingResultCollector() {
+		this(DEFAULT_CAPACITY, 0L);
+	}
+
+	/**
+	 * Constructs a new instance of {@link StreamingResultCollector} waiting for each result to be handed off
+	 * to the caller up to the given timeout, if set, or {@link #DEFAULT_HANDOFF_TIMEOUT} otherwise.
+	 *
+	 * @param capacity maximum number of results (chunks) buffered before the sender is blocked.
+	 * @param timeout maximum time, in milliseconds, the consumer waits for the next result;
+	 * {@literal 0} waits indefinitely.
+	 * @throws IllegalArgumentException if capacity is less than {@literal 1}.
+	 * @see #StreamingResultCollector(int, long, long)
+	 */
+	public StreamingResultCollector(int capacity, long timeout) {
+		this(capacity, timeout, (timeout > 0 ? timeout : DEFAULT_HANDOFF_TIMEOUT));
+	}
+
+	/**
+	 * Constructs a new instance of {@link StreamingResultCollector}.
+	 *
+	 * @param capacity maximum number of results (chunks) buffered before the sender is blocked.
+	 * @param timeout maximum time, in milliseconds, the consumer waits for the next result;
+	 * {@literal 0} waits indefinitely.
+	 * @param handoffTimeout maximum time, in milliseconds, the sender is blocked handing off a result
+	 * before the {@link Stream} is failed.
+	 * @throws IllegalArgumentException if capacity or the handoff timeout is less than {@literal 1}.
+	 */
+	public StreamingResultCollector(int capacity, long timeout, long handoffTimeout) {
+
+		Assert.isTrue(capacity > 0, String.format("Capacity [%d] must be greater than 0", capacity));
+		Assert.isTrue(handoffTimeout > 0, String.format("Handoff timeout [%d] must be greater than 0",
+			handoffTimeout));
+
+		this.buffer = new ArrayBlockingQueue<>(capacity);
+		this.handoffTimeout = handoffTimeout;
+		this.timeout = timeout;
+	}
+
+	@Override
+	public void addResult(DistributedMember memberId, Object result) {
+		put(result);
+	}
+
+	@Override
+	public void endResults() {
+		put(END_OF_RESULTS);
+	}
+
+	/**
+	 * Fails the {@link Stream} with the given {@link Throwable cause} once the results already buffered
+	 * have been consumed.
+	 *
+	 * @param cause {@link Throwable} failing the Function execution.
+	 */
+	public void fail(Throwable cause) {
+		this.failure = cause;
+	}
+
+	/**
+	 * Called by GemFire before re-executing a highly available Function. Buffered results are discarded, but results
+	 * already handed to the caller cannot be taken back, in which case the {@link Stream} is failed.
+	 */
+	@Override
+	public void clearResults() {
+
+		if (this.streamed) {
+			fail(new FunctionException("Function was re-executed after some of its results had been streamed"));
+		}
+
+		this.buffer.clear();
+	}
+
+	@Override
+	public Stream<T> getResult() throws FunctionException {
+		return stream();
+	}
+
+	@Override
+	public Stream<T> getResult(long timeout, TimeUnit unit) throws FunctionException {
+		return stream();
+	}
+
+	/**
+	 * Returns the {@link Stream} of results, which blocks while waiting for the next result to arrive.
+	 *
+	 * @return the {@link Stream} of results.
+	 */
+	public Stream<T> stream() {
+
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this.iterator, Spliterator.ORDERED), false)
+			.onClose(this::close);
+	}
+
+	/**
+	 * Closes this collector, discarding the remaining results and releasing any blocked sender.
+	 */
+	public void close() {
+		this.closed = true;
+		this.buffer.clear();
+	}
+
+	/* (non-Javadoc) */
+	private void put(Object result) {
+
+		long deadline = System.currentTimeMillis() + this.handoffTimeout;
+
+		try {
+			while (!this.closed && this.failure == null) {
+
+				if (this.buffer.offer(result, POLL_INTERVAL, TimeUnit.MILLISECONDS)) {
+					return;
+				}
+
+				if (System.currentTimeMillis() > deadline) {
+					fail(new FunctionException(new TimeoutException(String.format(
+						"Function result was not consumed within %d ms", this.handoffTimeout))));
+
+					this.buffer.clear();
+				}
+			}
+		}
+		catch (InterruptedException cause) {
+			Thread.currentThread().interrupt();
+			fail(cause);
+		}
+	}
+
+	/* (non-Javadoc) */
+	private Object take() {
+
+		long deadline = (this.timeout > 0 ? System.currentTimeMillis() + this.timeout : Long.MAX_VALUE);
+
+		try {
+			while (!this.closed) {
+
+				Object result = this.buffer.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+
+				if (result != null) {
+					return result;
+				}
+
+				Throwable failure = this.failure;
+
+				if (failure != null) {
+					throw (failure instanceof FunctionException ? (FunctionException) failure
+						: new FunctionException(failure));
+				}
+
+				if (System.currentTimeMillis() > deadline) {
+					throw new FunctionException(new TimeoutException(String.format(
+						"No Function result was received within %d ms", this.timeout)));
+				}
+			}
+		}
+		catch (InterruptedException cause) {
+			Thread.currentThread().interrupt();
+			throw new FunctionException(cause);
+		}
+
+		return END_OF_RESULTS;
+	}
+
+	private class ResultIterator implements Iterator<T> {
+
+		private boolean done;
+
+		private Iterator<?> chunk = Collections.emptyIterator();
+
+		@Override
+		public boolean hasNext() {
+
+			while (!this.done && !this.chunk.hasNext()) {
+
+				Object result = take();
+
+				if (result == END_OF_RESULTS) {
+					this.done = true;
+				}
+				else if (result instanceof Throwable) {
+					this.done = true;
+					close();
+					throw new FunctionException("Execution of Function failed", (Throwable) result);
+				}
+				else {
+					this.chunk = toIterator(result);
+				}
+			}
+
+			return !this.done;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public T next() {
+
+			if (!hasNext()) {
+				throw new NoSuchElementException("No more Function results");
+			}
+
+			streamed = true;
+
+			return (T) this.chunk.next();
+		}
+
+		private Iterator<?> toIterator(Object result) {
+
+			return (result instanceof Iterable ? ((Iterable<?>) result).iterator()
+				: result instanceof Object[] ? Arrays.asList((Object[]) result).iterator()
+				: Collections.singletonList(result).iterator());
+		}
+	}
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.mapreduce;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+import org.springframework.util.Assert;
+
+/**
+ * Built-in {@link Collector Collectors} for map-reduce aggregations, whose accumulation types are serializable
+ * {@link Object} arrays, {@link ArrayList ArrayLists} or {@link HashMap HashMaps}, so that partial aggregates
+ * can be sent from the members executing a {@link MapReduceFunction} to the caller reducing them.
+ *
+ * Unlike most of the {@link java.util.stream.Collectors JDK Collectors}, the partial aggregates do not contain
+ * the functions, such as a {@link Comparator}, used to aggregate the values.
+ *
+ * @see java.util.stream.Collector
+ * @see org.springframework.data.gemfire.function.mapreduce.MapReduceFunction
+ * @since 2.1.0
+ */
+public abstract class MapReduceCollectors {
+
+	/**
+	 * Returns a {@link Collector} counting the mapped values.
+	 *
+	 * @return a {@link Collector} counting the mapped values.
+	 */
+	public static Collector<Object, long[], Long> counting() {
+
+		return Collector.of(() -> new long[1],
+			(count, value) -> count[0]++,
+			(count, otherCount) -> { count[0] += otherCount[0]; return count; },
+			count -> count[0]);
+	}
+
+	/**
+	 * Returns a {@link Collector} summing the {@link Number#longValue() long values} of the mapped values.
+	 *
+	 * @return a {@link Collector} summing the mapped values as {@literal longs}.
+	 */
+	public static Collector<Number, long[], Long> summingLong() {
+
+		return Collector.of(() -> new long[1],
+			(sum, value) -> sum[0] += value.longValue(),
+			(sum, otherSum) -> { sum[0] += otherSum[0]; return sum; },
+			sum -> sum[0]);
+	}
+
+	/**
+	 * Returns a {@link Collector} summing the {@link Number#doubleValue() double values} of the mapped values.
+	 *
+	 * @return a {@link Collector} summing the mapped values as {@literal doubles}.
+	 */
+	public static Collector<Number, double[], Double> summingDouble() {
+
+		return Collector.of(() -> new double[1],
+			(sum, value) -> sum[0] += value.doubleValue(),
+			(sum, otherSum) -> { sum[0] += otherSum[0]; return sum; },
+			sum -> sum[0]);
+	}
+
+	/**
+	 * Returns a {@link Collector} determining the minimum of the mapped values, or {@literal null}
+	 * if there are no values.
+	 *
+	 * @param <T> type of the mapped values.
+	 * @param comparator {@link Comparator} ordering the mapped values.
+	 * @return a {@link Collector} determining the minimum of the mapped values.
+	 */
+	public static <T> Collector<T, Object[], T> minimum(Comparator<? super T> comparator) {
+		return selecting(comparator);
+	}
+
+	/**
+	 * Returns a {@link Collector} determining the maximum of the mapped values, or {@literal null}
+	 * if there are no values.
+	 *
+	 * @param <T> type of the mapped values.
+	 * @param comparator {@link Comparator} ordering the mapped values.
+	 * @return a {@link Collector} determining the maximum of the mapped values.
+	 */
+	public static <T> Collector<T, Object[], T> maximum(Comparator<? super T> comparator) {
+
+		Assert.notNull(comparator, "Comparator is required");
+
+		return selecting(comparator.reversed());
+	}
+
+	/* (non-Javadoc) */
+	@SuppressWarnings("unchecked")
+	private static <T> Collector<T, Object[], T> selecting(Comparator<? super T> comparator) {
+
+		Assert.notNull(comparator, "Comparator is required");
+
+		return Collector.of(() -> new Object[1],
+			(selected, value) -> selected[0] = select(comparator, (T) selected[0], value),
+			(selected, otherSelected) -> {
+				selected[0] = select(comparator, (T) selected[0], (T) otherSelected[0]);
+				return selected;
+			},
+			selected -> (T) selected[0]);
+	}
+
+	/* (non-Javadoc) */
+	private static <T> T select(Comparator<? super T> comparator, T value, T otherValue) {
+		return (value == null ? otherValue : otherValue == null ? value
+			: comparator.compare(otherValue, value) < 0 ? otherValue : value);
+	}
+
+	/**
+	 * Returns a {@link Collector} determining the {@literal k} greatest mapped values, in descending order.
+	 *
+	 * Each member sends at most {@literal k} values to the caller.
+	 *
+	 * @param <T> type of the mapped values.
+	 * @param k number of values to keep.
+	 * @param comparator {@link Comparator} ordering the mapped values.
+	 * @return a {@link Collector} determining the top {@literal k} mapped values.
+	 * @throws IllegalArgumentException if {@literal k} is less than {@literal 1}.
+	 */
+	public static <T> Collector<T, ArrayList<T>, List<T>> topK(int k, Comparator<? super T> comparator) {
+
+		Assert.isTrue(k > 0, String.format("K [%d] must be greater than 0", k));
+		Assert.notNull(comparator, "Comparator is required");
+
+		Comparator<? super T> descending = comparator.reversed();
+
+		return Collector.of(ArrayList::new,
+			(top, value) -> {
+				top.add(value);
+
+				if (top.size() >= 2 * k) {
+					trim(top, k, descending);
+				}
+			},
+			(top, otherTop) -> {
+				top.addAll(otherTop);
+				trim(top, k, descending);
+				return top;
+			},
+			top -> {
+				trim(top, k, descending);
+				return top;
+			});
+	}
+
+	/* (non-Javadoc) */
+	private static <T> void trim(List<T> values, int size, Comparator<? super T> comparator) {
+
+		values.sort(comparator);
+
+		if (values.size() > size) {
+			values.subList(size, values.size()).clear();
+		}
+	}
+
+	/**
+	 * Returns a {@link Collector} counting the mapped values per group determined by the given classifier.
+	 *
+	 * @param <T> type of the mapped values.
+	 * @param <K> type of the group keys, which must be serializable.
+	 * @param classifier {@link Function} determining the group of each mapped value.
+	 * @return a {@link Collector} counting the mapped values per group.
+	 */
+	public static <T, K> Collector<T, HashMap<K, Long>, Map<K, Long>> countingBy(
+			Function<? super T, ? extends K> classifier) {
+
+		Assert.notNull(classifier, "Classifier is required");
+
+		return Collector.of(HashMap::new,
+			(counts, value) -> counts.merge(classifier.apply(value), 1L, Long::sum),
+			(counts, otherCounts) -> {
+				otherCounts.forEach((group, count) -> counts.merge(group, count, Long::sum));
+				return counts;
+			},
+			counts -> counts);
+	}
+}
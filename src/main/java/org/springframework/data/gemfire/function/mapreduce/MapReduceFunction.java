@@ -0,0 +1,177 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.mapreduce;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.stream.Collector;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.execute.Function;
+import org.apache.geode.cache.execute.FunctionContext;
+import org.apache.geode.cache.execute.RegionFunctionContext;
+import org.apache.geode.cache.partition.PartitionRegionHelper;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * GemFire {@link Function} performing the map and combine phases of a map-reduce aggregation over the local data
+ * of a {@link Region} on each member, so that only a partial aggregate per member is sent back to the caller.
+ *
+ * Each entry of the local data (or each entry identified by the Function filter, when present) is mapped
+ * with the given mapper, skipping {@literal null} values, and accumulated with the given {@link Collector}.
+ * The {@link Function} is {@link #optimizeForWrite() optimized for write}, so that GemFire executes it
+ * on the primary buckets only, and every entry is counted exactly once.
+ *
+ * The partial aggregates are reduced by the caller using the same {@link Collector}, for example with
+ * {@link org.springframework.data.gemfire.function.execution.GemfireOnRegionOperations#mapReduce}. Therefore,
+ * the accumulation type of the {@link Collector} must be serializable; see {@link MapReduceCollectors}.
+ *
+ * Alternatively, {@link org.springframework.data.gemfire.function.annotation.GemfireFunction} annotated methods
+ * may call {@link #accumulate(RegionFunctionContext, BiFunction, Collector)} directly.
+ *
+ * @param <K> type of the {@link Region} keys.
+ * @param <V> type of the {@link Region} values.
+ * @param <T> type of the mapped values.
+ * @param <A> type of the partial aggregate.
+ * @see java.util.stream.Collector
+ * @see org.apache.geode.cache.execute.Function
+ * @see org.springframework.data.gemfire.function.mapreduce.MapReduceCollectors
+ * @since 2.1.0
+ */
+@SuppressWarnings("serial")
+public class MapReduceFunction<K, V, T, A> implements Function {
+
+	private final String id;
+
+	private final transient BiFunction<? super K, ? super V, ? extends T> mapper;
+
+	private final transient Collector<? super T, A, ?> collector;
+
+	/**
+	 * Constructs a new instance of {@link MapReduceFunction}.
+	 *
+	 * @param id {@link String} ID under which the {@link Function} is registered.
+	 * @param mapper {@link BiFunction} mapping each {@link Region} entry to the value that is aggregated;
+	 * entries mapped to {@literal null} are skipped.
+	 * @param collector {@link Collector} aggregating the mapped values.
+	 * @throws IllegalArgumentException if the ID is empty, or the mapper or {@link Collector} is {@literal null}.
+	 */
+	public MapReduceFunction(String id, BiFunction<? super K, ? super V, ? extends T> mapper,
+			Collector<? super T, A, ?> collector) {
+
+		Assert.hasText(id, "Function ID is required");
+		Assert.notNull(mapper, "Mapper is required");
+		Assert.notNull(collector, "Collector is required");
+
+		this.id = id;
+		this.mapper = mapper;
+		this.collector = collector;
+	}
+
+	/**
+	 * Maps and accumulates the local data of the {@link Region} targeted by the given {@link RegionFunctionContext},
+	 * restricted to the Function filter when present, returning the partial aggregate for this member.
+	 *
+	 * @param <K> type of the {@link Region} keys.
+	 * @param <V> type of the {@link Region} values.
+	 * @param <T> type of the mapped values.
+	 * @param <A> type of the partial aggregate.
+	 * @param functionContext {@link RegionFunctionContext} of the Function execution.
+	 * @param mapper {@link BiFunction} mapping each {@link Region} entry to the value that is aggregated.
+	 * @param collector {@link Collector} aggregating the mapped values.
+	 * @return the partial aggregate of the local data.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <K, V, T, A> A accumulate(RegionFunctionContext functionContext,
+			BiFunction<? super K, ? super V, ? extends T> mapper, Collector<? super T, A, ?> collector) {
+
+		Region<K, V> localData = resolveLocalData(functionContext);
+
+		BiConsumer<A, ? super T> accumulator = collector.accumulator();
+
+		A partialAggregate = collector.supplier().get();
+
+		Set<?> filter = functionContext.getFilter();
+
+		if (CollectionUtils.isEmpty(filter)) {
+			for (Map.Entry<K, V> entry : localData.entrySet()) {
+				accumulate(accumulator, partialAggregate, mapper.apply(entry.getKey(), entry.getValue()));
+			}
+		}
+		else {
+			for (Object key : filter) {
+
+				V value = localData.get(key);
+
+				if (value != null) {
+					accumulate(accumulator, partialAggregate, mapper.apply((K) key, value));
+				}
+			}
+		}
+
+		return partialAggregate;
+	}
+
+	/* (non-Javadoc) */
+	@SuppressWarnings("unchecked")
+	private static <A, T> void accumulate(BiConsumer<A, ? super T> accumulator, A partialAggregate, T value) {
+
+		if (value != null) {
+			((BiConsumer<A, T>) accumulator).accept(partialAggregate, value);
+		}
+	}
+
+	/* (non-Javadoc) */
+	@SuppressWarnings("unchecked")
+	private static <K, V> Region<K, V> resolveLocalData(RegionFunctionContext functionContext) {
+
+		Region<K, V> region = functionContext.getDataSet();
+
+		return (PartitionRegionHelper.isPartitionedRegion(region)
+			? PartitionRegionHelper.getLocalDataForContext(functionContext) : region);
+	}
+
+	@Override
+	public String getId() {
+		return this.id;
+	}
+
+	@Override
+	public boolean hasResult() {
+		return true;
+	}
+
+	@Override
+	public boolean isHA() {
+		return true;
+	}
+
+	@Override
+	public boolean optimizeForWrite() {
+		return true;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void execute(FunctionContext functionContext) {
+
+		Assert.isInstanceOf(RegionFunctionContext.class, functionContext,
+			String.format("Function [%s] must be executed on a Region", getId()));
+
+		functionContext.getResultSender()
+			.lastResult(accumulate((RegionFunctionContext) functionContext, this.mapper, this.collector));
+	}
+}
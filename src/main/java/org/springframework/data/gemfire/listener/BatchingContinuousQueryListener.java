@@ -0,0 +1,57 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.geode.cache.query.CqEvent;
+
+/**
+ * Continuous Query (CQ) listener receiving CQ events in batches.
+ *
+ * The {@link ContinuousQueryListenerContainer} accumulates the events of a CQ into a batch until either
+ * the {@link ContinuousQueryDefinition#getBatchSize() batch size} is reached or the
+ * {@link ContinuousQueryDefinition#getBatchTimeInterval() batch time interval} elapses, whichever comes first,
+ * and then delivers the batch in the order the events were received.
+ *
+ * @see org.apache.geode.cache.query.CqEvent
+ * @see org.springframework.data.gemfire.listener.ContinuousQueryListener
+ * @see org.springframework.data.gemfire.listener.ContinuousQueryDefinition#setBatchSize(int)
+ * @since 2.1.0
+ */
+public interface BatchingContinuousQueryListener extends ContinuousQueryListener {
+
+	/**
+	 * Action performed by the listener when notified of a batch of CQ events.
+	 *
+	 * @param events {@link List} of events from the CQ, in the order received.
+	 * @see org.apache.geode.cache.query.CqEvent
+	 */
+	void onEvents(List<CqEvent> events);
+
+	/**
+	 * Delivers the single CQ event as a batch of one.
+	 *
+	 * @param event the event from the CQ.
+	 * @see #onEvents(List)
+	 */
+	@Override
+	default void onEvent(CqEvent event) {
+		onEvents(Collections.singletonList(event));
+	}
+}
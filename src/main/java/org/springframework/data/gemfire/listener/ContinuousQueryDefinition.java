@@ -40,8 +40,16 @@ import org.springframework.util.Assert;
 @SuppressWarnings("unused")
 public class ContinuousQueryDefinition implements InitializingBean {
 
+	public static final long DEFAULT_BATCH_TIME_INTERVAL = 1000L;
+
 	private final boolean durable;
 
+	private boolean executeWithInitialResults;
+
+	private int batchSize;
+
+	private long batchTimeInterval = DEFAULT_BATCH_TIME_INTERVAL;
+
 	private final ContinuousQueryListener listener;
 
 	private final String name;
@@ -68,7 +76,13 @@ public class ContinuousQueryDefinition implements InitializingBean {
 
 		boolean durable = continuousQuery.durable();
 
-		return new ContinuousQueryDefinition(name, query, listener, durable);
+		ContinuousQueryDefinition definition = new ContinuousQueryDefinition(name, query, listener, durable);
+
+		definition.setBatchSize(continuousQuery.batchSize());
+		definition.setBatchTimeInterval(continuousQuery.batchTimeInterval());
+		definition.setExecuteWithInitialResults(continuousQuery.executeWithInitialResults());
+
+		return definition;
 	}
 
 	public ContinuousQueryDefinition(String query, ContinuousQueryListener listener) {
@@ -93,6 +107,78 @@ public class ContinuousQueryDefinition implements InitializingBean {
 		afterPropertiesSet();
 	}
 
+	/**
+	 * Sets the maximum number of CQ events delivered together to the {@link BatchingContinuousQueryListener}.
+	 *
+	 * A value greater than {@literal 0} enables batching, in which case the {@link #getListener() listener}
+	 * must be a {@link BatchingContinuousQueryListener}.
+	 *
+	 * @param batchSize maximum number of CQ events in a batch; {@literal 0} disables batching.
+	 * @see org.springframework.data.gemfire.listener.BatchingContinuousQueryListener
+	 */
+	public void setBatchSize(int batchSize) {
+		this.batchSize = Math.max(batchSize, 0);
+	}
+
+	/**
+	 * Returns the maximum number of CQ events delivered together to the {@link BatchingContinuousQueryListener}.
+	 *
+	 * @return the maximum number of CQ events in a batch; {@literal 0} if batching is disabled.
+	 */
+	public int getBatchSize() {
+		return this.batchSize;
+	}
+
+	/**
+	 * Sets the maximum amount of time, in milliseconds, that a CQ event waits in a batch before the batch
+	 * is delivered, even if the {@link #getBatchSize() batch size} has not been reached.
+	 *
+	 * @param batchTimeInterval maximum time in milliseconds a batch is held; {@literal 0} to only deliver full batches.
+	 */
+	public void setBatchTimeInterval(long batchTimeInterval) {
+		this.batchTimeInterval = Math.max(batchTimeInterval, 0L);
+	}
+
+	/**
+	 * Returns the maximum amount of time, in milliseconds, that a CQ event waits in a batch before the batch
+	 * is delivered.
+	 *
+	 * @return the maximum time in milliseconds a batch is held.
+	 */
+	public long getBatchTimeInterval() {
+		return this.batchTimeInterval;
+	}
+
+	/**
+	 * Determines whether CQ events are delivered to the {@link #getListener() listener} in batches.
+	 *
+	 * @return a boolean indicating whether CQ events are delivered in batches.
+	 * @see #getBatchSize()
+	 */
+	public boolean isBatching() {
+		return getBatchSize() > 0;
+	}
+
+	/**
+	 * Sets whether the CQ is executed with initial results, in which case the results of the query at the time
+	 * the CQ is executed are delivered to the {@link #getListener() listener} before any CQ events.
+	 *
+	 * @param executeWithInitialResults boolean indicating whether the CQ is executed with initial results.
+	 * @see org.apache.geode.cache.query.CqQuery#executeWithInitialResults()
+	 */
+	public void setExecuteWithInitialResults(boolean executeWithInitialResults) {
+		this.executeWithInitialResults = executeWithInitialResults;
+	}
+
+	/**
+	 * Determines whether the CQ is executed with initial results.
+	 *
+	 * @return a boolean indicating whether the CQ is executed with initial results.
+	 */
+	public boolean isExecuteWithInitialResults() {
+		return this.executeWithInitialResults;
+	}
+
 	/**
 	 * Determines whether the CQ is durable.
 	 *
@@ -116,6 +202,7 @@ public class ContinuousQueryDefinition implements InitializingBean {
 	 * Returns a reference to the {@link ContinuousQueryListener} that will process/handle CQ event notifications.
 	 *
 	 * @return the CQ listener registered with the CQ to handle CQ events.
+	 * @see #isBatching()
 	 */
 	public ContinuousQueryListener getListener() {
 		return this.listener;
@@ -23,15 +23,31 @@ import static org.springframework.data.gemfire.util.CollectionUtils.nullSafeList
 import static org.springframework.data.gemfire.util.CollectionUtils.nullSafeSet;
 import static org.springframework.data.gemfire.util.RuntimeExceptionFactory.newIllegalArgumentException;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.apache.commons.logging.Log;
@@ -44,6 +60,7 @@ import org.apache.geode.cache.query.CqEvent;
 import org.apache.geode.cache.query.CqException;
 import org.apache.geode.cache.query.CqListener;
 import org.apache.geode.cache.query.CqQuery;
+import org.apache.geode.cache.query.CqResults;
 import org.apache.geode.cache.query.QueryException;
 import org.apache.geode.cache.query.QueryService;
 import org.springframework.beans.BeansException;
@@ -61,6 +78,10 @@ import org.springframework.data.gemfire.client.support.DefaultableDelegatingPool
 import org.springframework.data.gemfire.client.support.DelegatingPoolAdapter;
 import org.springframework.data.gemfire.config.annotation.ContinuousQueryListenerContainerConfigurer;
 import org.springframework.data.gemfire.config.xml.GemfireConstants;
+import org.springframework.data.gemfire.listener.support.ContinuousQueryMetrics;
+import org.springframework.data.gemfire.listener.support.ContinuousQueryMetricsSnapshot;
+import org.springframework.data.gemfire.listener.support.KeyOrderedEventDispatcher;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 import org.springframework.util.ErrorHandler;
 import org.springframework.util.StringUtils;
@@ -89,6 +110,10 @@ import org.springframework.util.StringUtils;
  * @see org.springframework.core.task.TaskExecutor
  * @see org.springframework.data.gemfire.client.support.DefaultableDelegatingPoolAdapter
  * @see org.springframework.data.gemfire.client.support.DelegatingPoolAdapter
+ * @see org.springframework.data.gemfire.listener.BatchingContinuousQueryListener
+ * @see org.springframework.data.gemfire.listener.ContinuousQueryDefinition#isExecuteWithInitialResults()
+ * @see org.springframework.data.gemfire.listener.support.ContinuousQueryMetrics
+ * @see org.springframework.data.gemfire.listener.support.KeyOrderedEventDispatcher
  * @see org.springframework.util.ErrorHandler
  * @since 1.1.0
  */
@@ -100,6 +125,8 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 	public static final String DEFAULT_THREAD_NAME_PREFIX =
 		String.format("%s-", ContinuousQueryListenerContainer.class.getSimpleName());
 
+	public static final int DEFAULT_REGISTRATION_CONCURRENCY = 1;
+
 	private boolean autoStartup = true;
 
 	private volatile boolean initialized = false;
@@ -108,12 +135,20 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 
 	private int phase = Integer.MAX_VALUE;
 
+	private int registrationConcurrency = DEFAULT_REGISTRATION_CONCURRENCY;
+
+	private long registrationStaggerInterval = 0L;
+
 	private BeanFactory beanFactory;
 
 	private ErrorHandler errorHandler;
 
 	private Executor taskExecutor;
 
+	private ContinuousQueryMetrics metrics;
+
+	private KeyOrderedEventDispatcher eventDispatcher;
+
 	private List<ContinuousQueryListenerContainerConfigurer> cqListenerContainerConfigurers = Collections.emptyList();
 
 	private ContinuousQueryListenerContainerConfigurer compositeCqListenerContainerConfigurer =
@@ -124,6 +159,15 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 
 	private Queue<CqQuery> continuousQueries = new ConcurrentLinkedQueue<>();
 
+	private ScheduledExecutorService batchScheduler;
+
+	private final Set<BatchingEventDispatcherAdapter> batchingEventDispatchers = ConcurrentHashMap.newKeySet();
+
+	private final Map<CqQuery, InitialResultsEventDispatcherAdapter> initialResultsEventDispatchers =
+		new ConcurrentHashMap<>();
+
+	private final Map<String, Long> registrationTimes = new ConcurrentHashMap<>();
+
 	private QueryService queryService;
 
 	private Set<ContinuousQueryDefinition> continuousQueryDefinitions = new LinkedHashSet<>();
@@ -288,13 +332,42 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 	 * @see org.springframework.core.task.SimpleAsyncTaskExecutor
 	 */
 	protected Executor createDefaultTaskExecutor() {
+		return new SimpleAsyncTaskExecutor(resolveThreadNamePrefix());
+	}
 
-		String threadNamePrefix = Optional.ofNullable(getBeanName())
+	/* (non-Javadoc) */
+	private String resolveThreadNamePrefix() {
+
+		return Optional.ofNullable(getBeanName())
 			.filter(StringUtils::hasText)
 			.map(it -> String.format("%s-", it))
 			.orElse(DEFAULT_THREAD_NAME_PREFIX);
+	}
 
-		return new SimpleAsyncTaskExecutor(threadNamePrefix);
+	/**
+	 * Returns the {@link ScheduledExecutorService} used to deliver partially filled batches of CQ events
+	 * once the batch time interval elapses, creating it on first use.
+	 *
+	 * @return the {@link ScheduledExecutorService} used to time batches of CQ events.
+	 * @see org.springframework.data.gemfire.listener.ContinuousQueryDefinition#getBatchTimeInterval()
+	 */
+	synchronized ScheduledExecutorService getBatchScheduler() {
+
+		if (this.batchScheduler == null) {
+
+			CustomizableThreadFactory threadFactory =
+				new CustomizableThreadFactory(String.format("%sBatch-", resolveThreadNamePrefix()));
+
+			threadFactory.setDaemon(true);
+
+			ScheduledThreadPoolExecutor batchScheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+
+			batchScheduler.setRemoveOnCancelPolicy(true);
+
+			this.batchScheduler = batchScheduler;
+		}
+
+		return this.batchScheduler;
 	}
 
 	/**
@@ -520,6 +593,57 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 		return this.phase;
 	}
 
+	/**
+	 * Sets the maximum number of CQs executed (registered with the servers) concurrently when this container starts.
+	 *
+	 * Defaults to {@literal 1}, executing CQs one at a time, in order.
+	 *
+	 * @param registrationConcurrency maximum number of CQs executed concurrently.
+	 */
+	public void setRegistrationConcurrency(int registrationConcurrency) {
+		this.registrationConcurrency = Math.max(registrationConcurrency, 1);
+	}
+
+	/**
+	 * Returns the maximum number of CQs executed (registered with the servers) concurrently when this container starts.
+	 *
+	 * @return the maximum number of CQs executed concurrently.
+	 */
+	public int getRegistrationConcurrency() {
+		return this.registrationConcurrency;
+	}
+
+	/**
+	 * Sets the upper bound, in milliseconds, of the random delay applied once, before executing the CQs, when
+	 * this container starts, spreading the registrations of a fleet of (re)starting clients over time.
+	 *
+	 * Defaults to {@literal 0}, executing CQs without delay.
+	 *
+	 * @param registrationStaggerInterval maximum random delay in milliseconds before executing the CQs.
+	 */
+	public void setRegistrationStaggerInterval(long registrationStaggerInterval) {
+		this.registrationStaggerInterval = Math.max(registrationStaggerInterval, 0L);
+	}
+
+	/**
+	 * Returns the upper bound, in milliseconds, of the random delay applied before executing the CQs.
+	 *
+	 * @return the maximum random delay in milliseconds before executing the CQs.
+	 */
+	public long getRegistrationStaggerInterval() {
+		return this.registrationStaggerInterval;
+	}
+
+	/**
+	 * Returns the time, in milliseconds, taken to execute (register) each CQ the last time it was executed,
+	 * keyed by CQ name.
+	 *
+	 * @return an unmodifiable {@link Map} of CQ execution times in milliseconds keyed by CQ name.
+	 */
+	public Map<String, Long> getRegistrationTimes() {
+		return Collections.unmodifiableMap(this.registrationTimes);
+	}
+
 	/**
 	 * Set the name of the {@link Pool} used for performing the queries by this container.
 	 *
@@ -591,6 +715,65 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 		return this.taskExecutor;
 	}
 
+	/**
+	 * Sets the {@link KeyOrderedEventDispatcher} used to process CQ events in key order over a bounded number of
+	 * {@link Thread Threads} and queues.
+	 *
+	 * When set, the dispatcher is used instead of the {@link #setTaskExecutor(Executor) Task Executor},
+	 * and is destroyed along with this container.
+	 *
+	 * @param eventDispatcher {@link KeyOrderedEventDispatcher} used to process CQ events.
+	 * @see org.springframework.data.gemfire.listener.support.KeyOrderedEventDispatcher
+	 */
+	public void setEventDispatcher(KeyOrderedEventDispatcher eventDispatcher) {
+		this.eventDispatcher = eventDispatcher;
+	}
+
+	/**
+	 * Returns an {@link Optional} reference to the configured {@link KeyOrderedEventDispatcher}.
+	 *
+	 * @return an {@link Optional} reference to the configured {@link KeyOrderedEventDispatcher}.
+	 * @see org.springframework.data.gemfire.listener.support.KeyOrderedEventDispatcher
+	 */
+	public Optional<KeyOrderedEventDispatcher> getEventDispatcher() {
+		return Optional.ofNullable(this.eventDispatcher);
+	}
+
+	/**
+	 * Sets the {@link ContinuousQueryMetrics} notified as the CQ events of each CQ are received, processed
+	 * by the CQ listener, or dropped.
+	 *
+	 * No metrics are recorded by default.
+	 *
+	 * @param metrics {@link ContinuousQueryMetrics} recording the metrics of each CQ.
+	 * @see org.springframework.data.gemfire.listener.support.ContinuousQueryMetrics
+	 */
+	public void setMetrics(ContinuousQueryMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Returns an {@link Optional} reference to the configured {@link ContinuousQueryMetrics}.
+	 *
+	 * @return an {@link Optional} reference to the configured {@link ContinuousQueryMetrics}.
+	 * @see org.springframework.data.gemfire.listener.support.ContinuousQueryMetrics
+	 */
+	public Optional<ContinuousQueryMetrics> getMetrics() {
+		return Optional.ofNullable(this.metrics);
+	}
+
+	/**
+	 * Returns a point-in-time {@link ContinuousQueryMetricsSnapshot snapshot} of the metrics of each CQ
+	 * managed by this container, keyed by CQ name.
+	 *
+	 * @return a {@link Map} of {@link ContinuousQueryMetricsSnapshot snapshots} keyed by CQ name,
+	 * or an empty {@link Map} if no {@link ContinuousQueryMetrics} were configured.
+	 * @see org.springframework.data.gemfire.listener.support.ContinuousQueryMetrics#snapshot()
+	 */
+	public Map<String, ContinuousQueryMetricsSnapshot> getMetricsSnapshot() {
+		return getMetrics().map(ContinuousQueryMetrics::snapshot).orElseGet(Collections::emptyMap);
+	}
+
 	/**
 	 * Adds a {@link ContinuousQueryDefinition Continuous Query (CQ) definition} to the (potentially running) container.
 	 *
@@ -612,15 +795,44 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 		return Optional.ofNullable(definition).map(it -> getContinuousQueryDefinitions().add(it)).orElse(false);
 	}
 
+	/**
+	 * Removes the named Continuous Query (CQ) from the (potentially running) container, closing the CQ
+	 * if it has been created and discarding its {@link ContinuousQueryDefinition definition}, so that it is
+	 * neither managed, nor re-executed on restart, by this container any longer.
+	 *
+	 * @param name {@link String} containing the name of the CQ to remove.
+	 * @return a boolean indicating whether a CQ, or CQ definition, with the given name was removed.
+	 * @see #addListener(ContinuousQueryDefinition)
+	 */
+	public boolean removeListener(String name) {
+
+		boolean removed = getContinuousQueryDefinitions().removeIf(definition -> name.equals(definition.getName()));
+
+		for (CqQuery query : getContinuousQueries()) {
+			if (name.equals(query.getName()) && getContinuousQueries().remove(query)) {
+				closeQuery(query);
+				unmanage(query);
+				removed = true;
+			}
+		}
+
+		return removed;
+	}
+
 	/* (non-Javadoc) */
 	CqQuery addContinuousQuery(ContinuousQueryDefinition definition) {
 
 		try {
-			CqAttributes attributes = definition.toCqAttributes(this::newCqListener);
+			CqAttributes attributes = definition.toCqAttributes(listener -> newCqListener(definition, listener));
 
 			CqQuery query = (definition.isNamed() ? newNamedContinuousQuery(definition, attributes)
 				: newUnnamedContinuousQuery(definition, attributes));
 
+			if (attributes.getCqListener() instanceof InitialResultsEventDispatcherAdapter) {
+				this.initialResultsEventDispatchers.put(query,
+					(InitialResultsEventDispatcherAdapter) attributes.getCqListener());
+			}
+
 			return manage(query);
 		}
 		catch (QueryException cause) {
@@ -633,6 +845,45 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 		return new EventDispatcherAdapter(listener);
 	}
 
+	/**
+	 * Constructs the {@link CqListener} registered with the CQ defined by the given
+	 * {@link ContinuousQueryDefinition definition}, batching CQ events and holding back CQ events
+	 * until the initial results have been delivered, if so configured.
+	 *
+	 * @param definition {@link ContinuousQueryDefinition} of the CQ.
+	 * @param listener {@link ContinuousQueryListener} processing the CQ events.
+	 * @return the {@link CqListener} registered with the CQ.
+	 * @throws IllegalArgumentException if batching is enabled and the listener is not
+	 * a {@link BatchingContinuousQueryListener}.
+	 * @see org.springframework.data.gemfire.listener.ContinuousQueryDefinition#isBatching()
+	 * @see org.springframework.data.gemfire.listener.ContinuousQueryDefinition#isExecuteWithInitialResults()
+	 */
+	protected CqListener newCqListener(ContinuousQueryDefinition definition, ContinuousQueryListener listener) {
+
+		CqListener cqListener;
+
+		if (definition.isBatching()) {
+
+			Assert.isInstanceOf(BatchingContinuousQueryListener.class, listener,
+				String.format("Batching CQ [%s] requires a BatchingContinuousQueryListener", definition.getQuery()));
+
+			BatchingEventDispatcherAdapter batchingEventDispatcher =
+				new BatchingEventDispatcherAdapter((BatchingContinuousQueryListener) listener,
+					definition.getBatchSize(), definition.getBatchTimeInterval());
+
+			this.batchingEventDispatchers.add(batchingEventDispatcher);
+
+			cqListener = batchingEventDispatcher;
+		}
+		else {
+			cqListener = newCqListener(listener);
+		}
+
+		return (definition.isExecuteWithInitialResults()
+			? new InitialResultsEventDispatcherAdapter(listener, cqListener, definition.getBatchSize())
+			: cqListener);
+	}
+
 	/* (non-Javadoc) */
 	private CqQuery newNamedContinuousQuery(ContinuousQueryDefinition definition, CqAttributes attributes)
 			throws QueryException {
@@ -653,6 +904,22 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 		return query;
 	}
 
+	/* (non-Javadoc) */
+	private void unmanage(CqQuery query) {
+
+		InitialResultsEventDispatcherAdapter initialResultsEventDispatcher =
+			this.initialResultsEventDispatchers.remove(query);
+
+		CqListener cqListener = (initialResultsEventDispatcher != null ? initialResultsEventDispatcher.delegate
+			: Optional.ofNullable(query.getCqAttributes()).map(CqAttributes::getCqListener).orElse(null));
+
+		if (cqListener instanceof BatchingEventDispatcherAdapter) {
+			this.batchingEventDispatchers.remove(cqListener);
+		}
+
+		Optional.ofNullable(query.getName()).ifPresent(this.registrationTimes::remove);
+	}
+
 	@Override
 	public synchronized void start() {
 
@@ -669,31 +936,193 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 
 	/* (non-Javadoc) */
 	void doStart() {
-		getContinuousQueries().forEach(this::execute);
+
+		List<CqQuery> queries = new ArrayList<>(getContinuousQueries());
+
+		int concurrency = Math.min(getRegistrationConcurrency(), queries.size());
+
+		if (!queries.isEmpty()) {
+			stagger();
+		}
+
+		if (concurrency > 1) {
+			executeConcurrently(queries, concurrency);
+		}
+		else {
+			queries.forEach(this::execute);
+		}
+	}
+
+	/**
+	 * Executes the given {@link CqQuery CQs} using up to {@code concurrency} {@link Thread Threads}, failing
+	 * with the first error encountered, in order of completion, after cancelling the CQs not yet executed.
+	 *
+	 * @param queries {@link List} of {@link CqQuery CQs} to execute.
+	 * @param concurrency maximum number of CQs executed concurrently.
+	 */
+	private void executeConcurrently(List<CqQuery> queries, int concurrency) {
+
+		CustomizableThreadFactory threadFactory =
+			new CustomizableThreadFactory(String.format("%sRegistration-", resolveThreadNamePrefix()));
+
+		threadFactory.setDaemon(true);
+
+		ExecutorService registrationExecutor = Executors.newFixedThreadPool(concurrency, threadFactory);
+
+		CompletionService<Object> registrations = new ExecutorCompletionService<>(registrationExecutor);
+
+		try {
+			queries.forEach(query -> registrations.submit(() -> execute(query), null));
+
+			for (int count = 0; count < queries.size(); count++) {
+				registrations.take().get();
+			}
+		}
+		catch (ExecutionException cause) {
+
+			if (cause.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) cause.getCause();
+			}
+
+			throw new IllegalStateException("Failed to execute CQs", cause.getCause());
+		}
+		catch (InterruptedException cause) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while executing CQs", cause);
+		}
+		finally {
+			registrationExecutor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Delays the execution of the CQs by a random time, up to the registration stagger interval, once per start,
+	 * so that the start time of this container is independent of the number of CQs.
+	 */
+	private void stagger() {
+
+		long registrationStaggerInterval = getRegistrationStaggerInterval();
+
+		if (registrationStaggerInterval > 0L) {
+			try {
+				Thread.sleep(ThreadLocalRandom.current().nextLong(registrationStaggerInterval));
+			}
+			catch (InterruptedException ignore) {
+				Thread.currentThread().interrupt();
+			}
+		}
 	}
 
 	/* (non-Javadoc) */
 	private void execute(CqQuery query) {
 
+		long startTime = System.nanoTime();
+
 		try {
-			query.execute();
+			InitialResultsEventDispatcherAdapter initialResultsEventDispatcher =
+				this.initialResultsEventDispatchers.get(query);
+
+			if (initialResultsEventDispatcher != null) {
+				initialResultsEventDispatcher.executeWithInitialResults(query);
+			}
+			else {
+				query.execute();
+			}
 		}
 		catch (QueryException cause) {
 			throw new GemfireQueryException(String.format("Could not execute query [%1$s]; state is [%2$s]",
 				query.getName(), query.getState()), cause);
 		}
+
+		recordRegistrationTime(query, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+	}
+
+	/* (non-Javadoc) */
+	private void recordRegistrationTime(CqQuery query, long registrationTime) {
+
+		Optional.ofNullable(query.getName()).ifPresent(name -> {
+
+			this.registrationTimes.put(name, registrationTime);
+
+			if (logger.isDebugEnabled()) {
+				logger.debug(String.format("Executed CQ [%1$s] in %2$d ms", name, registrationTime));
+			}
+		});
 	}
 
 	/**
 	 * Asynchronously dispatches the {@link CqEvent CQ event} to the targeted {@link ContinuousQueryListener}.
 	 *
+	 * Uses the configured {@link KeyOrderedEventDispatcher}, if present, otherwise the {@link Executor Task Executor}.
+	 *
 	 * @param listener {@link ContinuousQueryListener} which will process/handle the {@link CqEvent CQ event}.
 	 * @param event {@link CqEvent CQ event} to process.
 	 * @see org.springframework.data.gemfire.listener.ContinuousQueryListener
 	 * @see org.apache.geode.cache.query.CqEvent
 	 */
 	protected void dispatchEvent(ContinuousQueryListener listener, CqEvent event) {
-		getTaskExecutor().execute(() -> notify(listener, event));
+		dispatchEvent(listener, event, it -> {});
+	}
+
+	/**
+	 * Asynchronously dispatches the {@link CqEvent CQ event} to the targeted {@link ContinuousQueryListener},
+	 * invoking the {@link Consumer discard handler} instead if the configured {@link KeyOrderedEventDispatcher}
+	 * drops the {@link CqEvent CQ event}.
+	 *
+	 * @param listener {@link ContinuousQueryListener} which will process/handle the {@link CqEvent CQ event}.
+	 * @param event {@link CqEvent CQ event} to process.
+	 * @param discardHandler {@link Consumer} invoked if the {@link CqEvent CQ event} is dropped.
+	 * @see #dispatchEvent(ContinuousQueryListener, CqEvent)
+	 */
+	private void dispatchEvent(ContinuousQueryListener listener, CqEvent event, Consumer<CqEvent> discardHandler) {
+
+		KeyOrderedEventDispatcher eventDispatcher = this.eventDispatcher;
+
+		if (eventDispatcher != null) {
+			eventDispatcher.dispatch(event, it -> notify(listener, it), discardHandler);
+		}
+		else {
+			getTaskExecutor().execute(() -> notify(listener, event));
+		}
+	}
+
+	/**
+	 * Asynchronously dispatches the batch of {@link CqEvent CQ events} to the targeted
+	 * {@link BatchingContinuousQueryListener}, after any batch previously dispatched for the same CQ.
+	 *
+	 * @param previousBatch {@link CompletableFuture} completing when the previous batch has been processed.
+	 * @param listener {@link BatchingContinuousQueryListener} which will process the batch.
+	 * @param events {@link List} of {@link CqEvent CQ events} to process.
+	 * @return a {@link CompletableFuture} completing when the batch has been processed.
+	 * @see org.springframework.data.gemfire.listener.BatchingContinuousQueryListener
+	 */
+	protected CompletableFuture<Void> dispatchEvents(CompletableFuture<Void> previousBatch,
+			BatchingContinuousQueryListener listener, List<CqEvent> events) {
+
+		return previousBatch
+			.exceptionally(cause -> {
+				handleListenerError(cause);
+				return null;
+			})
+			.thenRunAsync(() -> notify(listener, events), getTaskExecutor());
+	}
+
+	/**
+	 * Invoke the specified {@link BatchingContinuousQueryListener listener} to process the batch of
+	 * {@link CqEvent CQ events}.
+	 *
+	 * @param listener {@link BatchingContinuousQueryListener} to notify of the {@link CqEvent CQ events}.
+	 * @param events {@link List} of {@link CqEvent CQ events} to process.
+	 * @see #handleListenerError(Throwable)
+	 */
+	private void notify(BatchingContinuousQueryListener listener, List<CqEvent> events) {
+
+		try {
+			listener.onEvents(events);
+		}
+		catch (Throwable cause) {
+			handleListenerError(cause);
+		}
 	}
 
 	/**
@@ -785,6 +1214,8 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 	public void destroy() throws Exception {
 		stop();
 		closeQueries();
+		flushBatches();
+		destroyEventDispatcher();
 		destroyExecutor();
 		this.initialized = false;
 	}
@@ -792,7 +1223,15 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 	/* (non-Javadoc) */
 	private void closeQueries() {
 
-		getContinuousQueries().stream().filter(query -> !query.isClosed()).forEach(query -> {
+		getContinuousQueries().forEach(this::closeQuery);
+		getContinuousQueries().clear();
+		this.initialResultsEventDispatchers.clear();
+	}
+
+	/* (non-Javadoc) */
+	private void closeQuery(CqQuery query) {
+
+		if (!query.isClosed()) {
 			try {
 				query.close();
 			}
@@ -802,9 +1241,33 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 						query.getName(), query.getState()), cause);
 				}
 			}
-		});
+		}
+	}
 
-		getContinuousQueries().clear();
+	/* (non-Javadoc) */
+	private void flushBatches() {
+
+		this.batchingEventDispatchers.forEach(BatchingEventDispatcherAdapter::flush);
+		this.batchingEventDispatchers.clear();
+
+		synchronized (this) {
+			if (this.batchScheduler != null) {
+				this.batchScheduler.shutdownNow();
+				this.batchScheduler = null;
+			}
+		}
+	}
+
+	/* (non-Javadoc) */
+	private void destroyEventDispatcher() {
+
+		getEventDispatcher().ifPresent(it -> {
+			it.destroy();
+
+			if (logger.isDebugEnabled()) {
+				logger.debug(String.format("Stopped KeyOrderedEventDispatcher [%s]", it));
+			}
+		});
 	}
 
 	/* (non-Javadoc) */
@@ -841,14 +1304,402 @@ public class ContinuousQueryListenerContainer implements BeanFactoryAware, BeanN
 		}
 
 		public void onError(CqEvent event) {
-			dispatchEvent(getListener(), event);
+			dispatch(event);
+		}
+
+		public void onEvent(CqEvent event) {
+			dispatch(event);
+		}
+
+		/* (non-Javadoc) */
+		private void dispatch(CqEvent event) {
+
+			ContinuousQueryMetrics metrics = ContinuousQueryListenerContainer.this.metrics;
+
+			if (metrics != null) {
+
+				String cqName = resolveCqName(event);
+
+				metrics.onEventReceived(cqName);
+
+				try {
+					dispatchEvent(new InstrumentedContinuousQueryListener(getListener(), metrics, cqName),
+						event, it -> metrics.onEventsDiscarded(cqName, 1));
+				}
+				catch (RejectedExecutionException cause) {
+					metrics.onEventsDiscarded(cqName, 1);
+					throw cause;
+				}
+			}
+			else {
+				dispatchEvent(getListener(), event);
+			}
+		}
+
+		public void close() {
+		}
+	}
+
+	/**
+	 * Resolves the name of the CQ that produced the given {@link CqEvent CQ event}.
+	 *
+	 * @param event {@link CqEvent CQ event}.
+	 * @return the name of the CQ, or {@literal unknown} if the CQ cannot be determined.
+	 */
+	static String resolveCqName(CqEvent event) {
+
+		return Optional.ofNullable(event)
+			.map(CqEvent::getCq)
+			.map(CqQuery::getName)
+			.orElse("unknown");
+	}
+
+	/**
+	 * {@link ContinuousQueryListener} decorator recording the time spent processing a single CQ event,
+	 * and the age of the CQ event, measured from its receipt by this client, with the {@link ContinuousQueryMetrics}.
+	 * The {@link CqEvent} does not expose the time the event originated on the server.
+	 *
+	 * @see ContinuousQueryMetrics#onEventsProcessed(String, int, long, long)
+	 */
+	static class InstrumentedContinuousQueryListener implements ContinuousQueryListener {
+
+		private final long receivedTime = System.nanoTime();
+
+		private final ContinuousQueryListener delegate;
+
+		private final ContinuousQueryMetrics metrics;
+
+		private final String cqName;
+
+		InstrumentedContinuousQueryListener(ContinuousQueryListener delegate, ContinuousQueryMetrics metrics,
+				String cqName) {
+
+			this.delegate = delegate;
+			this.metrics = metrics;
+			this.cqName = cqName;
+		}
+
+		@Override
+		public void onEvent(CqEvent event) {
+
+			long startTime = System.nanoTime();
+
+			try {
+				this.delegate.onEvent(event);
+			}
+			catch (Throwable cause) {
+				this.metrics.onListenerError(this.cqName, cause);
+				throw cause;
+			}
+			finally {
+
+				long endTime = System.nanoTime();
+
+				this.metrics.onEventsProcessed(this.cqName, 1, endTime - startTime, endTime - this.receivedTime);
+			}
+		}
+	}
+
+	/**
+	 * {@link BatchingContinuousQueryListener} decorator recording the time spent processing a batch of CQ events,
+	 * and the age of the batch, measured from receipt of its first CQ event, with the {@link ContinuousQueryMetrics}.
+	 */
+	static class InstrumentedBatchingContinuousQueryListener implements BatchingContinuousQueryListener {
+
+		private final long receivedTime;
+
+		private final BatchingContinuousQueryListener delegate;
+
+		private final ContinuousQueryMetrics metrics;
+
+		InstrumentedBatchingContinuousQueryListener(BatchingContinuousQueryListener delegate,
+				ContinuousQueryMetrics metrics, long receivedTime) {
+
+			this.delegate = delegate;
+			this.metrics = metrics;
+			this.receivedTime = receivedTime;
+		}
+
+		@Override
+		public void onEvents(List<CqEvent> events) {
+
+			String cqName = resolveCqName(events.isEmpty() ? null : events.get(0));
+
+			long startTime = System.nanoTime();
+
+			try {
+				this.delegate.onEvents(events);
+			}
+			catch (Throwable cause) {
+				this.metrics.onListenerError(cqName, cause);
+				throw cause;
+			}
+			finally {
+
+				long endTime = System.nanoTime();
+
+				this.metrics.onEventsProcessed(cqName, events.size(), endTime - startTime,
+					endTime - this.receivedTime);
+			}
+		}
+	}
+
+	/**
+	 * {@link CqListener} accumulating CQ events into batches that are delivered to
+	 * a {@link BatchingContinuousQueryListener} when either the batch size is reached or the batch time interval
+	 * elapses. Batches of the same CQ are delivered one after the other, in order.
+	 */
+	protected class BatchingEventDispatcherAdapter extends EventDispatcherAdapter {
+
+		private final int batchSize;
+
+		private final long batchTimeInterval;
+
+		private final Object lock = new Object();
+
+		private CompletableFuture<Void> lastBatch = CompletableFuture.completedFuture(null);
+
+		private List<CqEvent> batch;
+
+		private long batchReceivedTime;
+
+		private long generation;
+
+		private ScheduledFuture<?> scheduledFlush;
+
+		protected BatchingEventDispatcherAdapter(BatchingContinuousQueryListener listener, int batchSize,
+				long batchTimeInterval) {
+
+			super(listener);
+
+			Assert.isTrue(batchSize > 0, String.format("Batch size [%d] must be greater than 0", batchSize));
+
+			this.batchSize = batchSize;
+			this.batchTimeInterval = batchTimeInterval;
+		}
+
+		@Override
+		protected BatchingContinuousQueryListener getListener() {
+			return (BatchingContinuousQueryListener) super.getListener();
+		}
+
+		@Override
+		public void onError(CqEvent event) {
+			add(event);
+		}
+
+		@Override
+		public void onEvent(CqEvent event) {
+			add(event);
+		}
+
+		/* (non-Javadoc) */
+		private void add(CqEvent event) {
+
+			ContinuousQueryMetrics metrics = ContinuousQueryListenerContainer.this.metrics;
+
+			if (metrics != null) {
+				metrics.onEventReceived(resolveCqName(event));
+			}
+
+			synchronized (this.lock) {
+
+				if (this.batch == null) {
+
+					this.batch = new ArrayList<>(Math.min(this.batchSize, 1024));
+					this.batchReceivedTime = System.nanoTime();
+
+					long generation = ++this.generation;
+
+					if (this.batchTimeInterval > 0) {
+						this.scheduledFlush = getBatchScheduler().schedule(() -> flush(generation),
+							this.batchTimeInterval, TimeUnit.MILLISECONDS);
+					}
+				}
+
+				this.batch.add(event);
+
+				if (this.batch.size() >= this.batchSize) {
+					deliver();
+				}
+			}
+		}
+
+		/* (non-Javadoc) */
+		private void flush(long generation) {
+
+			synchronized (this.lock) {
+				if (this.generation == generation && this.batch != null) {
+					deliver();
+				}
+			}
+		}
+
+		/**
+		 * Delivers the current, partially filled batch of CQ events, if any.
+		 */
+		public void flush() {
+
+			synchronized (this.lock) {
+				if (this.batch != null) {
+					deliver();
+				}
+			}
+		}
+
+		/* (non-Javadoc) */
+		private void deliver() {
+
+			List<CqEvent> events = this.batch;
+
+			this.batch = null;
+
+			if (this.scheduledFlush != null) {
+				this.scheduledFlush.cancel(false);
+				this.scheduledFlush = null;
+			}
+
+			ContinuousQueryMetrics metrics = ContinuousQueryListenerContainer.this.metrics;
+
+			BatchingContinuousQueryListener listener = metrics != null
+				? new InstrumentedBatchingContinuousQueryListener(getListener(), metrics, this.batchReceivedTime)
+				: getListener();
+
+			this.lastBatch = dispatchEvents(this.lastBatch, listener, events);
+		}
+
+		@Override
+		public void close() {
+			flush();
+		}
+	}
+
+	/**
+	 * {@link CqListener} for a CQ executed with initial results, delivering the initial results to
+	 * the {@link ContinuousQueryListener} in batches and holding back the CQ events that arrive meanwhile,
+	 * which are then passed on, in order, to the {@link CqListener} dispatching the CQ's events.
+	 */
+	protected class InitialResultsEventDispatcherAdapter implements CqListener {
+
+		private final int batchSize;
+
+		private final ContinuousQueryListener listener;
+
+		private final CqListener delegate;
+
+		private List<Runnable> heldEvents;
+
+		private final Object lock = new Object();
+
+		protected InitialResultsEventDispatcherAdapter(ContinuousQueryListener listener, CqListener delegate,
+				int batchSize) {
+
+			this.listener = listener;
+			this.delegate = delegate;
+			this.batchSize = batchSize;
+		}
+
+		/**
+		 * Executes the given {@link CqQuery} with initial results, asynchronously delivering the initial results
+		 * to the {@link ContinuousQueryListener} before releasing the CQ events held back in the meantime.
+		 *
+		 * @param query {@link CqQuery} to execute.
+		 * @throws QueryException if the {@link CqQuery} cannot be executed.
+		 */
+		void executeWithInitialResults(CqQuery query) throws QueryException {
+
+			synchronized (this.lock) {
+				this.heldEvents = new ArrayList<>();
+			}
+
+			try {
+				CqResults<?> results = query.executeWithInitialResults();
+
+				CompletableFuture.runAsync(() -> deliver(query, results), getTaskExecutor())
+					.whenComplete((result, cause) -> {
+						if (cause != null) {
+							handleListenerError(cause);
+						}
+
+						release();
+					});
+			}
+			catch (QueryException | RuntimeException cause) {
+				release();
+				throw cause;
+			}
+		}
+
+		/* (non-Javadoc) */
+		private void deliver(CqQuery query, CqResults<?> results) {
+
+			if (this.batchSize > 0 && this.listener instanceof BatchingContinuousQueryListener) {
+
+				BatchingContinuousQueryListener batchingListener = (BatchingContinuousQueryListener) this.listener;
+
+				List<CqEvent> batch = new ArrayList<>(Math.min(this.batchSize, 1024));
+
+				for (Object result : results) {
+
+					batch.add(InitialResultCqEvent.from(query, result));
+
+					if (batch.size() >= this.batchSize) {
+						ContinuousQueryListenerContainer.this.notify(batchingListener, batch);
+						batch = new ArrayList<>(Math.min(this.batchSize, 1024));
+					}
+				}
+
+				if (!batch.isEmpty()) {
+					ContinuousQueryListenerContainer.this.notify(batchingListener, batch);
+				}
+			}
+			else {
+				for (Object result : results) {
+					ContinuousQueryListenerContainer.this.notify(this.listener, InitialResultCqEvent.from(query, result));
+				}
+			}
+		}
+
+		/* (non-Javadoc) */
+		private void release() {
+
+			synchronized (this.lock) {
+
+				List<Runnable> heldEvents = this.heldEvents;
+
+				this.heldEvents = null;
+
+				if (heldEvents != null) {
+					heldEvents.forEach(Runnable::run);
+				}
+			}
+		}
+
+		/* (non-Javadoc) */
+		private boolean hold(Runnable event) {
+
+			synchronized (this.lock) {
+				return this.heldEvents != null && this.heldEvents.add(event);
+			}
+		}
+
+		@Override
+		public void onError(CqEvent event) {
+			if (!hold(() -> this.delegate.onError(event))) {
+				this.delegate.onError(event);
+			}
 		}
 
+		@Override
 		public void onEvent(CqEvent event) {
-			dispatchEvent(getListener(), event);
+			if (!hold(() -> this.delegate.onEvent(event))) {
+				this.delegate.onEvent(event);
+			}
 		}
 
+		@Override
 		public void close() {
+			this.delegate.close();
 		}
 	}
 }
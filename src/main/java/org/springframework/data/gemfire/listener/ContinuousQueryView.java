@@ -0,0 +1,446 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.geode.cache.Operation;
+import org.apache.geode.cache.query.CqEvent;
+import org.apache.geode.pdx.PdxInstance;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.BeanNameAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Read-only, local {@link Map} materializing the results of a Continuous Query (CQ).
+ *
+ * The view registers its CQ with a {@link ContinuousQueryListenerContainer}, is initialized with
+ * the CQ's initial results and kept up-to-date by the CQ's events.  Values can additionally be looked up
+ * by secondary, in-memory indexes on chosen properties.
+ *
+ * CQ events for the same key must be delivered in order for the view to be accurate, therefore
+ * the {@link ContinuousQueryListenerContainer} should be configured with
+ * a {@link org.springframework.data.gemfire.listener.support.KeyOrderedEventDispatcher}
+ * or a single-threaded {@link java.util.concurrent.Executor}.
+ *
+ * @param <K> {@link Class type} of the keys.
+ * @param <V> {@link Class type} of the values.
+ * @see java.util.Map
+ * @see org.apache.geode.cache.query.CqEvent
+ * @see org.springframework.data.gemfire.listener.ContinuousQueryListener
+ * @see org.springframework.data.gemfire.listener.ContinuousQueryListenerContainer
+ * @since 2.1.0
+ */
+public class ContinuousQueryView<K, V> extends AbstractMap<K, V>
+		implements ContinuousQueryListener, BeanNameAware, InitializingBean, DisposableBean {
+
+	private volatile boolean initialized = false;
+
+	private final AtomicLong errorCount = new AtomicLong(0L);
+	private final AtomicLong eventCount = new AtomicLong(0L);
+
+	private final ConcurrentMap<K, V> entries = new ConcurrentHashMap<>();
+
+	private final ContinuousQueryListenerContainer container;
+
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private final Map<String, Index> indexes = new ConcurrentHashMap<>();
+
+	private volatile long lastUpdateTime = System.currentTimeMillis();
+
+	private String name;
+
+	private final String query;
+
+	/**
+	 * Constructs a new instance of {@link ContinuousQueryView} materializing the results of the given OQL query,
+	 * registered as a CQ with the given {@link ContinuousQueryListenerContainer}.
+	 *
+	 * @param container {@link ContinuousQueryListenerContainer} used to register the CQ; must not be {@literal null}.
+	 * @param query {@link String} containing the OQL query of the CQ; must not be {@literal null} or empty.
+	 * @throws IllegalArgumentException if the container is {@literal null} or the query is not specified.
+	 */
+	public ContinuousQueryView(ContinuousQueryListenerContainer container, String query) {
+
+		Assert.notNull(container, "ContinuousQueryListenerContainer must not be null");
+		Assert.hasText(query, "Query is required");
+
+		this.container = container;
+		this.query = query;
+	}
+
+	/**
+	 * Sets the {@link String name} of the CQ.
+	 *
+	 * Defaults to the bean name, or an identity-based name when not managed by Spring.
+	 *
+	 * @param name {@link String} containing the name of the CQ.
+	 */
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Returns the {@link String name} of the CQ.
+	 *
+	 * @return the {@link String name} of the CQ.
+	 */
+	public String getName() {
+
+		return Optional.ofNullable(this.name)
+			.filter(StringUtils::hasText)
+			.orElseGet(() -> String.format("%1$s@%2$s", getClass().getSimpleName(),
+				ObjectUtils.getIdentityHexString(this)));
+	}
+
+	@Override
+	public void setBeanName(String beanName) {
+		if (!StringUtils.hasText(this.name)) {
+			this.name = beanName;
+		}
+	}
+
+	/**
+	 * Returns the {@link ContinuousQueryListenerContainer} used to register the CQ.
+	 *
+	 * @return the {@link ContinuousQueryListenerContainer} used to register the CQ.
+	 */
+	protected ContinuousQueryListenerContainer getContainer() {
+		return this.container;
+	}
+
+	/**
+	 * Returns the OQL query of the CQ.
+	 *
+	 * @return the {@link String} containing the OQL query of the CQ.
+	 */
+	public String getQuery() {
+		return this.query;
+	}
+
+	/**
+	 * Adds a secondary index on the given property of the values, resolved from the fields of a {@link PdxInstance},
+	 * or otherwise the bean properties of the value.
+	 *
+	 * @param propertyName {@link String} containing the name of the (possibly nested) property to index.
+	 * @return this {@link ContinuousQueryView}.
+	 * @see #addIndex(String, Function)
+	 */
+	public ContinuousQueryView<K, V> addIndex(String propertyName) {
+		return addIndex(propertyName, value -> resolveProperty(value, propertyName));
+	}
+
+	/**
+	 * Adds a named secondary index on the values extracted from the values of this view
+	 * by the given {@link Function}.  Values for which the {@link Function} returns {@literal null} are not indexed.
+	 *
+	 * Indexes must be added before this view is initialized.
+	 *
+	 * @param indexName {@link String} containing the name of the index.
+	 * @param indexedValueFunction {@link Function} extracting the indexed value from a value of this view.
+	 * @return this {@link ContinuousQueryView}.
+	 * @throws IllegalStateException if this view has already been initialized.
+	 * @see #findBy(String, Object)
+	 */
+	public ContinuousQueryView<K, V> addIndex(String indexName, Function<? super V, ?> indexedValueFunction) {
+
+		Assert.hasText(indexName, "Index name is required");
+		Assert.notNull(indexedValueFunction, "Function must not be null");
+		Assert.state(!this.initialized,
+			() -> String.format("Index [%1$s] must be added before ContinuousQueryView [%2$s] is initialized",
+				indexName, getName()));
+
+		this.indexes.put(indexName, new Index(indexedValueFunction));
+
+		return this;
+	}
+
+	/* (non-Javadoc) */
+	private Object resolveProperty(V value, String propertyName) {
+
+		return (value instanceof PdxInstance ? ((PdxInstance) value).getField(propertyName)
+			: new BeanWrapperImpl(value).getPropertyValue(propertyName));
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+
+		ContinuousQueryDefinition definition = new ContinuousQueryDefinition(getName(), getQuery(), this);
+
+		definition.setExecuteWithInitialResults(true);
+
+		if (getContainer().isActive()) {
+			getContainer().addListener(definition);
+		}
+		else {
+			getContainer().addContinuousQueryDefinition(definition);
+		}
+
+		this.lastUpdateTime = System.currentTimeMillis();
+		this.initialized = true;
+	}
+
+	/**
+	 * Removes the CQ from the {@link ContinuousQueryListenerContainer}, which closes it, and clears this view.
+	 *
+	 * @see ContinuousQueryListenerContainer#removeListener(String)
+	 */
+	@Override
+	public void destroy() {
+
+		getContainer().removeListener(getName());
+
+		this.entries.clear();
+		this.indexes.values().forEach(Index::clear);
+		this.initialized = false;
+	}
+
+	/**
+	 * Applies the {@link CqEvent CQ event} to this view, removing the entry for destroyed keys and
+	 * otherwise recording the latest value of the key.
+	 *
+	 * The indexed values of the new value are extracted before the entry is updated, so that the index
+	 * {@link Function Functions} never run while the entry is locked.  A value for which an index {@link Function}
+	 * fails is not indexed by that index, and the failure is counted as an error.
+	 *
+	 * @param event {@link CqEvent} to apply.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public void onEvent(CqEvent event) {
+
+		if (event.getThrowable() != null) {
+			this.errorCount.incrementAndGet();
+
+			if (logger.isWarnEnabled()) {
+				logger.warn(String.format("CQ [%s] reported an error", getName()), event.getThrowable());
+			}
+
+			return;
+		}
+
+		K key = (K) event.getKey();
+
+		if (key != null) {
+
+			Operation operation = event.getQueryOperation();
+
+			V newValue = (operation != null && operation.isDestroy() ? null : (V) event.getNewValue());
+
+			Map<Index, Object> newIndexedValues = indexedValues(newValue);
+
+			this.entries.compute(key, (it, oldValue) -> {
+				newIndexedValues.forEach((index, newIndexedValue) -> index.update(it, newIndexedValue));
+				return newValue;
+			});
+
+			this.eventCount.incrementAndGet();
+			this.lastUpdateTime = System.currentTimeMillis();
+		}
+	}
+
+	/* (non-Javadoc) */
+	private Map<Index, Object> indexedValues(V value) {
+
+		Map<Index, Object> indexedValues = new HashMap<>(this.indexes.size());
+
+		this.indexes.forEach((indexName, index) -> {
+			try {
+				indexedValues.put(index, index.indexedValue(value));
+			}
+			catch (RuntimeException cause) {
+				this.errorCount.incrementAndGet();
+				indexedValues.put(index, null);
+
+				if (logger.isWarnEnabled()) {
+					logger.warn(String.format("Cannot index value in index [%1$s] of ContinuousQueryView [%2$s]",
+						indexName, getName()), cause);
+				}
+			}
+		});
+
+		return indexedValues;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return this.entries.containsKey(key);
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		return this.entries.containsValue(value);
+	}
+
+	@Override
+	public Set<Entry<K, V>> entrySet() {
+		return Collections.unmodifiableMap(this.entries).entrySet();
+	}
+
+	@Override
+	public V get(Object key) {
+		return this.entries.get(key);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.entries.isEmpty();
+	}
+
+	@Override
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Returns the values having the given indexed value in the named index.
+	 *
+	 * @param indexName {@link String} containing the name of the index.
+	 * @param indexedValue value to look up.
+	 * @return a {@link List} of the values having the given indexed value.
+	 * @throws IllegalArgumentException if no index with the given name exists.
+	 * @see #addIndex(String, Function)
+	 */
+	public List<V> findBy(String indexName, Object indexedValue) {
+
+		return resolveIndex(indexName).keys(indexedValue).stream()
+			.map(this.entries::get)
+			.filter(Objects::nonNull)
+			.collect(Collectors.toList());
+	}
+
+	/* (non-Javadoc) */
+	private Index resolveIndex(String indexName) {
+
+		Index index = this.indexes.get(indexName);
+
+		Assert.notNull(index, () -> String.format("No index with name [%1$s] exists in ContinuousQueryView [%2$s]",
+			indexName, getName()));
+
+		return index;
+	}
+
+	/**
+	 * Returns the number of CQ events applied to this view, including the initial results.
+	 *
+	 * @return the number of CQ events applied to this view.
+	 */
+	public long getEventCount() {
+		return this.eventCount.get();
+	}
+
+	/**
+	 * Returns the number of errors reported by the CQ, or raised while indexing its values.
+	 *
+	 * @return the number of errors reported by the CQ, or raised while indexing its values.
+	 */
+	public long getErrorCount() {
+		return this.errorCount.get();
+	}
+
+	/**
+	 * Returns the time, in milliseconds since the epoch, at which this view was last updated.
+	 *
+	 * @return the time at which this view was last updated.
+	 */
+	public long getLastUpdateTime() {
+		return this.lastUpdateTime;
+	}
+
+	/**
+	 * Returns the amount of time, in milliseconds, elapsed since this view was last updated.
+	 *
+	 * @return the number of milliseconds elapsed since this view was last updated.
+	 */
+	public long getStaleness() {
+		return Math.max(System.currentTimeMillis() - getLastUpdateTime(), 0L);
+	}
+
+	/**
+	 * Secondary index mapping indexed values to the keys of the values having them.
+	 */
+	private class Index {
+
+		private final ConcurrentMap<K, Object> indexedValueByKey = new ConcurrentHashMap<>();
+
+		private final ConcurrentMap<Object, Set<K>> keysByIndexedValue = new ConcurrentHashMap<>();
+
+		private final Function<? super V, ?> indexedValueFunction;
+
+		Index(Function<? super V, ?> indexedValueFunction) {
+			this.indexedValueFunction = indexedValueFunction;
+		}
+
+		void clear() {
+			this.indexedValueByKey.clear();
+			this.keysByIndexedValue.clear();
+		}
+
+		Set<K> keys(Object indexedValue) {
+			return (indexedValue != null
+				? this.keysByIndexedValue.getOrDefault(indexedValue, Collections.emptySet())
+				: Collections.emptySet());
+		}
+
+		void update(K key, Object newIndexedValue) {
+
+			Object oldIndexedValue = (newIndexedValue != null ? this.indexedValueByKey.put(key, newIndexedValue)
+				: this.indexedValueByKey.remove(key));
+
+			if (!Objects.equals(oldIndexedValue, newIndexedValue)) {
+
+				if (oldIndexedValue != null) {
+					this.keysByIndexedValue.computeIfPresent(oldIndexedValue, (it, keys) -> {
+						keys.remove(key);
+						return keys.isEmpty() ? null : keys;
+					});
+				}
+
+				if (newIndexedValue != null) {
+					this.keysByIndexedValue.compute(newIndexedValue, (it, keys) -> {
+						Set<K> resolvedKeys = (keys != null ? keys : ConcurrentHashMap.newKeySet());
+						resolvedKeys.add(key);
+						return resolvedKeys;
+					});
+				}
+			}
+		}
+
+		Object indexedValue(V value) {
+			return (value != null ? this.indexedValueFunction.apply(value) : null);
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener;
+
+import org.apache.geode.cache.Operation;
+import org.apache.geode.cache.query.CqEvent;
+import org.apache.geode.cache.query.CqQuery;
+import org.apache.geode.cache.query.Struct;
+
+/**
+ * {@link CqEvent} representing an entry of the initial results of a CQ executed with initial results,
+ * reported as a {@link Operation#CREATE create}.
+ *
+ * @see org.apache.geode.cache.query.CqEvent
+ * @see org.apache.geode.cache.query.CqQuery#executeWithInitialResults()
+ * @since 2.1.0
+ */
+class InitialResultCqEvent implements CqEvent {
+
+	private final CqQuery query;
+
+	private final Object key;
+	private final Object value;
+
+	/**
+	 * Factory method used to construct a new {@link InitialResultCqEvent} from an element of
+	 * the {@link org.apache.geode.cache.query.CqResults}, which is a {@link Struct} with {@literal key}
+	 * and {@literal value} fields.
+	 *
+	 * @param query {@link CqQuery} that produced the result.
+	 * @param result element of the initial results.
+	 * @return a new {@link InitialResultCqEvent}.
+	 */
+	static InitialResultCqEvent from(CqQuery query, Object result) {
+
+		if (result instanceof Struct) {
+			Struct struct = (Struct) result;
+			return new InitialResultCqEvent(query, struct.get("key"), struct.get("value"));
+		}
+
+		return new InitialResultCqEvent(query, null, result);
+	}
+
+	InitialResultCqEvent(CqQuery query, Object key, Object value) {
+		this.query = query;
+		this.key = key;
+		this.value = value;
+	}
+
+	@Override
+	public Operation getBaseOperation() {
+		return Operation.CREATE;
+	}
+
+	@Override
+	public Operation getQueryOperation() {
+		return Operation.CREATE;
+	}
+
+	@Override
+	public Object getKey() {
+		return this.key;
+	}
+
+	@Override
+	public Object getNewValue() {
+		return this.value;
+	}
+
+	@Override
+	public Throwable getThrowable() {
+		return null;
+	}
+
+	@Override
+	public CqQuery getCq() {
+		return this.query;
+	}
+
+	@Override
+	public byte[] getDeltaValue() {
+		return null;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%1$s[key = %2$s]", getClass().getSimpleName(), getKey());
+	}
+}
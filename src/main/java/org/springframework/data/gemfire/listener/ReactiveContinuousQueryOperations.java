@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener;
+
+import org.apache.geode.cache.query.CqEvent;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Interface specifying reactive operations for consuming the events of Pivotal GemFire / Apache Geode
+ * Continuous Queries (CQ) as a {@link Flux}.
+ *
+ * The CQ is registered when the {@link Flux} is subscribed to and closed when the subscription is cancelled,
+ * completes or fails. CQ events are buffered until requested by the subscriber; when the buffer is full,
+ * the configured {@link OverflowStrategy} is applied.
+ *
+ * @see org.apache.geode.cache.query.CqEvent
+ * @see org.springframework.data.gemfire.listener.ReactiveContinuousQueryTemplate
+ * @see reactor.core.publisher.Flux
+ * @since 2.1.0
+ */
+public interface ReactiveContinuousQueryOperations {
+
+	/**
+	 * Returns a {@link Flux} of the {@link CqEvent CQ events} for the given OQL query, using the default
+	 * buffer size and {@link OverflowStrategy}.
+	 *
+	 * @param query {@link String} containing the OQL query of the CQ.
+	 * @return a {@link Flux} of the {@link CqEvent CQ events} for the given OQL query.
+	 */
+	Flux<CqEvent> listen(String query);
+
+	/**
+	 * Returns a {@link Flux} of the {@link CqEvent CQ events} for the given OQL query, buffering up to
+	 * {@code bufferSize} events not yet requested by the subscriber.
+	 *
+	 * @param query {@link String} containing the OQL query of the CQ.
+	 * @param overflowStrategy {@link OverflowStrategy} applied when the buffer is full.
+	 * @param bufferSize maximum number of {@link CqEvent CQ events} buffered.
+	 * @return a {@link Flux} of the {@link CqEvent CQ events} for the given OQL query.
+	 */
+	Flux<CqEvent> listen(String query, OverflowStrategy overflowStrategy, int bufferSize);
+
+	/**
+	 * Returns a {@link Flux} of the {@link CqEvent CQ events} for the given, named OQL query, buffering up to
+	 * {@code bufferSize} events not yet requested by the subscriber.
+	 *
+	 * @param name {@link String} containing the name of the CQ; may be {@literal null}.
+	 * @param query {@link String} containing the OQL query of the CQ.
+	 * @param overflowStrategy {@link OverflowStrategy} applied when the buffer is full.
+	 * @param bufferSize maximum number of {@link CqEvent CQ events} buffered.
+	 * @return a {@link Flux} of the {@link CqEvent CQ events} for the given OQL query.
+	 */
+	Flux<CqEvent> listen(String name, String query, OverflowStrategy overflowStrategy, int bufferSize);
+
+	/**
+	 * Strategy applied when {@link CqEvent CQ events} arrive faster than they are requested
+	 * and the buffer is full.
+	 */
+	enum OverflowStrategy {
+
+		/**
+		 * Drops the oldest buffered {@link CqEvent CQ event} to make room for the new event.
+		 */
+		DROP_OLDEST,
+
+		/**
+		 * Keeps only the latest buffered {@link CqEvent CQ event} per key, in the position of the key's
+		 * oldest buffered event; when the buffer is full of distinct keys, the oldest key is dropped.
+		 */
+		LATEST_PER_KEY,
+
+		/**
+		 * Terminates the {@link Flux} with an overflow error and closes the CQ.
+		 */
+		ERROR
+
+	}
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.geode.cache.query.CqAttributesFactory;
+import org.apache.geode.cache.query.CqEvent;
+import org.apache.geode.cache.query.CqListener;
+import org.apache.geode.cache.query.CqQuery;
+import org.apache.geode.cache.query.QueryException;
+import org.apache.geode.cache.query.QueryService;
+import org.springframework.data.gemfire.GemfireQueryException;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+/**
+ * The {@link ReactiveContinuousQueryTemplate} implements {@link ReactiveContinuousQueryOperations}
+ * using a {@link QueryService} to register a {@link CqQuery} per subscription.
+ *
+ * @see org.apache.geode.cache.query.CqQuery
+ * @see org.apache.geode.cache.query.QueryService
+ * @see org.springframework.data.gemfire.listener.ReactiveContinuousQueryOperations
+ * @see reactor.core.publisher.Flux
+ * @since 2.1.0
+ */
+public class ReactiveContinuousQueryTemplate implements ReactiveContinuousQueryOperations {
+
+	public static final int DEFAULT_BUFFER_SIZE = 1024;
+
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private final QueryService queryService;
+
+	private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+	private OverflowStrategy overflowStrategy = OverflowStrategy.ERROR;
+
+	/**
+	 * Constructs a new instance of {@link ReactiveContinuousQueryTemplate} initialized with
+	 * the given {@link QueryService} used to register CQs.
+	 *
+	 * @param queryService {@link QueryService} used to register CQs; must not be {@literal null}.
+	 * @throws IllegalArgumentException if {@link QueryService} is {@literal null}.
+	 */
+	public ReactiveContinuousQueryTemplate(QueryService queryService) {
+		Assert.notNull(queryService, "QueryService must not be null");
+		this.queryService = queryService;
+	}
+
+	/**
+	 * Returns the {@link QueryService} used to register CQs.
+	 *
+	 * @return the {@link QueryService} used to register CQs.
+	 */
+	protected QueryService getQueryService() {
+		return this.queryService;
+	}
+
+	/**
+	 * Sets the default maximum number of {@link CqEvent CQ events} buffered per subscription.
+	 *
+	 * @param bufferSize default maximum number of buffered {@link CqEvent CQ events}.
+	 */
+	public void setBufferSize(int bufferSize) {
+		Assert.isTrue(bufferSize > 0, String.format("Buffer size [%d] must be greater than 0", bufferSize));
+		this.bufferSize = bufferSize;
+	}
+
+	/**
+	 * Returns the default maximum number of {@link CqEvent CQ events} buffered per subscription.
+	 *
+	 * @return the default maximum number of buffered {@link CqEvent CQ events}.
+	 */
+	public int getBufferSize() {
+		return this.bufferSize;
+	}
+
+	/**
+	 * Sets the default {@link OverflowStrategy} applied when a subscription's buffer is full.
+	 *
+	 * Defaults to {@link OverflowStrategy#ERROR}.
+	 *
+	 * @param overflowStrategy default {@link OverflowStrategy}.
+	 */
+	public void setOverflowStrategy(OverflowStrategy overflowStrategy) {
+		this.overflowStrategy = Optional.ofNullable(overflowStrategy).orElse(OverflowStrategy.ERROR);
+	}
+
+	/**
+	 * Returns the default {@link OverflowStrategy} applied when a subscription's buffer is full.
+	 *
+	 * @return the default {@link OverflowStrategy}.
+	 */
+	public OverflowStrategy getOverflowStrategy() {
+		return this.overflowStrategy;
+	}
+
+	@Override
+	public Flux<CqEvent> listen(String query) {
+		return listen(null, query, getOverflowStrategy(), getBufferSize());
+	}
+
+	@Override
+	public Flux<CqEvent> listen(String query, OverflowStrategy overflowStrategy, int bufferSize) {
+		return listen(null, query, overflowStrategy, bufferSize);
+	}
+
+	@Override
+	public Flux<CqEvent> listen(String name, String query, OverflowStrategy overflowStrategy, int bufferSize) {
+
+		Assert.hasText(query, "Query is required");
+		Assert.notNull(overflowStrategy, "OverflowStrategy must not be null");
+		Assert.isTrue(bufferSize > 0, String.format("Buffer size [%d] must be greater than 0", bufferSize));
+
+		return Flux.create(sink -> {
+
+			CqEventBuffer buffer = new CqEventBuffer(sink, overflowStrategy, bufferSize);
+
+			try {
+				CqQuery cq = newCq(name, query, buffer);
+
+				sink.onRequest(requested -> buffer.drain());
+				sink.onDispose(() -> close(cq));
+
+				cq.execute();
+			}
+			catch (QueryException cause) {
+				sink.error(new GemfireQueryException(String.format("Unable to execute CQ [%s]", query), cause));
+			}
+			catch (RuntimeException cause) {
+				sink.error(cause);
+			}
+		});
+	}
+
+	/* (non-Javadoc) */
+	private CqQuery newCq(String name, String query, CqListener listener) throws QueryException {
+
+		CqAttributesFactory attributesFactory = new CqAttributesFactory();
+
+		attributesFactory.addCqListener(listener);
+
+		return (StringUtils.hasText(name) ? getQueryService().newCq(name, query, attributesFactory.create())
+			: getQueryService().newCq(query, attributesFactory.create()));
+	}
+
+	/* (non-Javadoc) */
+	private void close(CqQuery cq) {
+
+		try {
+			if (!cq.isClosed()) {
+				cq.close();
+			}
+		}
+		catch (Exception cause) {
+			if (logger.isWarnEnabled()) {
+				logger.warn(String.format("Cannot close CQ [%s]", cq.getName()), cause);
+			}
+		}
+	}
+
+	/**
+	 * {@link CqListener} buffering {@link CqEvent CQ events} until they are requested by the subscriber.
+	 */
+	static class CqEventBuffer implements CqListener {
+
+		private final AtomicInteger wip = new AtomicInteger(0);
+
+		private final Deque<CqEvent> events = new ArrayDeque<>();
+
+		private final FluxSink<CqEvent> sink;
+
+		private final int capacity;
+
+		private final Map<Object, CqEvent> latestEvents = new LinkedHashMap<>();
+
+		private final OverflowStrategy overflowStrategy;
+
+		private volatile boolean done;
+
+		private volatile Throwable error;
+
+		CqEventBuffer(FluxSink<CqEvent> sink, OverflowStrategy overflowStrategy, int capacity) {
+			this.sink = sink;
+			this.overflowStrategy = overflowStrategy;
+			this.capacity = capacity;
+		}
+
+		@Override
+		public void onEvent(CqEvent event) {
+			offer(event);
+		}
+
+		@Override
+		public void onError(CqEvent event) {
+			offer(event);
+		}
+
+		@Override
+		public void close() {
+			this.done = true;
+			drain();
+		}
+
+		/* (non-Javadoc) */
+		private void offer(CqEvent event) {
+
+			synchronized (this) {
+
+				if (this.done) {
+					return;
+				}
+
+				if (this.overflowStrategy == OverflowStrategy.LATEST_PER_KEY) {
+					if (!this.latestEvents.containsKey(event.getKey()) && this.latestEvents.size() >= this.capacity) {
+						Iterator<Object> keys = this.latestEvents.keySet().iterator();
+						keys.next();
+						keys.remove();
+					}
+
+					this.latestEvents.put(event.getKey(), event);
+				}
+				else if (this.events.size() < this.capacity) {
+					this.events.addLast(event);
+				}
+				else if (this.overflowStrategy == OverflowStrategy.DROP_OLDEST) {
+					this.events.pollFirst();
+					this.events.addLast(event);
+				}
+				else {
+					this.error = Exceptions.failWithOverflow();
+					this.done = true;
+				}
+			}
+
+			drain();
+		}
+
+		/* (non-Javadoc) */
+		private synchronized CqEvent poll() {
+
+			if (this.overflowStrategy == OverflowStrategy.LATEST_PER_KEY) {
+
+				Iterator<CqEvent> iterator = this.latestEvents.values().iterator();
+
+				if (iterator.hasNext()) {
+					CqEvent event = iterator.next();
+					iterator.remove();
+					return event;
+				}
+
+				return null;
+			}
+
+			return this.events.pollFirst();
+		}
+
+		/* (non-Javadoc) */
+		private synchronized void clear() {
+			this.events.clear();
+			this.latestEvents.clear();
+		}
+
+		/**
+		 * Emits buffered {@link CqEvent CQ events} while the subscriber has outstanding demand, serializing
+		 * concurrent calls from the CQ listener {@link Thread} and the requesting {@link Thread}.
+		 */
+		void drain() {
+
+			if (this.wip.getAndIncrement() != 0) {
+				return;
+			}
+
+			int missed = 1;
+
+			do {
+				if (this.sink.isCancelled()) {
+					clear();
+					return;
+				}
+
+				if (this.error != null) {
+					clear();
+					this.sink.error(this.error);
+					return;
+				}
+
+				while (this.sink.requestedFromDownstream() > 0) {
+
+					CqEvent event = poll();
+
+					if (event == null) {
+						break;
+					}
+
+					this.sink.next(event);
+				}
+
+				if (this.done && this.error == null && isEmpty()) {
+					this.sink.complete();
+					return;
+				}
+
+				missed = this.wip.addAndGet(-missed);
+			}
+			while (missed != 0);
+		}
+
+		/* (non-Javadoc) */
+		private synchronized boolean isEmpty() {
+			return this.events.isEmpty() && this.latestEvents.isEmpty();
+		}
+	}
+}
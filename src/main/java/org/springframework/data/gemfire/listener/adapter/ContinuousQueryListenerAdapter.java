@@ -16,10 +16,13 @@
 
 package org.springframework.data.gemfire.listener.adapter;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +33,7 @@ import org.apache.geode.cache.query.CqEvent;
 import org.apache.geode.cache.query.CqQuery;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.gemfire.listener.BatchingContinuousQueryListener;
 import org.springframework.data.gemfire.listener.ContinuousQueryListener;
 import org.springframework.data.gemfire.listener.GemfireListenerExecutionFailedException;
 import org.springframework.util.Assert;
@@ -63,6 +67,9 @@ import org.springframework.util.StringUtils;
  *    void handleEvent(CqEvent event, Operation baseOp, Operation queryOp, Object key, Object newValue);
  * }</pre>
  *
+ * <p>When CQ events are delivered in batches (see {@link BatchingContinuousQueryListener}), the listener method
+ * must declare a single {@link List}, {@link Collection} or {@link Iterable} parameter receiving the batch.</p>
+ *
  * @author Juergen Hoeller
  * @author Costin Leau
  * @author Oliver Gierke
@@ -71,16 +78,19 @@ import org.springframework.util.StringUtils;
  * @see org.apache.geode.cache.Operation
  * @see org.apache.geode.cache.query.CqEvent
  * @see org.apache.geode.cache.query.CqQuery
+ * @see org.springframework.data.gemfire.listener.BatchingContinuousQueryListener
  * @see org.springframework.data.gemfire.listener.ContinuousQueryListener
  * @since 1.1.0
  */
-public class ContinuousQueryListenerAdapter implements ContinuousQueryListener {
+public class ContinuousQueryListenerAdapter implements BatchingContinuousQueryListener {
 
 	// Out-of-the-box value for the default listener handler method "handleEvent".
 	public static final String DEFAULT_LISTENER_METHOD_NAME = "handleEvent";
 
 	protected final Log logger = LogFactory.getLog(getClass());
 
+	private BatchMethodInvoker batchInvoker;
+
 	private MethodInvoker invoker;
 
 	private Object delegate;
@@ -120,6 +130,7 @@ public class ContinuousQueryListenerAdapter implements ContinuousQueryListener {
 		Assert.notNull(delegate, "Delegate is required");
 
 		this.delegate = delegate;
+		this.batchInvoker = null;
 		this.invoker = null;
 	}
 
@@ -141,6 +152,7 @@ public class ContinuousQueryListenerAdapter implements ContinuousQueryListener {
 	 */
 	public void setDefaultListenerMethod(String defaultListenerMethod) {
 		this.defaultListenerMethod = defaultListenerMethod;
+		this.batchInvoker = null;
 		this.invoker = null;
 	}
 
@@ -206,6 +218,40 @@ public class ContinuousQueryListenerAdapter implements ContinuousQueryListener {
 		}
 	}
 
+	/**
+	 * {@link BatchingContinuousQueryListener} callback method for handling batches of CQ events.
+	 *
+	 * <p>Delegates the batch of CQ events to the target listener method accepting a {@link List} of events.
+	 * In case of an exception, the {@link #handleListenerException(Throwable)} method will be invoked.
+	 *
+	 * @param events {@link List} of incoming {@link CqEvent CQ events}.
+	 * @see #handleListenerException
+	 */
+	@Override
+	public void onEvents(List<CqEvent> events) {
+
+		try {
+			if (this.delegate != this && this.delegate instanceof BatchingContinuousQueryListener) {
+				((BatchingContinuousQueryListener) this.delegate).onEvents(events);
+			}
+			else {
+
+				String methodName = Optional.ofNullable(getDefaultListenerMethod())
+					.filter(StringUtils::hasText)
+					.orElseThrow(() -> new InvalidDataAccessApiUsageException("No default listener method specified;"
+						+ " Specify a non-null value for the 'defaultListenerMethod' property"));
+
+				this.batchInvoker = Optional.ofNullable(this.batchInvoker)
+					.orElseGet(() -> new BatchMethodInvoker(this.delegate, methodName));
+
+				invokeListenerMethod(events, methodName);
+			}
+		}
+		catch (Throwable cause) {
+			handleListenerException(cause);
+		}
+	}
+
 	/**
 	 * Handle the given exception that arose during listener execution.
 	 * The default implementation logs the exception at error level.
@@ -225,13 +271,13 @@ public class ContinuousQueryListenerAdapter implements ContinuousQueryListener {
 		try {
 			this.invoker.invoke(event);
 		}
-		catch (InvocationTargetException cause) {
-			if (cause.getTargetException() instanceof DataAccessException) {
-				throw (DataAccessException) cause.getTargetException();
+		catch (ListenerMethodException cause) {
+			if (cause.getCause() instanceof DataAccessException) {
+				throw (DataAccessException) cause.getCause();
 			}
 			else {
 				throw new GemfireListenerExecutionFailedException(
-					String.format("Listener method [%s] threw Exception...", methodName), cause.getTargetException());
+					String.format("Listener method [%s] threw Exception...", methodName), cause.getCause());
 			}
 		}
 		catch (Throwable cause) {
@@ -240,27 +286,212 @@ public class ContinuousQueryListenerAdapter implements ContinuousQueryListener {
 		}
 	}
 
-	private class MethodInvoker {
+	/**
+	 * Invoke the specified listener method with a batch of CQ events.
+	 *
+	 * @param events the batch of CQ events to be passed in
+	 * @param methodName the method to invoke
+	 */
+	protected void invokeListenerMethod(List<CqEvent> events, String methodName) {
+		try {
+			this.batchInvoker.invoke(events);
+		}
+		catch (ListenerMethodException cause) {
+			if (cause.getCause() instanceof DataAccessException) {
+				throw (DataAccessException) cause.getCause();
+			}
+			else {
+				throw new GemfireListenerExecutionFailedException(
+					String.format("Listener method [%s] threw Exception...", methodName), cause.getCause());
+			}
+		}
+		catch (Throwable cause) {
+			throw new GemfireListenerExecutionFailedException(
+				String.format("Failed to invoke the target listener method [%s]", methodName), cause);
+		}
+	}
+
+	/**
+	 * Resolves a {@link MethodHandle} for the given listener {@link Method}, bound to the {@link Object delegate}
+	 * unless the {@link Method} is static, and wrapping any exception thrown by the listener {@link Method}
+	 * in a {@link ListenerMethodException}.
+	 */
+	private static MethodHandle bind(Object delegate, Method method) {
+
+		try {
+			MethodHandle methodHandle = MethodHandles.lookup().unreflect(method);
+
+			methodHandle = (Modifier.isStatic(method.getModifiers()) ? methodHandle : methodHandle.bindTo(delegate));
+
+			MethodHandle exceptionHandler = MethodHandles.dropArguments(
+				MethodHandles.filterArguments(MethodHandles.throwException(methodHandle.type().returnType(),
+					ListenerMethodException.class), 0, ListenerMethodException.CONSTRUCTOR),
+				1, methodHandle.type().parameterList());
+
+			return MethodHandles.catchException(methodHandle, Throwable.class, exceptionHandler);
+		}
+		catch (IllegalAccessException cause) {
+			throw new GemfireListenerExecutionFailedException(
+				String.format("Failed to access the target listener method [%s]", method), cause);
+		}
+	}
+
+	/**
+	 * Signals that the listener method itself threw the {@link #getCause() cause}, as opposed to a failure
+	 * to invoke it, much like an {@link java.lang.reflect.InvocationTargetException}.
+	 */
+	@SuppressWarnings("serial")
+	private static class ListenerMethodException extends RuntimeException {
+
+		private static final MethodHandle CONSTRUCTOR;
+
+		static {
+			try {
+				CONSTRUCTOR = MethodHandles.lookup().findConstructor(ListenerMethodException.class,
+					MethodType.methodType(void.class, Throwable.class));
+			}
+			catch (ReflectiveOperationException cause) {
+				throw new IllegalStateException(cause);
+			}
+		}
+
+		ListenerMethodException(Throwable cause) {
+			super(null, cause, false, false);
+		}
+	}
+
+	private static class BatchMethodInvoker {
+
+		private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, List.class);
+
+		private final MethodHandle[] methodHandles;
+
+		BatchMethodInvoker(Object delegate, String methodName) {
 
-		private final Object delegate;
+			Class<?> delegateType = delegate.getClass();
+
+			List<MethodHandle> methodHandles = new ArrayList<>();
+
+			ReflectionUtils.doWithMethods(delegateType, method -> {
+				ReflectionUtils.makeAccessible(method);
+				methodHandles.add(bind(delegate, method).asType(INVOKER_TYPE));
+			}, method -> isValidBatchMethodSignature(method, methodName));
+
+			Assert.isTrue(!methodHandles.isEmpty(), String.format("Cannot find a suitable method named [%1$s#%2$s];"
+				+ " Is the method public and does it have a single List parameter?",
+					delegateType.getName(), methodName));
+
+			this.methodHandles = methodHandles.toArray(new MethodHandle[methodHandles.size()]);
+		}
 
-		private final List<Method> methods;
+		private boolean isValidBatchMethodSignature(Method method, String methodName) {
+
+			Class<?>[] parameterTypes = method.getParameterTypes();
+
+			return Modifier.isPublic(method.getModifiers())
+				&& method.getName().equals(methodName)
+				&& parameterTypes.length == 1
+				&& (List.class.equals(parameterTypes[0]) || Collection.class.equals(parameterTypes[0])
+					|| Iterable.class.equals(parameterTypes[0]));
+		}
+
+		void invoke(List<CqEvent> events) throws Throwable {
+
+			for (MethodHandle methodHandle : this.methodHandles) {
+				methodHandle.invokeExact(events);
+			}
+		}
+	}
+
+	/**
+	 * Invokes the listener methods through {@link MethodHandle MethodHandles} adapted once, when the invoker is
+	 * created, to take the {@link CqEvent} and extract each argument from it, so that dispatching an event
+	 * neither inspects parameter types nor allocates an argument array.
+	 */
+	private static class MethodInvoker {
+
+		private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, CqEvent.class);
+
+		private static final MethodHandle BASE_OPERATION = cqEventAccessor("getBaseOperation", Operation.class);
+		private static final MethodHandle CQ = cqEventAccessor("getCq", CqQuery.class);
+		private static final MethodHandle DELTA_VALUE = cqEventAccessor("getDeltaValue", byte[].class);
+		private static final MethodHandle KEY = cqEventAccessor("getKey", Object.class);
+		private static final MethodHandle NEW_VALUE = cqEventAccessor("getNewValue", Object.class);
+		private static final MethodHandle QUERY_OPERATION = cqEventAccessor("getQueryOperation", Operation.class);
+		private static final MethodHandle THROWABLE = cqEventAccessor("getThrowable", Throwable.class);
+
+		private final MethodHandle[] methodHandles;
 
 		MethodInvoker(Object delegate, String methodName) {
 
 			Class<?> delegateType = delegate.getClass();
 
-			this.delegate = delegate;
-			this.methods = new ArrayList<>();
+			List<MethodHandle> methodHandles = new ArrayList<>();
 
 			ReflectionUtils.doWithMethods(delegateType, method -> {
 				ReflectionUtils.makeAccessible(method);
-				this.methods.add(method);
+				methodHandles.add(adapt(bind(delegate, method), method.getParameterTypes()));
 			}, method -> isValidEventMethodSignature(method, methodName));
 
-			Assert.isTrue(!this.methods.isEmpty(), String.format("Cannot find a suitable method named [%1$s#%2$s];"
+			Assert.isTrue(!methodHandles.isEmpty(), String.format("Cannot find a suitable method named [%1$s#%2$s];"
 				+ " Is the method public and does it have the proper arguments?",
 					delegateType.getName(), methodName));
+
+			this.methodHandles = methodHandles.toArray(new MethodHandle[methodHandles.size()]);
+		}
+
+		private static MethodHandle cqEventAccessor(String methodName, Class<?> returnType) {
+
+			try {
+				return MethodHandles.lookup().findVirtual(CqEvent.class, methodName,
+					MethodType.methodType(returnType));
+			}
+			catch (ReflectiveOperationException cause) {
+				throw new IllegalStateException(String.format("CqEvent method [%s] not found", methodName), cause);
+			}
+		}
+
+		/**
+		 * Adapts the listener method's {@link MethodHandle} to the {@link #INVOKER_TYPE}, extracting
+		 * each argument from the {@link CqEvent} based on the parameter's type and position.
+		 */
+		private static MethodHandle adapt(MethodHandle methodHandle, Class<?>[] parameterTypes) {
+
+			MethodHandle[] argumentExtractors = new MethodHandle[parameterTypes.length];
+
+			boolean query = false;
+			boolean value = false;
+
+			for (int index = 0; index < parameterTypes.length; index++) {
+
+				Class<?> parameterType = parameterTypes[index];
+
+				if (Object.class.equals(parameterType)) {
+					argumentExtractors[index] = (value ? NEW_VALUE : KEY);
+					value = true;
+				}
+				else if (Operation.class.equals(parameterType)) {
+					argumentExtractors[index] = (query ? QUERY_OPERATION : BASE_OPERATION);
+					query = true;
+				}
+				else if (byte[].class.equals(parameterType)) {
+					argumentExtractors[index] = DELTA_VALUE;
+				}
+				else if (CqQuery.class.equals(parameterType)) {
+					argumentExtractors[index] = CQ;
+				}
+				else if (Throwable.class.equals(parameterType)) {
+					argumentExtractors[index] = THROWABLE;
+				}
+				// a CqEvent parameter is passed the event as is
+			}
+
+			MethodHandle filteredMethodHandle = MethodHandles.filterArguments(methodHandle, 0, argumentExtractors);
+
+			MethodType eventMethodType = MethodType.methodType(filteredMethodHandle.type().returnType(), CqEvent.class);
+
+			return MethodHandles.permuteArguments(filteredMethodHandle, eventMethodType, new int[parameterTypes.length])
+				.asType(INVOKER_TYPE);
 		}
 
 		@SuppressWarnings("all")
@@ -313,49 +544,11 @@ public class ContinuousQueryListenerAdapter implements ContinuousQueryListener {
 				.isPresent();
 		}
 
-		void invoke(CqEvent event) throws IllegalAccessException, InvocationTargetException {
-
-			for (Method method : this.methods) {
-				method.invoke(this.delegate, getMethodArguments(method, event));
-			}
-		}
-
-		private Object[] getMethodArguments(Method method, CqEvent event) {
-
-			Class<?>[] parameterTypes = method.getParameterTypes();
-
-			Object[] args = new Object[parameterTypes.length];
-
-			boolean query = false;
-			boolean value = false;
-
-			for (int index = 0; index < parameterTypes.length; index++) {
-
-				Class<?> parameterType = parameterTypes[index];
+		void invoke(CqEvent event) throws Throwable {
 
-				if (Object.class.equals(parameterType)) {
-					args[index] = (value ? event.getNewValue() : event.getKey());
-					value = true;
-				}
-				else if (Operation.class.equals(parameterType)) {
-					args[index] = (query ? event.getQueryOperation() : event.getBaseOperation());
-					query = true;
-				}
-				else if (byte[].class.equals(parameterType)) {
-					args[index] = event.getDeltaValue();
-				}
-				else if (CqEvent.class.equals(parameterType)) {
-					args[index] = event;
-				}
-				else if (CqQuery.class.equals(parameterType)) {
-					args[index] = event.getCq();
-				}
-				else if (Throwable.class.equals(parameterType)) {
-					args[index] = event.getThrowable();
-				}
+			for (MethodHandle methodHandle : this.methodHandles) {
+				methodHandle.invokeExact(event);
 			}
-
-			return args;
 		}
 	}
 }
@@ -40,6 +40,22 @@ import java.lang.annotation.Target;
 @Documented
 public @interface ContinuousQuery {
 
+	/**
+	 * Enables batched delivery of CQ events when greater than {@literal 0}, in which case the annotated method
+	 * must declare a single {@link java.util.List} parameter receiving up to this many CQ events at once.
+	 *
+	 * Defaults to {@literal 0} (disabled).
+	 */
+	int batchSize() default 0;
+
+	/**
+	 * Maximum amount of time, in milliseconds, that a CQ event waits in a batch before the batch is delivered,
+	 * even if the {@link #batchSize()} has not been reached.  Only applies when {@link #batchSize()} is set.
+	 *
+	 * Defaults to {@literal 1000} milliseconds.
+	 */
+	long batchTimeInterval() default 1000L;
+
 	/**
 	 * Determines whether the CQ is durable.
 	 *
@@ -47,6 +63,14 @@ public @interface ContinuousQuery {
 	 */
 	boolean durable() default false;
 
+	/**
+	 * Determines whether the CQ is executed with initial results, which are delivered to the annotated method
+	 * as CQ events, in batches when {@link #batchSize()} is set, before any CQ events that occur afterwards.
+	 *
+	 * Defaults to {@literal false}.
+	 */
+	boolean executeWithInitialResults() default false;
+
 	/**
 	 * {@link String Name} assigned to the registered CQ.
 	 *
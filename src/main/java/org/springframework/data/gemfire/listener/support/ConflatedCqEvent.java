@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener.support;
+
+import org.apache.geode.cache.Operation;
+import org.apache.geode.cache.query.CqEvent;
+import org.apache.geode.cache.query.CqQuery;
+
+/**
+ * {@link CqEvent} resulting from conflating two or more {@link CqEvent CQ events} for the same key,
+ * carrying the latest event's state along with the merged {@link #getQueryOperation() query operation}.
+ *
+ * @see org.apache.geode.cache.query.CqEvent
+ * @see org.springframework.data.gemfire.listener.support.KeyOrderedEventDispatcher#setConflationEnabled(boolean)
+ * @since 2.1.0
+ */
+class ConflatedCqEvent implements CqEvent {
+
+	private final CqEvent event;
+
+	private final Operation queryOperation;
+
+	ConflatedCqEvent(CqEvent event, Operation queryOperation) {
+		this.event = event;
+		this.queryOperation = queryOperation;
+	}
+
+	@Override
+	public Operation getBaseOperation() {
+		return this.event.getBaseOperation();
+	}
+
+	@Override
+	public Operation getQueryOperation() {
+		return this.queryOperation;
+	}
+
+	@Override
+	public Object getKey() {
+		return this.event.getKey();
+	}
+
+	@Override
+	public Object getNewValue() {
+		return this.event.getNewValue();
+	}
+
+	@Override
+	public Throwable getThrowable() {
+		return this.event.getThrowable();
+	}
+
+	@Override
+	public CqQuery getCq() {
+		return this.event.getCq();
+	}
+
+	/**
+	 * Returns {@literal null} since a delta of the latest event only applies to the value of an intermediate
+	 * event that was conflated away.
+	 *
+	 * @return {@literal null}.
+	 */
+	@Override
+	public byte[] getDeltaValue() {
+		return null;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%1$s[queryOperation = %2$s, key = %3$s]", getClass().getSimpleName(),
+			getQueryOperation(), getKey());
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener.support;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Service Provider Interface (SPI) notified by the
+ * {@link org.springframework.data.gemfire.listener.ContinuousQueryListenerContainer} as the events of each
+ * Continuous Query (CQ) are received, processed by the CQ listener, or dropped.
+ *
+ * Implementations must be thread-safe and fast, since they are invoked on the CQ event delivery path.
+ *
+ * @see org.springframework.data.gemfire.listener.ContinuousQueryListenerContainer#setMetrics(ContinuousQueryMetrics)
+ * @see org.springframework.data.gemfire.listener.support.SimpleContinuousQueryMetrics
+ * @see org.springframework.data.gemfire.listener.support.MicrometerContinuousQueryMetrics
+ * @since 2.1.0
+ */
+public interface ContinuousQueryMetrics {
+
+	/**
+	 * Called when a CQ event is received from the server, before it is dispatched to the CQ listener.
+	 *
+	 * @param cqName {@link String} containing the name of the CQ.
+	 */
+	void onEventReceived(String cqName);
+
+	/**
+	 * Called after the CQ listener has processed one or more CQ events, whether successfully or not.
+	 *
+	 * The event age is measured from the time this client received the CQ event, not from the time the change
+	 * was made on the server, since GemFire's public {@link org.apache.geode.cache.query.CqEvent} API does not
+	 * expose the origin timestamp of the event.  It therefore includes the time the event waited to be dispatched
+	 * and processed, but not the time taken by the server to deliver the event.
+	 *
+	 * @param cqName {@link String} containing the name of the CQ.
+	 * @param eventCount number of CQ events processed by the CQ listener invocation.
+	 * @param listenerTime time, in nanoseconds, spent in the CQ listener.
+	 * @param eventAge time, in nanoseconds, from receipt of the (oldest) CQ event by this client
+	 * to completion of the CQ listener.
+	 */
+	void onEventsProcessed(String cqName, int eventCount, long listenerTime, long eventAge);
+
+	/**
+	 * Called when CQ events are dropped without being processed by the CQ listener, for example, when rejected
+	 * by a full queue or conflated with a newer event.
+	 *
+	 * @param cqName {@link String} containing the name of the CQ.
+	 * @param eventCount number of CQ events dropped.
+	 */
+	void onEventsDiscarded(String cqName, int eventCount);
+
+	/**
+	 * Called when the CQ listener throws an error while processing CQ events.
+	 *
+	 * @param cqName {@link String} containing the name of the CQ.
+	 * @param cause {@link Throwable} thrown by the CQ listener.
+	 */
+	void onListenerError(String cqName, Throwable cause);
+
+	/**
+	 * Returns a point-in-time {@link ContinuousQueryMetricsSnapshot snapshot} of the metrics of each CQ,
+	 * keyed by CQ name.
+	 *
+	 * Defaults to an empty {@link Map} for implementations that only publish metrics to an external system.
+	 *
+	 * @return a {@link Map} of {@link ContinuousQueryMetricsSnapshot snapshots} keyed by CQ name.
+	 */
+	default Map<String, ContinuousQueryMetricsSnapshot> snapshot() {
+		return Collections.emptyMap();
+	}
+}
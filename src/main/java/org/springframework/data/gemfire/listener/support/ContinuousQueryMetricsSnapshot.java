@@ -0,0 +1,183 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener.support;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable, point-in-time snapshot of the metrics of a single Continuous Query (CQ), exposing simple
+ * properties suitable for JMX or a Spring Boot Actuator endpoint.
+ *
+ * Times are reported in milliseconds.
+ *
+ * @see org.springframework.data.gemfire.listener.support.ContinuousQueryMetrics#snapshot()
+ * @since 2.1.0
+ */
+public class ContinuousQueryMetricsSnapshot {
+
+	private final double averageEventAge;
+	private final double averageListenerTime;
+
+	private final long errorCount;
+	private final long eventsDiscarded;
+	private final long eventsProcessed;
+	private final long eventsReceived;
+	private final long listenerInvocations;
+	private final long maximumEventAge;
+	private final long maximumListenerTime;
+
+	private final Map<String, Long> listenerTimeHistogram;
+
+	private final String name;
+
+	ContinuousQueryMetricsSnapshot(String name, long eventsReceived, long eventsProcessed, long eventsDiscarded,
+			long errorCount, long listenerInvocations, double averageListenerTime, long maximumListenerTime,
+			double averageEventAge, long maximumEventAge, Map<String, Long> listenerTimeHistogram) {
+
+		this.name = name;
+		this.eventsReceived = eventsReceived;
+		this.eventsProcessed = eventsProcessed;
+		this.eventsDiscarded = eventsDiscarded;
+		this.errorCount = errorCount;
+		this.listenerInvocations = listenerInvocations;
+		this.averageListenerTime = averageListenerTime;
+		this.maximumListenerTime = maximumListenerTime;
+		this.averageEventAge = averageEventAge;
+		this.maximumEventAge = maximumEventAge;
+		this.listenerTimeHistogram = Collections.unmodifiableMap(listenerTimeHistogram);
+	}
+
+	/**
+	 * Returns the name of the CQ.
+	 *
+	 * @return the {@link String name} of the CQ.
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Returns the number of CQ events received.
+	 *
+	 * @return the number of CQ events received.
+	 */
+	public long getEventsReceived() {
+		return this.eventsReceived;
+	}
+
+	/**
+	 * Returns the number of CQ events processed by the CQ listener, including those that failed.
+	 *
+	 * @return the number of CQ events processed.
+	 */
+	public long getEventsProcessed() {
+		return this.eventsProcessed;
+	}
+
+	/**
+	 * Returns the number of CQ events dropped without being processed.
+	 *
+	 * @return the number of CQ events dropped.
+	 */
+	public long getEventsDiscarded() {
+		return this.eventsDiscarded;
+	}
+
+	/**
+	 * Returns the number of CQ events received but neither processed nor dropped yet, that is,
+	 * waiting to be dispatched to, or being processed by, the CQ listener.
+	 *
+	 * @return the number of CQ events waiting to be processed.
+	 */
+	public long getQueueDepth() {
+		return Math.max(getEventsReceived() - getEventsProcessed() - getEventsDiscarded(), 0L);
+	}
+
+	/**
+	 * Returns the number of errors thrown by the CQ listener.
+	 *
+	 * @return the number of errors thrown by the CQ listener.
+	 */
+	public long getErrorCount() {
+		return this.errorCount;
+	}
+
+	/**
+	 * Returns the number of times the CQ listener was invoked, which is less than the number of CQ events
+	 * processed when CQ events are delivered in batches.
+	 *
+	 * @return the number of CQ listener invocations.
+	 */
+	public long getListenerInvocations() {
+		return this.listenerInvocations;
+	}
+
+	/**
+	 * Returns the average time, in milliseconds, spent in the CQ listener per invocation.
+	 *
+	 * @return the average CQ listener time in milliseconds.
+	 */
+	public double getAverageListenerTime() {
+		return this.averageListenerTime;
+	}
+
+	/**
+	 * Returns the maximum time, in milliseconds, spent in the CQ listener by a single invocation.
+	 *
+	 * @return the maximum CQ listener time in milliseconds.
+	 */
+	public long getMaximumListenerTime() {
+		return this.maximumListenerTime;
+	}
+
+	/**
+	 * Returns the number of CQ listener invocations per time range, keyed by the range's upper bound
+	 * (for example, {@literal <=10ms}).
+	 *
+	 * @return the CQ listener time histogram.
+	 */
+	public Map<String, Long> getListenerTimeHistogram() {
+		return this.listenerTimeHistogram;
+	}
+
+	/**
+	 * Returns the average time, in milliseconds, from receipt of a CQ event to the completion of its processing.
+	 *
+	 * @return the average CQ event age in milliseconds.
+	 */
+	public double getAverageEventAge() {
+		return this.averageEventAge;
+	}
+
+	/**
+	 * Returns the maximum time, in milliseconds, from receipt of a CQ event to the completion of its processing.
+	 *
+	 * @return the maximum CQ event age in milliseconds.
+	 */
+	public long getMaximumEventAge() {
+		return this.maximumEventAge;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%1$s[name = %2$s, eventsReceived = %3$d, eventsProcessed = %4$d, queueDepth = %5$d,"
+			+ " errorCount = %6$d, averageListenerTime = %7$.3f ms, averageEventAge = %8$.3f ms]",
+				getClass().getSimpleName(), getName(), getEventsReceived(), getEventsProcessed(), getQueueDepth(),
+				getErrorCount(), getAverageListenerTime(), getAverageEventAge());
+	}
+}
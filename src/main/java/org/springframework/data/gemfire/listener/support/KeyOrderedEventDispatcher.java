@@ -0,0 +1,662 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener.support;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.geode.cache.Operation;
+import org.apache.geode.cache.query.CqEvent;
+import org.apache.geode.cache.query.CqQuery;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * The {@link KeyOrderedEventDispatcher} dispatches {@link CqEvent CQ events} over a fixed number of lanes,
+ * each backed by a bounded queue and processed by a single {@link Thread}.
+ *
+ * {@link CqEvent CQ events} are striped across the lanes by the hash of {@link CqEvent#getKey() key}, so that
+ * events for the same key are always processed in the order received while events for different keys are processed
+ * in parallel. What happens when a lane's queue is full is determined by the configured {@link RejectionPolicy}.
+ *
+ * Optionally, queued {@link CqEvent CQ events} can be {@link #setConflationEnabled(boolean) conflated}, in which case
+ * a newer event for a key of the same CQ replaces the older event still waiting in the queue, merging the
+ * {@link CqEvent#getQueryOperation() query operations} so the listener observes the correct final state.
+ *
+ * @see org.apache.geode.cache.query.CqEvent
+ * @see org.springframework.beans.factory.DisposableBean
+ * @see org.springframework.data.gemfire.listener.ContinuousQueryListenerContainer#setEventDispatcher(KeyOrderedEventDispatcher)
+ * @since 2.1.0
+ */
+@SuppressWarnings("unused")
+public class KeyOrderedEventDispatcher implements DisposableBean {
+
+	public static final int DEFAULT_LANE_COUNT = Runtime.getRuntime().availableProcessors();
+	public static final int DEFAULT_QUEUE_CAPACITY = 10000;
+
+	public static final long DEFAULT_SHUTDOWN_TIMEOUT = TimeUnit.SECONDS.toMillis(5);
+
+	public static final String DEFAULT_THREAD_NAME_PREFIX =
+		String.format("%s-", KeyOrderedEventDispatcher.class.getSimpleName());
+
+	private final AtomicLong conflatedCount = new AtomicLong(0L);
+	private final AtomicLong rejectedCount = new AtomicLong(0L);
+
+	private volatile boolean conflationEnabled = false;
+
+	private final Lane[] lanes;
+
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private volatile long shutdownTimeout = DEFAULT_SHUTDOWN_TIMEOUT;
+
+	private final RejectionPolicy rejectionPolicy;
+
+	/**
+	 * Constructs a new instance of {@link KeyOrderedEventDispatcher} with the default number of lanes,
+	 * queue capacity and {@link RejectionPolicy#BLOCK blocking} {@link RejectionPolicy}.
+	 */
+	public KeyOrderedEventDispatcher() {
+		this(DEFAULT_THREAD_NAME_PREFIX, DEFAULT_LANE_COUNT, DEFAULT_QUEUE_CAPACITY, RejectionPolicy.BLOCK);
+	}
+
+	/**
+	 * Constructs a new instance of {@link KeyOrderedEventDispatcher} initialized with the given number of lanes,
+	 * per lane queue capacity and {@link RejectionPolicy}.
+	 *
+	 * @param threadNamePrefix {@link String} used as the prefix of the lane {@link Thread} names.
+	 * @param laneCount number of lanes, and therefore {@link Thread Threads}, processing {@link CqEvent CQ events}.
+	 * @param queueCapacity maximum number of {@link CqEvent CQ events} queued per lane.
+	 * @param rejectionPolicy {@link RejectionPolicy} applied when a lane's queue is full.
+	 * @throws IllegalArgumentException if {@code laneCount} or {@code queueCapacity} is less than {@literal 1}.
+	 * @see RejectionPolicy
+	 */
+	public KeyOrderedEventDispatcher(String threadNamePrefix, int laneCount, int queueCapacity,
+			RejectionPolicy rejectionPolicy) {
+
+		Assert.isTrue(laneCount > 0, String.format("Lane count [%d] must be greater than 0", laneCount));
+		Assert.isTrue(queueCapacity > 0, String.format("Queue capacity [%d] must be greater than 0", queueCapacity));
+
+		ThreadFactory threadFactory = newThreadFactory(Optional.ofNullable(threadNamePrefix)
+			.orElse(DEFAULT_THREAD_NAME_PREFIX));
+
+		this.rejectionPolicy = Optional.ofNullable(rejectionPolicy).orElse(RejectionPolicy.BLOCK);
+		this.lanes = new Lane[laneCount];
+
+		for (int index = 0; index < laneCount; index++) {
+			this.lanes[index] = new Lane(queueCapacity);
+			this.lanes[index].start(threadFactory);
+		}
+	}
+
+	/* (non-Javadoc) */
+	private ThreadFactory newThreadFactory(String threadNamePrefix) {
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+
+		threadFactory.setDaemon(true);
+
+		return threadFactory;
+	}
+
+	/**
+	 * Returns the number of lanes over which {@link CqEvent CQ events} are dispatched.
+	 *
+	 * @return the number of lanes over which {@link CqEvent CQ events} are dispatched.
+	 */
+	public int getLaneCount() {
+		return this.lanes.length;
+	}
+
+	/**
+	 * Returns the configured {@link RejectionPolicy} applied when a lane's queue is full.
+	 *
+	 * @return the configured {@link RejectionPolicy}.
+	 * @see RejectionPolicy
+	 */
+	public RejectionPolicy getRejectionPolicy() {
+		return this.rejectionPolicy;
+	}
+
+	/**
+	 * Sets whether a newer {@link CqEvent CQ event} for a key of the same CQ replaces the older event
+	 * when the older event is still waiting in the queue.
+	 *
+	 * Conflated events are merged by {@link CqEvent#getQueryOperation() query operation}: a create followed by
+	 * an update is delivered as a create, a create followed by a destroy is not delivered at all, a destroy followed
+	 * by a create is delivered as an update, and otherwise the latest operation is delivered.  The merged event
+	 * carries the latest value, but no {@link CqEvent#getDeltaValue() delta}. Error events are never conflated.
+	 *
+	 * @param conflationEnabled boolean indicating whether queued {@link CqEvent CQ events} are conflated per key.
+	 */
+	public void setConflationEnabled(boolean conflationEnabled) {
+		this.conflationEnabled = conflationEnabled;
+	}
+
+	/**
+	 * Determines whether queued {@link CqEvent CQ events} are conflated per key.
+	 *
+	 * @return a boolean indicating whether queued {@link CqEvent CQ events} are conflated per key.
+	 * @see #setConflationEnabled(boolean)
+	 */
+	public boolean isConflationEnabled() {
+		return this.conflationEnabled;
+	}
+
+	/**
+	 * Returns the number of {@link CqEvent CQ events} that were not delivered individually because they were
+	 * conflated with a newer event for the same key.
+	 *
+	 * @return the number of conflated {@link CqEvent CQ events}.
+	 * @see #setConflationEnabled(boolean)
+	 */
+	public long getConflatedCount() {
+		return this.conflatedCount.get();
+	}
+
+	/**
+	 * Sets the maximum amount of time, in milliseconds, that {@link #destroy()} waits for the lanes
+	 * to process the {@link CqEvent CQ events} that are still queued.
+	 *
+	 * @param shutdownTimeout {@link Long} value indicating the shutdown timeout in milliseconds.
+	 */
+	public void setShutdownTimeout(long shutdownTimeout) {
+		this.shutdownTimeout = Math.max(shutdownTimeout, 0L);
+	}
+
+	/**
+	 * Returns the maximum amount of time, in milliseconds, that {@link #destroy()} waits for the lanes
+	 * to process the {@link CqEvent CQ events} that are still queued.
+	 *
+	 * @return the shutdown timeout in milliseconds.
+	 */
+	public long getShutdownTimeout() {
+		return this.shutdownTimeout;
+	}
+
+	/**
+	 * Returns the number of {@link CqEvent CQ events} that were dropped or refused because a lane's queue was full.
+	 *
+	 * @return the number of rejected {@link CqEvent CQ events}.
+	 */
+	public long getRejectedCount() {
+		return this.rejectedCount.get();
+	}
+
+	/**
+	 * Returns the total number of {@link CqEvent CQ events} waiting to be processed across all lanes.
+	 *
+	 * @return the total number of queued {@link CqEvent CQ events}.
+	 */
+	public int getQueueDepth() {
+		return Arrays.stream(this.lanes).mapToInt(Lane::size).sum();
+	}
+
+	/**
+	 * Returns the number of {@link CqEvent CQ events} waiting to be processed in the given lane.
+	 *
+	 * @param lane index of the lane.
+	 * @return the number of queued {@link CqEvent CQ events} in the given lane.
+	 */
+	public int getQueueDepth(int lane) {
+		return this.lanes[lane].size();
+	}
+
+	/**
+	 * Returns the age, in milliseconds, of the oldest {@link CqEvent CQ event} still waiting to be processed
+	 * in any lane, or {@literal 0} if all lanes are empty.
+	 *
+	 * @return the maximum lag in milliseconds across all lanes.
+	 */
+	public long getLag() {
+		long now = System.nanoTime();
+		return TimeUnit.NANOSECONDS.toMillis(Arrays.stream(this.lanes).mapToLong(lane -> lane.lag(now)).max().orElse(0L));
+	}
+
+	/**
+	 * Returns the age, in milliseconds, of the oldest {@link CqEvent CQ event} still waiting to be processed
+	 * in the given lane, or {@literal 0} if the lane is empty.
+	 *
+	 * @param lane index of the lane.
+	 * @return the lag of the given lane in milliseconds.
+	 */
+	public long getLag(int lane) {
+		return TimeUnit.NANOSECONDS.toMillis(this.lanes[lane].lag(System.nanoTime()));
+	}
+
+	/**
+	 * Dispatches the {@link CqEvent CQ event} to the lane selected by the event's {@link CqEvent#getKey() key},
+	 * where the given {@link Consumer handler} will be invoked in order with all other events for the same key.
+	 *
+	 * @param event {@link CqEvent} to dispatch.
+	 * @param handler {@link Consumer} invoked to process the {@link CqEvent CQ event}.
+	 * @throws RejectedExecutionException if the lane's queue is full and the {@link RejectionPolicy}
+	 * is {@link RejectionPolicy#ABORT}, or this dispatcher has been destroyed.
+	 * @see #laneFor(Object)
+	 */
+	public void dispatch(CqEvent event, Consumer<CqEvent> handler) {
+		dispatch(event, handler, it -> {});
+	}
+
+	/**
+	 * Dispatches the {@link CqEvent CQ event} to the lane selected by the event's {@link CqEvent#getKey() key},
+	 * where the given {@link Consumer handler} will be invoked in order with all other events for the same key.
+	 *
+	 * The {@link Consumer discard handler} is invoked instead of the handler when the {@link CqEvent CQ event}
+	 * is dropped by the {@link RejectionPolicy#DISCARD DISCARD} or {@link RejectionPolicy#DISCARD_OLDEST DISCARD_OLDEST}
+	 * {@link RejectionPolicy}, or conflated with a newer event.
+	 *
+	 * @param event {@link CqEvent} to dispatch.
+	 * @param handler {@link Consumer} invoked to process the {@link CqEvent CQ event}.
+	 * @param discardHandler {@link Consumer} invoked if the {@link CqEvent CQ event} is dropped.
+	 * @throws RejectedExecutionException if the lane's queue is full and the {@link RejectionPolicy}
+	 * is {@link RejectionPolicy#ABORT}, or this dispatcher has been destroyed.
+	 * @see #laneFor(Object)
+	 */
+	public void dispatch(CqEvent event, Consumer<CqEvent> handler, Consumer<CqEvent> discardHandler) {
+		this.lanes[laneFor(event.getKey())].offer(new DispatchTask(event, handler, discardHandler));
+	}
+
+	/**
+	 * Determines the index of the lane processing {@link CqEvent CQ events} for the given key.
+	 *
+	 * @param key {@link Object key} of the {@link CqEvent}; may be {@literal null}.
+	 * @return the index of the lane processing {@link CqEvent CQ events} for the given key.
+	 */
+	protected int laneFor(Object key) {
+
+		int hash = (key != null ? key.hashCode() : 0);
+
+		return Math.floorMod(hash ^ (hash >>> 16), this.lanes.length);
+	}
+
+	/**
+	 * Stops accepting new {@link CqEvent CQ events} and waits up to the {@link #getShutdownTimeout() shutdown timeout}
+	 * for the lanes to process the {@link CqEvent CQ events} that are still queued.
+	 */
+	@Override
+	public void destroy() {
+
+		long deadline = System.currentTimeMillis() + getShutdownTimeout();
+
+		for (Lane lane : this.lanes) {
+			lane.shutdown();
+		}
+
+		for (Lane lane : this.lanes) {
+			lane.awaitTermination(Math.max(deadline - System.currentTimeMillis(), 1L));
+		}
+	}
+
+	/**
+	 * Policy applied when a {@link CqEvent CQ event} is dispatched to a lane whose queue is full.
+	 */
+	public enum RejectionPolicy {
+
+		/**
+		 * Blocks the dispatching (GemFire/Geode CQ delivery) {@link Thread} until space is available,
+		 * applying backpressure all the way back to the server's subscription queue.
+		 */
+		BLOCK,
+
+		/**
+		 * Drops the newly dispatched {@link CqEvent CQ event}.
+		 */
+		DISCARD,
+
+		/**
+		 * Drops the oldest {@link CqEvent CQ event} queued in the lane to make room for the new event.
+		 */
+		DISCARD_OLDEST,
+
+		/**
+		 * Refuses the newly dispatched {@link CqEvent CQ event} by throwing a {@link RejectedExecutionException}.
+		 */
+		ABORT
+
+	}
+
+	/* (non-Javadoc) */
+	static class DispatchTask {
+
+		private final long timestamp = System.nanoTime();
+
+		private CqEvent event;
+
+		private Consumer<CqEvent> handler;
+		private Consumer<CqEvent> discardHandler;
+
+		private final Object conflationKey;
+
+		DispatchTask(CqEvent event, Consumer<CqEvent> handler, Consumer<CqEvent> discardHandler) {
+			this.event = event;
+			this.handler = handler;
+			this.discardHandler = discardHandler;
+			this.conflationKey = conflationKey(event);
+		}
+
+		/* (non-Javadoc) */
+		private static Object conflationKey(CqEvent event) {
+
+			String queryName = Optional.ofNullable(event.getCq()).map(CqQuery::getName).orElse(null);
+
+			return (queryName != null && event.getKey() != null && event.getQueryOperation() != null
+				&& event.getThrowable() == null ? Arrays.asList(queryName, event.getKey()) : null);
+		}
+
+		boolean isCancelled() {
+			return this.event == null;
+		}
+
+		/**
+		 * Merges the newer task for the same CQ and key into this queued task.
+		 *
+		 * @param newer {@link DispatchTask} for a newer {@link CqEvent} of the same CQ and key.
+		 * @return {@literal false} if the two events cancel each other out and nothing should be delivered.
+		 */
+		boolean conflate(DispatchTask newer) {
+
+			Operation operation = merge(this.event.getQueryOperation(), newer.event.getQueryOperation());
+
+			discard();
+
+			if (operation == null) {
+				newer.discard();
+			}
+
+			this.event = (operation != null ? new ConflatedCqEvent(newer.event, operation) : null);
+			this.handler = newer.handler;
+			this.discardHandler = newer.discardHandler;
+
+			return (operation != null);
+		}
+
+		void discard() {
+			this.discardHandler.accept(this.event);
+		}
+
+		/* (non-Javadoc) */
+		private static Operation merge(Operation older, Operation newer) {
+
+			if (older.isCreate()) {
+				return (newer.isDestroy() ? null : Operation.CREATE);
+			}
+
+			return (newer.isDestroy() ? Operation.DESTROY : Operation.UPDATE);
+		}
+
+		void run() {
+			this.handler.accept(this.event);
+		}
+	}
+
+	/* (non-Javadoc) */
+	class Lane implements Runnable {
+
+		private final int capacity;
+
+		private final Deque<DispatchTask> queue = new ArrayDeque<>();
+
+		private final Map<Object, DispatchTask> pending = new HashMap<>();
+
+		private int cancelled;
+
+		private final ReentrantLock lock = new ReentrantLock();
+
+		private final Condition notEmpty = this.lock.newCondition();
+		private final Condition notFull = this.lock.newCondition();
+
+		private volatile boolean running = true;
+
+		private Thread thread;
+
+		Lane(int capacity) {
+			this.capacity = capacity;
+		}
+
+		void start(ThreadFactory threadFactory) {
+			this.thread = threadFactory.newThread(this);
+			this.thread.start();
+		}
+
+		void offer(DispatchTask task) {
+
+			this.lock.lock();
+
+			try {
+				if (!this.running) {
+					throw new RejectedExecutionException("KeyOrderedEventDispatcher has been destroyed");
+				}
+
+				if (conflate(task)) {
+					return;
+				}
+
+				while (this.queue.size() >= this.capacity) {
+					if (!reject(task)) {
+						return;
+					}
+				}
+
+				this.queue.addLast(task);
+
+				if (isConflationEnabled() && task.conflationKey != null) {
+					this.pending.put(task.conflationKey, task);
+				}
+
+				this.notEmpty.signal();
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+		/**
+		 * Conflates the given task with the queued task for the same CQ and key, if any.
+		 *
+		 * @return a boolean indicating whether the task was conflated and must not be queued.
+		 */
+		private boolean conflate(DispatchTask task) {
+
+			DispatchTask pendingTask = (isConflationEnabled() && task.conflationKey != null
+				? this.pending.get(task.conflationKey) : null);
+
+			if (pendingTask != null) {
+
+				conflatedCount.incrementAndGet();
+
+				if (!pendingTask.conflate(task)) {
+					this.pending.remove(task.conflationKey);
+					this.cancelled++;
+					conflatedCount.incrementAndGet();
+				}
+
+				return true;
+			}
+
+			return false;
+		}
+
+		/* (non-Javadoc) */
+		private DispatchTask poll() {
+
+			DispatchTask task = this.queue.pollFirst();
+
+			if (task != null && task.conflationKey != null) {
+				this.pending.remove(task.conflationKey, task);
+			}
+
+			if (task != null && task.isCancelled()) {
+				this.cancelled--;
+			}
+
+			return task;
+		}
+
+		/**
+		 * Applies the {@link RejectionPolicy} to a full queue.
+		 *
+		 * @param task new {@link DispatchTask} that does not fit in the queue.
+		 * @return a boolean indicating whether the new task should still be queued.
+		 */
+		private boolean reject(DispatchTask task) {
+
+			switch (getRejectionPolicy()) {
+				case BLOCK:
+					this.notFull.awaitUninterruptibly();
+
+					if (!this.running) {
+						throw new RejectedExecutionException("KeyOrderedEventDispatcher has been destroyed");
+					}
+
+					return true;
+				case DISCARD_OLDEST:
+
+					DispatchTask oldestTask = poll();
+
+					if (!oldestTask.isCancelled()) {
+						rejectedCount.incrementAndGet();
+						oldestTask.discard();
+					}
+
+					return true;
+				case DISCARD:
+					rejectedCount.incrementAndGet();
+					task.discard();
+					return false;
+				default:
+					rejectedCount.incrementAndGet();
+					throw new RejectedExecutionException(String.format(
+						"Queue capacity [%d] exceeded; CQ event rejected", this.capacity));
+			}
+		}
+
+		DispatchTask take() throws InterruptedException {
+
+			this.lock.lockInterruptibly();
+
+			try {
+				while (this.queue.isEmpty()) {
+					if (!this.running) {
+						return null;
+					}
+
+					this.notEmpty.await();
+				}
+
+				this.notFull.signal();
+
+				return poll();
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+		int size() {
+
+			this.lock.lock();
+
+			try {
+				return this.queue.size() - this.cancelled;
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+		long lag(long now) {
+
+			this.lock.lock();
+
+			try {
+				return Optional.ofNullable(this.queue.peekFirst()).map(task -> now - task.timestamp).orElse(0L);
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+		@Override
+		public void run() {
+
+			try {
+				for (DispatchTask task = take(); task != null; task = take()) {
+
+					if (task.isCancelled()) {
+						continue;
+					}
+
+					try {
+						task.run();
+					}
+					catch (Throwable cause) {
+						logger.warn("Failed to process CQ event", cause);
+					}
+				}
+			}
+			catch (InterruptedException ignore) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		void shutdown() {
+
+			this.lock.lock();
+
+			try {
+				this.running = false;
+				this.notEmpty.signalAll();
+				this.notFull.signalAll();
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+		void awaitTermination(long timeout) {
+
+			try {
+				this.thread.join(timeout);
+
+				if (this.thread.isAlive()) {
+					logger.warn(String.format("Lane [%1$s] did not finish processing %2$d queued CQ event(s) in time",
+						this.thread.getName(), size()));
+
+					this.thread.interrupt();
+				}
+			}
+			catch (InterruptedException ignore) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
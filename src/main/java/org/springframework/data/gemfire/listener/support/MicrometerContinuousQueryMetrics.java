@@ -0,0 +1,174 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener.support;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.Assert;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link SimpleContinuousQueryMetrics} extension additionally publishing the metrics of each
+ * Continuous Query (CQ) to a Micrometer {@link MeterRegistry}, tagged with the name of the CQ.
+ *
+ * The following meters are registered per CQ:
+ *
+ * <ul>
+ *     <li>{@literal gemfire.cq.events.received} - {@link Counter} of CQ events received.</li>
+ *     <li>{@literal gemfire.cq.events.discarded} - {@link Counter} of CQ events dropped without being processed.</li>
+ *     <li>{@literal gemfire.cq.errors} - {@link Counter} of errors thrown by the CQ listener.</li>
+ *     <li>{@literal gemfire.cq.listener.time} - {@link Timer} of CQ listener invocations, publishing
+ *     a percentile histogram.</li>
+ *     <li>{@literal gemfire.cq.event.age} - {@link Timer} of the time from receipt of a CQ event by this client
+ *     to completion of its processing.</li>
+ *     <li>{@literal gemfire.cq.queue.depth} - {@link Gauge} of CQ events waiting to be processed.</li>
+ * </ul>
+ *
+ * Requires {@literal io.micrometer:micrometer-core} on the application classpath.
+ *
+ * @see io.micrometer.core.instrument.MeterRegistry
+ * @see org.springframework.data.gemfire.listener.support.SimpleContinuousQueryMetrics
+ * @since 2.1.0
+ */
+public class MicrometerContinuousQueryMetrics extends SimpleContinuousQueryMetrics {
+
+	protected static final String CQ_TAG_NAME = "cq";
+
+	private final ConcurrentMap<String, Meters> meters = new ConcurrentHashMap<>();
+
+	private final MeterRegistry meterRegistry;
+
+	/**
+	 * Constructs a new instance of {@link MicrometerContinuousQueryMetrics} registering meters with
+	 * the given {@link MeterRegistry}.
+	 *
+	 * @param meterRegistry {@link MeterRegistry} with which the CQ meters are registered.
+	 * @throws IllegalArgumentException if {@link MeterRegistry} is {@literal null}.
+	 * @see io.micrometer.core.instrument.MeterRegistry
+	 */
+	public MicrometerContinuousQueryMetrics(MeterRegistry meterRegistry) {
+
+		Assert.notNull(meterRegistry, "MeterRegistry is required");
+
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * Returns the {@link MeterRegistry} with which the CQ meters are registered.
+	 *
+	 * @return the {@link MeterRegistry} with which the CQ meters are registered.
+	 */
+	protected MeterRegistry getMeterRegistry() {
+		return this.meterRegistry;
+	}
+
+	/* (non-Javadoc) */
+	private Meters getMeters(String cqName) {
+
+		Meters meters = this.meters.get(cqName);
+
+		return (meters != null ? meters : this.meters.computeIfAbsent(cqName, this::newMeters));
+	}
+
+	/* (non-Javadoc) */
+	private Meters newMeters(String cqName) {
+
+		Statistics statistics = getStatistics(cqName);
+
+		Gauge.builder("gemfire.cq.queue.depth", statistics, Statistics::getQueueDepth)
+			.description("Number of CQ events waiting to be processed")
+			.tag(CQ_TAG_NAME, cqName)
+			.register(getMeterRegistry());
+
+		return new Meters(
+			Counter.builder("gemfire.cq.events.received")
+				.description("Number of CQ events received")
+				.tag(CQ_TAG_NAME, cqName)
+				.register(getMeterRegistry()),
+			Counter.builder("gemfire.cq.events.discarded")
+				.description("Number of CQ events dropped without being processed")
+				.tag(CQ_TAG_NAME, cqName)
+				.register(getMeterRegistry()),
+			Counter.builder("gemfire.cq.errors")
+				.description("Number of errors thrown by the CQ listener")
+				.tag(CQ_TAG_NAME, cqName)
+				.register(getMeterRegistry()),
+			Timer.builder("gemfire.cq.listener.time")
+				.description("Time spent in the CQ listener")
+				.tag(CQ_TAG_NAME, cqName)
+				.publishPercentileHistogram()
+				.register(getMeterRegistry()),
+			Timer.builder("gemfire.cq.event.age")
+				.description("Time from receipt of a CQ event by the client to completion of its processing")
+				.tag(CQ_TAG_NAME, cqName)
+				.register(getMeterRegistry()));
+	}
+
+	@Override
+	public void onEventReceived(String cqName) {
+		super.onEventReceived(cqName);
+		getMeters(cqName).eventsReceived.increment();
+	}
+
+	@Override
+	public void onEventsProcessed(String cqName, int eventCount, long listenerTime, long eventAge) {
+
+		super.onEventsProcessed(cqName, eventCount, listenerTime, eventAge);
+
+		Meters meters = getMeters(cqName);
+
+		meters.listenerTime.record(listenerTime, TimeUnit.NANOSECONDS);
+		meters.eventAge.record(eventAge, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void onEventsDiscarded(String cqName, int eventCount) {
+		super.onEventsDiscarded(cqName, eventCount);
+		getMeters(cqName).eventsDiscarded.increment(eventCount);
+	}
+
+	@Override
+	public void onListenerError(String cqName, Throwable cause) {
+		super.onListenerError(cqName, cause);
+		getMeters(cqName).errors.increment();
+	}
+
+	private static class Meters {
+
+		private final Counter errors;
+		private final Counter eventsDiscarded;
+		private final Counter eventsReceived;
+
+		private final Timer eventAge;
+		private final Timer listenerTime;
+
+		Meters(Counter eventsReceived, Counter eventsDiscarded, Counter errors, Timer listenerTime, Timer eventAge) {
+
+			this.eventsReceived = eventsReceived;
+			this.eventsDiscarded = eventsDiscarded;
+			this.errors = errors;
+			this.listenerTime = listenerTime;
+			this.eventAge = eventAge;
+		}
+	}
+}
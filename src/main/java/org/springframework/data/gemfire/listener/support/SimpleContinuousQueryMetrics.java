@@ -0,0 +1,169 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener.support;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ContinuousQueryMetrics} implementation keeping per-CQ counters, totals, maximums and a coarse
+ * CQ listener time histogram in memory, from which {@link ContinuousQueryMetricsSnapshot snapshots} are taken.
+ *
+ * @see org.springframework.data.gemfire.listener.support.ContinuousQueryMetrics
+ * @see org.springframework.data.gemfire.listener.support.ContinuousQueryMetricsSnapshot
+ * @since 2.1.0
+ */
+public class SimpleContinuousQueryMetrics implements ContinuousQueryMetrics {
+
+	// Upper bounds, in milliseconds, of the CQ listener time histogram buckets
+	private static final long[] LISTENER_TIME_BUCKETS = { 1L, 5L, 10L, 50L, 100L, 500L, 1000L, 5000L };
+
+	private final ConcurrentMap<String, Statistics> statistics = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the {@link Statistics} of the named CQ, creating them on first use.
+	 *
+	 * @param cqName {@link String} containing the name of the CQ.
+	 * @return the {@link Statistics} of the named CQ.
+	 */
+	protected Statistics getStatistics(String cqName) {
+
+		Statistics statistics = this.statistics.get(cqName);
+
+		return (statistics != null ? statistics : this.statistics.computeIfAbsent(cqName, it -> new Statistics()));
+	}
+
+	@Override
+	public void onEventReceived(String cqName) {
+		getStatistics(cqName).eventsReceived.increment();
+	}
+
+	@Override
+	public void onEventsProcessed(String cqName, int eventCount, long listenerTime, long eventAge) {
+
+		Statistics statistics = getStatistics(cqName);
+
+		statistics.eventsProcessed.add(eventCount);
+		statistics.listenerInvocations.increment();
+		statistics.listenerTime.add(listenerTime);
+		statistics.maximumListenerTime.accumulate(listenerTime);
+		statistics.listenerTimeHistogram[bucketFor(listenerTime)].increment();
+		statistics.eventAge.add(eventAge);
+		statistics.maximumEventAge.accumulate(eventAge);
+	}
+
+	/* (non-Javadoc) */
+	private static int bucketFor(long listenerTime) {
+
+		long listenerTimeInMilliseconds = TimeUnit.NANOSECONDS.toMillis(listenerTime);
+
+		int bucket = 0;
+
+		while (bucket < LISTENER_TIME_BUCKETS.length && listenerTimeInMilliseconds > LISTENER_TIME_BUCKETS[bucket]) {
+			bucket++;
+		}
+
+		return bucket;
+	}
+
+	@Override
+	public void onEventsDiscarded(String cqName, int eventCount) {
+		getStatistics(cqName).eventsDiscarded.add(eventCount);
+	}
+
+	@Override
+	public void onListenerError(String cqName, Throwable cause) {
+		getStatistics(cqName).errorCount.increment();
+	}
+
+	@Override
+	public Map<String, ContinuousQueryMetricsSnapshot> snapshot() {
+
+		Map<String, ContinuousQueryMetricsSnapshot> snapshots = new TreeMap<>();
+
+		this.statistics.forEach((cqName, statistics) -> snapshots.put(cqName, statistics.snapshot(cqName)));
+
+		return Collections.unmodifiableMap(snapshots);
+	}
+
+	/**
+	 * Metrics of a single CQ.
+	 */
+	protected static class Statistics {
+
+		private final LongAccumulator maximumEventAge = new LongAccumulator(Long::max, 0L);
+		private final LongAccumulator maximumListenerTime = new LongAccumulator(Long::max, 0L);
+
+		private final LongAdder errorCount = new LongAdder();
+		private final LongAdder eventAge = new LongAdder();
+		private final LongAdder eventsDiscarded = new LongAdder();
+		private final LongAdder eventsProcessed = new LongAdder();
+		private final LongAdder eventsReceived = new LongAdder();
+		private final LongAdder listenerInvocations = new LongAdder();
+		private final LongAdder listenerTime = new LongAdder();
+
+		private final LongAdder[] listenerTimeHistogram = new LongAdder[LISTENER_TIME_BUCKETS.length + 1];
+
+		Statistics() {
+			for (int index = 0; index < this.listenerTimeHistogram.length; index++) {
+				this.listenerTimeHistogram[index] = new LongAdder();
+			}
+		}
+
+		/**
+		 * Returns the number of CQ events received but neither processed nor dropped yet.
+		 *
+		 * @return the number of CQ events waiting to be processed.
+		 */
+		public long getQueueDepth() {
+			return Math.max(this.eventsReceived.sum() - this.eventsProcessed.sum() - this.eventsDiscarded.sum(), 0L);
+		}
+
+		ContinuousQueryMetricsSnapshot snapshot(String cqName) {
+
+			long listenerInvocations = this.listenerInvocations.sum();
+
+			Map<String, Long> listenerTimeHistogram = new LinkedHashMap<>();
+
+			for (int index = 0; index < LISTENER_TIME_BUCKETS.length; index++) {
+				listenerTimeHistogram.put(String.format("<=%dms", LISTENER_TIME_BUCKETS[index]),
+					this.listenerTimeHistogram[index].sum());
+			}
+
+			listenerTimeHistogram.put(String.format(">%dms", LISTENER_TIME_BUCKETS[LISTENER_TIME_BUCKETS.length - 1]),
+				this.listenerTimeHistogram[LISTENER_TIME_BUCKETS.length].sum());
+
+			return new ContinuousQueryMetricsSnapshot(cqName, this.eventsReceived.sum(), this.eventsProcessed.sum(),
+				this.eventsDiscarded.sum(), this.errorCount.sum(), listenerInvocations,
+				averageInMilliseconds(this.listenerTime.sum(), listenerInvocations),
+				TimeUnit.NANOSECONDS.toMillis(this.maximumListenerTime.get()),
+				averageInMilliseconds(this.eventAge.sum(), listenerInvocations),
+				TimeUnit.NANOSECONDS.toMillis(this.maximumEventAge.get()), listenerTimeHistogram);
+		}
+
+		private static double averageInMilliseconds(long totalNanoseconds, long count) {
+			return (count > 0 ? totalNanoseconds / (count * 1000000.0d) : 0.0d);
+		}
+	}
+}
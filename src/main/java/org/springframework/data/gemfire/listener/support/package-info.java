@@ -0,0 +1,4 @@
+/**
+ * Support classes for dispatching and delivering GemFire continuous query (CQ) events.
+ */
+package org.springframework.data.gemfire.listener.support;
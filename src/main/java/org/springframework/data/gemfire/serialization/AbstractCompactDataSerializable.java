@@ -0,0 +1,54 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.serialization;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.apache.geode.DataSerializable;
+
+/**
+ * Convenience base class for {@link CompactSerializable} domain classes, delegating
+ * {@link #toData(DataOutput)} and {@link #fromData(DataInput)} to the codec generated for the concrete class.
+ *
+ * Classes that cannot extend this class can implement {@link DataSerializable} directly and delegate to
+ * {@link CompactDataSerializableGenerator#getCodec(Class)} in the same way.
+ *
+ * <pre>
+ * &#64;CompactSerializable(id = 1001)
+ * public class Trade extends AbstractCompactDataSerializable {
+ *   private long id;
+ *   private String symbol;
+ *   ...
+ * }
+ * </pre>
+ *
+ * @see org.springframework.data.gemfire.serialization.CompactDataSerializableGenerator
+ * @see org.springframework.data.gemfire.serialization.CompactSerializable
+ */
+@SuppressWarnings("serial")
+public abstract class AbstractCompactDataSerializable implements DataSerializable {
+
+	public void toData(DataOutput out) throws IOException {
+		CompactDataSerializableGenerator.getDefault().getCodec(getClass()).toData(this, out);
+	}
+
+	public void fromData(DataInput in) throws IOException, ClassNotFoundException {
+		CompactDataSerializableGenerator.getDefault().getCodec(getClass()).fromData(this, in);
+	}
+}
@@ -67,6 +67,11 @@ public class AsmInstantiatorGenerator implements InstantiatorGenerator, Opcodes
 
 	private static final class BytecodeClassLoader extends ClassLoader {
 
+		static {
+			// generated class names are unique, so Instantiators can be defined concurrently
+			ClassLoader.registerAsParallelCapable();
+		}
+
 		public BytecodeClassLoader(ClassLoader loader) {
 			super(loader);
 		}
@@ -94,14 +99,8 @@ public class AsmInstantiatorGenerator implements InstantiatorGenerator, Opcodes
 	public Instantiator getInstantiator(Class<? extends DataSerializable> clazz, int classId) {
 		Instantiator instantiator = cache.get(clazz);
 		if (instantiator == null) {
-			synchronized (cache) {
-				instantiator = cache.get(clazz);
-				if (instantiator == null) {
-					// create Instantiator
-					instantiator = createInstantiator(clazz, classId);
-					cache.putIfAbsent(clazz, instantiator);
-				}
-			}
+			// only threads generating an Instantiator for the same class block on one another
+			instantiator = cache.computeIfAbsent(clazz, type -> createInstantiator(type, classId));
 		}
 		return instantiator;
 	}
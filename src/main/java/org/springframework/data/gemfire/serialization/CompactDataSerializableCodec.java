@@ -0,0 +1,573 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.serialization;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.apache.geode.DataSerializable;
+import org.apache.geode.DataSerializer;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Reads and writes the fields of a {@link CompactSerializable} type in a fixed, compact binary layout.
+ *
+ * The layout is a bitmap flagging the {@literal null} reference fields, followed by the value of each
+ * non-null field in the order computed once when the codec is created. {@literal int} and {@literal long}
+ * values (including {@link Enum} ordinals, lengths and {@link Date} timestamps) are written as zig-zag
+ * variable-length quantities, so small values take a single byte. Types without a dedicated encoding
+ * fall back to {@link DataSerializer#writeObject(Object, DataOutput)}.
+ *
+ * Instances are immutable and thread-safe; obtain them from {@link CompactDataSerializableGenerator}.
+ *
+ * @see org.springframework.data.gemfire.serialization.CompactDataSerializableGenerator
+ * @see org.springframework.data.gemfire.serialization.CompactSerializable
+ */
+public final class CompactDataSerializableCodec {
+
+	private final Class<? extends DataSerializable> type;
+
+	private final FieldCodec[] fields;
+
+	private final int nullableFieldCount;
+
+	CompactDataSerializableCodec(Class<? extends DataSerializable> type) {
+		Assert.notNull(type, "type must not be null");
+
+		this.type = type;
+		this.fields = resolveFields(type);
+
+		int nullable = 0;
+
+		for (FieldCodec field : this.fields) {
+			if (field instanceof ReferenceFieldCodec) {
+				((ReferenceFieldCodec) field).nullIndex = nullable++;
+			}
+		}
+
+		this.nullableFieldCount = nullable;
+	}
+
+	/* (non-Javadoc) */
+	private static FieldCodec[] resolveFields(Class<?> type) {
+		LinkedList<Class<?>> hierarchy = new LinkedList<Class<?>>();
+
+		for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+			hierarchy.addFirst(current);
+		}
+
+		List<FieldCodec> codecs = new ArrayList<FieldCodec>();
+
+		for (Class<?> declaringClass : hierarchy) {
+			Field[] declaredFields = declaringClass.getDeclaredFields();
+
+			Arrays.sort(declaredFields, Comparator.comparing(Field::getName));
+
+			for (Field field : declaredFields) {
+				int modifiers = field.getModifiers();
+
+				if (!(Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic())) {
+					ReflectionUtils.makeAccessible(field);
+					codecs.add(newFieldCodec(field));
+				}
+			}
+		}
+
+		return codecs.toArray(new FieldCodec[codecs.size()]);
+	}
+
+	/**
+	 * Returns the type handled by this codec.
+	 *
+	 * @return the type handled by this codec.
+	 */
+	public Class<? extends DataSerializable> getType() {
+		return this.type;
+	}
+
+	/**
+	 * Writes the state of the given object to the {@link DataOutput}.
+	 *
+	 * @param source object to serialize; must be an instance of {@link #getType()}.
+	 * @param out {@link DataOutput} to write to.
+	 * @throws IOException if writing to the {@link DataOutput} fails.
+	 */
+	public void toData(Object source, DataOutput out) throws IOException {
+		Object[] values = new Object[this.fields.length];
+		byte[] nullBitmap = new byte[bitmapLength()];
+
+		try {
+			for (int index = 0; index < this.fields.length; index++) {
+				FieldCodec field = this.fields[index];
+
+				if (field instanceof ReferenceFieldCodec) {
+					values[index] = field.field.get(source);
+
+					if (values[index] == null) {
+						int nullIndex = ((ReferenceFieldCodec) field).nullIndex;
+						nullBitmap[nullIndex >>> 3] |= (1 << (nullIndex & 7));
+					}
+				}
+			}
+
+			out.write(nullBitmap);
+
+			for (int index = 0; index < this.fields.length; index++) {
+				FieldCodec field = this.fields[index];
+
+				if (field instanceof PrimitiveFieldCodec) {
+					((PrimitiveFieldCodec) field).writePrimitive(source, out);
+				}
+				else if (values[index] != null) {
+					((ReferenceFieldCodec) field).writeValue(values[index], out);
+				}
+			}
+		}
+		catch (IllegalAccessException cause) {
+			throw new IllegalStateException(String.format("Cannot read fields of [%s]", this.type.getName()), cause);
+		}
+	}
+
+	/**
+	 * Reads the state of the given object from the {@link DataInput}.
+	 *
+	 * @param target object to populate; must be an instance of {@link #getType()}.
+	 * @param in {@link DataInput} to read from.
+	 * @throws IOException if reading from the {@link DataInput} fails.
+	 * @throws ClassNotFoundException if a class of a field value serialized with {@link DataSerializer}
+	 * cannot be loaded.
+	 */
+	public void fromData(Object target, DataInput in) throws IOException, ClassNotFoundException {
+		byte[] nullBitmap = new byte[bitmapLength()];
+
+		in.readFully(nullBitmap);
+
+		try {
+			for (FieldCodec field : this.fields) {
+				if (field instanceof PrimitiveFieldCodec) {
+					((PrimitiveFieldCodec) field).readPrimitive(target, in);
+				}
+				else {
+					ReferenceFieldCodec referenceField = (ReferenceFieldCodec) field;
+					int nullIndex = referenceField.nullIndex;
+
+					if ((nullBitmap[nullIndex >>> 3] & (1 << (nullIndex & 7))) != 0) {
+						field.field.set(target, null);
+					}
+					else {
+						field.field.set(target, referenceField.readValue(in));
+					}
+				}
+			}
+		}
+		catch (IllegalAccessException cause) {
+			throw new IllegalStateException(String.format("Cannot set fields of [%s]", this.type.getName()), cause);
+		}
+	}
+
+	/* (non-Javadoc) */
+	private int bitmapLength() {
+		return (this.nullableFieldCount + 7) >>> 3;
+	}
+
+	/**
+	 * Writes an {@literal int} as a zig-zag encoded variable-length quantity (1 to 5 bytes).
+	 *
+	 * @param value {@literal int} to write.
+	 * @param out {@link DataOutput} to write to.
+	 * @throws IOException if writing to the {@link DataOutput} fails.
+	 */
+	public static void writeVarInt(int value, DataOutput out) throws IOException {
+		int zigZag = (value << 1) ^ (value >> 31);
+
+		while ((zigZag & ~0x7F) != 0) {
+			out.writeByte((zigZag & 0x7F) | 0x80);
+			zigZag >>>= 7;
+		}
+
+		out.writeByte(zigZag);
+	}
+
+	/**
+	 * Reads an {@literal int} written by {@link #writeVarInt(int, DataOutput)}.
+	 *
+	 * @param in {@link DataInput} to read from.
+	 * @return the decoded {@literal int}.
+	 * @throws IOException if reading from the {@link DataInput} fails or the encoding is malformed.
+	 */
+	public static int readVarInt(DataInput in) throws IOException {
+		int zigZag = 0;
+
+		for (int shift = 0; shift < 35; shift += 7) {
+			byte next = in.readByte();
+
+			zigZag |= (next & 0x7F) << shift;
+
+			if ((next & 0x80) == 0) {
+				return (zigZag >>> 1) ^ -(zigZag & 1);
+			}
+		}
+
+		throw new IOException("Malformed variable-length int");
+	}
+
+	/**
+	 * Writes a {@literal long} as a zig-zag encoded variable-length quantity (1 to 10 bytes).
+	 *
+	 * @param value {@literal long} to write.
+	 * @param out {@link DataOutput} to write to.
+	 * @throws IOException if writing to the {@link DataOutput} fails.
+	 */
+	public static void writeVarLong(long value, DataOutput out) throws IOException {
+		long zigZag = (value << 1) ^ (value >> 63);
+
+		while ((zigZag & ~0x7FL) != 0) {
+			out.writeByte((int) ((zigZag & 0x7F) | 0x80));
+			zigZag >>>= 7;
+		}
+
+		out.writeByte((int) zigZag);
+	}
+
+	/**
+	 * Reads a {@literal long} written by {@link #writeVarLong(long, DataOutput)}.
+	 *
+	 * @param in {@link DataInput} to read from.
+	 * @return the decoded {@literal long}.
+	 * @throws IOException if reading from the {@link DataInput} fails or the encoding is malformed.
+	 */
+	public static long readVarLong(DataInput in) throws IOException {
+		long zigZag = 0;
+
+		for (int shift = 0; shift < 70; shift += 7) {
+			byte next = in.readByte();
+
+			zigZag |= (long) (next & 0x7F) << shift;
+
+			if ((next & 0x80) == 0) {
+				return (zigZag >>> 1) ^ -(zigZag & 1);
+			}
+		}
+
+		throw new IOException("Malformed variable-length long");
+	}
+
+	/* (non-Javadoc) */
+	private static FieldCodec newFieldCodec(Field field) {
+		Class<?> fieldType = field.getType();
+
+		if (fieldType.isPrimitive()) {
+			return new PrimitiveFieldCodec(field);
+		}
+		else if (Integer.class.equals(fieldType) || Long.class.equals(fieldType) || Short.class.equals(fieldType)
+				|| Byte.class.equals(fieldType) || Character.class.equals(fieldType) || Boolean.class.equals(fieldType)
+				|| Float.class.equals(fieldType) || Double.class.equals(fieldType)) {
+
+			return new BoxedFieldCodec(field);
+		}
+		else if (String.class.equals(fieldType)) {
+			return new StringFieldCodec(field);
+		}
+		else if (byte[].class.equals(fieldType)) {
+			return new ByteArrayFieldCodec(field);
+		}
+		else if (Date.class.equals(fieldType)) {
+			return new DateFieldCodec(field);
+		}
+		else if (fieldType.isEnum()) {
+			return new EnumFieldCodec(field);
+		}
+
+		return new ObjectFieldCodec(field);
+	}
+
+	/**
+	 * Encoding strategy for a single field; either a {@link PrimitiveFieldCodec} or a {@link ReferenceFieldCodec}.
+	 */
+	private abstract static class FieldCodec {
+
+		final Field field;
+
+		FieldCodec(Field field) {
+			this.field = field;
+		}
+	}
+
+	/**
+	 * Encoding of a primitive field, which is never {@literal null} and is accessed directly to avoid boxing.
+	 */
+	private static final class PrimitiveFieldCodec extends FieldCodec {
+
+		private final Class<?> type;
+
+		PrimitiveFieldCodec(Field field) {
+			super(field);
+			this.type = field.getType();
+		}
+
+		void writePrimitive(Object source, DataOutput out) throws IOException, IllegalAccessException {
+			if (int.class.equals(this.type)) {
+				writeVarInt(this.field.getInt(source), out);
+			}
+			else if (long.class.equals(this.type)) {
+				writeVarLong(this.field.getLong(source), out);
+			}
+			else if (boolean.class.equals(this.type)) {
+				out.writeBoolean(this.field.getBoolean(source));
+			}
+			else if (double.class.equals(this.type)) {
+				out.writeDouble(this.field.getDouble(source));
+			}
+			else if (float.class.equals(this.type)) {
+				out.writeFloat(this.field.getFloat(source));
+			}
+			else if (short.class.equals(this.type)) {
+				out.writeShort(this.field.getShort(source));
+			}
+			else if (byte.class.equals(this.type)) {
+				out.writeByte(this.field.getByte(source));
+			}
+			else {
+				out.writeChar(this.field.getChar(source));
+			}
+		}
+
+		void readPrimitive(Object target, DataInput in) throws IOException, IllegalAccessException {
+			if (int.class.equals(this.type)) {
+				this.field.setInt(target, readVarInt(in));
+			}
+			else if (long.class.equals(this.type)) {
+				this.field.setLong(target, readVarLong(in));
+			}
+			else if (boolean.class.equals(this.type)) {
+				this.field.setBoolean(target, in.readBoolean());
+			}
+			else if (double.class.equals(this.type)) {
+				this.field.setDouble(target, in.readDouble());
+			}
+			else if (float.class.equals(this.type)) {
+				this.field.setFloat(target, in.readFloat());
+			}
+			else if (short.class.equals(this.type)) {
+				this.field.setShort(target, in.readShort());
+			}
+			else if (byte.class.equals(this.type)) {
+				this.field.setByte(target, in.readByte());
+			}
+			else {
+				this.field.setChar(target, in.readChar());
+			}
+		}
+	}
+
+	/**
+	 * Encoding of a reference field, read once by the codec to build the null bitmap; only non-null values
+	 * are written and read.
+	 */
+	private abstract static class ReferenceFieldCodec extends FieldCodec {
+
+		int nullIndex = -1;
+
+		ReferenceFieldCodec(Field field) {
+			super(field);
+		}
+
+		abstract void writeValue(Object value, DataOutput out) throws IOException;
+
+		abstract Object readValue(DataInput in) throws IOException, ClassNotFoundException;
+
+	}
+
+	private static final class BoxedFieldCodec extends ReferenceFieldCodec {
+
+		private final Class<?> type;
+
+		BoxedFieldCodec(Field field) {
+			super(field);
+			this.type = field.getType();
+		}
+
+		@Override
+		void writeValue(Object value, DataOutput out) throws IOException {
+			if (Integer.class.equals(this.type)) {
+				writeVarInt((Integer) value, out);
+			}
+			else if (Long.class.equals(this.type)) {
+				writeVarLong((Long) value, out);
+			}
+			else if (Boolean.class.equals(this.type)) {
+				out.writeBoolean((Boolean) value);
+			}
+			else if (Double.class.equals(this.type)) {
+				out.writeDouble((Double) value);
+			}
+			else if (Float.class.equals(this.type)) {
+				out.writeFloat((Float) value);
+			}
+			else if (Short.class.equals(this.type)) {
+				out.writeShort((Short) value);
+			}
+			else if (Byte.class.equals(this.type)) {
+				out.writeByte((Byte) value);
+			}
+			else {
+				out.writeChar((Character) value);
+			}
+		}
+
+		@Override
+		Object readValue(DataInput in) throws IOException {
+			if (Integer.class.equals(this.type)) {
+				return readVarInt(in);
+			}
+			else if (Long.class.equals(this.type)) {
+				return readVarLong(in);
+			}
+			else if (Boolean.class.equals(this.type)) {
+				return in.readBoolean();
+			}
+			else if (Double.class.equals(this.type)) {
+				return in.readDouble();
+			}
+			else if (Float.class.equals(this.type)) {
+				return in.readFloat();
+			}
+			else if (Short.class.equals(this.type)) {
+				return in.readShort();
+			}
+			else if (Byte.class.equals(this.type)) {
+				return in.readByte();
+			}
+
+			return in.readChar();
+		}
+	}
+
+	private static final class StringFieldCodec extends ReferenceFieldCodec {
+
+		StringFieldCodec(Field field) {
+			super(field);
+		}
+
+		@Override
+		void writeValue(Object value, DataOutput out) throws IOException {
+			byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+			writeVarInt(bytes.length, out);
+			out.write(bytes);
+		}
+
+		@Override
+		Object readValue(DataInput in) throws IOException {
+			byte[] bytes = new byte[readVarInt(in)];
+			in.readFully(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+	}
+
+	private static final class ByteArrayFieldCodec extends ReferenceFieldCodec {
+
+		ByteArrayFieldCodec(Field field) {
+			super(field);
+		}
+
+		@Override
+		void writeValue(Object value, DataOutput out) throws IOException {
+			byte[] bytes = (byte[]) value;
+			writeVarInt(bytes.length, out);
+			out.write(bytes);
+		}
+
+		@Override
+		Object readValue(DataInput in) throws IOException {
+			byte[] bytes = new byte[readVarInt(in)];
+			in.readFully(bytes);
+			return bytes;
+		}
+	}
+
+	private static final class DateFieldCodec extends ReferenceFieldCodec {
+
+		DateFieldCodec(Field field) {
+			super(field);
+		}
+
+		@Override
+		void writeValue(Object value, DataOutput out) throws IOException {
+			writeVarLong(((Date) value).getTime(), out);
+		}
+
+		@Override
+		Object readValue(DataInput in) throws IOException {
+			return new Date(readVarLong(in));
+		}
+	}
+
+	private static final class EnumFieldCodec extends ReferenceFieldCodec {
+
+		private final Object[] constants;
+
+		EnumFieldCodec(Field field) {
+			super(field);
+			this.constants = field.getType().getEnumConstants();
+		}
+
+		@Override
+		void writeValue(Object value, DataOutput out) throws IOException {
+			writeVarInt(((Enum<?>) value).ordinal(), out);
+		}
+
+		@Override
+		Object readValue(DataInput in) throws IOException {
+			int ordinal = readVarInt(in);
+
+			if (ordinal < 0 || ordinal >= this.constants.length) {
+				throw new IOException(String.format("Invalid ordinal [%1$d] for enum [%2$s]",
+					ordinal, this.field.getType().getName()));
+			}
+
+			return this.constants[ordinal];
+		}
+	}
+
+	private static final class ObjectFieldCodec extends ReferenceFieldCodec {
+
+		ObjectFieldCodec(Field field) {
+			super(field);
+		}
+
+		@Override
+		void writeValue(Object value, DataOutput out) throws IOException {
+			DataSerializer.writeObject(value, out);
+		}
+
+		@Override
+		Object readValue(DataInput in) throws IOException, ClassNotFoundException {
+			return DataSerializer.readObject(in);
+		}
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.serialization;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.geode.DataSerializable;
+import org.apache.geode.Instantiator;
+import org.springframework.util.Assert;
+
+/**
+ * Generates the {@link CompactDataSerializableCodec codecs} and matching {@link Instantiator}s
+ * for {@link CompactSerializable} annotated {@link DataSerializable} types.
+ *
+ * The field layout of a type is resolved once and cached, so the per-object cost of
+ * {@link DataSerializable#toData(java.io.DataOutput)} and {@link DataSerializable#fromData(java.io.DataInput)}
+ * is limited to reading and writing the field values. {@link Instantiator}s are created through the configured
+ * {@link InstantiatorGenerator} (by default {@link AsmInstantiatorGenerator}) using the id declared by
+ * {@link CompactSerializable#id()}.
+ *
+ * @see org.springframework.data.gemfire.serialization.AbstractCompactDataSerializable
+ * @see org.springframework.data.gemfire.serialization.CompactDataSerializableCodec
+ * @see org.springframework.data.gemfire.serialization.CompactSerializable
+ * @see org.springframework.data.gemfire.serialization.InstantiatorFactoryBean#setCompactTypes(java.util.Collection)
+ */
+public class CompactDataSerializableGenerator {
+
+	private static final CompactDataSerializableGenerator DEFAULT = new CompactDataSerializableGenerator();
+
+	private final ConcurrentMap<Class<? extends DataSerializable>, CompactDataSerializableCodec> codecs =
+		new ConcurrentHashMap<Class<? extends DataSerializable>, CompactDataSerializableCodec>();
+
+	private final InstantiatorGenerator instantiatorGenerator;
+
+	/**
+	 * Returns the shared generator used by {@link AbstractCompactDataSerializable}.
+	 *
+	 * @return the shared generator.
+	 */
+	public static CompactDataSerializableGenerator getDefault() {
+		return DEFAULT;
+	}
+
+	public CompactDataSerializableGenerator() {
+		this(new AsmInstantiatorGenerator());
+	}
+
+	public CompactDataSerializableGenerator(InstantiatorGenerator instantiatorGenerator) {
+		Assert.notNull(instantiatorGenerator, "InstantiatorGenerator must not be null");
+		this.instantiatorGenerator = instantiatorGenerator;
+	}
+
+	/**
+	 * Returns the (cached) codec for the given type.
+	 *
+	 * @param type {@link CompactSerializable} annotated {@link DataSerializable} type.
+	 * @return the codec for the given type.
+	 * @throws IllegalArgumentException if the type is not annotated with {@link CompactSerializable}.
+	 */
+	public CompactDataSerializableCodec getCodec(Class<? extends DataSerializable> type) {
+		CompactDataSerializableCodec codec = codecs.get(type);
+		if (codec == null) {
+			getId(type);
+			codec = codecs.computeIfAbsent(type, CompactDataSerializableCodec::new);
+		}
+		return codec;
+	}
+
+	/**
+	 * Returns the {@link Instantiator} for the given type, registered under {@link CompactSerializable#id()}.
+	 * The codec of the type is resolved eagerly so that layout problems surface at startup.
+	 *
+	 * @param type {@link CompactSerializable} annotated {@link DataSerializable} type.
+	 * @return the {@link Instantiator} for the given type.
+	 * @throws IllegalArgumentException if the type is not annotated with {@link CompactSerializable}, or only
+	 * inherits the annotation, and so the id, of a superclass.
+	 */
+	public Instantiator getInstantiator(Class<? extends DataSerializable> type) {
+		getCodec(type);
+
+		return instantiatorGenerator.getInstantiator(type, getDeclaredId(type));
+	}
+
+	/**
+	 * Returns the {@link Instantiator} id declared by the {@link CompactSerializable} annotation of the given type
+	 * itself, rejecting types that only inherit the id of a superclass, which is already registered for it.
+	 *
+	 * @param type {@link CompactSerializable} annotated type.
+	 * @return the declared {@link Instantiator} id.
+	 * @throws IllegalArgumentException if the type does not declare {@link CompactSerializable} itself.
+	 */
+	static int getDeclaredId(Class<?> type) {
+		int id = getId(type);
+
+		Assert.isTrue(type.getDeclaredAnnotation(CompactSerializable.class) != null, String.format(
+			"Class [%1$s] inherits the @%2$s id of a superclass; declare @%2$s with its own id"
+				+ " to register an Instantiator", type.getName(), CompactSerializable.class.getSimpleName()));
+
+		return id;
+	}
+
+	/**
+	 * Returns the {@link Instantiator} id declared by the {@link CompactSerializable} annotation of the given type,
+	 * or inherited from a superclass.
+	 *
+	 * @param type {@link CompactSerializable} annotated type.
+	 * @return the declared {@link Instantiator} id.
+	 * @throws IllegalArgumentException if the type is not annotated with {@link CompactSerializable}.
+	 */
+	public static int getId(Class<?> type) {
+		Assert.notNull(type, "type must not be null");
+
+		CompactSerializable annotation = type.getAnnotation(CompactSerializable.class);
+
+		Assert.isTrue(annotation != null, String.format("Class [%1$s] is not annotated with @%2$s",
+			type.getName(), CompactSerializable.class.getSimpleName()));
+
+		return annotation.id();
+	}
+}
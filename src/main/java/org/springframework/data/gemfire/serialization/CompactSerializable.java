@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.serialization;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.apache.geode.DataSerializable;
+import org.apache.geode.Instantiator;
+
+/**
+ * Marks a {@link DataSerializable} domain class whose state is written and read by a
+ * {@link CompactDataSerializableGenerator generated codec} rather than hand-written
+ * {@link DataSerializable#toData(java.io.DataOutput)} / {@link DataSerializable#fromData(java.io.DataInput)} bodies.
+ *
+ * The encoding is not self-describing: both ends must have the same class definition. Non-static,
+ * non-transient fields are written in a fixed order (superclass fields first, then by field name),
+ * preceded by a bitmap of null reference fields. {@literal int} and {@literal long} values use a
+ * variable-length (zig-zag) encoding.
+ *
+ * The annotation is inherited, so subclasses of an annotated class are serialized with a codec for their own
+ * fields. A subclass whose {@link Instantiator} is registered must declare the annotation itself, with its own id.
+ *
+ * @see org.springframework.data.gemfire.serialization.AbstractCompactDataSerializable
+ * @see org.springframework.data.gemfire.serialization.CompactDataSerializableGenerator
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface CompactSerializable {
+
+	/**
+	 * The id used to register the {@link Instantiator} of the annotated class.
+	 */
+	int id();
+
+}
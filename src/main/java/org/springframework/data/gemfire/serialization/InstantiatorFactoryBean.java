@@ -18,8 +18,11 @@ package org.springframework.data.gemfire.serialization;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.geode.DataSerializable;
 import org.apache.geode.Instantiator;
@@ -45,26 +48,32 @@ public class InstantiatorFactoryBean implements BeanClassLoaderAware, FactoryBea
 	private ClassLoader classLoader;
 	private boolean autoRegister = true;
 	private boolean distribute = false;
+	private boolean parallel = false;
 
 	private Map<Class<? extends DataSerializable>, Integer> types;
+	private Collection<Class<? extends DataSerializable>> compactTypes;
 
 
 	public void afterPropertiesSet() throws Exception {
-		Assert.notEmpty(types, "no custom types for generating the Instantiators");
+		Map<Class<? extends DataSerializable>, Integer> allTypes = resolveTypes();
+
+		Assert.notEmpty(allTypes, "no custom types for generating the Instantiators");
 
 		if (generator == null) {
 			generator = new AsmInstantiatorGenerator(classLoader);
 		}
 
-		list = new ArrayList<Instantiator>(types.size());
-
-		for (Entry<Class<? extends DataSerializable>, Integer> entry : types.entrySet()) {
+		for (Entry<Class<? extends DataSerializable>, Integer> entry : allTypes.entrySet()) {
 			Assert.notNull(entry.getKey(), "Invalid/Null class given as custom type");
 			Assert.notNull(entry.getValue(), "Invalid/Null int given as user id");
-
-			list.add(generator.getInstantiator(entry.getKey(), entry.getValue()));
 		}
 
+		Stream<Entry<Class<? extends DataSerializable>, Integer>> entries =
+			(parallel ? allTypes.entrySet().parallelStream() : allTypes.entrySet().stream());
+
+		list = entries.map(entry -> generator.getInstantiator(entry.getKey(), entry.getValue()))
+			.collect(Collectors.toCollection(() -> new ArrayList<Instantiator>(allTypes.size())));
+
 		if (autoRegister) {
 			for (Instantiator instantiator : list) {
 				Instantiator.register(instantiator, distribute);
@@ -72,6 +81,29 @@ public class InstantiatorFactoryBean implements BeanClassLoaderAware, FactoryBea
 		}
 	}
 
+	/**
+	 * Merges the custom types with the compact types, resolving the codec of each compact type eagerly
+	 * so that unsupported layouts are detected at startup.
+	 */
+	private Map<Class<? extends DataSerializable>, Integer> resolveTypes() {
+		Map<Class<? extends DataSerializable>, Integer> resolvedTypes =
+			new LinkedHashMap<Class<? extends DataSerializable>, Integer>();
+
+		if (types != null) {
+			resolvedTypes.putAll(types);
+		}
+
+		if (compactTypes != null) {
+			for (Class<? extends DataSerializable> compactType : compactTypes) {
+				Assert.notNull(compactType, "Invalid/Null class given as compact type");
+				CompactDataSerializableGenerator.getDefault().getCodec(compactType);
+				resolvedTypes.put(compactType, CompactDataSerializableGenerator.getDeclaredId(compactType));
+			}
+		}
+
+		return resolvedTypes;
+	}
+
 	public Collection<Instantiator> getObject() throws Exception {
 		return list;
 	}
@@ -97,6 +129,18 @@ public class InstantiatorFactoryBean implements BeanClassLoaderAware, FactoryBea
 		this.types = types;
 	}
 
+	/**
+	 * Sets the {@link CompactSerializable} annotated types for generating the {@link Instantiator}s.
+	 * The user id of each type is read from {@link CompactSerializable#id()}, which each type must declare itself
+	 * rather than inherit from a superclass.
+	 *
+	 * @param compactTypes collection of {@link CompactSerializable} annotated types.
+	 * @see CompactDataSerializableGenerator
+	 */
+	public void setCompactTypes(Collection<Class<? extends DataSerializable>> compactTypes) {
+		this.compactTypes = compactTypes;
+	}
+
 	/**
 	 * Sets the generator to use for creating {@link Instantiator}s.
 	 *
@@ -106,6 +150,19 @@ public class InstantiatorFactoryBean implements BeanClassLoaderAware, FactoryBea
 		this.generator = generator;
 	}
 
+	/**
+	 * Sets whether the {@link Instantiator}s are generated concurrently during the container startup.
+	 * Default is false. Enabling it pays off when a large number of custom types is declared, since
+	 * each {@link Instantiator} class is generated and defined independently of the others.
+	 * The resulting collection preserves the iteration order of the custom types. The configured
+	 * {@link InstantiatorGenerator} must be thread-safe, which {@link AsmInstantiatorGenerator} is.
+	 *
+	 * @param parallel whether the {@link Instantiator}s are generated in parallel or not
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
 	/**
 	 * Sets the auto-registration of this {@link Instantiator} during the container startup.
 	 * Default is true, meaning the registration will occur once this factory is initialized.
@@ -24,12 +24,21 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionService;
 import org.apache.geode.cache.query.SelectResults;
 import org.apache.geode.cache.query.internal.ResultsBag;
 import org.apache.geode.pdx.JSONFormatter;
@@ -37,7 +46,9 @@ import org.apache.geode.pdx.PdxInstance;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.gemfire.GemfireOperations;
 import org.springframework.data.gemfire.GemfireTemplate;
+import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
 /**
@@ -57,9 +68,21 @@ public class JSONRegionAdvice {
 
 	private boolean convertReturnedCollections = true;
 	private boolean prettyPrint = false;
+	private boolean streaming = false;
+	private boolean streamQueryResults = false;
+
+	private int parallelConversionThreshold = 0;
+	private int putAllChunkSize = 0;
+
+	private ForkJoinPool conversionPool = ForkJoinPool.commonPool();
+
+	private ObjectMapper objectMapper = new ObjectMapper();
 
 	private List<String> includedRegions;
 
+	private final ConcurrentMap<RegionService, JacksonPdxInstanceConverter> converters =
+		new ConcurrentHashMap<RegionService, JacksonPdxInstanceConverter>();
+
 	protected final Log log = LogFactory.getLog(JSONRegionAdvice.class);
 
 	/**
@@ -103,6 +126,77 @@ public class JSONRegionAdvice {
 		this.prettyPrint = prettyPrint;
 	}
 
+	/**
+	 * Flag to convert between JSON and {@link PdxInstance} with the {@link JacksonPdxInstanceConverter}, which
+	 * streams PDX fields through Jackson instead of going through {@link JSONFormatter} and intermediate JSON
+	 * Strings. Java objects are converted to PDX without first being rendered as a JSON String.
+	 *
+	 * @param streaming false by default
+	 * @see JacksonPdxInstanceConverter
+	 */
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
+	/**
+	 * Flag to return query results from {@link GemfireOperations} as a read-only view converting each
+	 * {@link PdxInstance} to JSON when it is accessed, rather than as a fully converted copy of the results.
+	 * Only applies when returned collections are converted.
+	 *
+	 * @param streamQueryResults false by default
+	 * @see #setConvertReturnedCollections(boolean)
+	 */
+	public void setStreamQueryResults(boolean streamQueryResults) {
+		this.streamQueryResults = streamQueryResults;
+	}
+
+	/**
+	 * Sets the number of entries at or above which the values of {@link Region#putAll(Map)},
+	 * {@link Region#getAll(Collection)} and {@link Region#values()} are converted in parallel on the
+	 * {@link #setConversionPool(ForkJoinPool) conversion pool}. Work is split until each task converts
+	 * no more than this number of values.
+	 *
+	 * @param parallelConversionThreshold 0 (always convert on the caller thread) by default
+	 */
+	public void setParallelConversionThreshold(int parallelConversionThreshold) {
+		this.parallelConversionThreshold = parallelConversionThreshold;
+	}
+
+	/**
+	 * Sets the {@link ForkJoinPool} used for parallel conversion and for converting the next
+	 * {@link #setPutAllChunkSize(int) putAll chunk}.
+	 *
+	 * @param conversionPool {@link ForkJoinPool#commonPool()} by default
+	 */
+	public void setConversionPool(ForkJoinPool conversionPool) {
+		Assert.notNull(conversionPool, "ForkJoinPool must not be null");
+		this.conversionPool = conversionPool;
+	}
+
+	/**
+	 * Sets the maximum number of entries sent by a single {@link Region#putAll(Map)} operation. Larger maps are
+	 * submitted in chunks of this size, converting the next chunk on the {@link #setConversionPool(ForkJoinPool)
+	 * conversion pool} while the current chunk is being put, so that conversion overlaps with network I/O.
+	 * Note that the chunks are not put atomically; when a chunk fails the preceding chunks remain in the Region.
+	 *
+	 * @param putAllChunkSize 0 (never chunk) by default
+	 */
+	public void setPutAllChunkSize(int putAllChunkSize) {
+		this.putAllChunkSize = putAllChunkSize;
+	}
+
+	/**
+	 * Sets the {@link ObjectMapper} used to convert Java objects to JSON, and by
+	 * the {@link JacksonPdxInstanceConverter} when {@link #setStreaming(boolean) streaming}.
+	 *
+	 * @param objectMapper a default {@link ObjectMapper} by default
+	 */
+	public void setObjectMapper(ObjectMapper objectMapper) {
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		this.objectMapper = objectMapper;
+		this.converters.clear();
+	}
+
 	@Around("execution(* org.apache.geode.cache.Region.put(..)) || "
 		+ "execution(* org.apache.geode.cache.Region.create(..)) ||"
 		+ "execution(* org.apache.geode.cache.Region.putIfAbsent(..)) ||"
@@ -115,10 +209,10 @@ public class JSONRegionAdvice {
 			if (JSONRegion) {
 				Object[] newArgs = Arrays.copyOf(pjp.getArgs(), pjp.getArgs().length);
 				Object val = newArgs[1];
-				newArgs[1] = convertArgumentToPdxInstance(val);
+				newArgs[1] = convertArgumentToPdxInstance(val, pjp.getTarget());
 				returnValue = pjp.proceed(newArgs);
 				log.debug("converting " + returnValue + " to JSON string");
-				returnValue = convertPdxInstanceToJSONString(returnValue);
+				returnValue = convertPdxInstanceToJSONString(returnValue, pjp.getTarget());
 			}
 			else {
 				returnValue = pjp.proceed();
@@ -140,12 +234,15 @@ public class JSONRegionAdvice {
 			if (JSONRegion) {
 				Object[] newArgs = Arrays.copyOf(pjp.getArgs(), pjp.getArgs().length);
 				Map<?, ?> val = (Map<?, ?>) newArgs[0];
-				Map<Object, Object> newArg = new HashMap<Object, Object>();
-				for (Entry<?, ?> entry : val.entrySet()) {
-					newArg.put(entry.getKey(), convertArgumentToPdxInstance(entry.getValue()));
+				Function<Object, Object> converter = value -> convertArgumentToPdxInstance(value, pjp.getTarget());
+
+				if (putAllChunkSize > 0 && val.size() > putAllChunkSize) {
+					returnValue = putAllInChunks(pjp, newArgs, new ArrayList<Entry<?, ?>>(val.entrySet()), converter);
+				}
+				else {
+					newArgs[0] = convertValues(new ArrayList<Entry<?, ?>>(val.entrySet()), converter);
+					returnValue = pjp.proceed(newArgs);
 				}
-				newArgs[0] = newArg;
-				returnValue = pjp.proceed(newArgs);
 			}
 			else {
 				returnValue = pjp.proceed();
@@ -168,7 +265,7 @@ public class JSONRegionAdvice {
 			if (isIncludedSONRegion(pjp.getTarget())) {
 				returnValue = pjp.proceed();
 				log.debug("converting " + returnValue + " to JSON string");
-				returnValue = convertPdxInstanceToJSONString(returnValue);
+				returnValue = convertPdxInstanceToJSONString(returnValue, pjp.getTarget());
 			}
 			else {
 				returnValue = pjp.proceed();
@@ -193,10 +290,8 @@ public class JSONRegionAdvice {
 				result = retVal;
 			}
 			else {
-				result = new HashMap<Object, Object>();
-				for (Entry<Object, Object> entry : retVal.entrySet()) {
-					result.put(entry.getKey(), convertPdxInstanceToJSONString(entry.getValue()));
-				}
+				result = convertValues(new ArrayList<Entry<?, ?>>(retVal.entrySet()),
+					value -> convertPdxInstanceToJSONString(value, pjp.getTarget()));
 			}
 		}
 		catch (Throwable t) {
@@ -218,10 +313,8 @@ public class JSONRegionAdvice {
 				result = retVal;
 			}
 			else {
-				result = new ArrayList<Object>();
-				for (Object obj : retVal) {
-					result.add(convertArgumentToPdxInstance(obj));
-				}
+				result = new ArrayList<Object>(Arrays.asList(convertAll(retVal.toArray(),
+					value -> convertPdxInstanceToJSONString(value, pjp.getTarget()))));
 			}
 		}
 		catch (Throwable t) {
@@ -243,14 +336,20 @@ public class JSONRegionAdvice {
 			if (jsonRegion) {
 				returnValue = pjp.proceed();
 				if (returnValue instanceof SelectResults && convertReturnedCollections) {
-					ResultsBag resultsBag = new ResultsBag();
-					for (Object obj : (SelectResults<?>) returnValue) {
-						resultsBag.add(convertPdxInstanceToJSONString(obj));
+					if (streamQueryResults) {
+						returnValue = new JSONSelectResults((SelectResults<?>) returnValue,
+							obj -> convertPdxInstanceToJSONString(obj, template.getRegion()));
+					}
+					else {
+						ResultsBag resultsBag = new ResultsBag();
+						for (Object obj : (SelectResults<?>) returnValue) {
+							resultsBag.add(convertPdxInstanceToJSONString(obj, template.getRegion()));
+						}
+						returnValue = resultsBag;
 					}
-					returnValue = resultsBag;
 				}
 				else {
-					returnValue = convertPdxInstanceToJSONString(returnValue);
+					returnValue = convertPdxInstanceToJSONString(returnValue, template.getRegion());
 				}
 			}
 			else {
@@ -264,19 +363,105 @@ public class JSONRegionAdvice {
 	}
 
 
-	private PdxInstance convertArgumentToPdxInstance(Object value) {
+	private Object putAllInChunks(ProceedingJoinPoint pjp, Object[] args, List<Entry<?, ?>> entries,
+			Function<Object, Object> converter) throws Throwable {
+
+		Object returnValue = null;
+
+		CompletableFuture<Map<Object, Object>> nextChunk =
+			convertChunkAsync(entries.subList(0, Math.min(putAllChunkSize, entries.size())), converter);
+
+		for (int from = 0; from < entries.size(); from += putAllChunkSize) {
+			Map<Object, Object> chunk;
+
+			try {
+				chunk = nextChunk.join();
+			}
+			catch (CompletionException e) {
+				throw e.getCause();
+			}
+
+			int nextFrom = from + putAllChunkSize;
+
+			if (nextFrom < entries.size()) {
+				nextChunk = convertChunkAsync(entries.subList(nextFrom,
+					Math.min(nextFrom + putAllChunkSize, entries.size())), converter);
+			}
+
+			Object[] chunkArgs = Arrays.copyOf(args, args.length);
+			chunkArgs[0] = chunk;
+			returnValue = pjp.proceed(chunkArgs);
+		}
+
+		return returnValue;
+	}
+
+	private CompletableFuture<Map<Object, Object>> convertChunkAsync(List<Entry<?, ?>> entries,
+			Function<Object, Object> converter) {
+
+		return CompletableFuture.supplyAsync(() -> convertValues(entries, converter), conversionPool);
+	}
+
+	private Map<Object, Object> convertValues(List<Entry<?, ?>> entries, Function<Object, Object> converter) {
+		Object[] values = new Object[entries.size()];
+
+		for (int index = 0; index < values.length; index++) {
+			values[index] = entries.get(index).getValue();
+		}
+
+		values = convertAll(values, converter);
+
+		Map<Object, Object> result = new HashMap<Object, Object>((int) (values.length / 0.75f) + 1);
+
+		for (int index = 0; index < values.length; index++) {
+			result.put(entries.get(index).getKey(), values[index]);
+		}
+
+		return result;
+	}
+
+	private Object[] convertAll(Object[] values, Function<Object, Object> converter) {
+		Object[] converted = new Object[values.length];
+
+		ConversionTask task = new ConversionTask(values, converted, 0, values.length, converter,
+			parallelConversionThreshold > 0 ? parallelConversionThreshold : Integer.MAX_VALUE);
+
+		if (parallelConversionThreshold > 0 && values.length >= parallelConversionThreshold) {
+			if (ForkJoinTask.inForkJoinPool()) {
+				task.invoke();
+			}
+			else {
+				conversionPool.invoke(task);
+			}
+		}
+		else {
+			task.compute();
+		}
+
+		return converted;
+	}
+
+	private PdxInstance convertArgumentToPdxInstance(Object value, Object target) {
 		PdxInstance pdx = null;
 
 		if (value instanceof PdxInstance) {
 			pdx = (PdxInstance) value;
 		}
+		else if (streaming && value != null) {
+			try {
+				JacksonPdxInstanceConverter converter = getConverter(target);
+				pdx = (value instanceof String ? converter.fromJson((String) value) : converter.fromObject(value));
+			}
+			catch (Throwable t) {
+				handleThrowable(t);
+			}
+		}
 		else if (value instanceof String) {
 			pdx = JSONFormatter.fromJSON((String) value);
 		}
 		else {
-			ObjectMapper mapper = new ObjectMapper();
 			try {
-				String json = mapper.writeValueAsString(value);
+				String json = objectMapper.writeValueAsString(value);
 				pdx = JSONFormatter.fromJSON(json);
 			}
 			catch (Throwable t) {
@@ -301,10 +486,24 @@ public class JSONRegionAdvice {
 		return result;
 	}
 
-	private Object convertPdxInstanceToJSONString(Object returnValue) {
+	private JacksonPdxInstanceConverter getConverter(Object target) {
+		RegionService regionService = ((Region<?, ?>) target).getRegionService();
+		return converters.computeIfAbsent(regionService,
+			service -> new JacksonPdxInstanceConverter(objectMapper, service));
+	}
+
+	private Object convertPdxInstanceToJSONString(Object returnValue, Object target) {
 		Object result = returnValue;
 
-		if (returnValue != null && returnValue instanceof PdxInstance) {
+		if (streaming && returnValue instanceof PdxInstance) {
+			try {
+				result = getConverter(target).toJson((PdxInstance) returnValue, prettyPrint);
+			}
+			catch (Throwable t) {
+				handleThrowable(t);
+			}
+		}
+		else if (returnValue != null && returnValue instanceof PdxInstance) {
 			result = JSONFormatter.toJSON((PdxInstance) returnValue);
 			if (!prettyPrint) {
 				result = flattenString(result);
@@ -323,6 +522,46 @@ public class JSONRegionAdvice {
 		return result;
 	}
 
+	/**
+	 * Converts a range of values, splitting the range in halves while it exceeds the threshold.
+	 */
+	@SuppressWarnings("serial")
+	private static class ConversionTask extends RecursiveAction {
+
+		private final Object[] source;
+		private final Object[] target;
+		private final int from;
+		private final int to;
+		private final Function<Object, Object> converter;
+		private final int threshold;
+
+		ConversionTask(Object[] source, Object[] target, int from, int to, Function<Object, Object> converter,
+				int threshold) {
+
+			this.source = source;
+			this.target = target;
+			this.from = from;
+			this.to = to;
+			this.converter = converter;
+			this.threshold = threshold;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= threshold) {
+				for (int index = from; index < to; index++) {
+					target[index] = converter.apply(source[index]);
+				}
+			}
+			else {
+				int middle = (from + to) >>> 1;
+
+				invokeAll(new ConversionTask(source, target, from, middle, converter, threshold),
+					new ConversionTask(source, target, middle, to, converter, threshold));
+			}
+		}
+	}
+
 	private void handleThrowable(Throwable t) {
 		if (t instanceof RuntimeException) {
 			throw (RuntimeException) t;
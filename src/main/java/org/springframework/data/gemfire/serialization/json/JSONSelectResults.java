@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.springframework.data.gemfire.serialization.json;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.internal.types.CollectionTypeImpl;
+import org.apache.geode.cache.query.internal.types.ObjectTypeImpl;
+import org.apache.geode.cache.query.types.CollectionType;
+import org.apache.geode.cache.query.types.ObjectType;
+
+/**
+ * Read-only {@link SelectResults} view converting the elements of the underlying query results to JSON
+ * as they are iterated, so that large query results are not copied up front.
+ *
+ * @see org.apache.geode.cache.query.SelectResults
+ * @see org.springframework.data.gemfire.serialization.json.JSONRegionAdvice#setStreamQueryResults(boolean)
+ */
+class JSONSelectResults extends AbstractCollection<Object> implements SelectResults<Object> {
+
+	private final SelectResults<?> results;
+
+	private final Function<Object, Object> converter;
+
+	JSONSelectResults(SelectResults<?> results, Function<Object, Object> converter) {
+		this.results = results;
+		this.converter = converter;
+	}
+
+	@Override
+	public Iterator<Object> iterator() {
+		Iterator<?> iterator = this.results.iterator();
+
+		return new Iterator<Object>() {
+
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public Object next() {
+				return converter.apply(iterator.next());
+			}
+		};
+	}
+
+	@Override
+	public int size() {
+		return this.results.size();
+	}
+
+	@Override
+	public boolean isModifiable() {
+		return false;
+	}
+
+	@Override
+	public int occurrences(Object element) {
+		int count = 0;
+
+		for (Object value : this) {
+			if (element == null ? value == null : element.equals(value)) {
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	@Override
+	public Set<Object> asSet() {
+		return new LinkedHashSet<Object>(this);
+	}
+
+	@Override
+	public List<Object> asList() {
+		return new ArrayList<Object>(this);
+	}
+
+	/**
+	 * Returns the {@link CollectionType} of the underlying query results, with {@link String} elements,
+	 * since the elements are converted to JSON.
+	 *
+	 * @return the {@link CollectionType} of these results.
+	 */
+	@Override
+	public CollectionType getCollectionType() {
+		Class<?> collectionClass = Optional.ofNullable(this.results.getCollectionType())
+			.<Class<?>>map(CollectionType::resolveClass)
+			.orElse(Collection.class);
+
+		return new CollectionTypeImpl(collectionClass, new ObjectTypeImpl(String.class));
+	}
+
+	@Override
+	public void setElementType(ObjectType elementType) {
+		throw new UnsupportedOperationException("JSON query results are read-only");
+	}
+}
@@ -0,0 +1,427 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.springframework.data.gemfire.serialization.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import org.apache.geode.cache.RegionService;
+import org.apache.geode.internal.cache.GemFireCacheImpl;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.pdx.JSONFormatter;
+import org.apache.geode.pdx.PdxInstance;
+import org.apache.geode.pdx.PdxInstanceFactory;
+import org.apache.geode.pdx.internal.PdxInstanceFactoryImpl;
+import org.springframework.util.Assert;
+
+/**
+ * Converts between JSON and {@link PdxInstance PdxInstances} with Jackson's streaming API, without materializing
+ * intermediate JSON {@link String Strings}.
+ *
+ * {@link PdxInstance PdxInstances} are written field by field to a {@link JsonGenerator} and built field by field
+ * from a {@link JsonParser}.  Like {@link JSONFormatter}, the {@link PdxInstance PdxInstances} are created without
+ * a domain class, under the {@link JSONFormatter#JSON_CLASSNAME JSON class name}, and integral numbers are written
+ * with the smallest of the {@literal byte}, {@literal short} and {@literal int} PDX field types able to hold them,
+ * so that a document has the same PDX type whichever of the two created it.  Java objects are converted to PDX
+ * by replaying the Jackson serialization events through a {@link TokenBuffer}.
+ *
+ * @see com.fasterxml.jackson.core.JsonGenerator
+ * @see com.fasterxml.jackson.core.JsonParser
+ * @see org.apache.geode.pdx.JSONFormatter
+ * @see org.apache.geode.pdx.PdxInstance
+ * @see org.apache.geode.pdx.PdxInstanceFactory
+ */
+public class JacksonPdxInstanceConverter {
+
+	private final ObjectMapper objectMapper;
+
+	private final Supplier<PdxInstanceFactory> pdxInstanceFactorySupplier;
+
+	/**
+	 * Constructs a converter creating {@link PdxInstance PdxInstances} with the given {@link RegionService}.
+	 *
+	 * @param regionService {@link RegionService} used to create {@link PdxInstanceFactory PdxInstanceFactories}.
+	 */
+	public JacksonPdxInstanceConverter(RegionService regionService) {
+		this(new ObjectMapper(), regionService);
+	}
+
+	/**
+	 * Constructs a converter with the given {@link ObjectMapper}, creating {@link PdxInstance PdxInstances}
+	 * with the given {@link RegionService}.
+	 *
+	 * @param objectMapper {@link ObjectMapper} used to create parsers and generators and to convert Java objects.
+	 * @param regionService {@link RegionService} used to create {@link PdxInstanceFactory PdxInstanceFactories}.
+	 */
+	public JacksonPdxInstanceConverter(ObjectMapper objectMapper, RegionService regionService) {
+		this(objectMapper, newJsonPdxInstanceFactorySupplier(regionService));
+	}
+
+	/**
+	 * Constructs a converter with the given {@link ObjectMapper} and source of {@link PdxInstanceFactory}.
+	 *
+	 * @param objectMapper {@link ObjectMapper} used to create parsers and generators and to convert Java objects.
+	 * @param pdxInstanceFactorySupplier supplies a new {@link PdxInstanceFactory} for each JSON object.
+	 */
+	public JacksonPdxInstanceConverter(ObjectMapper objectMapper, Supplier<PdxInstanceFactory> pdxInstanceFactorySupplier) {
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		Assert.notNull(pdxInstanceFactorySupplier, "PdxInstanceFactory Supplier must not be null");
+
+		this.objectMapper = objectMapper;
+		this.pdxInstanceFactorySupplier = pdxInstanceFactorySupplier;
+	}
+
+	/**
+	 * Supplies {@link PdxInstanceFactory PdxInstanceFactories} creating {@link PdxInstance PdxInstances} of
+	 * the {@link JSONFormatter#JSON_CLASSNAME JSON class name} without a domain class, as {@link JSONFormatter} does.
+	 * {@link RegionService#createPdxInstanceFactory(String)} expects a domain class, which would both register
+	 * a different PDX type and fail {@link PdxInstance#getObject()} on members.
+	 */
+	private static Supplier<PdxInstanceFactory> newJsonPdxInstanceFactorySupplier(RegionService regionService) {
+		InternalCache cache = (regionService instanceof InternalCache ? (InternalCache) regionService
+			: GemFireCacheImpl.getInstance());
+
+		Assert.state(cache != null, "A GemFire cache is required to create PdxInstances");
+
+		return () -> PdxInstanceFactoryImpl.newCreator(JSONFormatter.JSON_CLASSNAME, false, cache);
+	}
+
+	/**
+	 * Writes the given {@link PdxInstance} as a JSON object to the {@link JsonGenerator}.
+	 *
+	 * @param pdxInstance {@link PdxInstance} to write.
+	 * @param generator {@link JsonGenerator} to write to.
+	 * @throws IOException if writing fails.
+	 */
+	public void write(PdxInstance pdxInstance, JsonGenerator generator) throws IOException {
+		generator.writeStartObject();
+
+		for (String fieldName : pdxInstance.getFieldNames()) {
+			generator.writeFieldName(fieldName);
+			writeValue(pdxInstance.getField(fieldName), generator);
+		}
+
+		generator.writeEndObject();
+	}
+
+	/**
+	 * Writes the given {@link PdxInstance} as a UTF-8 encoded JSON object to the {@link OutputStream}.
+	 * The {@link OutputStream} is flushed but not closed.
+	 *
+	 * @param pdxInstance {@link PdxInstance} to write.
+	 * @param out {@link OutputStream} to write to.
+	 * @throws IOException if writing fails.
+	 */
+	public void write(PdxInstance pdxInstance, OutputStream out) throws IOException {
+		JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+
+		generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+		try {
+			write(pdxInstance, generator);
+		}
+		finally {
+			generator.close();
+		}
+	}
+
+	/**
+	 * Renders the given {@link PdxInstance} as a JSON {@link String}.
+	 *
+	 * @param pdxInstance {@link PdxInstance} to render.
+	 * @param prettyPrint whether the JSON is indented.
+	 * @return the JSON document.
+	 * @throws IOException if writing fails.
+	 */
+	public String toJson(PdxInstance pdxInstance, boolean prettyPrint) throws IOException {
+		StringWriter writer = new StringWriter();
+
+		try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+			if (prettyPrint) {
+				generator.useDefaultPrettyPrinter();
+			}
+
+			write(pdxInstance, generator);
+		}
+
+		return writer.toString();
+	}
+
+	/* (non-Javadoc) */
+	@SuppressWarnings("unchecked")
+	private void writeValue(Object value, JsonGenerator generator) throws IOException {
+		if (value == null) {
+			generator.writeNull();
+		}
+		else if (value instanceof String) {
+			generator.writeString((String) value);
+		}
+		else if (value instanceof PdxInstance) {
+			write((PdxInstance) value, generator);
+		}
+		else if (value instanceof Boolean) {
+			generator.writeBoolean((Boolean) value);
+		}
+		else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+			generator.writeNumber(((Number) value).longValue());
+		}
+		else if (value instanceof Double || value instanceof Float) {
+			generator.writeNumber(((Number) value).doubleValue());
+		}
+		else if (value instanceof BigDecimal) {
+			generator.writeNumber((BigDecimal) value);
+		}
+		else if (value instanceof BigInteger) {
+			generator.writeNumber((BigInteger) value);
+		}
+		else if (value instanceof Character) {
+			generator.writeString(value.toString());
+		}
+		else if (value instanceof Collection) {
+			generator.writeStartArray();
+
+			for (Object element : (Collection<Object>) value) {
+				writeValue(element, generator);
+			}
+
+			generator.writeEndArray();
+		}
+		else if (value instanceof Object[]) {
+			generator.writeStartArray();
+
+			for (Object element : (Object[]) value) {
+				writeValue(element, generator);
+			}
+
+			generator.writeEndArray();
+		}
+		else if (value instanceof Map) {
+			generator.writeStartObject();
+
+			for (Map.Entry<Object, Object> entry : ((Map<Object, Object>) value).entrySet()) {
+				generator.writeFieldName(String.valueOf(entry.getKey()));
+				writeValue(entry.getValue(), generator);
+			}
+
+			generator.writeEndObject();
+		}
+		else {
+			objectMapper.writeValue(generator, value);
+		}
+	}
+
+	/**
+	 * Reads the next JSON object from the {@link JsonParser} into a {@link PdxInstance}.
+	 *
+	 * @param parser {@link JsonParser} positioned before or at the start of a JSON object.
+	 * @return the {@link PdxInstance} built from the JSON object.
+	 * @throws IOException if parsing fails or the next value is not a JSON object.
+	 */
+	public PdxInstance read(JsonParser parser) throws IOException {
+		JsonToken token = (parser.getCurrentToken() != null ? parser.getCurrentToken() : parser.nextToken());
+
+		if (token != JsonToken.START_OBJECT) {
+			throw new IOException(String.format("Expected a JSON object but was [%s]", token));
+		}
+
+		return readObject(parser);
+	}
+
+	/**
+	 * Reads a JSON object from the {@link InputStream} into a {@link PdxInstance}.
+	 *
+	 * @param in {@link InputStream} containing the JSON document.
+	 * @return the {@link PdxInstance} built from the JSON document.
+	 * @throws IOException if parsing fails.
+	 */
+	public PdxInstance read(InputStream in) throws IOException {
+		try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+			return read(parser);
+		}
+	}
+
+	/**
+	 * Reads a JSON document from the {@link String} into a {@link PdxInstance}.
+	 *
+	 * @param json {@link String} containing the JSON document.
+	 * @return the {@link PdxInstance} built from the JSON document.
+	 * @throws IOException if parsing fails.
+	 */
+	public PdxInstance fromJson(String json) throws IOException {
+		try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+			return read(parser);
+		}
+	}
+
+	/**
+	 * Converts a Java object into a {@link PdxInstance} by streaming its Jackson serialization events
+	 * straight into a {@link PdxInstanceFactory}.
+	 *
+	 * @param value Java object to convert; must serialize to a JSON object.
+	 * @return the {@link PdxInstance} built from the object's JSON representation.
+	 * @throws IOException if the object cannot be serialized.
+	 */
+	public PdxInstance fromObject(Object value) throws IOException {
+		TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+
+		objectMapper.writeValue(buffer, value);
+
+		try (JsonParser parser = buffer.asParser()) {
+			return read(parser);
+		}
+	}
+
+	/* (non-Javadoc) */
+	private PdxInstance readObject(JsonParser parser) throws IOException {
+		PdxInstanceFactory factory = pdxInstanceFactorySupplier.get();
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String fieldName = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+
+			switch (token) {
+				case VALUE_STRING:
+					factory.writeString(fieldName, parser.getText());
+					break;
+				case VALUE_TRUE:
+				case VALUE_FALSE:
+					factory.writeBoolean(fieldName, parser.getBooleanValue());
+					break;
+				case VALUE_NUMBER_INT:
+					writeInteger(factory, fieldName, parser);
+					break;
+				case VALUE_NUMBER_FLOAT:
+					writeDecimal(factory, fieldName, parser);
+					break;
+				default:
+					factory.writeObject(fieldName, readValue(token, parser));
+			}
+		}
+
+		return factory.create();
+	}
+
+	/* (non-Javadoc) */
+	private void writeInteger(PdxInstanceFactory factory, String fieldName, JsonParser parser) throws IOException {
+		Number value = readInteger(parser);
+
+		if (value instanceof Byte) {
+			factory.writeByte(fieldName, (Byte) value);
+		}
+		else if (value instanceof Short) {
+			factory.writeShort(fieldName, (Short) value);
+		}
+		else if (value instanceof Integer) {
+			factory.writeInt(fieldName, (Integer) value);
+		}
+		else if (value instanceof Long) {
+			factory.writeLong(fieldName, (Long) value);
+		}
+		else {
+			factory.writeObject(fieldName, value);
+		}
+	}
+
+	/**
+	 * Reads the current integral number as the smallest of {@link Byte}, {@link Short} and {@link Integer} able
+	 * to hold it, as {@link JSONFormatter} does, or otherwise as a {@link Long} or a {@link BigInteger}.
+	 * The reported number type is not relied upon, since a {@link TokenBuffer} reports the Java type
+	 * of the serialized value rather than the type needed by its JSON text.
+	 */
+	private Number readInteger(JsonParser parser) throws IOException {
+		if (parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+			BigInteger value = parser.getBigIntegerValue();
+
+			return (value.bitLength() < Long.SIZE ? narrow(value.longValue()) : value);
+		}
+
+		return narrow(parser.getLongValue());
+	}
+
+	/* (non-Javadoc) */
+	private static Number narrow(long value) {
+		if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+			return (byte) value;
+		}
+		else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+			return (short) value;
+		}
+		else if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+			return (int) value;
+		}
+
+		return value;
+	}
+
+	/* (non-Javadoc) */
+	private void writeDecimal(PdxInstanceFactory factory, String fieldName, JsonParser parser) throws IOException {
+		if (parser.getNumberType() == JsonParser.NumberType.BIG_DECIMAL) {
+			factory.writeObject(fieldName, parser.getDecimalValue());
+		}
+		else {
+			factory.writeDouble(fieldName, parser.getDoubleValue());
+		}
+	}
+
+	/* (non-Javadoc) */
+	private Object readValue(JsonToken token, JsonParser parser) throws IOException {
+		switch (token) {
+			case START_OBJECT:
+				return readObject(parser);
+			case START_ARRAY:
+				List<Object> list = new ArrayList<Object>();
+
+				for (JsonToken next = parser.nextToken(); next != JsonToken.END_ARRAY; next = parser.nextToken()) {
+					list.add(readValue(next, parser));
+				}
+
+				return list;
+			case VALUE_STRING:
+				return parser.getText();
+			case VALUE_TRUE:
+			case VALUE_FALSE:
+				return parser.getBooleanValue();
+			case VALUE_NUMBER_INT:
+				return readInteger(parser);
+			case VALUE_NUMBER_FLOAT:
+				return parser.getNumberValue();
+			case VALUE_NULL:
+				return null;
+			case VALUE_EMBEDDED_OBJECT:
+				return parser.getEmbeddedObject();
+			default:
+				throw new IOException(String.format("Unexpected JSON token [%s]", token));
+		}
+	}
+}
@@ -41,6 +41,7 @@ public class CqCacheServerProcess {
 	private static Region<String, Integer> testCqRegion;
 
 	private static final String CACHE_SERVER_PORT_PROPERTY = "spring.data.gemfire.cache.server.port";
+	private static final String LOCATOR_PORT_PROPERTY = "spring.data.gemfire.locator.port";
 	private static final String GEMFIRE_LOG_LEVEL = "warning";
 	private static final String GEMFIRE_NAME = "CqServer";
 
@@ -51,11 +52,22 @@ public class CqCacheServerProcess {
 	}
 
 	private static Cache newGemFireCache(String name, String logLevel) {
-		return new CacheFactory()
+		CacheFactory cacheFactory = new CacheFactory()
 			.set("name", name)
 			.set("mcast-port", "0")
-			.set("log-level", logLevel)
-			.create();
+			.set("log-level", logLevel);
+
+		Integer locatorPort = Integer.getInteger(LOCATOR_PORT_PROPERTY);
+
+		if (locatorPort != null) {
+			String locator = String.format("localhost[%d]", locatorPort);
+
+			cacheFactory.set("jmx-manager", "false")
+				.set("locators", locator)
+				.set("start-locator", locator);
+		}
+
+		return cacheFactory.create();
 	}
 
 	private static Cache addRegion(Cache gemfireCache, String name) {
@@ -17,7 +17,13 @@
 package org.springframework.data.gemfire.fork;
 
 import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.Set;
 
 import org.apache.geode.cache.Cache;
 import org.apache.geode.cache.CacheClosedException;
@@ -30,7 +36,13 @@ import org.apache.geode.cache.execute.Function;
 import org.apache.geode.cache.execute.FunctionContext;
 import org.apache.geode.cache.execute.FunctionService;
 import org.apache.geode.cache.server.CacheServer;
+import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.data.gemfire.ForkUtil;
+import org.springframework.data.gemfire.function.GemfireFunctionUtils;
+import org.springframework.data.gemfire.function.annotation.Filter;
+import org.springframework.data.gemfire.function.annotation.GemfireFunction;
+import org.springframework.data.gemfire.function.annotation.RegionData;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * @author Costin Leau
@@ -89,9 +101,38 @@ public class FunctionCacheServerProcess {
 		FunctionService.registerFunction(new EchoFunction());
 		FunctionService.registerFunction(new ServerFunction());
 
+		registerPojoFunctions(new PojoFunctions());
+
 		return gemfireCache;
 	}
 
+	private static void registerPojoFunctions(PojoFunctions pojoFunctions) {
+		Method payload = ReflectionUtils.findMethod(PojoFunctions.class, "payload", int.class);
+		Method payloads = ReflectionUtils.findMethod(PojoFunctions.class, "payloads", int.class, int.class);
+		Method getAll = ReflectionUtils.findMethod(PojoFunctions.class, "getAll", Map.class, Set.class);
+
+		GemfireFunctionUtils.registerFunctionForPojoMethod(pojoFunctions, payload,
+			pojoFunctionAttributes("payload", 0), true);
+
+		for (int batchSize : PojoFunctions.BATCH_SIZES) {
+			GemfireFunctionUtils.registerFunctionForPojoMethod(pojoFunctions, payloads,
+				pojoFunctionAttributes(PojoFunctions.payloadsFunctionId(batchSize), batchSize), true);
+		}
+
+		GemfireFunctionUtils.registerFunctionForPojoMethod(pojoFunctions, getAll,
+			pojoFunctionAttributes("getAll", 0), true);
+	}
+
+	private static AnnotationAttributes pojoFunctionAttributes(String id, int batchSize) {
+		AnnotationAttributes attributes = new AnnotationAttributes(GemfireFunction.class);
+
+		attributes.put("id", id);
+		attributes.put("batchSize", batchSize);
+		attributes.put("hasResult", true);
+
+		return attributes;
+	}
+
 	private static Cache registerShutdownHook(Cache gemfireCache) {
 		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
 			if (gemfireCache != null) {
@@ -151,4 +192,41 @@ public class FunctionCacheServerProcess {
 			functionContext.getResultSender().lastResult(null);
 		}
 	}
+
+	/**
+	 * {@link GemfireFunction} POJO methods, registered programmatically with the {@link #BATCH_SIZES batch sizes}
+	 * compared by the Function execution benchmark.
+	 */
+	public static class PojoFunctions {
+
+		public static final int[] BATCH_SIZES = { 0, 10, 100, 1000 };
+
+		public static String payloadsFunctionId(int batchSize) {
+			return "payloads-" + batchSize;
+		}
+
+		public byte[] payload(int size) {
+			return new byte[size];
+		}
+
+		public List<byte[]> payloads(int count, int size) {
+			List<byte[]> payloads = new ArrayList<>(count);
+
+			for (int index = 0; index < count; index++) {
+				payloads.add(new byte[size]);
+			}
+
+			return payloads;
+		}
+
+		public Map<Object, Object> getAll(@RegionData Map<Object, Object> region, @Filter Set<?> keys) {
+			Map<Object, Object> entries = new HashMap<>(keys.size());
+
+			for (Object key : keys) {
+				entries.put(key, region.get(key));
+			}
+
+			return entries;
+		}
+	}
 }
@@ -12,13 +12,19 @@
  */
 package org.springframework.data.gemfire.function;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import org.apache.geode.cache.execute.ResultSender;
 import org.junit.Test;
@@ -49,6 +55,77 @@ public class BatchingResultSenderTest {
 		testBatchingResultSender(new TestListResultSender(),1000);
 	}
 
+	@Test
+	public void finalArrayChunkIsSentAsLastResult() {
+		RecordingResultSender resultSender = new RecordingResultSender();
+
+		new BatchingResultSender(3, resultSender).sendArrayResults(new Integer[] { 1, 2, 3, 4, 5, 6, 7 });
+
+		assertEquals(3, resultSender.getChunks().size());
+		assertArrayEquals(new Integer[] { 7 }, (Integer[]) resultSender.getChunks().get(2));
+		assertEquals(2, resultSender.getLastResultIndex());
+	}
+
+	@Test
+	public void primitiveArraysAreChunkedByCountAndSize() {
+		RecordingResultSender resultSender = new RecordingResultSender();
+
+		new BatchingResultSender(0, 16L, resultSender).sendArrayResults(new long[] { 1L, 2L, 3L, 4L, 5L });
+
+		assertEquals(3, resultSender.getChunks().size());
+		assertArrayEquals(new long[] { 1L, 2L }, (long[]) resultSender.getChunks().get(0));
+		assertArrayEquals(new long[] { 3L, 4L }, (long[]) resultSender.getChunks().get(1));
+		assertArrayEquals(new long[] { 5L }, (long[]) resultSender.getChunks().get(2));
+		assertEquals(2, resultSender.getLastResultIndex());
+	}
+
+	@Test
+	public void collectionResultsAreChunkedBySize() {
+		RecordingResultSender resultSender = new RecordingResultSender();
+
+		new BatchingResultSender(100, 10L, resultSender).sendResults(
+			Arrays.asList("aaaa", "bbbb", "cccc", "dddddddddddd", "e"));
+
+		assertEquals(3, resultSender.getChunks().size());
+		assertEquals(Arrays.asList("aaaa", "bbbb", "cccc"), resultSender.getChunks().get(0));
+		assertEquals(Collections.singletonList("dddddddddddd"), resultSender.getChunks().get(1));
+		assertEquals(Collections.singletonList("e"), resultSender.getChunks().get(2));
+		assertEquals(2, resultSender.getLastResultIndex());
+	}
+
+	@Test
+	public void streamResultsAreConsumedLazily() {
+		AtomicInteger generated = new AtomicInteger();
+		AtomicBoolean closed = new AtomicBoolean();
+
+		RecordingResultSender resultSender = new RecordingResultSender() {
+			@Override
+			public void sendResult(Object chunk) {
+				assertTrue(generated.get() <= getChunks().size() * 2 + 3);
+				super.sendResult(chunk);
+			}
+		};
+
+		new BatchingResultSender(2, resultSender).sendResults(
+			Stream.generate(generated::incrementAndGet).limit(9).onClose(() -> closed.set(true)));
+
+		assertEquals(5, resultSender.getChunks().size());
+		assertEquals(Collections.singletonList(9), resultSender.getChunks().get(4));
+		assertEquals(4, resultSender.getLastResultIndex());
+		assertTrue(closed.get());
+	}
+
+	@Test
+	public void emptyResultsAreSentAsLastResult() {
+		RecordingResultSender resultSender = new RecordingResultSender();
+
+		new BatchingResultSender(10, resultSender).sendResults(Collections.emptyIterator());
+
+		assertEquals(1, resultSender.getChunks().size());
+		assertEquals(Collections.emptyList(), resultSender.getChunks().get(0));
+		assertEquals(0, resultSender.getLastResultIndex());
+	}
+
 	private void testBatchingResultSender(AbstractTestResultSender resultSender, int batchSize){
 		BatchingResultSender brs = new BatchingResultSender(batchSize, resultSender);
 
@@ -125,6 +202,38 @@ public class BatchingResultSenderTest {
 		}
 	}
 
+	public static class RecordingResultSender implements ResultSender<Object> {
+		private final List<Object> chunks = new ArrayList<Object>();
+
+		private int lastResultIndex = -1;
+
+		@Override
+		public void lastResult(Object chunk) {
+			assertEquals(-1, lastResultIndex);
+			lastResultIndex = chunks.size();
+			chunks.add(chunk);
+		}
+
+		@Override
+		public void sendException(Throwable cause) {
+			fail();
+		}
+
+		@Override
+		public void sendResult(Object chunk) {
+			assertEquals(-1, lastResultIndex);
+			chunks.add(chunk);
+		}
+
+		public List<Object> getChunks() {
+			return this.chunks;
+		}
+
+		public int getLastResultIndex() {
+			return this.lastResultIndex;
+		}
+	}
+
 	public static class TestListResultSender extends AbstractTestResultSender {
 		protected void addResults(Object arg0, List<Object> results) {
 			if (arg0 == null) {
@@ -285,6 +285,40 @@ public class FunctionArgumentResolverTest {
         assertSame(resultSender, args[1]);
     }
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testMethodWithFunctionContextBeforeRegion() throws NoSuchMethodException {
+		RegionFunctionContext functionContext = mock(RegionFunctionContext.class);
+		Region<Object, Object> region = mock(Region.class);
+
+		Method method = TestFunction.class.getDeclaredMethod("methodWithFunctionContextBeforeRegion",
+			FunctionContext.class, String.class, Map.class);
+
+		FunctionArgumentResolver far = new FunctionContextInjectingArgumentResolver(method);
+
+		when(functionContext.getArguments()).thenReturn(new Object[] { "hello" });
+		when(functionContext.getDataSet()).thenReturn(region);
+
+		Object[] args = far.resolveFunctionArguments(functionContext);
+
+		assertEquals(3, args.length);
+		assertSame(functionContext, args[0]);
+		assertEquals("hello", args[1]);
+		assertSame(region, args[2]);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMethodWithWrongNumberOfArguments() throws NoSuchMethodException {
+		RegionFunctionContext functionContext = mock(RegionFunctionContext.class);
+
+		Method method = TestFunction.class.getDeclaredMethod("methodWithNoSpecialArgs", String.class, int.class,
+			boolean.class);
+
+		when(functionContext.getArguments()).thenReturn(new Object[] { "hello" });
+
+		new FunctionContextInjectingArgumentResolver(method).resolveFunctionArguments(functionContext);
+	}
+
 	@SuppressWarnings("unused")
     static class TestFunction {
 
@@ -325,6 +359,9 @@ public class FunctionArgumentResolverTest {
         public void methodWithFunctionContextAndResultSender(FunctionContext fc1, ResultSender<?> rs) {
 
         }
+
+        public void methodWithFunctionContextBeforeRegion(FunctionContext fc, String s1, @RegionData Map<?, ?> data) {
+        }
     }
 
 }
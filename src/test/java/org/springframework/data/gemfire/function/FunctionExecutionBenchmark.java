@@ -0,0 +1,281 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.function;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.geode.cache.CacheClosedException;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.client.ClientCache;
+import org.apache.geode.cache.client.ClientCacheFactory;
+import org.apache.geode.cache.client.ClientRegionShortcut;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.gemfire.fork.FunctionCacheServerProcess;
+import org.springframework.data.gemfire.fork.FunctionCacheServerProcess.PojoFunctions;
+import org.springframework.data.gemfire.function.annotation.Filter;
+import org.springframework.data.gemfire.function.annotation.FunctionId;
+import org.springframework.data.gemfire.function.execution.GemfireFunctionProxyFactoryBean;
+import org.springframework.data.gemfire.function.execution.GemfireOnRegionFunctionTemplate;
+import org.springframework.data.gemfire.function.execution.GemfireOnServerFunctionTemplate;
+import org.springframework.data.gemfire.function.execution.OnRegionFunctionProxyFactoryBean;
+import org.springframework.data.gemfire.process.ProcessWrapper;
+import org.springframework.data.gemfire.test.support.ClientServerIntegrationTestsSupport;
+
+/**
+ * JMH benchmark measuring the throughput and latency of client/server Function executions of
+ * {@link org.springframework.data.gemfire.function.annotation.GemfireFunction} POJO methods, for varying payload
+ * sizes and {@literal batchSize} settings.
+ *
+ * Each trial forks a {@link FunctionCacheServerProcess}, which registers the {@link PojoFunctions}, once for each
+ * of the {@link PojoFunctions#BATCH_SIZES batch sizes}, and connects a client to it. The following are measured:
+ *
+ * <ul>
+ *     <li>{@literal pojoFunction} - a POJO Function returning a single payload, executed with
+ *     {@link GemfireOnServerFunctionTemplate}.</li>
+ *     <li>{@literal pojoFunctionAsync(Simple|Pooled)Executor} - the same Function executed asynchronously
+ *     by concurrent callers, comparing the template's default and a pooled {@link java.util.concurrent.Executor}.</li>
+ *     <li>{@literal batchedResults} - a POJO Function returning {@value #RESULT_COUNT} payloads, chunked
+ *     by the {@link BatchingResultSender} according to the {@literal batchSize}.</li>
+ *     <li>{@literal onRegionWithFilter} - a POJO Function returning the entries of a filter of {@value #FILTER_SIZE}
+ *     random keys, executed with {@link GemfireOnRegionFunctionTemplate}.</li>
+ *     <li>{@literal proxy} and {@literal onRegionProxy} - the same Functions invoked through Function execution
+ *     interface proxies.</li>
+ * </ul>
+ *
+ * Run with {@literal mvn -P benchmarks verify -DskipTests -Dbenchmark.includes=FunctionExecutionBenchmark}
+ * or by running {@link #main(String[])}.
+ *
+ * @see org.springframework.data.gemfire.fork.FunctionCacheServerProcess
+ * @see org.springframework.data.gemfire.function.BatchingResultSender
+ * @see org.springframework.data.gemfire.function.PojoFunctionWrapper
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FunctionExecutionBenchmark extends ClientServerIntegrationTestsSupport {
+
+	private static final int ENTRY_COUNT = 1000;
+	private static final int FILTER_SIZE = 100;
+	private static final int POOL_SIZE = 8;
+	private static final int RESULT_COUNT = 1000;
+
+	private static final String REGION_NAME = "test-function";
+
+	@Param({ "64", "8192" })
+	private int payloadSize;
+
+	private ClientCache clientCache;
+
+	private ExecutorService executorService;
+
+	private GemfireOnRegionFunctionTemplate onRegionTemplate;
+
+	private GemfireOnServerFunctionTemplate onServerTemplate;
+	private GemfireOnServerFunctionTemplate pooledOnServerTemplate;
+
+	private OnRegionBenchmarkFunctions onRegionProxy;
+
+	private OnServerBenchmarkFunctions onServerProxy;
+
+	private ProcessWrapper server;
+
+	public static void main(String[] args) throws Exception {
+		new Runner(new OptionsBuilder()
+			.include(FunctionExecutionBenchmark.class.getSimpleName())
+			.build()).run();
+	}
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+
+		int cacheServerPort = findAvailablePort();
+
+		this.server = run(FunctionCacheServerProcess.class,
+			String.format("-D%s=%d", GEMFIRE_CACHE_SERVER_PORT_PROPERTY, cacheServerPort));
+
+		waitForServerToStart(DEFAULT_HOSTNAME, cacheServerPort);
+
+		this.clientCache = new ClientCacheFactory()
+			.set("name", getClass().getSimpleName())
+			.set("log-level", "error")
+			.addPoolServer(DEFAULT_HOSTNAME, cacheServerPort)
+			.create();
+
+		Region<Object, Object> region = this.clientCache.createClientRegionFactory(ClientRegionShortcut.PROXY)
+			.create(REGION_NAME);
+
+		Map<Object, Object> entries = new HashMap<>();
+
+		for (int key = 0; key < ENTRY_COUNT; key++) {
+			entries.put(key, new byte[this.payloadSize]);
+		}
+
+		region.putAll(entries);
+
+		this.executorService = Executors.newFixedThreadPool(POOL_SIZE);
+
+		this.onServerTemplate = new GemfireOnServerFunctionTemplate(this.clientCache);
+		this.onServerTemplate.setExecutor(new SimpleAsyncTaskExecutor("FunctionExecutionBenchmark-"));
+
+		this.pooledOnServerTemplate = new GemfireOnServerFunctionTemplate(this.clientCache);
+		this.pooledOnServerTemplate.setExecutor(this.executorService);
+
+		this.onRegionTemplate = new GemfireOnRegionFunctionTemplate(region);
+
+		this.onServerProxy = (OnServerBenchmarkFunctions) new GemfireFunctionProxyFactoryBean(
+			OnServerBenchmarkFunctions.class, this.onServerTemplate).getObject();
+
+		this.onRegionProxy = (OnRegionBenchmarkFunctions) new OnRegionFunctionProxyFactoryBean(
+			OnRegionBenchmarkFunctions.class, this.onRegionTemplate).getObject();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+
+		try {
+			if (this.executorService != null) {
+				this.executorService.shutdownNow();
+			}
+
+			if (this.clientCache != null) {
+				this.clientCache.close();
+			}
+		}
+		catch (CacheClosedException ignore) {
+		}
+		finally {
+			stop(this.server);
+		}
+	}
+
+	/* (non-Javadoc) */
+	private Set<Integer> randomFilter() {
+
+		Set<Integer> filter = new LinkedHashSet<>(FILTER_SIZE * 2);
+
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+
+		while (filter.size() < FILTER_SIZE) {
+			filter.add(random.nextInt(ENTRY_COUNT));
+		}
+
+		return filter;
+	}
+
+	@Benchmark
+	public byte[] pojoFunction() {
+		return this.onServerTemplate.executeAndExtract("payload", this.payloadSize);
+	}
+
+	@Benchmark
+	@Threads(POOL_SIZE)
+	public byte[] pojoFunctionAsyncSimpleExecutor() {
+		return this.onServerTemplate.<byte[]>executeAndExtractAsync("payload", this.payloadSize).join();
+	}
+
+	@Benchmark
+	@Threads(POOL_SIZE)
+	public byte[] pojoFunctionAsyncPooledExecutor() {
+		return this.pooledOnServerTemplate.<byte[]>executeAndExtractAsync("payload", this.payloadSize).join();
+	}
+
+	@Benchmark
+	public void batchedResults(Batching batching, Blackhole blackhole) {
+
+		Iterable<Object> chunks = this.onServerTemplate.execute(batching.payloadsFunctionId, RESULT_COUNT,
+			this.payloadSize);
+
+		chunks.forEach(blackhole::consume);
+	}
+
+	@Benchmark
+	public void onRegionWithFilter(Blackhole blackhole) {
+
+		Iterable<Object> results = this.onRegionTemplate.execute("getAll", randomFilter());
+
+		results.forEach(blackhole::consume);
+	}
+
+	@Benchmark
+	public byte[] proxy() {
+		return this.onServerProxy.payload(this.payloadSize);
+	}
+
+	@Benchmark
+	public void onRegionProxy(Blackhole blackhole) {
+		this.onRegionProxy.getAll(randomFilter()).forEach(blackhole::consume);
+	}
+
+	/**
+	 * Varies the {@literal batchSize} of the {@literal batchedResults} benchmark only.
+	 */
+	@State(Scope.Benchmark)
+	public static class Batching {
+
+		@Param({ "0", "10", "100", "1000" })
+		private int batchSize;
+
+		private String payloadsFunctionId;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.payloadsFunctionId = PojoFunctions.payloadsFunctionId(this.batchSize);
+		}
+	}
+
+	public interface OnServerBenchmarkFunctions {
+
+		@FunctionId("payload")
+		byte[] payload(int size);
+
+	}
+
+	public interface OnRegionBenchmarkFunctions {
+
+		@FunctionId("getAll")
+		Iterable<Map<Object, Object>> getAll(@Filter Set<Integer> keys);
+
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link MicrometerFunctionExecutionMetrics}.
+ *
+ * @see org.springframework.data.gemfire.function.MicrometerFunctionExecutionMetrics
+ */
+public class MicrometerFunctionExecutionMetricsUnitTests {
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final MicrometerFunctionExecutionMetrics metrics = new MicrometerFunctionExecutionMetrics(this.meterRegistry);
+
+	@Test
+	public void recordsExecutionsTimeoutsAndRetriesPerFunction() {
+
+		this.metrics.onExecution("A", TimeUnit.MILLISECONDS.toNanos(20), true);
+		this.metrics.onExecution("A", TimeUnit.MILLISECONDS.toNanos(40), true);
+		this.metrics.onExecution("A", TimeUnit.MILLISECONDS.toNanos(60), false);
+		this.metrics.onExecution("B", TimeUnit.MILLISECONDS.toNanos(10), true);
+		this.metrics.onTimeout("A");
+		this.metrics.onRetry("A");
+		this.metrics.onRetry("A");
+
+		assertThat(this.meterRegistry.get("gemfire.function.executions").tag("function", "A")
+			.tag("outcome", "success").timer().count()).isEqualTo(2L);
+
+		assertThat(this.meterRegistry.get("gemfire.function.executions").tag("function", "A")
+			.tag("outcome", "success").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(60.0d);
+
+		assertThat(this.meterRegistry.get("gemfire.function.executions").tag("function", "A")
+			.tag("outcome", "failure").timer().count()).isEqualTo(1L);
+
+		assertThat(this.meterRegistry.get("gemfire.function.executions").tag("function", "B")
+			.tag("outcome", "success").timer().count()).isEqualTo(1L);
+
+		assertThat(this.meterRegistry.get("gemfire.function.timeouts").tag("function", "A").counter().count())
+			.isEqualTo(1.0d);
+
+		assertThat(this.meterRegistry.get("gemfire.function.retries").tag("function", "A").counter().count())
+			.isEqualTo(2.0d);
+	}
+
+	@Test
+	public void recordsInvocationsAndResultsSentPerFunction() {
+
+		this.metrics.onInvocation("A", TimeUnit.MILLISECONDS.toNanos(5), true);
+		this.metrics.onResultsSent("A", 3, 1024L);
+		this.metrics.onResultsSent("A", 1, 512L);
+
+		assertThat(this.meterRegistry.get("gemfire.function.invocations").tag("function", "A")
+			.tag("outcome", "success").timer().count()).isEqualTo(1L);
+
+		assertThat(this.meterRegistry.get("gemfire.function.results.chunks").tag("function", "A").counter().count())
+			.isEqualTo(4.0d);
+
+		assertThat(this.meterRegistry.get("gemfire.function.results.size").tag("function", "A").summary()
+			.totalAmount()).isEqualTo(1536.0d);
+
+		assertThat(this.meterRegistry.find("gemfire.function.executions").timers()).isEmpty();
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.geode.cache.execute.FunctionContext;
+import org.apache.geode.cache.execute.ResultSender;
+import org.junit.Test;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Unit tests for {@link PojoFunctionWrapper}.
+ *
+ * @see org.springframework.data.gemfire.function.PojoFunctionWrapper
+ */
+public class PojoFunctionWrapperUnitTests {
+
+	@SuppressWarnings("unchecked")
+	private FunctionContext mockFunctionContext(Object arguments, ResultSender<Object> resultSender) {
+
+		FunctionContext mockFunctionContext = mock(FunctionContext.class);
+
+		when(mockFunctionContext.getArguments()).thenReturn(arguments);
+		when(mockFunctionContext.getResultSender()).thenReturn(resultSender);
+
+		return mockFunctionContext;
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void executeInvokesMethodWithPrimitiveAndInjectedArgumentsAndSendsResult() {
+
+		ResultSender<Object> mockResultSender = mock(ResultSender.class);
+
+		PojoFunctionWrapper function = new PojoFunctionWrapper(new TestFunctions(),
+			ReflectionUtils.findMethod(TestFunctions.class, "repeat", String.class, int.class, FunctionContext.class),
+				null);
+
+		function.execute(mockFunctionContext(new Object[] { "ab", 3 }, mockResultSender));
+
+		verify(mockResultSender).lastResult("ababab");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void executePropagatesExceptionsThrownByMethod() {
+
+		PojoFunctionWrapper function = new PojoFunctionWrapper(new TestFunctions(),
+			ReflectionUtils.findMethod(TestFunctions.class, "fail", boolean.class), "fail");
+
+		assertThatThrownBy(() -> function.execute(mockFunctionContext(true, mock(ResultSender.class))))
+			.isInstanceOf(IllegalStateException.class).hasMessage("TEST");
+
+		assertThatThrownBy(() -> function.execute(mockFunctionContext(false, mock(ResultSender.class))))
+			.isInstanceOf(UndeclaredThrowableException.class).hasCauseInstanceOf(IOException.class);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void executeRecordsInvocationAndResultChunksWithMetrics() {
+
+		FunctionExecutionMetrics mockMetrics = mock(FunctionExecutionMetrics.class);
+
+		PojoFunctionWrapper function = new PojoFunctionWrapper(new TestFunctions(),
+			ReflectionUtils.findMethod(TestFunctions.class, "letters"), "letters");
+
+		function.setBatchSize(2);
+		function.setMetrics(mockMetrics);
+		function.execute(mockFunctionContext(null, mock(ResultSender.class)));
+
+		verify(mockMetrics).onResultsSent("letters", 3, 5L);
+		verify(mockMetrics).onInvocation(eq("letters"), anyLong(), eq(true));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void executeRecordsFailedInvocationWithMetrics() {
+
+		FunctionExecutionMetrics mockMetrics = mock(FunctionExecutionMetrics.class);
+
+		PojoFunctionWrapper function = new PojoFunctionWrapper(new TestFunctions(),
+			ReflectionUtils.findMethod(TestFunctions.class, "fail", boolean.class), "fail");
+
+		function.setMetrics(mockMetrics);
+
+		assertThatThrownBy(() -> function.execute(mockFunctionContext(true, mock(ResultSender.class))))
+			.isInstanceOf(IllegalStateException.class);
+
+		verify(mockMetrics).onInvocation(eq("fail"), anyLong(), eq(false));
+	}
+
+	@SuppressWarnings("unused")
+	static class TestFunctions {
+
+		List<String> letters() {
+			return Arrays.asList("a", "b", "c", "d", "e");
+		}
+
+		String repeat(String value, int count, FunctionContext functionContext) {
+
+			StringBuilder buffer = new StringBuilder();
+
+			for (int index = 0; index < count; index++) {
+				buffer.append(value);
+			}
+
+			return buffer.toString();
+		}
+
+		void fail(boolean unchecked) throws IOException {
+
+			if (unchecked) {
+				throw new IllegalStateException("TEST");
+			}
+
+			throw new IOException("TEST");
+		}
+	}
+}
@@ -35,11 +35,17 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 import org.apache.geode.cache.execute.Execution;
 import org.apache.geode.cache.execute.Function;
 import org.apache.geode.cache.execute.FunctionException;
+import org.apache.geode.cache.execute.FunctionService;
 import org.apache.geode.cache.execute.ResultCollector;
 import org.junit.Rule;
 import org.junit.Test;
@@ -107,6 +113,154 @@ public class AbstractFunctionExecutionTest {
 		verify(mockResultCollector, never()).getResult();
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void executeAsyncCompletesWithResultsWhenResultsEnd() throws Exception {
+		AtomicReference<ResultCollector> resultCollector = new AtomicReference<>();
+
+		when(mockExecution.withArgs(any())).thenReturn(mockExecution);
+		when(mockExecution.withCollector(any(ResultCollector.class))).thenAnswer(invocation -> {
+			resultCollector.set(invocation.getArgument(0));
+			return mockExecution;
+		});
+		when(mockExecution.execute(eq("TestFunction"))).thenAnswer(invocation -> {
+			resultCollector.get().addResult(null, "one");
+			resultCollector.get().addResult(null, "two");
+			resultCollector.get().endResults();
+			return resultCollector.get();
+		});
+
+		AbstractFunctionExecution functionExecution = new AbstractFunctionExecution() {
+			@Override protected Execution getExecution() {
+				return mockExecution;
+			}
+		};
+
+		CompletableFuture<Iterable<Object>> results = functionExecution.setFunctionId("TestFunction")
+			.setArgs("test").setTimeout(5000).executeAsync(Runnable::run);
+
+		assertThat(results.get(5, TimeUnit.SECONDS),
+			is(equalTo((Iterable<Object>) Arrays.<Object>asList("one", "two"))));
+	}
+
+	@Test
+	public void executeAsyncTimesOutWhenResultsDoNotEnd() throws Exception {
+		when(mockExecution.withArgs(any())).thenReturn(mockExecution);
+		when(mockExecution.withCollector(any(ResultCollector.class))).thenReturn(mockExecution);
+
+		AbstractFunctionExecution functionExecution = new AbstractFunctionExecution() {
+			@Override protected Execution getExecution() {
+				return mockExecution;
+			}
+		};
+
+		CompletableFuture<Object> result = functionExecution.setFunctionId("TestFunction")
+			.setTimeout(50).executeAndExtractAsync(Runnable::run);
+
+		expectedException.expect(ExecutionException.class);
+		expectedException.expectCause(isA(TimeoutException.class));
+
+		result.get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void executeAsyncCompletesExceptionallyWhenExecutionFails() throws Exception {
+		when(mockExecution.withArgs(any())).thenReturn(mockExecution);
+		when(mockExecution.withCollector(any(ResultCollector.class))).thenReturn(mockExecution);
+		when(mockExecution.execute(eq("TestFunction"))).thenThrow(new FunctionException("test"));
+
+		AbstractFunctionExecution functionExecution = new AbstractFunctionExecution() {
+			@Override protected Execution getExecution() {
+				return mockExecution;
+			}
+		};
+
+		CompletableFuture<Iterable<Object>> results = functionExecution.setFunctionId("TestFunction")
+			.executeAsync(Runnable::run);
+
+		expectedException.expect(ExecutionException.class);
+		expectedException.expectCause(isA(FunctionException.class));
+
+		results.get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void executeAsyncCompletesWhenRegisteredFunctionHasNoResult() throws Exception {
+		ResultCollector<?, ?> mockNoResultCollector = mock(ResultCollector.class, "MockNoResultCollector");
+
+		when(mockExecution.withArgs(any())).thenReturn(mockExecution);
+		when(mockExecution.withCollector(any(ResultCollector.class))).thenReturn(mockExecution);
+		when(mockExecution.execute(eq("NoResultFunction"))).thenAnswer(invocation -> mockNoResultCollector);
+
+		AbstractFunctionExecution functionExecution = new AbstractFunctionExecution() {
+			@Override protected Execution getExecution() {
+				return mockExecution;
+			}
+		};
+
+		CompletableFuture<Iterable<Object>> results = functionExecution.setFunctionId("NoResultFunction")
+			.executeAsync(Runnable::run);
+
+		assertThat(results.get(5, TimeUnit.SECONDS), is(nullValue()));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void executeAsyncCompletesWhenLocallyRegisteredFunctionHasNoResult() throws Exception {
+		AtomicReference<ResultCollector> resultCollector = new AtomicReference<>();
+
+		Function mockFunction = mock(Function.class, "MockFunction");
+
+		when(mockFunction.getId()).thenReturn("LocalNoResultFunction");
+		when(mockFunction.hasResult()).thenReturn(false);
+		when(mockExecution.withArgs(any())).thenReturn(mockExecution);
+		when(mockExecution.withCollector(any(ResultCollector.class))).thenAnswer(invocation -> {
+			resultCollector.set(invocation.getArgument(0));
+			return mockExecution;
+		});
+		// the results of the given ResultCollector never end
+		when(mockExecution.execute(eq("LocalNoResultFunction"))).thenAnswer(invocation -> resultCollector.get());
+
+		FunctionService.registerFunction(mockFunction);
+
+		try {
+			AbstractFunctionExecution functionExecution = new AbstractFunctionExecution() {
+				@Override protected Execution getExecution() {
+					return mockExecution;
+				}
+			};
+
+			CompletableFuture<Iterable<Object>> results = functionExecution.setFunctionId("LocalNoResultFunction")
+				.executeAsync(Runnable::run);
+
+			assertThat(results.get(5, TimeUnit.SECONDS), is(nullValue()));
+		}
+		finally {
+			FunctionService.unregisterFunction("LocalNoResultFunction");
+		}
+	}
+
+	@Test
+	public void executeAsStreamEndsWhenRegisteredFunctionHasNoResult() throws Exception {
+		ResultCollector<?, ?> mockNoResultCollector = mock(ResultCollector.class, "MockNoResultCollector");
+
+		when(mockExecution.withArgs(any())).thenReturn(mockExecution);
+		when(mockExecution.withCollector(any(ResultCollector.class))).thenReturn(mockExecution);
+		when(mockExecution.execute(eq("NoResultFunction"))).thenAnswer(invocation -> mockNoResultCollector);
+
+		AbstractFunctionExecution functionExecution = new AbstractFunctionExecution() {
+			@Override protected Execution getExecution() {
+				return mockExecution;
+			}
+		};
+
+		Stream<Object> results = functionExecution.setFunctionId("NoResultFunction")
+			.executeAsStream(Runnable::run, 16);
+
+		assertThat(CompletableFuture.supplyAsync(() -> results.iterator().hasNext()).get(5, TimeUnit.SECONDS),
+			is(false));
+	}
+
 	@Test
 	public void executeAndExtractWithSingleResult() {
 		final List<String> results = Collections.singletonList("test");
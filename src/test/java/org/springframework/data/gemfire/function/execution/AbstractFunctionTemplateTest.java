@@ -17,8 +17,10 @@
 package org.springframework.data.gemfire.function.execution;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.times;
@@ -27,6 +29,10 @@ import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.apache.geode.cache.execute.Function;
 import org.apache.geode.cache.execute.ResultCollector;
@@ -220,4 +226,46 @@ public class AbstractFunctionTemplateTest {
 		verify(mockFunctionExecution, times(1)).execute(eq(false));
 	}
 
+	@Test
+	public void defaultExecutorIsBoundedAndShutDownOnDestroy() {
+		AbstractFunctionTemplate functionTemplate = new AbstractFunctionTemplate() {
+			@Override protected AbstractFunctionExecution getFunctionExecution() {
+				return mockFunctionExecution;
+			}
+		};
+
+		Executor executor = functionTemplate.getExecutor();
+
+		assertThat(executor, is(instanceOf(ThreadPoolExecutor.class)));
+		assertThat(((ThreadPoolExecutor) executor).getMaximumPoolSize(),
+			is(equalTo(AbstractFunctionTemplate.DEFAULT_EXECUTOR_POOL_SIZE)));
+		assertThat(functionTemplate.getExecutor(), is(sameInstance(executor)));
+
+		functionTemplate.destroy();
+
+		assertThat(((ThreadPoolExecutor) executor).isShutdown(), is(true));
+	}
+
+	@Test
+	public void destroyDoesNotShutDownConfiguredExecutor() {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+
+		try {
+			AbstractFunctionTemplate functionTemplate = new AbstractFunctionTemplate() {
+				@Override protected AbstractFunctionExecution getFunctionExecution() {
+					return mockFunctionExecution;
+				}
+			};
+
+			functionTemplate.setExecutor(executor);
+			functionTemplate.destroy();
+
+			assertThat(functionTemplate.getExecutor(), is(sameInstance(executor)));
+			assertThat(executor.isShutdown(), is(false));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
 }
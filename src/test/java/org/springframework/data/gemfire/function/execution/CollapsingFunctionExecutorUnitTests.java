@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.geode.cache.execute.FunctionException;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link CollapsingFunctionExecutor}.
+ *
+ * @see org.springframework.data.gemfire.function.execution.CollapsingFunctionExecutor
+ */
+public class CollapsingFunctionExecutorUnitTests {
+
+	private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+	private final List<Set<?>> executedFilters = new CopyOnWriteArrayList<>();
+
+	@After
+	public void tearDown() {
+		this.executorService.shutdownNow();
+	}
+
+	/* (non-Javadoc) */
+	private Iterable<?> lookup(Set<?> keys, Object[] args) {
+
+		this.executedFilters.add(keys);
+
+		Map<Object, Object> results = new HashMap<>();
+
+		keys.forEach(key -> results.put(key, String.valueOf(key).toUpperCase()));
+
+		return Collections.singletonList(results);
+	}
+
+	@Test
+	public void concurrentExecutionsAreCollapsedAndResultsSplitPerCaller() throws Exception {
+
+		CollapsingFunctionExecutor executor = new CollapsingFunctionExecutor("lookup", 10000L, 4, this::lookup);
+
+		List<Future<Iterable<Object>>> futures = new ArrayList<>();
+
+		for (String key : new String[] { "a", "b", "c", "d" }) {
+			futures.add(this.executorService.submit(() ->
+				executor.execute(Collections.singleton(key), new Object[] { "arg" })));
+		}
+
+		assertThat(futures.get(0).get(5, TimeUnit.SECONDS))
+			.containsExactly(Collections.singletonMap("a", "A"));
+		assertThat(futures.get(3).get(5, TimeUnit.SECONDS))
+			.containsExactly(Collections.singletonMap("d", "D"));
+
+		assertThat(this.executedFilters).hasSize(1);
+		assertThat(this.executedFilters.get(0)).containsExactlyInAnyOrder("a", "b", "c", "d");
+	}
+
+	@Test
+	public void executionsHavingDifferentArgumentsAreNotCollapsed() {
+
+		CollapsingFunctionExecutor executor = new CollapsingFunctionExecutor("lookup", 0L, 10, this::lookup);
+
+		assertThat(executor.execute(Collections.singleton("a"), new Object[] { 1 }))
+			.containsExactly(Collections.singletonMap("a", "A"));
+		assertThat(executor.execute(Collections.singleton("b"), new Object[] { 2 }))
+			.containsExactly(Collections.singletonMap("b", "B"));
+
+		assertThat(this.executedFilters).hasSize(2);
+	}
+
+	@Test
+	public void nonMapResultsFailAllCallers() {
+
+		CollapsingFunctionExecutor executor = new CollapsingFunctionExecutor("lookup", 0L, 10,
+			(keys, args) -> Collections.singletonList("A"));
+
+		assertThatThrownBy(() -> executor.execute(Collections.singleton("a"), new Object[0]))
+			.isInstanceOf(FunctionException.class).hasMessageContaining("must return Maps keyed by filter key");
+	}
+}
@@ -19,20 +19,29 @@ package org.springframework.data.gemfire.function.execution;
 
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.aopalliance.intercept.MethodInvocation;
+import org.apache.geode.cache.execute.FunctionException;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.data.gemfire.function.FunctionExecutionMetrics;
 import org.springframework.data.gemfire.function.annotation.FunctionId;
  
 /**
@@ -79,15 +88,167 @@ public class GemfireFunctionProxyFactoryBeanTests {
 	 
 		List results = Arrays.asList(new Integer[]{1,2,3});
 		
-		when(functionOperations.executeAndExtract("collections",invocation.getArguments())).thenReturn(results);
+		when(functionOperations.execute("collections",invocation.getArguments()))
+			.thenReturn(Collections.singletonList(results));
 		Object result = proxy.invoke(invocation);
-		verify(functionOperations).executeAndExtract("collections",invocation.getArguments()); ; 
+		verify(functionOperations).execute("collections",invocation.getArguments()); ; 
 		assertTrue(result instanceof List);
-		assertEquals(3,((List<?>)result).size());		
+		assertEquals(results, result);
+	}
+
+	@Test
+	public void invokeCollectsAllResultsIntoReturnedCollectionType() throws Throwable {
+
+		GemfireFunctionProxyFactoryBean proxy = new GemfireFunctionProxyFactoryBean(IFoo.class, functionOperations);
+
+		MethodInvocation invocation = new TestInvocation(IFoo.class).withMethodNameAndArgTypes("names")
+			.withArguments();
+
+		when(functionOperations.execute("names")).thenReturn(Arrays.asList("one", Arrays.asList("two", "one")));
+
+		Object result = proxy.invoke(invocation);
+
+		assertTrue(result instanceof Set);
+		assertEquals(new HashSet<>(Arrays.asList("one", "two")), result);
+	}
+
+	@Test
+	public void invokeDoesNotFlattenResultsOfCollectionElementType() throws Throwable {
+
+		GemfireFunctionProxyFactoryBean proxy = new GemfireFunctionProxyFactoryBean(IFoo.class, functionOperations);
+
+		MethodInvocation invocation = new TestInvocation(IFoo.class).withMethodNameAndArgTypes("batches")
+			.withArguments();
+
+		List<Integer> batch = Arrays.asList(1, 2);
+
+		when(functionOperations.execute("batches")).thenReturn(Arrays.asList(batch, batch));
+
+		assertEquals(Arrays.asList(batch, batch), proxy.invoke(invocation));
+	}
+
+	@Test(expected = FunctionException.class)
+	public void invokeThrowsFunctionExceptionForExceptionResult() throws Throwable {
+
+		GemfireFunctionProxyFactoryBean proxy = new GemfireFunctionProxyFactoryBean(IFoo.class, functionOperations);
+
+		MethodInvocation invocation = new TestInvocation(IFoo.class).withMethodNameAndArgTypes("names")
+			.withArguments();
+
+		when(functionOperations.execute("names")).thenReturn(Arrays.asList("one", new IllegalStateException("test")));
+
+		proxy.invoke(invocation);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void invokeCollectsAllResultsOfAsynchronousExecution() throws Throwable {
+
+		GemfireFunctionProxyFactoryBean proxy = new GemfireFunctionProxyFactoryBean(IFoo.class, functionOperations);
+
+		MethodInvocation invocation = new TestInvocation(IFoo.class)
+			.withMethodNameAndArgTypes("asyncCollections", String.class).withArguments("key");
+
+		when(functionOperations.executeAsync("asyncCollections", "key"))
+			.thenReturn(CompletableFuture.completedFuture(Arrays.asList(1, 2, 3)));
+
+		Object result = proxy.invoke(invocation);
+
+		assertTrue(result instanceof CompletableFuture);
+		assertEquals(Arrays.asList(1, 2, 3), ((CompletableFuture<Object>) result).get());
+	}
+
+	@Test
+	public void invokeExecutesFunctionWithTimeoutOfMethod() throws Throwable {
+
+		AbstractFunctionExecution functionExecution = mock(AbstractFunctionExecution.class, invocation ->
+			(AbstractFunctionExecution.class.equals(invocation.getMethod().getReturnType()) ? invocation.getMock()
+				: null));
+
+		when(functionExecution.executeAndExtract()).thenReturn(1);
+
+		AbstractFunctionTemplate functionTemplate = new AbstractFunctionTemplate() {
+			@Override protected AbstractFunctionExecution getFunctionExecution() {
+				return functionExecution;
+			}
+		};
+
+		functionTemplate.setTimeout(100);
+
+		GemfireFunctionProxyFactoryBean proxy = new GemfireFunctionProxyFactoryBean(IFoo.class, functionTemplate);
+
+		MethodInvocation invocation = new TestInvocation(IFoo.class).withMethodNameAndArgTypes("timed", String.class)
+			.withArguments("key");
+
+		assertEquals(1, proxy.invoke(invocation));
+		verify(functionExecution).setTimeout(500L);
+		verify(functionExecution, never()).setTimeout(100L);
+		assertEquals(100L, functionTemplate.timeout);
+
+		FunctionExecutionMetrics metrics = mock(FunctionExecutionMetrics.class);
+
+		functionTemplate.setMetrics(metrics);
+
+		assertEquals(1, proxy.invoke(invocation));
+		verify(functionExecution, times(2)).setTimeout(500L);
+		verify(functionExecution).setMetrics(metrics);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void cancellingAsynchronousResultCancelsExecution() throws Throwable {
+
+		GemfireFunctionProxyFactoryBean proxy = new GemfireFunctionProxyFactoryBean(IFoo.class, functionOperations);
+
+		MethodInvocation invocation = new TestInvocation(IFoo.class)
+			.withMethodNameAndArgTypes("asyncCollections", String.class).withArguments("key");
+
+		CompletableFuture<Iterable<Object>> execution = new CompletableFuture<>();
+
+		when(functionOperations.<Object>executeAsync("asyncCollections", "key")).thenReturn(execution);
+
+		CompletableFuture<Object> result = (CompletableFuture<Object>) proxy.invoke(invocation);
+
+		assertTrue(result.cancel(true));
+		assertTrue(execution.isCancelled());
 	}
 	
 	
 	
+	@Test
+	public void invokeExecutesFunctionAsynchronouslyForCompletableFutureReturnType() throws Throwable {
+
+		GemfireFunctionProxyFactoryBean proxy = new GemfireFunctionProxyFactoryBean(IFoo.class, functionOperations);
+
+		MethodInvocation invocation = new TestInvocation(IFoo.class).withMethodNameAndArgTypes("async", String.class)
+			.withArguments("key");
+
+		CompletableFuture<Object> results = CompletableFuture.completedFuture(1);
+
+		when(functionOperations.executeAndExtractAsync("async", invocation.getArguments())).thenReturn(results);
+
+		Object result = proxy.invoke(invocation);
+
+		verify(functionOperations).executeAndExtractAsync("async", invocation.getArguments());
+		assertTrue(result == results);
+	}
+
+	@Test
+	public void invocationPlanIsCreatedOncePerMethod() throws Throwable {
+
+		GemfireFunctionProxyFactoryBean proxy = new GemfireFunctionProxyFactoryBean(IFoo.class, functionOperations);
+
+		MethodInvocation invocation = new TestInvocation(IFoo.class).withMethodNameAndArgTypes("oneArg", String.class)
+			.withArguments("key");
+
+		when(functionOperations.executeAndExtract("oneArg", "key")).thenReturn(1);
+
+		assertEquals(1, proxy.invoke(invocation));
+		assertEquals(1, proxy.invoke(invocation));
+		assertSame(proxy.getInvocationPlan(invocation.getMethod()), proxy.getInvocationPlan(invocation.getMethod()));
+		verify(functionOperations, times(2)).executeAndExtract("oneArg", "key");
+	}
+
 	static class TestInvocation implements MethodInvocation {
 		
 		private Class<?>[] argTypes;
@@ -179,6 +340,17 @@ public class GemfireFunctionProxyFactoryBeanTests {
 
 		public abstract Map<String, Integer> getMapWithNoArgs();
 
+		public abstract CompletableFuture<Integer> async(String key);
+
+		public abstract Set<String> names();
+
+		public abstract List<List<Integer>> batches();
+
+		public abstract CompletableFuture<List<Integer>> asyncCollections(String key);
+
+		@FunctionId(value = "timed", timeout = 500)
+		public abstract Integer timed(String key);
+
 	}
 	
 	
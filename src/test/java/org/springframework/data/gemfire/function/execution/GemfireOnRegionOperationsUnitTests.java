@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import org.apache.geode.cache.execute.FunctionException;
+import org.junit.Test;
+import org.springframework.data.gemfire.function.mapreduce.MapReduceCollectors;
+
+/**
+ * Unit tests for the default methods of {@link GemfireOnRegionOperations}.
+ *
+ * @see org.springframework.data.gemfire.function.execution.GemfireOnRegionOperations
+ */
+public class GemfireOnRegionOperationsUnitTests {
+
+	private final GemfireOnRegionOperations operations = mock(GemfireOnRegionOperations.class, CALLS_REAL_METHODS);
+
+	@Test
+	public void mapReduceCombinesPartialAggregatesOfEachMember() {
+
+		Set<String> keys = Collections.singleton("key");
+
+		doReturn(Arrays.asList(new long[] { 3L }, null, new long[] { 2L }))
+			.when(this.operations).execute("count", keys, "arg");
+
+		Long count = this.operations.mapReduce("count", MapReduceCollectors.counting(), keys, "arg");
+
+		assertThat(count).isEqualTo(5L);
+
+		verify(this.operations).execute("count", keys, "arg");
+	}
+
+	@Test
+	public void mapReduceWithNoResultsReturnsEmptyReduction() {
+
+		Set<String> keys = Collections.emptySet();
+
+		doReturn(null).when(this.operations).execute("count", keys);
+
+		assertThat(this.operations.mapReduce("count", MapReduceCollectors.counting(), keys)).isEqualTo(0L);
+	}
+
+	@Test
+	public void mapReduceFailsOnExceptionalPartialAggregate() {
+
+		IllegalStateException cause = new IllegalStateException("TEST");
+		Set<String> keys = Collections.emptySet();
+
+		doReturn(Collections.singletonList(cause)).when(this.operations).execute("count", keys);
+
+		assertThatThrownBy(() -> this.operations.mapReduce("count", MapReduceCollectors.counting(), keys))
+			.isInstanceOf(FunctionException.class)
+			.hasMessage("Execution of Function with ID 'count' failed")
+			.hasCause(cause);
+	}
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.execute.FunctionException;
+import org.apache.geode.cache.execute.FunctionInvocationTargetException;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link KeyPartitionedFunctionExecutor}.
+ *
+ * @see org.springframework.data.gemfire.function.execution.KeyPartitionedFunctionExecutor
+ */
+public class KeyPartitionedFunctionExecutorUnitTests {
+
+	private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+	private final Region<?, ?> mockRegion = mock(Region.class);
+
+	private final Set<Object> keys = new LinkedHashSet<>(Arrays.asList(1, 2, 3, 4, 5));
+
+	@After
+	public void tearDown() {
+		this.executorService.shutdownNow();
+	}
+
+	@Test
+	public void executesPartitionsConcurrentlyWithBoundedParallelismAndMergesResults() {
+
+		AtomicInteger concurrentExecutions = new AtomicInteger();
+		AtomicInteger maximumConcurrentExecutions = new AtomicInteger();
+
+		KeyPartitionedFunctionExecutor executor =
+			new KeyPartitionedFunctionExecutor(this.mockRegion, this.executorService, 2, 2, 0);
+
+		Iterable<Object> results = executor.execute(this.keys, partitionKeys -> {
+
+			maximumConcurrentExecutions.accumulateAndGet(concurrentExecutions.incrementAndGet(), Math::max);
+
+			try {
+				TimeUnit.MILLISECONDS.sleep(50);
+				return new ArrayList<Object>(partitionKeys);
+			}
+			catch (InterruptedException cause) {
+				throw new IllegalStateException(cause);
+			}
+			finally {
+				concurrentExecutions.decrementAndGet();
+			}
+		});
+
+		assertThat(results).containsExactly(1, 2, 3, 4, 5);
+		assertThat(maximumConcurrentExecutions.get()).isBetween(1, 2);
+	}
+
+	@Test
+	public void retriesFailedPartitionsOnly() {
+
+		Map<Set<?>, AtomicInteger> executions = new ConcurrentHashMap<>();
+
+		AtomicInteger retries = new AtomicInteger();
+
+		KeyPartitionedFunctionExecutor executor = new KeyPartitionedFunctionExecutor(this.mockRegion,
+			this.executorService, 2, 4, 1, retries::incrementAndGet);
+
+		Iterable<Object> results = executor.execute(this.keys, partitionKeys -> {
+
+			int attempt = executions.computeIfAbsent(new LinkedHashSet<>(partitionKeys), key -> new AtomicInteger())
+				.incrementAndGet();
+
+			if (partitionKeys.contains(3) && attempt == 1) {
+				throw new FunctionException(new FunctionInvocationTargetException("Member departed"));
+			}
+
+			return new ArrayList<Object>(partitionKeys);
+		});
+
+		assertThat(results).containsExactly(1, 2, 3, 4, 5);
+		assertThat(executions.get(new LinkedHashSet<>(Arrays.asList(1, 2))).get()).isEqualTo(1);
+		assertThat(executions.get(new LinkedHashSet<>(Arrays.asList(3, 4))).get()).isEqualTo(2);
+		assertThat(executions.get(new LinkedHashSet<>(Arrays.asList(5))).get()).isEqualTo(1);
+		assertThat(retries.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void nonRetryableFailuresArePropagated() {
+
+		AtomicInteger executions = new AtomicInteger();
+
+		KeyPartitionedFunctionExecutor executor =
+			new KeyPartitionedFunctionExecutor(this.mockRegion, this.executorService, 2, 4, 3);
+
+		assertThatThrownBy(() -> executor.execute(this.keys, partitionKeys -> {
+
+			executions.incrementAndGet();
+
+			if (partitionKeys.contains(5)) {
+				throw new FunctionException("TEST");
+			}
+
+			return new ArrayList<Object>(partitionKeys);
+
+		})).isInstanceOf(FunctionException.class).hasMessage("TEST");
+
+		assertThat(executions.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void smallKeySetsAreExecutedAsOnePartition() {
+
+		List<Set<Object>> partitions =
+			new KeyPartitionedFunctionExecutor(this.mockRegion, this.executorService, 5, 4, 0).partition(this.keys);
+
+		assertThat(partitions).hasSize(1);
+		assertThat(partitions.get(0)).containsExactly(1, 2, 3, 4, 5);
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.geode.cache.execute.FunctionException;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link StreamingResultCollector}.
+ *
+ * @see org.springframework.data.gemfire.function.execution.StreamingResultCollector
+ */
+public class StreamingResultCollectorUnitTests {
+
+	@Test
+	public void streamsResultsFlatteningChunks() {
+
+		StreamingResultCollector<Object> resultCollector = new StreamingResultCollector<>();
+
+		resultCollector.addResult(null, Arrays.asList(1, 2));
+		resultCollector.addResult(null, new Object[] { 3, 4 });
+		resultCollector.addResult(null, 5);
+		resultCollector.endResults();
+
+		assertThat(resultCollector.getResult().collect(Collectors.toList())).containsExactly(1, 2, 3, 4, 5);
+	}
+
+	@Test
+	public void senderIsBlockedWhileBufferIsFull() throws InterruptedException {
+
+		StreamingResultCollector<Object> resultCollector = new StreamingResultCollector<>(1, 0L);
+
+		CountDownLatch resultsSent = new CountDownLatch(1);
+
+		Thread sender = new Thread(() -> {
+			for (int result = 1; result <= 3; result++) {
+				resultCollector.addResult(null, result);
+			}
+
+			resultCollector.endResults();
+			resultsSent.countDown();
+		});
+
+		sender.setDaemon(true);
+		sender.start();
+
+		assertThat(resultsSent.await(250, TimeUnit.MILLISECONDS)).isFalse();
+
+		Iterator<Object> results = resultCollector.stream().iterator();
+
+		assertThat(results.next()).isEqualTo(1);
+		assertThat(results.next()).isEqualTo(2);
+		assertThat(results.next()).isEqualTo(3);
+		assertThat(results.hasNext()).isFalse();
+		assertThat(resultsSent.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	public void closingStreamReleasesBlockedSender() throws InterruptedException {
+
+		StreamingResultCollector<Object> resultCollector = new StreamingResultCollector<>(1, 0L);
+
+		CountDownLatch resultsSent = new CountDownLatch(1);
+
+		Thread sender = new Thread(() -> {
+			for (int result = 1; result <= 100; result++) {
+				resultCollector.addResult(null, result);
+			}
+
+			resultsSent.countDown();
+		});
+
+		sender.setDaemon(true);
+		sender.start();
+
+		try (Stream<Object> results = resultCollector.stream()) {
+			assertThat(results.findFirst()).contains(1);
+		}
+
+		assertThat(resultsSent.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	public void failureIsThrownAfterBufferedResultsAreConsumed() {
+
+		StreamingResultCollector<Object> resultCollector = new StreamingResultCollector<>();
+
+		resultCollector.addResult(null, "one");
+		resultCollector.fail(new IllegalStateException("TEST"));
+
+		Iterator<Object> results = resultCollector.stream().iterator();
+
+		assertThat(results.next()).isEqualTo("one");
+
+		assertThatThrownBy(results::hasNext).isInstanceOf(FunctionException.class)
+			.hasCauseInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	public void throwableResultFailsStream() {
+
+		StreamingResultCollector<Object> resultCollector = new StreamingResultCollector<>();
+
+		resultCollector.addResult(null, new IllegalArgumentException("TEST"));
+
+		assertThatThrownBy(() -> resultCollector.stream().count()).isInstanceOf(FunctionException.class)
+			.hasCauseInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void timesOutWaitingForNextResult() {
+
+		StreamingResultCollector<Object> resultCollector = new StreamingResultCollector<>(4, 200L);
+
+		assertThatThrownBy(() -> resultCollector.stream().count()).isInstanceOf(FunctionException.class)
+			.hasCauseInstanceOf(TimeoutException.class);
+	}
+
+	@Test
+	public void unconsumedResultFailsStreamAfterHandoffTimeout() {
+
+		StreamingResultCollector<Object> resultCollector = new StreamingResultCollector<>(1, 0L, 200L);
+
+		long startTime = System.currentTimeMillis();
+
+		for (int result = 1; result <= 100; result++) {
+			resultCollector.addResult(null, result);
+		}
+
+		resultCollector.endResults();
+
+		assertThat(System.currentTimeMillis() - startTime).isLessThan(5000L);
+
+		assertThatThrownBy(() -> resultCollector.stream().count()).isInstanceOf(FunctionException.class)
+			.hasCauseInstanceOf(TimeoutException.class);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void constructWithNonPositiveHandoffTimeoutThrowsIllegalArgumentException() {
+		new StreamingResultCollector<>(1, 0L, 0L);
+	}
+}
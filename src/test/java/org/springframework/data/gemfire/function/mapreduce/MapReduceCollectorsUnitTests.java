@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.mapreduce;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collector;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link MapReduceCollectors}.
+ *
+ * @see org.springframework.data.gemfire.function.mapreduce.MapReduceCollectors
+ */
+public class MapReduceCollectorsUnitTests {
+
+	/**
+	 * Accumulates each group of values into a partial aggregate, as each member would,
+	 * and reduces the partial aggregates, as the caller would.
+	 */
+	@SafeVarargs
+	private static <T, A, R> R mapReduce(Collector<? super T, A, R> collector, List<T>... members) {
+
+		A result = collector.supplier().get();
+
+		for (List<T> member : members) {
+
+			A partialAggregate = collector.supplier().get();
+
+			member.forEach(value -> collector.accumulator().accept(partialAggregate, value));
+
+			result = collector.combiner().apply(result, partialAggregate);
+		}
+
+		return collector.finisher().apply(result);
+	}
+
+	@Test
+	public void countingAndSummingReducePartialAggregates() {
+
+		List<Integer> memberOne = Arrays.asList(1, 2, 3);
+		List<Integer> memberTwo = Arrays.asList(4, 5);
+
+		assertThat(mapReduce(MapReduceCollectors.counting(), memberOne, memberTwo)).isEqualTo(5L);
+		assertThat(mapReduce(MapReduceCollectors.summingLong(), memberOne, memberTwo)).isEqualTo(15L);
+		assertThat(mapReduce(MapReduceCollectors.summingDouble(), memberOne, memberTwo)).isEqualTo(15.0d);
+	}
+
+	@Test
+	public void minimumAndMaximumReducePartialAggregates() {
+
+		List<Integer> memberOne = Arrays.asList(5, 1, 9);
+		List<Integer> memberTwo = Arrays.asList(12, -3);
+
+		assertThat(mapReduce(MapReduceCollectors.minimum(Comparator.<Integer>naturalOrder()), memberOne, memberTwo))
+			.isEqualTo(-3);
+
+		assertThat(mapReduce(MapReduceCollectors.maximum(Comparator.<Integer>naturalOrder()), memberOne, memberTwo))
+			.isEqualTo(12);
+
+		assertThat(mapReduce(MapReduceCollectors.maximum(Comparator.<Integer>naturalOrder()))).isNull();
+	}
+
+	@Test
+	public void topKKeepsGreatestValuesInDescendingOrder() {
+
+		List<Integer> memberOne = Arrays.asList(5, 1, 9, 3, 7, 2, 8, 4);
+		List<Integer> memberTwo = Arrays.asList(6, 10);
+
+		assertThat(mapReduce(MapReduceCollectors.topK(3, Comparator.<Integer>naturalOrder()), memberOne, memberTwo))
+			.containsExactly(10, 9, 8);
+	}
+
+	@Test
+	public void countingByCountsValuesPerGroup() {
+
+		List<String> memberOne = Arrays.asList("apple", "avocado", "banana");
+		List<String> memberTwo = Arrays.asList("blueberry", "cherry", "apricot");
+
+		assertThat(mapReduce(MapReduceCollectors.countingBy((String value) -> value.charAt(0)), memberOne, memberTwo))
+			.containsEntry('a', 3L).containsEntry('b', 2L).containsEntry('c', 1L).hasSize(3);
+	}
+}
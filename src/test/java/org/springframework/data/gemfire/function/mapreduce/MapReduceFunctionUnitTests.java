@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.springframework.data.gemfire.function.mapreduce;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.execute.FunctionContext;
+import org.apache.geode.cache.execute.RegionFunctionContext;
+import org.apache.geode.cache.execute.ResultSender;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Unit tests for {@link MapReduceFunction}.
+ *
+ * @see org.springframework.data.gemfire.function.mapreduce.MapReduceFunction
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class MapReduceFunctionUnitTests {
+
+	private Region<String, Integer> mockRegion;
+
+	private RegionFunctionContext mockFunctionContext;
+
+	private ResultSender<Object> mockResultSender;
+
+	@Before
+	public void setup() {
+
+		this.mockRegion = mock(Region.class);
+		this.mockFunctionContext = mock(RegionFunctionContext.class);
+		this.mockResultSender = mock(ResultSender.class);
+
+		when(this.mockRegion.entrySet()).thenReturn(new HashSet<>(Arrays.<Map.Entry<String, Integer>>asList(
+			new AbstractMap.SimpleImmutableEntry<>("one", 1),
+			new AbstractMap.SimpleImmutableEntry<>("two", 2),
+			new AbstractMap.SimpleImmutableEntry<>("three", 3))));
+
+		when(this.mockRegion.get("two")).thenReturn(2);
+		when(this.mockFunctionContext.getDataSet()).thenReturn(this.mockRegion);
+		when(this.mockFunctionContext.getResultSender()).thenReturn(this.mockResultSender);
+	}
+
+	@Test
+	public void executeSendsPartialAggregateOfLocalData() {
+
+		MapReduceFunction<String, Integer, Integer, long[]> function =
+			new MapReduceFunction<>("sum", (key, value) -> value, MapReduceCollectors.summingLong());
+
+		function.execute(this.mockFunctionContext);
+
+		ArgumentCaptor<Object> partialAggregate = ArgumentCaptor.forClass(Object.class);
+
+		verify(this.mockResultSender).lastResult(partialAggregate.capture());
+
+		assertThat((long[]) partialAggregate.getValue()).containsExactly(6L);
+		assertThat(function.optimizeForWrite()).isTrue();
+		assertThat(function.hasResult()).isTrue();
+	}
+
+	@Test
+	public void accumulateRestrictsLocalDataToFilterAndSkipsNullMappedValues() {
+
+		when(this.mockFunctionContext.getFilter()).thenReturn(new HashSet<>(Arrays.asList("two", "four")));
+
+		long[] count = MapReduceFunction.accumulate(this.mockFunctionContext,
+			(String key, Integer value) -> value, MapReduceCollectors.counting());
+
+		assertThat(count).containsExactly(1L);
+
+		when(this.mockFunctionContext.getFilter()).thenReturn(Collections.emptySet());
+
+		count = MapReduceFunction.accumulate(this.mockFunctionContext,
+			(String key, Integer value) -> (value % 2 != 0 ? value : null), MapReduceCollectors.counting());
+
+		assertThat(count).containsExactly(2L);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void executeRequiresRegionFunctionContext() {
+
+		FunctionContext mockFunctionContext = mock(FunctionContext.class);
+
+		new MapReduceFunction<>("count", (key, value) -> value, MapReduceCollectors.counting())
+			.execute(mockFunctionContext);
+	}
+}
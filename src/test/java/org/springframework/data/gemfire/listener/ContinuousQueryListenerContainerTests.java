@@ -18,6 +18,7 @@
 package org.springframework.data.gemfire.listener;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.isA;
@@ -30,24 +31,36 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import org.apache.geode.cache.RegionService;
 import org.apache.geode.cache.client.Pool;
 import org.apache.geode.cache.query.CqAttributes;
 import org.apache.geode.cache.query.CqEvent;
 import org.apache.geode.cache.query.CqException;
+import org.apache.geode.cache.query.CqListener;
 import org.apache.geode.cache.query.CqQuery;
+import org.apache.geode.cache.query.CqResults;
 import org.apache.geode.cache.query.CqState;
 import org.apache.geode.cache.query.QueryException;
 import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.cache.query.Struct;
 import org.apache.geode.internal.cache.PoolManagerImpl;
 import org.junit.Before;
 import org.junit.Test;
@@ -60,6 +73,9 @@ import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.data.gemfire.GemfireQueryException;
 import org.springframework.data.gemfire.GemfireUtils;
 import org.springframework.data.gemfire.config.xml.GemfireConstants;
+import org.springframework.data.gemfire.listener.support.ContinuousQueryMetricsSnapshot;
+import org.springframework.data.gemfire.listener.support.KeyOrderedEventDispatcher;
+import org.springframework.data.gemfire.listener.support.SimpleContinuousQueryMetrics;
 import org.springframework.util.ErrorHandler;
 
 /**
@@ -541,6 +557,43 @@ public class ContinuousQueryListenerContainerTests {
 		assertThat(cqListenerContainer.getContinuousQueries().peek()).isEqualTo(query);
 	}
 
+	@Test
+	public void removeListenerClosesAndUnmanagesNamedQuery() throws Exception {
+
+		QueryService mockQueryService = mock(QueryService.class);
+
+		CqQuery mockQueryOne = mock(CqQuery.class);
+		CqQuery mockQueryTwo = mock(CqQuery.class);
+
+		when(mockQueryOne.getName()).thenReturn("One");
+		when(mockQueryTwo.getName()).thenReturn("Two");
+		when(mockQueryService.newCq(eq("One"), anyString(), any(CqAttributes.class), anyBoolean()))
+			.thenReturn(mockQueryOne);
+		when(mockQueryService.newCq(eq("Two"), anyString(), any(CqAttributes.class), anyBoolean()))
+			.thenReturn(mockQueryTwo);
+
+		ContinuousQueryListener mockListener = mock(ContinuousQueryListener.class);
+
+		ContinuousQueryDefinition definitionOne =
+			new ContinuousQueryDefinition("One", "SELECT * FROM /Example", mockListener);
+
+		ContinuousQueryDefinition definitionTwo =
+			new ContinuousQueryDefinition("Two", "SELECT * FROM /Example", mockListener);
+
+		cqListenerContainer.setQueryService(mockQueryService);
+		cqListenerContainer.addContinuousQueryDefinition(definitionOne);
+		cqListenerContainer.addContinuousQuery(definitionOne);
+		cqListenerContainer.addContinuousQuery(definitionTwo);
+
+		assertThat(cqListenerContainer.removeListener("One")).isTrue();
+		assertThat(cqListenerContainer.removeListener("One")).isFalse();
+		assertThat(cqListenerContainer.getContinuousQueries()).containsExactly(mockQueryTwo);
+		assertThat(cqListenerContainer.getContinuousQueryDefinitions()).isEmpty();
+
+		verify(mockQueryOne, times(1)).close();
+		verify(mockQueryTwo, never()).close();
+	}
+
 	@Test
 	public void addManagedUnnamedContinuousQuery() throws Exception {
 
@@ -635,6 +688,102 @@ public class ContinuousQueryListenerContainerTests {
 		}
 	}
 
+	@Test
+	public void cqListenerContainerStartExecutesQueriesConcurrently() throws Exception {
+
+		AtomicInteger concurrentExecutions = new AtomicInteger(0);
+		AtomicInteger maximumConcurrentExecutions = new AtomicInteger(0);
+
+		List<CqQuery> mockQueries = new ArrayList<>();
+
+		for (int index = 0; index < 8; index++) {
+
+			CqQuery mockQuery = mock(CqQuery.class);
+
+			when(mockQuery.getName()).thenReturn(String.format("Query%d", index));
+
+			doAnswer(invocation -> {
+				maximumConcurrentExecutions.accumulateAndGet(concurrentExecutions.incrementAndGet(), Math::max);
+				Thread.sleep(50L);
+				concurrentExecutions.decrementAndGet();
+				return null;
+			}).when(mockQuery).execute();
+
+			mockQueries.add(mockQuery);
+			cqListenerContainer.getContinuousQueries().add(mockQuery);
+		}
+
+		cqListenerContainer.setRegistrationConcurrency(4);
+		cqListenerContainer.start();
+
+		assertThat(cqListenerContainer.isRunning()).isTrue();
+		assertThat(maximumConcurrentExecutions.get()).isBetween(2, 4);
+		assertThat(cqListenerContainer.getRegistrationTimes()).hasSize(8);
+		assertThat(cqListenerContainer.getRegistrationTimes().get("Query0")).isGreaterThanOrEqualTo(50L);
+
+		for (CqQuery mockQuery : mockQueries) {
+			verify(mockQuery, times(1)).execute();
+		}
+	}
+
+	@Test
+	public void cqListenerContainerStartStaggersRegistrationOncePerStart() throws Exception {
+
+		List<CqQuery> mockQueries = new ArrayList<>();
+
+		for (int index = 0; index < 20; index++) {
+			CqQuery mockQuery = mock(CqQuery.class);
+			mockQueries.add(mockQuery);
+			cqListenerContainer.getContinuousQueries().add(mockQuery);
+		}
+
+		cqListenerContainer.setRegistrationStaggerInterval(200L);
+
+		long startTime = System.currentTimeMillis();
+
+		cqListenerContainer.start();
+
+		// staggering each CQ would take 20 * 100 ms on average
+		assertThat(System.currentTimeMillis() - startTime).isLessThan(1000L);
+		assertThat(cqListenerContainer.isRunning()).isTrue();
+
+		for (CqQuery mockQuery : mockQueries) {
+			verify(mockQuery, times(1)).execute();
+		}
+	}
+
+	@Test
+	public void cqListenerContainerStartFailsWithFirstFailedRegistrationToComplete() throws Exception {
+
+		CountDownLatch latch = new CountDownLatch(1);
+
+		CqQuery mockQueryOne = mock(CqQuery.class);
+		CqQuery mockQueryTwo = mock(CqQuery.class);
+
+		doAnswer(invocation -> latch.await(10L, TimeUnit.SECONDS)).when(mockQueryOne).execute();
+		when(mockQueryTwo.getName()).thenReturn("TWO");
+		doThrow(new CqException("TWO")).when(mockQueryTwo).execute();
+
+		cqListenerContainer.getContinuousQueries().add(mockQueryOne);
+		cqListenerContainer.getContinuousQueries().add(mockQueryTwo);
+		cqListenerContainer.setRegistrationConcurrency(2);
+
+		long startTime = System.currentTimeMillis();
+
+		try {
+			cqListenerContainer.start();
+			fail("Expected GemfireQueryException");
+		}
+		catch (GemfireQueryException expected) {
+			assertThat(expected).hasMessageStartingWith("Could not execute query [TWO]");
+			assertThat(System.currentTimeMillis() - startTime).isLessThan(5000L);
+			assertThat(cqListenerContainer.isRunning()).isFalse();
+		}
+		finally {
+			latch.countDown();
+		}
+	}
+
 	@Test
 	public void cqListenerContainerDoesNotStartWhenAlreadyRunning() {
 
@@ -666,6 +815,182 @@ public class ContinuousQueryListenerContainerTests {
 		verify(mockListener, times(1)).onEvent(eq(mockEvent));
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void dispatchEventUsesConfiguredEventDispatcher() {
+
+		Executor mockExecutor = mock(Executor.class);
+
+		KeyOrderedEventDispatcher mockEventDispatcher = mock(KeyOrderedEventDispatcher.class);
+
+		doAnswer(invocation -> {
+			invocation.<Consumer<CqEvent>>getArgument(1).accept(invocation.getArgument(0));
+			return null;
+		}).when(mockEventDispatcher).dispatch(any(CqEvent.class), any(Consumer.class), any(Consumer.class));
+
+		ContinuousQueryListener mockListener = mock(ContinuousQueryListener.class);
+
+		CqEvent mockEvent = mock(CqEvent.class);
+
+		cqListenerContainer.setTaskExecutor(mockExecutor);
+		cqListenerContainer.setEventDispatcher(mockEventDispatcher);
+		cqListenerContainer.dispatchEvent(mockListener, mockEvent);
+
+		verify(mockEventDispatcher, times(1)).dispatch(eq(mockEvent), any(Consumer.class), any(Consumer.class));
+		verify(mockListener, times(1)).onEvent(eq(mockEvent));
+		verifyZeroInteractions(mockExecutor);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void batchingCqListenerDeliversFullAndTimedBatchesInOrder() throws Exception {
+
+		BatchingContinuousQueryListener mockListener = mock(BatchingContinuousQueryListener.class);
+
+		List<List<CqEvent>> batches = new CopyOnWriteArrayList<>();
+
+		doAnswer(invocation -> batches.add(new ArrayList<>(invocation.<List<CqEvent>>getArgument(0))))
+			.when(mockListener).onEvents(any(List.class));
+
+		ContinuousQueryDefinition definition = new ContinuousQueryDefinition("SELECT * FROM /Example", mockListener);
+
+		definition.setBatchSize(2);
+		definition.setBatchTimeInterval(50L);
+
+		cqListenerContainer.setTaskExecutor(Runnable::run);
+
+		CqListener cqListener = cqListenerContainer.newCqListener(definition, mockListener);
+
+		CqEvent mockEventOne = mock(CqEvent.class);
+		CqEvent mockEventTwo = mock(CqEvent.class);
+		CqEvent mockEventThree = mock(CqEvent.class);
+
+		cqListener.onEvent(mockEventOne);
+		cqListener.onEvent(mockEventTwo);
+		cqListener.onEvent(mockEventThree);
+
+		assertThat(batches).containsExactly(Arrays.asList(mockEventOne, mockEventTwo));
+
+		verify(mockListener, timeout(5000).times(2)).onEvents(any(List.class));
+
+		assertThat(batches).containsExactly(Arrays.asList(mockEventOne, mockEventTwo),
+			Collections.singletonList(mockEventThree));
+
+		cqListenerContainer.destroy();
+	}
+
+	@Test
+	public void cqListenerRecordsMetricsForProcessedAndFailedCqEvents() {
+
+		CqQuery mockQuery = mock(CqQuery.class);
+
+		when(mockQuery.getName()).thenReturn("TestCq");
+
+		CqEvent mockEventOne = mock(CqEvent.class);
+		CqEvent mockEventTwo = mock(CqEvent.class);
+
+		when(mockEventOne.getCq()).thenReturn(mockQuery);
+		when(mockEventTwo.getCq()).thenReturn(mockQuery);
+
+		ContinuousQueryListener listener = event -> {
+			if (event == mockEventTwo) {
+				throw new IllegalStateException("TEST");
+			}
+		};
+
+		cqListenerContainer.setMetrics(new SimpleContinuousQueryMetrics());
+		cqListenerContainer.setTaskExecutor(Runnable::run);
+
+		CqListener cqListener = cqListenerContainer.newCqListener(
+			new ContinuousQueryDefinition("TestCq", "SELECT * FROM /Example", listener), listener);
+
+		cqListener.onEvent(mockEventOne);
+		cqListener.onEvent(mockEventTwo);
+
+		ContinuousQueryMetricsSnapshot snapshot = cqListenerContainer.getMetricsSnapshot().get("TestCq");
+
+		assertThat(snapshot).isNotNull();
+		assertThat(snapshot.getEventsReceived()).isEqualTo(2L);
+		assertThat(snapshot.getEventsProcessed()).isEqualTo(2L);
+		assertThat(snapshot.getErrorCount()).isEqualTo(1L);
+		assertThat(snapshot.getQueueDepth()).isZero();
+		assertThat(snapshot.getListenerInvocations()).isEqualTo(2L);
+	}
+
+	@Test
+	public void metricsSnapshotIsEmptyWhenNoMetricsAreConfigured() {
+		assertThat(cqListenerContainer.getMetrics().isPresent()).isFalse();
+		assertThat(cqListenerContainer.getMetricsSnapshot()).isEmpty();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void batchingCqListenerRequiresBatchingContinuousQueryListener() {
+
+		ContinuousQueryListener mockListener = mock(ContinuousQueryListener.class);
+
+		ContinuousQueryDefinition definition = new ContinuousQueryDefinition("SELECT * FROM /Example", mockListener);
+
+		definition.setBatchSize(10);
+
+		cqListenerContainer.newCqListener(definition, mockListener);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void executeWithInitialResultsDeliversInitialResultsBeforeHeldCqEvents() throws Exception {
+
+		List<Object> values = new CopyOnWriteArrayList<>();
+
+		ContinuousQueryListener listener = event -> values.add(event.getNewValue());
+
+		ContinuousQueryDefinition definition =
+			new ContinuousQueryDefinition("TestQuery", "SELECT * FROM /Example", listener);
+
+		definition.setExecuteWithInitialResults(true);
+
+		AtomicReference<CqAttributes> cqAttributes = new AtomicReference<>();
+
+		CqEvent mockEvent = mock(CqEvent.class);
+
+		CqQuery mockQuery = mock(CqQuery.class);
+
+		CqResults<Object> mockResults = mock(CqResults.class);
+
+		QueryService mockQueryService = mock(QueryService.class);
+
+		Struct mockStructOne = mock(Struct.class);
+		Struct mockStructTwo = mock(Struct.class);
+
+		when(mockEvent.getNewValue()).thenReturn(3);
+		when(mockStructOne.get(eq("key"))).thenReturn("one");
+		when(mockStructOne.get(eq("value"))).thenReturn(1);
+		when(mockStructTwo.get(eq("key"))).thenReturn("two");
+		when(mockStructTwo.get(eq("value"))).thenReturn(2);
+		when(mockResults.iterator()).thenReturn(Arrays.<Object>asList(mockStructOne, mockStructTwo).iterator());
+
+		when(mockQueryService.newCq(eq("TestQuery"), eq("SELECT * FROM /Example"), any(CqAttributes.class),
+			anyBoolean())).thenAnswer(invocation -> {
+				cqAttributes.set(invocation.getArgument(2));
+				return mockQuery;
+			});
+
+		when(mockQuery.executeWithInitialResults()).thenAnswer(invocation -> {
+			// CQ event arriving while the initial results are being loaded
+			cqAttributes.get().getCqListener().onEvent(mockEvent);
+			return mockResults;
+		});
+
+		cqListenerContainer.setQueryService(mockQueryService);
+		cqListenerContainer.setTaskExecutor(Runnable::run);
+		cqListenerContainer.addContinuousQuery(definition);
+		cqListenerContainer.start();
+
+		assertThat(values).containsExactly(1, 2, 3);
+
+		verify(mockQuery, times(1)).executeWithInitialResults();
+		verify(mockQuery, never()).execute();
+	}
+
 	@Test
 	public void dispatchEventInvokesConfiguredErrorHandlerOnListenerException() {
 
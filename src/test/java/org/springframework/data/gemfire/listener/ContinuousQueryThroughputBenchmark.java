@@ -0,0 +1,376 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.geode.cache.CacheClosedException;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.client.ClientCache;
+import org.apache.geode.cache.client.ClientCacheFactory;
+import org.apache.geode.cache.client.ClientRegionShortcut;
+import org.apache.geode.cache.query.CqEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.gemfire.fork.CqCacheServerProcess;
+import org.springframework.data.gemfire.listener.support.ContinuousQueryMetricsSnapshot;
+import org.springframework.data.gemfire.listener.support.KeyOrderedEventDispatcher;
+import org.springframework.data.gemfire.listener.support.SimpleContinuousQueryMetrics;
+import org.springframework.data.gemfire.process.ProcessWrapper;
+import org.springframework.data.gemfire.test.support.ClientServerIntegrationTestsSupport;
+
+/**
+ * JMH benchmark measuring end-to-end Continuous Query (CQ) event delivery throughput and latency through
+ * the {@link ContinuousQueryListenerContainer} with different CQ event dispatching strategies.
+ *
+ * Each trial forks a {@link CqCacheServerProcess} with an embedded Locator, connects a client through the Locator,
+ * and registers a CQ on the server's {@literal test-cq} Region. Each benchmark invocation puts a fixed number
+ * of updates, spread over a configurable number of keys, at a configurable rate (or as fast as possible),
+ * then waits until the CQ listener has seen the latest value of every key. Each value is the {@link System#nanoTime()}
+ * at which it was put, so the end-to-end latency of each CQ event is measured in the same JVM. Latency percentiles,
+ * along with the container's CQ metrics, are logged at {@literal INFO} level at the end of each iteration.
+ *
+ * The following {@literal dispatcher} strategies are compared:
+ *
+ * <ul>
+ *     <li>{@literal default} - the container's default {@link org.springframework.core.task.SimpleAsyncTaskExecutor}.</li>
+ *     <li>{@literal pooled} - a fixed Thread pool {@link ExecutorService}.</li>
+ *     <li>{@literal keyOrdered} - a {@link KeyOrderedEventDispatcher}.</li>
+ *     <li>{@literal keyOrderedConflated} - a {@link KeyOrderedEventDispatcher} with conflation enabled.</li>
+ *     <li>{@literal batching} - a {@link BatchingContinuousQueryListener} over a fixed Thread pool.</li>
+ * </ul>
+ *
+ * Run with {@literal mvn -P benchmarks verify -DskipTests -Dbenchmark.includes=ContinuousQueryThroughputBenchmark}
+ * or by running {@link #main(String[])}.
+ *
+ * @see org.springframework.data.gemfire.fork.CqCacheServerProcess
+ * @see org.springframework.data.gemfire.listener.ContinuousQueryListenerContainer
+ * @see org.springframework.data.gemfire.listener.support.KeyOrderedEventDispatcher
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ContinuousQueryThroughputBenchmark extends ClientServerIntegrationTestsSupport {
+
+	private static final Log logger = LogFactory.getLog(ContinuousQueryThroughputBenchmark.class);
+
+	private static final int LATENCY_SAMPLE_CAPACITY = 1 << 20;
+	private static final int POOL_SIZE = 4;
+	private static final int UPDATES_PER_INVOCATION = 10000;
+
+	private static final long DELIVERY_TIMEOUT = TimeUnit.SECONDS.toMillis(60);
+
+	private static final String LOCATOR_PORT_PROPERTY = "spring.data.gemfire.locator.port";
+	private static final String QUERY = "SELECT * FROM /test-cq";
+
+	@Param({ "default", "pooled", "keyOrdered", "keyOrderedConflated", "batching" })
+	private String dispatcher;
+
+	@Param({ "0", "20000" })
+	private int updateRate;
+
+	@Param({ "100" })
+	private int keyCount;
+
+	@Param({ "0", "50" })
+	private long listenerWorkMicros;
+
+	private final AtomicInteger latencySampleCount = new AtomicInteger(0);
+
+	private ClientCache clientCache;
+
+	private ContinuousQueryListenerContainer container;
+
+	private ExecutorService executorService;
+
+	private final long[] latencySamples = new long[LATENCY_SAMPLE_CAPACITY];
+
+	private final Map<String, Long> lastReceived = new ConcurrentHashMap<>();
+	private final Map<String, Long> lastSent = new ConcurrentHashMap<>();
+
+	private ProcessWrapper server;
+
+	private Region<String, Long> region;
+
+	private SimpleContinuousQueryMetrics metrics;
+
+	private String[] keys;
+
+	public static void main(String[] args) throws Exception {
+		new Runner(new OptionsBuilder()
+			.include(ContinuousQueryThroughputBenchmark.class.getSimpleName())
+			.build()).run();
+	}
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+
+		int cacheServerPort = findAvailablePort();
+		int locatorPort = findAvailablePort();
+
+		this.server = run(CqCacheServerProcess.class,
+			String.format("-D%s=%d", GEMFIRE_CACHE_SERVER_PORT_PROPERTY, cacheServerPort),
+			String.format("-D%s=%d", LOCATOR_PORT_PROPERTY, locatorPort));
+
+		waitForServerToStart(DEFAULT_HOSTNAME, locatorPort);
+		waitForServerToStart(DEFAULT_HOSTNAME, cacheServerPort);
+
+		this.clientCache = new ClientCacheFactory()
+			.set("name", getClass().getSimpleName())
+			.set("log-level", "error")
+			.setPoolSubscriptionEnabled(true)
+			.addPoolLocator(DEFAULT_HOSTNAME, locatorPort)
+			.create();
+
+		this.region = this.clientCache.<String, Long>createClientRegionFactory(ClientRegionShortcut.PROXY)
+			.create("test-cq");
+
+		this.keys = new String[this.keyCount];
+
+		for (int index = 0; index < this.keys.length; index++) {
+			this.keys[index] = "key" + index;
+		}
+
+		this.metrics = new SimpleContinuousQueryMetrics();
+
+		this.container = new ContinuousQueryListenerContainer();
+		this.container.setBeanName("cqThroughputBenchmarkContainer");
+		this.container.setCache(this.clientCache);
+		this.container.setMetrics(this.metrics);
+
+		ContinuousQueryDefinition definition = configureDispatcher();
+
+		this.container.afterPropertiesSet();
+		this.container.addListener(definition);
+		this.container.start();
+	}
+
+	/* (non-Javadoc) */
+	private ContinuousQueryDefinition configureDispatcher() {
+
+		if (!"default".equals(this.dispatcher)) {
+			this.executorService = Executors.newFixedThreadPool(POOL_SIZE);
+			this.container.setTaskExecutor(this.executorService);
+		}
+
+		switch (this.dispatcher) {
+			case "default":
+			case "pooled":
+				return new ContinuousQueryDefinition("ThroughputCq", QUERY, this::onEvent);
+			case "keyOrdered":
+			case "keyOrderedConflated":
+				KeyOrderedEventDispatcher eventDispatcher = new KeyOrderedEventDispatcher("cq-benchmark-",
+					POOL_SIZE, 1024, KeyOrderedEventDispatcher.RejectionPolicy.BLOCK);
+
+				eventDispatcher.setConflationEnabled("keyOrderedConflated".equals(this.dispatcher));
+				this.container.setEventDispatcher(eventDispatcher);
+
+				return new ContinuousQueryDefinition("ThroughputCq", QUERY, this::onEvent);
+			case "batching":
+				BatchingContinuousQueryListener listener = events -> events.forEach(this::onEvent);
+
+				ContinuousQueryDefinition definition = new ContinuousQueryDefinition("ThroughputCq", QUERY, listener);
+
+				definition.setBatchSize(100);
+				definition.setBatchTimeInterval(10L);
+
+				return definition;
+			default:
+				throw new IllegalArgumentException(String.format("Unknown dispatcher [%s]", this.dispatcher));
+		}
+	}
+
+	/* (non-Javadoc) */
+	private void onEvent(CqEvent event) {
+
+		Object value = event.getNewValue();
+
+		if (value instanceof Long) {
+
+			long sentTime = (Long) value;
+
+			int sample = this.latencySampleCount.getAndIncrement();
+
+			if (sample < LATENCY_SAMPLE_CAPACITY) {
+				this.latencySamples[sample] = System.nanoTime() - sentTime;
+			}
+
+			simulateListenerWork();
+
+			this.lastReceived.merge(String.valueOf(event.getKey()), sentTime, Long::max);
+		}
+	}
+
+	/* (non-Javadoc) */
+	private void simulateListenerWork() {
+
+		if (this.listenerWorkMicros > 0) {
+
+			long endTime = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(this.listenerWorkMicros);
+
+			while (System.nanoTime() < endTime) {
+				// busy spin, simulating CPU bound CQ listener work
+			}
+		}
+	}
+
+	@Setup(Level.Iteration)
+	public void resetLatencySamples() {
+		this.latencySampleCount.set(0);
+	}
+
+	@TearDown(Level.Iteration)
+	public void reportLatency() {
+
+		int sampleCount = Math.min(this.latencySampleCount.get(), LATENCY_SAMPLE_CAPACITY);
+
+		if (sampleCount > 0) {
+
+			long[] samples = Arrays.copyOf(this.latencySamples, sampleCount);
+
+			Arrays.sort(samples);
+
+			logger.info(String.format("[%1$s/%2$d updates/s/%3$d us] CQ event latency (us): p50 = %4$d, p99 = %5$d,"
+				+ " p99.9 = %6$d, max = %7$d over %8$d events", this.dispatcher, this.updateRate,
+				this.listenerWorkMicros, percentile(samples, 0.5d), percentile(samples, 0.99d),
+				percentile(samples, 0.999d), TimeUnit.NANOSECONDS.toMicros(samples[samples.length - 1]),
+				sampleCount));
+		}
+
+		ContinuousQueryMetricsSnapshot snapshot = this.container.getMetricsSnapshot().get("ThroughputCq");
+
+		if (snapshot != null) {
+			logger.info(snapshot);
+		}
+	}
+
+	/* (non-Javadoc) */
+	private static long percentile(long[] sortedSamples, double percentile) {
+
+		int index = Math.min((int) Math.ceil(percentile * sortedSamples.length) - 1, sortedSamples.length - 1);
+
+		return TimeUnit.NANOSECONDS.toMicros(sortedSamples[Math.max(index, 0)]);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+
+		try {
+			if (this.container != null) {
+				this.container.destroy();
+			}
+
+			if (this.executorService != null) {
+				this.executorService.shutdownNow();
+			}
+
+			if (this.clientCache != null) {
+				this.clientCache.close();
+			}
+		}
+		catch (CacheClosedException ignore) {
+		}
+		finally {
+			stop(this.server);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(UPDATES_PER_INVOCATION)
+	public void putAndAwaitCqEvents() {
+
+		long interval = (this.updateRate > 0 ? TimeUnit.SECONDS.toNanos(1) / this.updateRate : 0L);
+		long startTime = System.nanoTime();
+
+		for (int count = 0; count < UPDATES_PER_INVOCATION; count++) {
+
+			if (interval > 0) {
+
+				long nextTime = startTime + count * interval;
+
+				for (long now = System.nanoTime(); now < nextTime; now = System.nanoTime()) {
+					LockSupport.parkNanos(nextTime - now);
+				}
+			}
+
+			String key = this.keys[count % this.keys.length];
+
+			long value = System.nanoTime();
+
+			this.lastSent.put(key, value);
+			this.region.put(key, value);
+		}
+
+		awaitCqEvents();
+	}
+
+	// polls rather than using waitOn(..), whose wait interval would dominate the measured time
+	private void awaitCqEvents() {
+
+		long timeout = System.currentTimeMillis() + DELIVERY_TIMEOUT;
+
+		while (!allCqEventsReceived()) {
+
+			if (System.currentTimeMillis() > timeout) {
+				throw new IllegalStateException(String.format("CQ events were not delivered within %d ms",
+					DELIVERY_TIMEOUT));
+			}
+
+			LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+		}
+	}
+
+	/* (non-Javadoc) */
+	private boolean allCqEventsReceived() {
+
+		for (String key : this.keys) {
+			if (!Objects.equals(this.lastSent.get(key), this.lastReceived.get(key))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.geode.cache.Operation;
+import org.apache.geode.cache.query.CqEvent;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Unit tests for {@link ContinuousQueryView}.
+ *
+ * @see org.springframework.data.gemfire.listener.ContinuousQueryView
+ */
+public class ContinuousQueryViewUnitTests {
+
+	private ContinuousQueryListenerContainer mockContainer;
+
+	private ContinuousQueryView<String, Person> view;
+
+	@Before
+	public void setup() {
+
+		this.mockContainer = mock(ContinuousQueryListenerContainer.class);
+
+		this.view = new ContinuousQueryView<>(this.mockContainer, "SELECT * FROM /People p WHERE p.age >= 21");
+		this.view.setName("Adults");
+		this.view.addIndex("city");
+		this.view.afterPropertiesSet();
+	}
+
+	private CqEvent mockCqEvent(String key, Operation operation, Person value) {
+
+		CqEvent mockEvent = mock(CqEvent.class);
+
+		when(mockEvent.getKey()).thenReturn(key);
+		when(mockEvent.getQueryOperation()).thenReturn(operation);
+		when(mockEvent.getNewValue()).thenReturn(value);
+
+		return mockEvent;
+	}
+
+	@Test
+	public void registersContinuousQueryDefinitionExecutedWithInitialResults() {
+
+		ArgumentCaptor<ContinuousQueryDefinition> definition = ArgumentCaptor.forClass(ContinuousQueryDefinition.class);
+
+		verify(this.mockContainer).addContinuousQueryDefinition(definition.capture());
+		verify(this.mockContainer, never()).addListener(any());
+
+		assertThat(definition.getValue().getName()).isEqualTo("Adults");
+		assertThat(definition.getValue().getQuery()).isEqualTo("SELECT * FROM /People p WHERE p.age >= 21");
+		assertThat(definition.getValue().getListener()).isSameAs(this.view);
+		assertThat(definition.getValue().isExecuteWithInitialResults()).isTrue();
+	}
+
+	@Test
+	public void appliesCqEventsAndMaintainsIndexes() {
+
+		this.view.onEvent(mockCqEvent("jon", Operation.CREATE, new Person("Jon", "Portland")));
+		this.view.onEvent(mockCqEvent("jane", Operation.CREATE, new Person("Jane", "Portland")));
+		this.view.onEvent(mockCqEvent("pie", Operation.CREATE, new Person("Pie", "Seattle")));
+
+		assertThat(this.view).hasSize(3);
+		assertThat(this.view.findBy("city", "Portland")).extracting(Person::getName)
+			.containsExactlyInAnyOrder("Jon", "Jane");
+
+		this.view.onEvent(mockCqEvent("jane", Operation.UPDATE, new Person("Jane", "Seattle")));
+		this.view.onEvent(mockCqEvent("pie", Operation.DESTROY, null));
+
+		assertThat(this.view).hasSize(2);
+		assertThat(this.view.get("jane").getCity()).isEqualTo("Seattle");
+		assertThat(this.view.containsKey("pie")).isFalse();
+		assertThat(this.view.findBy("city", "Portland")).extracting(Person::getName).containsExactly("Jon");
+		assertThat(this.view.findBy("city", "Seattle")).extracting(Person::getName).containsExactly("Jane");
+		assertThat(this.view.getEventCount()).isEqualTo(5L);
+		assertThat(this.view.getStaleness()).isGreaterThanOrEqualTo(0L);
+	}
+
+	@Test
+	public void countsCqErrorsWithoutModifyingView() {
+
+		CqEvent mockEvent = mock(CqEvent.class);
+
+		when(mockEvent.getThrowable()).thenReturn(new RuntimeException("TEST"));
+
+		this.view.onEvent(mockEvent);
+
+		assertThat(this.view).isEmpty();
+		assertThat(this.view.getErrorCount()).isEqualTo(1L);
+		assertThat(this.view.getEventCount()).isZero();
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void viewIsReadOnly() {
+		this.view.put("jon", new Person("Jon", "Portland"));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void viewEntriesAreReadOnly() {
+		this.view.onEvent(mockCqEvent("jon", Operation.CREATE, new Person("Jon", "Portland")));
+		this.view.entrySet().clear();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void addIndexAfterInitializationThrowsIllegalStateException() {
+		this.view.addIndex("name");
+	}
+
+	@Test
+	public void indexFailureIsCountedAndValueIsNotIndexed() {
+
+		ContinuousQueryView<String, Person> view =
+			new ContinuousQueryView<>(this.mockContainer, "SELECT * FROM /People p WHERE p.age >= 21");
+
+		view.addIndex("city");
+		view.addIndex("initial", person -> person.getName().charAt(0));
+		view.afterPropertiesSet();
+
+		view.onEvent(mockCqEvent("jon", Operation.CREATE, new Person("Jon", "Portland")));
+		view.onEvent(mockCqEvent("nobody", Operation.CREATE, new Person("", "Portland")));
+
+		assertThat(view).hasSize(2);
+		assertThat(view.getErrorCount()).isEqualTo(1L);
+		assertThat(view.getEventCount()).isEqualTo(2L);
+		assertThat(view.findBy("city", "Portland")).hasSize(2);
+		assertThat(view.findBy("initial", 'J')).extracting(Person::getName).containsExactly("Jon");
+
+		view.onEvent(mockCqEvent("jon", Operation.UPDATE, new Person("", "Portland")));
+
+		assertThat(view.getErrorCount()).isEqualTo(2L);
+		assertThat(view.findBy("initial", 'J')).isEmpty();
+	}
+
+	@Test
+	public void destroyRemovesCqFromContainerAndClearsView() {
+
+		this.view.onEvent(mockCqEvent("jon", Operation.CREATE, new Person("Jon", "Portland")));
+		this.view.destroy();
+
+		verify(this.mockContainer).removeListener(eq("Adults"));
+
+		assertThat(this.view).isEmpty();
+		assertThat(this.view.findBy("city", "Portland")).isEmpty();
+	}
+
+	@Data
+	@AllArgsConstructor
+	public static class Person {
+
+		private String name;
+		private String city;
+
+	}
+}
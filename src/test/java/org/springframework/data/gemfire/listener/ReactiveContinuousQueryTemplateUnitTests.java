@@ -0,0 +1,250 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.geode.cache.query.CqAttributes;
+import org.apache.geode.cache.query.CqEvent;
+import org.apache.geode.cache.query.CqException;
+import org.apache.geode.cache.query.CqListener;
+import org.apache.geode.cache.query.CqQuery;
+import org.apache.geode.cache.query.QueryService;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.reactivestreams.Subscription;
+import org.springframework.data.gemfire.GemfireQueryException;
+import org.springframework.data.gemfire.listener.ReactiveContinuousQueryOperations.OverflowStrategy;
+
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+
+/**
+ * Unit tests for {@link ReactiveContinuousQueryTemplate}.
+ *
+ * @see org.springframework.data.gemfire.listener.ReactiveContinuousQueryTemplate
+ */
+public class ReactiveContinuousQueryTemplateUnitTests {
+
+	private static final String QUERY = "SELECT * FROM /Example";
+
+	private CqQuery mockCq;
+
+	private QueryService mockQueryService;
+
+	private ReactiveContinuousQueryTemplate template;
+
+	@Before
+	public void setup() throws Exception {
+
+		this.mockCq = mock(CqQuery.class);
+		this.mockQueryService = mock(QueryService.class);
+
+		when(this.mockQueryService.newCq(eq(QUERY), any(CqAttributes.class))).thenReturn(this.mockCq);
+		when(this.mockQueryService.newCq(eq("TestCq"), eq(QUERY), any(CqAttributes.class))).thenReturn(this.mockCq);
+
+		this.template = new ReactiveContinuousQueryTemplate(this.mockQueryService);
+	}
+
+	private CqListener captureCqListener(String name) throws Exception {
+
+		ArgumentCaptor<CqAttributes> attributes = ArgumentCaptor.forClass(CqAttributes.class);
+
+		if (name != null) {
+			verify(this.mockQueryService).newCq(eq(name), eq(QUERY), attributes.capture());
+		}
+		else {
+			verify(this.mockQueryService).newCq(eq(QUERY), attributes.capture());
+		}
+
+		return attributes.getValue().getCqListener();
+	}
+
+	private CqEvent mockCqEvent(Object key, Object value) {
+
+		CqEvent mockEvent = mock(CqEvent.class);
+
+		when(mockEvent.getKey()).thenReturn(key);
+		when(mockEvent.getNewValue()).thenReturn(value);
+
+		return mockEvent;
+	}
+
+	@Test
+	public void cqIsRegisteredOnSubscribeAndClosedOnCancel() throws Exception {
+
+		Flux<CqEvent> events = this.template.listen("TestCq", QUERY, OverflowStrategy.ERROR, 16);
+
+		verifyZeroInteractions(this.mockQueryService);
+
+		TestSubscriber subscriber = new TestSubscriber();
+
+		events.subscribe(subscriber);
+
+		verify(this.mockCq).execute();
+
+		CqListener listener = captureCqListener("TestCq");
+
+		listener.onEvent(mockCqEvent("one", 1));
+		listener.onEvent(mockCqEvent("two", 2));
+
+		assertThat(subscriber.values).isEmpty();
+
+		subscriber.request(1);
+
+		assertThat(subscriber.values).containsExactly(1);
+
+		subscriber.cancel();
+
+		verify(this.mockCq).close();
+	}
+
+	@Test
+	public void latestPerKeyRetainsOnlyTheMostRecentEventForEachKey() throws Exception {
+
+		TestSubscriber subscriber = new TestSubscriber();
+
+		this.template.listen(QUERY, OverflowStrategy.LATEST_PER_KEY, 2).subscribe(subscriber);
+
+		CqListener listener = captureCqListener(null);
+
+		listener.onEvent(mockCqEvent("a", 1));
+		listener.onEvent(mockCqEvent("b", 1));
+		listener.onEvent(mockCqEvent("a", 2));
+		listener.onEvent(mockCqEvent("c", 1));
+
+		subscriber.request(Long.MAX_VALUE);
+
+		// "a" keeps its position when updated, but is evicted as the oldest key when "c" overflows the buffer
+		assertThat(subscriber.keys).containsExactly("b", "c");
+		assertThat(subscriber.values).containsExactly(1, 1);
+	}
+
+	@Test
+	public void dropOldestEvictsTheOldestBufferedEvent() throws Exception {
+
+		TestSubscriber subscriber = new TestSubscriber();
+
+		this.template.listen(QUERY, OverflowStrategy.DROP_OLDEST, 2).subscribe(subscriber);
+
+		CqListener listener = captureCqListener(null);
+
+		for (int value = 1; value <= 4; value++) {
+			listener.onEvent(mockCqEvent("key", value));
+		}
+
+		subscriber.request(Long.MAX_VALUE);
+
+		assertThat(subscriber.values).containsExactly(3, 4);
+	}
+
+	@Test
+	public void errorStrategyTerminatesWithOverflowAndClosesCq() throws Exception {
+
+		TestSubscriber subscriber = new TestSubscriber();
+
+		this.template.listen(QUERY, OverflowStrategy.ERROR, 1).subscribe(subscriber);
+
+		CqListener listener = captureCqListener(null);
+
+		listener.onEvent(mockCqEvent("a", 1));
+		listener.onEvent(mockCqEvent("b", 2));
+
+		assertThat(subscriber.error.get()).isNotNull();
+		assertThat(subscriber.values).isEmpty();
+
+		verify(this.mockCq).close();
+	}
+
+	@Test
+	public void closingTheCqCompletesTheFluxAfterDrainingBufferedEvents() throws Exception {
+
+		TestSubscriber subscriber = new TestSubscriber();
+
+		this.template.listen(QUERY).subscribe(subscriber);
+
+		CqListener listener = captureCqListener(null);
+
+		listener.onEvent(mockCqEvent("a", 1));
+		listener.close();
+
+		assertThat(subscriber.completed).isFalse();
+
+		subscriber.request(1);
+
+		assertThat(subscriber.values).containsExactly(1);
+		assertThat(subscriber.completed).isTrue();
+	}
+
+	@Test
+	public void cqExecutionFailureIsSignaledAsGemfireQueryException() throws Exception {
+
+		doThrow(new CqException("TEST")).when(this.mockCq).execute();
+
+		TestSubscriber subscriber = new TestSubscriber();
+
+		this.template.listen(QUERY).subscribe(subscriber);
+
+		assertThat(subscriber.error.get()).isInstanceOf(GemfireQueryException.class);
+		assertThat(subscriber.error.get().getCause()).isInstanceOf(CqException.class);
+		assertThat(subscriber.values).isEmpty();
+
+		verify(this.mockCq).close();
+	}
+
+	static class TestSubscriber extends BaseSubscriber<CqEvent> {
+
+		private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+		private final List<Object> keys = new ArrayList<>();
+		private final List<Object> values = new ArrayList<>();
+
+		private volatile boolean completed;
+
+		@Override
+		protected void hookOnSubscribe(Subscription subscription) {
+		}
+
+		@Override
+		protected void hookOnNext(CqEvent event) {
+			this.keys.add(event.getKey());
+			this.values.add(event.getNewValue());
+		}
+
+		@Override
+		protected void hookOnComplete() {
+			this.completed = true;
+		}
+
+		@Override
+		protected void hookOnError(Throwable cause) {
+			this.error.set(cause);
+		}
+	}
+}
@@ -16,22 +16,33 @@
 
 package org.springframework.data.gemfire.listener.adapter;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.same;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.geode.cache.Operation;
 import org.apache.geode.cache.query.CqEvent;
 import org.apache.geode.cache.query.CqQuery;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.dao.DataRetrievalFailureException;
 import org.springframework.data.gemfire.listener.ContinuousQueryListener;
+import org.springframework.data.gemfire.listener.GemfireListenerExecutionFailedException;
 
 /**
  * @author Costin Leau
@@ -105,6 +116,8 @@ public class QueryListenerAdapterTest {
 		void handleAll(CqEvent event, CqQuery query, byte[] ba, Object key, Operation op, Throwable th, Operation qOp, Object v);
 
 		void handleInvalid(Object o1, Object o2, Object o3);
+
+		void handleBatch(List<CqEvent> events);
 	}
 
 	@Test
@@ -224,6 +237,85 @@ public class QueryListenerAdapterTest {
 		doThrow(new IllegalArgumentException()).when(mockDelegate);
 	}
 
+	@Test
+	public void testHandleBatch() throws Exception {
+		Delegate mockDelegate = mock(Delegate.class);
+		ContinuousQueryListenerAdapter cqListenerAdapter = new ContinuousQueryListenerAdapter(mockDelegate);
+		List<CqEvent> events = Arrays.asList(event(), event());
+
+		cqListenerAdapter.setDefaultListenerMethod("handleBatch");
+		cqListenerAdapter.onEvents(events);
+
+		verify(mockDelegate).handleBatch(same(events));
+	}
+
+	@Test
+	public void testListenerMethodExceptionIsWrappedWithOriginalCause() throws Exception {
+		Delegate mockDelegate = mock(Delegate.class);
+		IllegalStateException expectedCause = new IllegalStateException("TEST");
+		AtomicReference<Throwable> handledException = new AtomicReference<>();
+
+		doThrow(expectedCause).when(mockDelegate).handleKey(any());
+
+		ContinuousQueryListenerAdapter cqListenerAdapter = new ContinuousQueryListenerAdapter(mockDelegate) {
+			protected void handleListenerException(Throwable cause) {
+				handledException.set(cause);
+			}
+		};
+
+		cqListenerAdapter.setDefaultListenerMethod("handleKey");
+		cqListenerAdapter.onEvent(event());
+
+		assertThat(handledException.get(), is(instanceOf(GemfireListenerExecutionFailedException.class)));
+		assertThat(handledException.get().getMessage(), startsWith("Listener method [handleKey] threw Exception..."));
+		assertSame(expectedCause, handledException.get().getCause());
+	}
+
+	@Test
+	public void testListenerMethodDataAccessExceptionIsRethrown() throws Exception {
+		Delegate mockDelegate = mock(Delegate.class);
+		DataRetrievalFailureException expectedException = new DataRetrievalFailureException("TEST");
+		AtomicReference<Throwable> handledException = new AtomicReference<>();
+
+		doThrow(expectedException).when(mockDelegate).handleKey(any());
+
+		ContinuousQueryListenerAdapter cqListenerAdapter = new ContinuousQueryListenerAdapter(mockDelegate) {
+			protected void handleListenerException(Throwable cause) {
+				handledException.set(cause);
+			}
+		};
+
+		cqListenerAdapter.setDefaultListenerMethod("handleKey");
+		cqListenerAdapter.onEvent(event());
+
+		assertSame(expectedException, handledException.get());
+	}
+
+	@Test
+	public void testFailureToInvokeListenerMethodIsNotReportedAsListenerException() throws Exception {
+		Delegate mockDelegate = mock(Delegate.class);
+		CqEvent mockEvent = mock(CqEvent.class);
+		IllegalStateException expectedCause = new IllegalStateException("TEST");
+		AtomicReference<Throwable> handledException = new AtomicReference<>();
+
+		when(mockEvent.getKey()).thenThrow(expectedCause);
+
+		ContinuousQueryListenerAdapter cqListenerAdapter = new ContinuousQueryListenerAdapter(mockDelegate) {
+			protected void handleListenerException(Throwable cause) {
+				handledException.set(cause);
+			}
+		};
+
+		cqListenerAdapter.setDefaultListenerMethod("handleKey");
+		cqListenerAdapter.onEvent(mockEvent);
+
+		assertThat(handledException.get(), is(instanceOf(GemfireListenerExecutionFailedException.class)));
+		assertThat(handledException.get().getMessage(),
+			startsWith("Failed to invoke the target listener method [handleKey]"));
+		assertSame(expectedCause, handledException.get().getCause());
+		verifyZeroInteractions(mockDelegate);
+	}
+
 	/**
 	 * @link https://jira.spring.io/browse/SGF-89
 	 */
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.apache.geode.cache.Operation;
+import org.apache.geode.cache.query.CqEvent;
+import org.apache.geode.cache.query.CqQuery;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link KeyOrderedEventDispatcher}.
+ *
+ * @see org.springframework.data.gemfire.listener.support.KeyOrderedEventDispatcher
+ */
+public class KeyOrderedEventDispatcherUnitTests {
+
+	private KeyOrderedEventDispatcher dispatcher;
+
+	@After
+	public void tearDown() {
+		if (this.dispatcher != null) {
+			this.dispatcher.destroy();
+		}
+	}
+
+	private CqEvent mockCqEvent(Object key, Object value) {
+
+		CqEvent mockEvent = mock(CqEvent.class);
+
+		when(mockEvent.getKey()).thenReturn(key);
+		when(mockEvent.getNewValue()).thenReturn(value);
+
+		return mockEvent;
+	}
+
+	private CqEvent mockCqEvent(CqQuery query, Object key, Operation operation, Object value) {
+
+		CqEvent mockEvent = mockCqEvent(key, value);
+
+		when(mockEvent.getCq()).thenReturn(query);
+		when(mockEvent.getQueryOperation()).thenReturn(operation);
+
+		return mockEvent;
+	}
+
+	@Test
+	public void eventsForTheSameKeyAreProcessedInOrder() throws Exception {
+
+		this.dispatcher = new KeyOrderedEventDispatcher("test-", 4, 1000,
+			KeyOrderedEventDispatcher.RejectionPolicy.BLOCK);
+
+		Map<Object, List<Object>> processed = new ConcurrentHashMap<>();
+
+		CountDownLatch latch = new CountDownLatch(400);
+
+		for (int value = 0; value < 100; value++) {
+			for (int key = 0; key < 4; key++) {
+				this.dispatcher.dispatch(mockCqEvent(key, value), event -> {
+					processed.computeIfAbsent(event.getKey(), it -> new ArrayList<>()).add(event.getNewValue());
+					latch.countDown();
+				});
+			}
+		}
+
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(processed).hasSize(4);
+
+		processed.values().forEach(values -> {
+			assertThat(values).hasSize(100);
+
+			for (int index = 0; index < values.size(); index++) {
+				assertThat(values.get(index)).isEqualTo(index);
+			}
+		});
+	}
+
+	@Test
+	public void discardPolicyDropsEventsWhenQueueIsFull() throws Exception {
+
+		this.dispatcher = new KeyOrderedEventDispatcher("test-", 1, 2,
+			KeyOrderedEventDispatcher.RejectionPolicy.DISCARD);
+
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		List<Object> processed = new ArrayList<>();
+
+		this.dispatcher.dispatch(mockCqEvent("key", 0), event -> {
+			started.countDown();
+			awaitQuietly(release);
+			processed.add(event.getNewValue());
+		});
+
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		for (int value = 1; value < 5; value++) {
+			this.dispatcher.dispatch(mockCqEvent("key", value), event -> processed.add(event.getNewValue()));
+		}
+
+		assertThat(this.dispatcher.getQueueDepth()).isEqualTo(2);
+		assertThat(this.dispatcher.getRejectedCount()).isEqualTo(2);
+
+		release.countDown();
+		this.dispatcher.destroy();
+
+		assertThat(processed).containsExactly(0, 1, 2);
+	}
+
+	@Test
+	public void discardHandlerIsInvokedForDroppedEvents() throws Exception {
+
+		this.dispatcher = new KeyOrderedEventDispatcher("test-", 1, 1,
+			KeyOrderedEventDispatcher.RejectionPolicy.DISCARD);
+
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		List<Object> discarded = new ArrayList<>();
+		List<Object> processed = new ArrayList<>();
+
+		this.dispatcher.dispatch(mockCqEvent("key", 0), event -> {
+			started.countDown();
+			awaitQuietly(release);
+		});
+
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		for (int value = 1; value < 4; value++) {
+			this.dispatcher.dispatch(mockCqEvent("key", value), event -> processed.add(event.getNewValue()),
+				event -> discarded.add(event.getNewValue()));
+		}
+
+		release.countDown();
+		this.dispatcher.destroy();
+
+		assertThat(processed).containsExactly(1);
+		assertThat(discarded).containsExactly(2, 3);
+	}
+
+	@Test(expected = RejectedExecutionException.class)
+	public void abortPolicyThrowsRejectedExecutionExceptionWhenQueueIsFull() throws Exception {
+
+		this.dispatcher = new KeyOrderedEventDispatcher("test-", 1, 1,
+			KeyOrderedEventDispatcher.RejectionPolicy.ABORT);
+
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		try {
+			this.dispatcher.dispatch(mockCqEvent("key", 0), event -> {
+				started.countDown();
+				awaitQuietly(release);
+			});
+
+			assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+			this.dispatcher.dispatch(mockCqEvent("key", 1), event -> {});
+			this.dispatcher.dispatch(mockCqEvent("key", 2), event -> {});
+		}
+		finally {
+			assertThat(this.dispatcher.getRejectedCount()).isEqualTo(1);
+			release.countDown();
+		}
+	}
+
+	@Test
+	public void lagReportsAgeOfOldestQueuedEvent() throws Exception {
+
+		this.dispatcher = new KeyOrderedEventDispatcher("test-", 1, 10,
+			KeyOrderedEventDispatcher.RejectionPolicy.BLOCK);
+
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		assertThat(this.dispatcher.getLag()).isZero();
+
+		this.dispatcher.dispatch(mockCqEvent("key", 0), event -> {
+			started.countDown();
+			awaitQuietly(release);
+		});
+
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		this.dispatcher.dispatch(mockCqEvent("key", 1), event -> {});
+
+		Thread.sleep(50L);
+
+		assertThat(this.dispatcher.getQueueDepth(0)).isEqualTo(1);
+		assertThat(this.dispatcher.getLag()).isGreaterThanOrEqualTo(50L);
+
+		release.countDown();
+	}
+
+	@Test
+	public void conflatesQueuedEventsForTheSameKey() throws Exception {
+
+		this.dispatcher = new KeyOrderedEventDispatcher("test-", 1, 10,
+			KeyOrderedEventDispatcher.RejectionPolicy.BLOCK);
+
+		this.dispatcher.setConflationEnabled(true);
+
+		CqQuery mockQuery = mock(CqQuery.class);
+
+		when(mockQuery.getName()).thenReturn("TestCq");
+
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		List<String> processed = new ArrayList<>();
+
+		Consumer<CqEvent> handler = event ->
+			processed.add(String.format("%1$s:%2$s:%3$s", event.getKey(), event.getQueryOperation(),
+				event.getNewValue()));
+
+		this.dispatcher.dispatch(mockCqEvent("blocker", 0), event -> {
+			started.countDown();
+			awaitQuietly(release);
+		});
+
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// create + update => create with the latest value
+		this.dispatcher.dispatch(mockCqEvent(mockQuery, "a", Operation.CREATE, 1), handler);
+		this.dispatcher.dispatch(mockCqEvent(mockQuery, "a", Operation.UPDATE, 2), handler);
+		// create + destroy => nothing
+		this.dispatcher.dispatch(mockCqEvent(mockQuery, "b", Operation.CREATE, 1), handler);
+		this.dispatcher.dispatch(mockCqEvent(mockQuery, "b", Operation.DESTROY, null), handler);
+		// destroy + create => update
+		this.dispatcher.dispatch(mockCqEvent(mockQuery, "c", Operation.DESTROY, null), handler);
+		this.dispatcher.dispatch(mockCqEvent(mockQuery, "c", Operation.CREATE, 3), handler);
+		// update + update + destroy => destroy
+		this.dispatcher.dispatch(mockCqEvent(mockQuery, "d", Operation.UPDATE, 1), handler);
+		this.dispatcher.dispatch(mockCqEvent(mockQuery, "d", Operation.UPDATE, 2), handler);
+		this.dispatcher.dispatch(mockCqEvent(mockQuery, "d", Operation.DESTROY, null), handler);
+
+		assertThat(this.dispatcher.getQueueDepth()).isEqualTo(3);
+		assertThat(this.dispatcher.getConflatedCount()).isEqualTo(6);
+
+		release.countDown();
+		this.dispatcher.destroy();
+
+		assertThat(processed).containsExactly("a:CREATE:2", "c:UPDATE:3", "d:DESTROY:null");
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ignore) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
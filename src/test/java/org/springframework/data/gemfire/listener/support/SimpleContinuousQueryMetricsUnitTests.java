@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.listener.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link SimpleContinuousQueryMetrics}.
+ *
+ * @see org.springframework.data.gemfire.listener.support.SimpleContinuousQueryMetrics
+ */
+public class SimpleContinuousQueryMetricsUnitTests {
+
+	private final SimpleContinuousQueryMetrics metrics = new SimpleContinuousQueryMetrics();
+
+	@Test
+	public void snapshotReportsCountsTimesAndQueueDepthPerCq() {
+
+		for (int count = 0; count < 5; count++) {
+			this.metrics.onEventReceived("CqOne");
+		}
+
+		this.metrics.onEventReceived("CqTwo");
+		this.metrics.onEventsProcessed("CqOne", 2, TimeUnit.MILLISECONDS.toNanos(4),
+			TimeUnit.MILLISECONDS.toNanos(10));
+		this.metrics.onEventsProcessed("CqOne", 1, TimeUnit.MILLISECONDS.toNanos(20),
+			TimeUnit.MILLISECONDS.toNanos(30));
+		this.metrics.onEventsDiscarded("CqOne", 1);
+		this.metrics.onListenerError("CqOne", new IllegalStateException("TEST"));
+
+		assertThat(this.metrics.snapshot()).containsOnlyKeys("CqOne", "CqTwo");
+
+		ContinuousQueryMetricsSnapshot snapshot = this.metrics.snapshot().get("CqOne");
+
+		assertThat(snapshot.getName()).isEqualTo("CqOne");
+		assertThat(snapshot.getEventsReceived()).isEqualTo(5L);
+		assertThat(snapshot.getEventsProcessed()).isEqualTo(3L);
+		assertThat(snapshot.getEventsDiscarded()).isEqualTo(1L);
+		assertThat(snapshot.getQueueDepth()).isEqualTo(1L);
+		assertThat(snapshot.getErrorCount()).isEqualTo(1L);
+		assertThat(snapshot.getListenerInvocations()).isEqualTo(2L);
+		assertThat(snapshot.getAverageListenerTime()).isEqualTo(12.0d);
+		assertThat(snapshot.getMaximumListenerTime()).isEqualTo(20L);
+		assertThat(snapshot.getAverageEventAge()).isEqualTo(20.0d);
+		assertThat(snapshot.getMaximumEventAge()).isEqualTo(30L);
+		assertThat(snapshot.getListenerTimeHistogram()).containsEntry("<=5ms", 1L).containsEntry("<=50ms", 1L)
+			.containsEntry("<=1ms", 0L).containsEntry(">5000ms", 0L);
+
+		assertThat(this.metrics.snapshot().get("CqTwo").getQueueDepth()).isEqualTo(1L);
+	}
+
+	@Test
+	public void snapshotIsEmptyWhenNoCqEventsWereRecorded() {
+		assertThat(this.metrics.snapshot()).isEmpty();
+	}
+}
@@ -0,0 +1,491 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.mapping;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.geode.DataSerializable;
+import org.apache.geode.DataSerializer;
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.internal.util.BlobHelper;
+import org.apache.geode.pdx.PdxReader;
+import org.apache.geode.pdx.PdxSerializer;
+import org.apache.geode.pdx.PdxWriter;
+import org.apache.geode.pdx.ReflectionBasedAutoSerializer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.PersistenceConstructor;
+
+/**
+ * JMH benchmarks measuring the cost of serializing entities with the {@link MappingPdxSerializer}, compared with
+ * GemFire's {@link ReflectionBasedAutoSerializer} and hand-written {@link DataSerializable} implementations.
+ *
+ * Each trial runs in a forked JVM with its own embedded, non-distributed {@link Cache} configured with the serializer
+ * under test. Entities are round tripped through {@link BlobHelper}, the same path GemFire takes when storing values
+ * in serialized form, over five representative shapes: flat, nested, collections, immutable (constructor-bound)
+ * and an entity with a property handled by a custom {@link PdxSerializer}.
+ *
+ * The serialized size of each shape is reported through the {@literal serializedBytes} auxiliary counter.
+ * Run with the {@literal gc} profiler to report allocation rates along with throughput, e.g.
+ * {@literal mvn -P benchmarks verify -DskipTests -Dbenchmark.includes=MappingPdxSerializerBenchmark}
+ * or by running {@link #main(String[])}.
+ *
+ * @see org.springframework.data.gemfire.mapping.MappingPdxSerializer
+ * @see org.apache.geode.pdx.ReflectionBasedAutoSerializer
+ * @see org.apache.geode.DataSerializable
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingPdxSerializerBenchmark {
+
+	@Param({ "mapping", "reflection", "dataSerializable" })
+	private String serializer;
+
+	@Param({ "flat", "nested", "collections", "immutable", "custom" })
+	private String shape;
+
+	private Cache cache;
+
+	private Object entity;
+
+	private byte[] serializedEntity;
+
+	public static void main(String[] args) throws Exception {
+		new Runner(new OptionsBuilder()
+			.include(MappingPdxSerializerBenchmark.class.getSimpleName())
+			.addProfiler(GCProfiler.class)
+			.build()).run();
+	}
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		CacheFactory cacheFactory = new CacheFactory()
+			.set("name", getClass().getSimpleName())
+			.set("mcast-port", "0")
+			.set("locators", "")
+			.set("log-level", "error");
+
+		if ("mapping".equals(this.serializer)) {
+			MappingPdxSerializer mappingPdxSerializer = new MappingPdxSerializer();
+			mappingPdxSerializer.setCustomSerializers(Collections.singletonMap(Money.class, new MoneyPdxSerializer()));
+			cacheFactory.setPdxSerializer(mappingPdxSerializer);
+		}
+		else if ("reflection".equals(this.serializer)) {
+			cacheFactory.setPdxSerializer(new ReflectionBasedAutoSerializer(
+				MappingPdxSerializerBenchmark.class.getName().replace(".", "\\.") + "\\$.*"));
+		}
+
+		this.cache = cacheFactory.create();
+		this.entity = newEntity("dataSerializable".equals(this.serializer), this.shape);
+		this.serializedEntity = BlobHelper.serializeToBlob(this.entity);
+
+		Object copy = BlobHelper.deserializeBlob(this.serializedEntity);
+
+		if (!this.entity.equals(copy)) {
+			throw new IllegalStateException(String.format("Round trip of [%1$s] produced [%2$s]", this.entity, copy));
+		}
+
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		if (this.cache != null) {
+			this.cache.close();
+		}
+	}
+
+	@Benchmark
+	public byte[] serialize(SerializedBytes counters) throws IOException {
+		byte[] serializedEntity = BlobHelper.serializeToBlob(this.entity);
+		counters.serializedBytes += serializedEntity.length;
+		return serializedEntity;
+	}
+
+	@Benchmark
+	public Object deserialize(SerializedBytes counters) throws IOException, ClassNotFoundException {
+		counters.serializedBytes += this.serializedEntity.length;
+		return BlobHelper.deserializeBlob(this.serializedEntity);
+	}
+
+	@Benchmark
+	public Object roundTrip(SerializedBytes counters) throws IOException, ClassNotFoundException {
+		byte[] serializedEntity = BlobHelper.serializeToBlob(this.entity);
+		counters.serializedBytes += serializedEntity.length;
+		return BlobHelper.deserializeBlob(serializedEntity);
+	}
+
+	/**
+	 * Counts the bytes serialized or deserialized by each benchmark thread, reported by JMH as a secondary
+	 * throughput result; dividing it by the primary result gives the serialized size of the entity.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters
+	public static class SerializedBytes {
+
+		public long serializedBytes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			this.serializedBytes = 0;
+		}
+	}
+
+	static Object newEntity(boolean dataSerializable, String shape) {
+		Date created = new Date(1500000000000L);
+
+		switch (shape) {
+			case "flat":
+				return (dataSerializable ? new DataSerializableFlatEntity(1L, "Jon Doe", 42, 99.5d, true, created)
+					: new FlatEntity(1L, "Jon Doe", 42, 99.5d, true, created));
+			case "nested":
+				return (dataSerializable
+					? new DataSerializableNestedEntity(2L, "Jon Doe",
+						new DataSerializableAddress("100 Main St.", "Portland", "97205"),
+						new DataSerializableAddress("1 Market St.", "San Francisco", "94105"))
+					: new NestedEntity(2L, "Jon Doe", new Address("100 Main St.", "Portland", "97205"),
+						new Address("1 Market St.", "San Francisco", "94105")));
+			case "collections":
+				List<String> tags = new ArrayList<>();
+				Map<String, Integer> counts = new HashMap<>();
+
+				for (int index = 0; index < 16; index++) {
+					tags.add("tag" + index);
+					counts.put("count" + index, index);
+				}
+
+				return (dataSerializable ? new DataSerializableCollectionsEntity(3L, tags, counts)
+					: new CollectionsEntity(3L, tags, counts));
+			case "immutable":
+				return (dataSerializable ? new DataSerializableFlatEntity(4L, "Jane Doe", 7, 12.25d, false, created)
+					: new ImmutableEntity(4L, "Jane Doe", 7, 12.25d, false, created));
+			case "custom":
+				return (dataSerializable ? new DataSerializableCustomEntity(5L, "Invoice", new BigDecimal("1999.99"), "USD")
+					: new CustomEntity(5L, "Invoice", new Money(new BigDecimal("1999.99"), "USD")));
+			default:
+				throw new IllegalArgumentException(String.format("Unknown shape [%s]", shape));
+		}
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class FlatEntity {
+
+		@Id
+		private Long id;
+
+		private String name;
+		private int quantity;
+		private double price;
+		private boolean active;
+		private Date created;
+
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Address {
+
+		private String street;
+		private String city;
+		private String zip;
+
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class NestedEntity {
+
+		@Id
+		private Long id;
+
+		private String name;
+
+		private Address billingAddress;
+		private Address shippingAddress;
+
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class CollectionsEntity {
+
+		@Id
+		private Long id;
+
+		private List<String> tags;
+
+		private Map<String, Integer> counts;
+
+	}
+
+	@Getter
+	@EqualsAndHashCode
+	@ToString
+	public static class ImmutableEntity {
+
+		@Id
+		private final Long id;
+
+		private final String name;
+		private final int quantity;
+		private final double price;
+		private final boolean active;
+		private final Date created;
+
+		// required by the ReflectionBasedAutoSerializer, which does not use constructors with arguments
+		@SuppressWarnings("unused")
+		private ImmutableEntity() {
+			this(null, null, 0, 0.0d, false, null);
+		}
+
+		@PersistenceConstructor
+		public ImmutableEntity(Long id, String name, int quantity, double price, boolean active, Date created) {
+			this.id = id;
+			this.name = name;
+			this.quantity = quantity;
+			this.price = price;
+			this.active = active;
+			this.created = created;
+		}
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Money {
+
+		private BigDecimal amount;
+		private String currency;
+
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class CustomEntity {
+
+		@Id
+		private Long id;
+
+		private String description;
+
+		private Money total;
+
+	}
+
+	public static class MoneyPdxSerializer implements PdxSerializer {
+
+		@Override
+		public boolean toData(Object value, PdxWriter writer) {
+			Money money = (Money) value;
+			writer.writeObject("amount", money.getAmount());
+			writer.writeString("currency", money.getCurrency());
+			return true;
+		}
+
+		@Override
+		public Object fromData(Class<?> type, PdxReader reader) {
+			return new Money((BigDecimal) reader.readObject("amount"), reader.readString("currency"));
+		}
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class DataSerializableFlatEntity implements DataSerializable {
+
+		private Long id;
+
+		private String name;
+		private int quantity;
+		private double price;
+		private boolean active;
+		private Date created;
+
+		@Override
+		public void toData(DataOutput out) throws IOException {
+			DataSerializer.writeLong(this.id, out);
+			DataSerializer.writeString(this.name, out);
+			out.writeInt(this.quantity);
+			out.writeDouble(this.price);
+			out.writeBoolean(this.active);
+			DataSerializer.writeDate(this.created, out);
+		}
+
+		@Override
+		public void fromData(DataInput in) throws IOException, ClassNotFoundException {
+			this.id = DataSerializer.readLong(in);
+			this.name = DataSerializer.readString(in);
+			this.quantity = in.readInt();
+			this.price = in.readDouble();
+			this.active = in.readBoolean();
+			this.created = DataSerializer.readDate(in);
+		}
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class DataSerializableAddress implements DataSerializable {
+
+		private String street;
+		private String city;
+		private String zip;
+
+		@Override
+		public void toData(DataOutput out) throws IOException {
+			DataSerializer.writeString(this.street, out);
+			DataSerializer.writeString(this.city, out);
+			DataSerializer.writeString(this.zip, out);
+		}
+
+		@Override
+		public void fromData(DataInput in) throws IOException, ClassNotFoundException {
+			this.street = DataSerializer.readString(in);
+			this.city = DataSerializer.readString(in);
+			this.zip = DataSerializer.readString(in);
+		}
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class DataSerializableNestedEntity implements DataSerializable {
+
+		private Long id;
+
+		private String name;
+
+		private DataSerializableAddress billingAddress;
+		private DataSerializableAddress shippingAddress;
+
+		@Override
+		public void toData(DataOutput out) throws IOException {
+			DataSerializer.writeLong(this.id, out);
+			DataSerializer.writeString(this.name, out);
+			DataSerializer.writeObject(this.billingAddress, out);
+			DataSerializer.writeObject(this.shippingAddress, out);
+		}
+
+		@Override
+		public void fromData(DataInput in) throws IOException, ClassNotFoundException {
+			this.id = DataSerializer.readLong(in);
+			this.name = DataSerializer.readString(in);
+			this.billingAddress = DataSerializer.readObject(in);
+			this.shippingAddress = DataSerializer.readObject(in);
+		}
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class DataSerializableCollectionsEntity implements DataSerializable {
+
+		private Long id;
+
+		private List<String> tags;
+
+		private Map<String, Integer> counts;
+
+		@Override
+		public void toData(DataOutput out) throws IOException {
+			DataSerializer.writeLong(this.id, out);
+			DataSerializer.writeArrayList((ArrayList<String>) this.tags, out);
+			DataSerializer.writeHashMap((HashMap<String, Integer>) this.counts, out);
+		}
+
+		@Override
+		public void fromData(DataInput in) throws IOException, ClassNotFoundException {
+			this.id = DataSerializer.readLong(in);
+			this.tags = DataSerializer.readArrayList(in);
+			this.counts = DataSerializer.readHashMap(in);
+		}
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class DataSerializableCustomEntity implements DataSerializable {
+
+		private Long id;
+
+		private String description;
+
+		private BigDecimal amount;
+
+		private String currency;
+
+		@Override
+		public void toData(DataOutput out) throws IOException {
+			DataSerializer.writeLong(this.id, out);
+			DataSerializer.writeString(this.description, out);
+			DataSerializer.writeObject(this.amount, out);
+			DataSerializer.writeString(this.currency, out);
+		}
+
+		@Override
+		public void fromData(DataInput in) throws IOException, ClassNotFoundException {
+			this.id = DataSerializer.readLong(in);
+			this.description = DataSerializer.readString(in);
+			this.amount = DataSerializer.readObject(in);
+			this.currency = DataSerializer.readString(in);
+		}
+	}
+}
@@ -24,6 +24,12 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.geode.DataSerializable;
 import org.apache.geode.Instantiator;
@@ -86,4 +92,24 @@ public class AsmInstantiatorFactoryTest {
 		Instantiator instance2 = asmFactory.getInstantiator(SomeClass.class, 125);
 		assertSame(instance1, instance2);
 	}
+
+	@Test
+	public void testConcurrentGenerationReturnsSingleInstance() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Callable<Instantiator>> tasks = new ArrayList<Callable<Instantiator>>();
+			for (int i = 0; i < 32; i++) {
+				tasks.add(() -> asmFactory.getInstantiator(SomeClass.class, 130));
+			}
+
+			Instantiator expected = asmFactory.getInstantiator(SomeClass.class, 130);
+
+			for (Future<Instantiator> future : executor.invokeAll(tasks)) {
+				assertSame(expected, future.get());
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.serialization;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Date;
+
+import org.apache.geode.DataSerializable;
+import org.apache.geode.Instantiator;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link CompactDataSerializableCodec} and {@link CompactDataSerializableGenerator}.
+ */
+public class CompactDataSerializableCodecTest {
+
+	public enum Side { BUY, SELL }
+
+	@SuppressWarnings("serial")
+	public static class BaseTrade extends AbstractCompactDataSerializable {
+		long id;
+	}
+
+	@SuppressWarnings("serial")
+	@CompactSerializable(id = 301)
+	public static class Trade extends BaseTrade {
+		int quantity;
+		double price;
+		boolean settled;
+		Integer version;
+		Long sequence;
+		String symbol;
+		Side side;
+		Date timestamp;
+		byte[] payload;
+		transient String ignored;
+	}
+
+	@SuppressWarnings("serial")
+	public static class OptionTrade extends Trade {
+		double strike;
+		String underlying;
+	}
+
+	@SuppressWarnings("serial")
+	public static class NotAnnotated extends AbstractCompactDataSerializable {
+	}
+
+	private static byte[] serialize(DataSerializable source) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		source.toData(new DataOutputStream(bytes));
+		return bytes.toByteArray();
+	}
+
+	private static <T extends DataSerializable> T deserialize(byte[] data, T target) throws Exception {
+		target.fromData(new DataInputStream(new ByteArrayInputStream(data)));
+		return target;
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		Trade trade = new Trade();
+		trade.id = 42L;
+		trade.quantity = -7;
+		trade.price = 101.25d;
+		trade.settled = true;
+		trade.version = 3;
+		trade.sequence = Long.MAX_VALUE;
+		trade.symbol = "VMW\u00e9";
+		trade.side = Side.SELL;
+		trade.timestamp = new Date(1234567890L);
+		trade.payload = new byte[] { 1, 2, 3 };
+		trade.ignored = "ignored";
+
+		Trade copy = deserialize(serialize(trade), new Trade());
+
+		assertEquals(42L, copy.id);
+		assertEquals(-7, copy.quantity);
+		assertEquals(101.25d, copy.price, 0.0d);
+		assertTrue(copy.settled);
+		assertEquals(Integer.valueOf(3), copy.version);
+		assertEquals(Long.valueOf(Long.MAX_VALUE), copy.sequence);
+		assertEquals("VMW\u00e9", copy.symbol);
+		assertEquals(Side.SELL, copy.side);
+		assertEquals(new Date(1234567890L), copy.timestamp);
+		assertArrayEquals(new byte[] { 1, 2, 3 }, copy.payload);
+		assertNull(copy.ignored);
+	}
+
+	@Test
+	public void testNullFieldsOnlyTakeBitmapSpace() throws Exception {
+		Trade trade = new Trade();
+
+		byte[] data = serialize(trade);
+
+		// 1 bitmap byte for 6 reference fields, 1 byte each for id and quantity,
+		// 8 bytes for price and 1 byte for settled
+		assertEquals(12, data.length);
+
+		Trade copy = new Trade();
+		copy.symbol = "stale";
+		copy.version = 1;
+
+		deserialize(data, copy);
+
+		assertNull(copy.symbol);
+		assertNull(copy.version);
+		assertNull(copy.payload);
+	}
+
+	@Test
+	public void testVarIntEncoding() throws Exception {
+		int[] values = { 0, 1, -1, 63, -64, 64, 8191, Integer.MAX_VALUE, Integer.MIN_VALUE };
+		long[] longValues = { 0L, -1L, 1L << 40, Long.MAX_VALUE, Long.MIN_VALUE };
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+
+		for (int value : values) {
+			CompactDataSerializableCodec.writeVarInt(value, out);
+		}
+
+		for (long value : longValues) {
+			CompactDataSerializableCodec.writeVarLong(value, out);
+		}
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+
+		for (int value : values) {
+			assertEquals(value, CompactDataSerializableCodec.readVarInt(in));
+		}
+
+		for (long value : longValues) {
+			assertEquals(value, CompactDataSerializableCodec.readVarLong(in));
+		}
+
+		bytes.reset();
+		CompactDataSerializableCodec.writeVarInt(-64, out);
+		assertEquals(1, bytes.size());
+	}
+
+	@Test
+	public void testInstantiatorUsesAnnotationId() throws Exception {
+		Instantiator instantiator = new CompactDataSerializableGenerator().getInstantiator(Trade.class);
+
+		assertEquals(301, instantiator.getId());
+		assertEquals(Trade.class, instantiator.newInstance().getClass());
+	}
+
+	@Test
+	public void testSubclassOfAnnotatedTypeRoundTrips() throws Exception {
+		OptionTrade trade = new OptionTrade();
+		trade.id = 11L;
+		trade.quantity = 5;
+		trade.strike = 101.5d;
+		trade.underlying = "VMW";
+
+		OptionTrade copy = deserialize(serialize(trade), new OptionTrade());
+
+		assertEquals(11L, copy.id);
+		assertEquals(5, copy.quantity);
+		assertEquals(101.5d, copy.strike, 0.0d);
+		assertEquals("VMW", copy.underlying);
+		assertNull(copy.symbol);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInstantiatorOfSubclassInheritingAnnotationIdIsRejected() {
+		new CompactDataSerializableGenerator().getInstantiator(OptionTrade.class);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnannotatedTypeIsRejected() throws Exception {
+		serialize(new NotAnnotated());
+	}
+}
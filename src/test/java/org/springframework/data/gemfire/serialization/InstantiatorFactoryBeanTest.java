@@ -0,0 +1,143 @@
+/*
+ * Copyright 2010-2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.gemfire.serialization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.geode.DataSerializable;
+import org.apache.geode.Instantiator;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link InstantiatorFactoryBean}.
+ */
+public class InstantiatorFactoryBeanTest {
+
+	@SuppressWarnings("serial")
+	public static class FirstClass implements DataSerializable {
+
+		public void fromData(DataInput in) throws IOException, ClassNotFoundException {
+		}
+
+		public void toData(DataOutput out) throws IOException {
+		}
+	}
+
+	@SuppressWarnings("serial")
+	public static class SecondClass implements DataSerializable {
+
+		public void fromData(DataInput in) throws IOException, ClassNotFoundException {
+		}
+
+		public void toData(DataOutput out) throws IOException {
+		}
+	}
+
+	@SuppressWarnings("serial")
+	public static class ThirdClass implements DataSerializable {
+
+		public void fromData(DataInput in) throws IOException, ClassNotFoundException {
+		}
+
+		public void toData(DataOutput out) throws IOException {
+		}
+	}
+
+	private List<Instantiator> generate(boolean parallel) throws Exception {
+		Map<Class<? extends DataSerializable>, Integer> types =
+			new LinkedHashMap<Class<? extends DataSerializable>, Integer>();
+
+		types.put(FirstClass.class, 201);
+		types.put(SecondClass.class, 202);
+		types.put(ThirdClass.class, 203);
+
+		InstantiatorFactoryBean factoryBean = new InstantiatorFactoryBean();
+		factoryBean.setBeanClassLoader(getClass().getClassLoader());
+		factoryBean.setCustomTypes(types);
+		factoryBean.setAutoRegister(false);
+		factoryBean.setParallel(parallel);
+		factoryBean.afterPropertiesSet();
+
+		return new ArrayList<Instantiator>(factoryBean.getObject());
+	}
+
+	@Test
+	public void testSequentialGeneration() throws Exception {
+		List<Instantiator> instantiators = generate(false);
+
+		assertEquals(3, instantiators.size());
+		assertEquals(FirstClass.class, instantiators.get(0).getInstantiatedClass());
+		assertEquals(202, instantiators.get(1).getId());
+	}
+
+	@Test
+	public void testParallelGenerationPreservesOrder() throws Exception {
+		List<Instantiator> instantiators = generate(true);
+
+		assertEquals(3, instantiators.size());
+		assertEquals(FirstClass.class, instantiators.get(0).getInstantiatedClass());
+		assertEquals(SecondClass.class, instantiators.get(1).getInstantiatedClass());
+		assertEquals(ThirdClass.class, instantiators.get(2).getInstantiatedClass());
+		assertEquals(203, instantiators.get(2).getId());
+		assertEquals(ThirdClass.class, instantiators.get(2).newInstance().getClass());
+	}
+
+	@Test
+	public void testCompactTypeIsRegisteredUnderDeclaredId() throws Exception {
+		InstantiatorFactoryBean factoryBean = new InstantiatorFactoryBean();
+		factoryBean.setBeanClassLoader(getClass().getClassLoader());
+		factoryBean.setCompactTypes(Collections.singletonList(CompactDataSerializableCodecTest.Trade.class));
+		factoryBean.setAutoRegister(false);
+		factoryBean.afterPropertiesSet();
+
+		Instantiator instantiator = factoryBean.getObject().iterator().next();
+
+		assertEquals(CompactDataSerializableCodecTest.Trade.class, instantiator.getInstantiatedClass());
+		assertEquals(301, instantiator.getId());
+	}
+
+	@Test
+	public void testCompactSubclassInheritingAnnotationIdIsRejected() throws Exception {
+		InstantiatorFactoryBean factoryBean = new InstantiatorFactoryBean();
+		factoryBean.setBeanClassLoader(getClass().getClassLoader());
+		factoryBean.setCompactTypes(Arrays.<Class<? extends DataSerializable>>asList(
+			CompactDataSerializableCodecTest.Trade.class, CompactDataSerializableCodecTest.OptionTrade.class));
+		factoryBean.setAutoRegister(false);
+
+		try {
+			factoryBean.afterPropertiesSet();
+			fail("Expected IllegalArgumentException");
+		}
+		catch (IllegalArgumentException expected) {
+			assertTrue(expected.getMessage().contains(CompactDataSerializableCodecTest.OptionTrade.class.getName()));
+			assertNull(factoryBean.getObject());
+		}
+	}
+}
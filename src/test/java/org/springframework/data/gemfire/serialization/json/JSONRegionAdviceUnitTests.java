@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.springframework.data.gemfire.serialization.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.pdx.PdxInstance;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the bulk conversion support in {@link JSONRegionAdvice}.
+ *
+ * @see org.springframework.data.gemfire.serialization.json.JSONRegionAdvice
+ */
+public class JSONRegionAdviceUnitTests {
+
+	private JSONRegionAdvice advice;
+
+	private ProceedingJoinPoint joinPoint;
+
+	@Before
+	@SuppressWarnings("unchecked")
+	public void setup() {
+		Region<Object, Object> region = mock(Region.class);
+
+		when(region.getName()).thenReturn("jsonRegion");
+
+		this.joinPoint = mock(ProceedingJoinPoint.class);
+
+		when(this.joinPoint.getTarget()).thenReturn(region);
+
+		this.advice = new JSONRegionAdvice();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void putAllSubmitsChunks() throws Throwable {
+		Map<Object, Object> entries = new LinkedHashMap<>();
+
+		for (int index = 0; index < 5; index++) {
+			entries.put("key" + index, mock(PdxInstance.class));
+		}
+
+		List<Map<Object, Object>> chunks = new ArrayList<>();
+
+		when(this.joinPoint.getArgs()).thenReturn(new Object[] { entries });
+		when(this.joinPoint.proceed(any(Object[].class))).thenAnswer(invocation -> {
+			chunks.add((Map<Object, Object>) ((Object[]) invocation.getArgument(0))[0]);
+			return null;
+		});
+
+		this.advice.setPutAllChunkSize(2);
+		this.advice.setParallelConversionThreshold(1);
+		this.advice.putAll(this.joinPoint);
+
+		verify(this.joinPoint, times(3)).proceed(any(Object[].class));
+
+		assertThat(chunks).extracting(Map::size).containsExactly(2, 2, 1);
+
+		Map<Object, Object> submitted = new HashMap<>();
+
+		chunks.forEach(submitted::putAll);
+
+		assertThat(submitted).isEqualTo(entries);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void putAllWithoutChunkingProceedsOnce() throws Throwable {
+		Map<Object, Object> entries = new LinkedHashMap<>();
+
+		entries.put("key", mock(PdxInstance.class));
+
+		when(this.joinPoint.getArgs()).thenReturn(new Object[] { entries });
+
+		this.advice.putAll(this.joinPoint);
+
+		verify(this.joinPoint, times(1)).proceed(any(Object[].class));
+	}
+
+	@Test
+	public void valuesConvertedInParallelKeepOrder() throws Throwable {
+		List<Object> values = new ArrayList<>();
+
+		for (int index = 0; index < 100; index++) {
+			values.add("value" + index);
+		}
+
+		when(this.joinPoint.proceed()).thenReturn(values);
+
+		this.advice.setParallelConversionThreshold(8);
+
+		assertThat(this.advice.values(this.joinPoint)).containsExactlyElementsOf(values);
+	}
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.springframework.data.gemfire.serialization.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.geode.cache.query.internal.ResultsBag;
+import org.apache.geode.cache.query.internal.types.ObjectTypeImpl;
+import org.apache.geode.cache.query.types.CollectionType;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link JSONSelectResults}.
+ *
+ * @see org.springframework.data.gemfire.serialization.json.JSONSelectResults
+ */
+public class JSONSelectResultsUnitTests {
+
+	@Test
+	public void convertsElementsAndDescribesThemAsStrings() {
+
+		ResultsBag results = new ResultsBag();
+
+		results.setElementType(new ObjectTypeImpl(Integer.class));
+		results.add(1);
+		results.add(2);
+
+		JSONSelectResults jsonResults = new JSONSelectResults(results, value -> String.format("{\"value\":%s}", value));
+
+		CollectionType collectionType = jsonResults.getCollectionType();
+
+		assertThat(jsonResults).containsExactlyInAnyOrder("{\"value\":1}", "{\"value\":2}");
+		assertThat(collectionType.resolveClass()).isEqualTo(results.getCollectionType().resolveClass());
+		assertThat(collectionType.getElementType().resolveClass()).isEqualTo(String.class);
+	}
+}
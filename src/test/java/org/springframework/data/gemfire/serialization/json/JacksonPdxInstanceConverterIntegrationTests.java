@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.springframework.data.gemfire.serialization.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.pdx.JSONFormatter;
+import org.apache.geode.pdx.PdxInstance;
+import org.apache.geode.pdx.internal.PdxInstanceImpl;
+import org.apache.geode.pdx.internal.PdxType;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Integration tests for {@link JacksonPdxInstanceConverter} asserting that it creates the same PDX types
+ * as {@link JSONFormatter}.
+ *
+ * @see org.apache.geode.pdx.JSONFormatter
+ * @see org.springframework.data.gemfire.serialization.json.JacksonPdxInstanceConverter
+ */
+public class JacksonPdxInstanceConverterIntegrationTests {
+
+	private static final String JSON = "{\"name\":\"Jon\",\"age\":42,\"height\":180,\"salary\":100000,"
+		+ "\"big\":12345678901,\"active\":true,\"score\":1.5,\"tags\":[\"a\",1],"
+		+ "\"address\":{\"city\":\"Portland\"},\"none\":null}";
+
+	private static Cache gemfireCache;
+
+	@BeforeClass
+	public static void setupGemFire() {
+		gemfireCache = new CacheFactory()
+			.set("name", JacksonPdxInstanceConverterIntegrationTests.class.getSimpleName())
+			.set("mcast-port", "0")
+			.set("log-level", "warning")
+			.create();
+	}
+
+	@AfterClass
+	public static void tearDown() {
+		gemfireCache.close();
+		gemfireCache = null;
+	}
+
+	private static PdxType pdxTypeOf(PdxInstance pdxInstance) {
+		return ((PdxInstanceImpl) pdxInstance).getPdxType();
+	}
+
+	@Test
+	public void createsSamePdxTypeAsJsonFormatter() throws Exception {
+		PdxInstance expected = JSONFormatter.fromJSON(JSON);
+		PdxInstance actual = new JacksonPdxInstanceConverter(gemfireCache).fromJson(JSON);
+
+		assertThat(pdxTypeOf(actual)).isEqualTo(pdxTypeOf(expected));
+		assertThat(pdxTypeOf(actual).getTypeId()).isEqualTo(pdxTypeOf(expected).getTypeId());
+		assertThat(pdxTypeOf((PdxInstance) actual.getField("address")))
+			.isEqualTo(pdxTypeOf((PdxInstance) expected.getField("address")));
+		assertThat(actual).isEqualTo(expected);
+	}
+
+	@Test
+	public void createsPdxInstancesWithoutDomainClass() throws Exception {
+		PdxInstance pdxInstance = new JacksonPdxInstanceConverter(gemfireCache).fromJson(JSON);
+
+		assertThat(pdxInstance.getClassName()).isEqualTo(JSONFormatter.JSON_CLASSNAME);
+		assertThat(pdxTypeOf(pdxInstance).getNoDomainClass()).isTrue();
+		assertThat(pdxInstance.getObject()).isSameAs(pdxInstance);
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.springframework.data.gemfire.serialization.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.Queue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.apache.geode.pdx.PdxInstance;
+import org.apache.geode.pdx.PdxInstanceFactory;
+import org.junit.Test;
+import org.springframework.data.gemfire.repository.sample.Person;
+
+/**
+ * Unit tests for {@link JacksonPdxInstanceConverter}.
+ *
+ * @see org.springframework.data.gemfire.serialization.json.JacksonPdxInstanceConverter
+ */
+public class JacksonPdxInstanceConverterUnitTests {
+
+	private PdxInstance mockPdxInstance(String[] fieldNames, Object... values) {
+		PdxInstance pdxInstance = mock(PdxInstance.class);
+
+		when(pdxInstance.getFieldNames()).thenReturn(Arrays.asList(fieldNames));
+
+		for (int index = 0; index < fieldNames.length; index++) {
+			when(pdxInstance.getField(fieldNames[index])).thenReturn(values[index]);
+		}
+
+		return pdxInstance;
+	}
+
+	@Test
+	public void writesPdxInstanceAsJson() throws Exception {
+		PdxInstance address = mockPdxInstance(new String[] { "city" }, "Portland");
+
+		PdxInstance person = mockPdxInstance(new String[] { "name", "age", "tags", "address", "nickname" },
+			"Jon", 42, Arrays.asList("a", "b"), address, null);
+
+		JacksonPdxInstanceConverter converter = new JacksonPdxInstanceConverter(new ObjectMapper(), () -> null);
+
+		String expected = "{\"name\":\"Jon\",\"age\":42,\"tags\":[\"a\",\"b\"],"
+			+ "\"address\":{\"city\":\"Portland\"},\"nickname\":null}";
+
+		assertThat(converter.toJson(person, false)).isEqualTo(expected);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		converter.write(person, out);
+
+		assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(expected);
+	}
+
+	@Test
+	public void readsJsonIntoPdxInstance() throws Exception {
+		PdxInstanceFactory outerFactory = mock(PdxInstanceFactory.class);
+		PdxInstanceFactory innerFactory = mock(PdxInstanceFactory.class);
+		PdxInstance outer = mock(PdxInstance.class);
+		PdxInstance inner = mock(PdxInstance.class);
+
+		when(outerFactory.create()).thenReturn(outer);
+		when(innerFactory.create()).thenReturn(inner);
+
+		Queue<PdxInstanceFactory> factories = new LinkedList<>(Arrays.asList(outerFactory, innerFactory));
+
+		JacksonPdxInstanceConverter converter = new JacksonPdxInstanceConverter(new ObjectMapper(), factories::poll);
+
+		PdxInstance pdxInstance = converter.fromJson("{\"name\":\"Jon\",\"age\":42,\"height\":180,"
+			+ "\"salary\":100000,\"big\":12345678901,"
+			+ "\"active\":true,\"score\":1.5,\"tags\":[\"a\",1],\"address\":{\"city\":\"Portland\"},\"none\":null}");
+
+		assertThat(pdxInstance).isSameAs(outer);
+
+		verify(outerFactory).writeString("name", "Jon");
+		verify(outerFactory).writeByte("age", (byte) 42);
+		verify(outerFactory).writeShort("height", (short) 180);
+		verify(outerFactory).writeInt("salary", 100000);
+		verify(outerFactory).writeLong("big", 12345678901L);
+		verify(outerFactory).writeBoolean("active", true);
+		verify(outerFactory).writeDouble("score", 1.5d);
+		verify(outerFactory).writeObject("tags", Arrays.asList("a", (byte) 1));
+		verify(outerFactory).writeObject("address", inner);
+		verify(outerFactory).writeObject("none", null);
+		verify(innerFactory).writeString("city", "Portland");
+	}
+
+	@Test
+	public void convertsObjectWithoutIntermediateString() throws Exception {
+		PdxInstanceFactory factory = mock(PdxInstanceFactory.class);
+		PdxInstance pdxInstance = mock(PdxInstance.class);
+
+		when(factory.create()).thenReturn(pdxInstance);
+
+		JacksonPdxInstanceConverter converter =
+			new JacksonPdxInstanceConverter(new ObjectMapper(), Collections.singletonList(factory).iterator()::next);
+
+		assertThat(converter.fromObject(new Person(1L, "Jon", "Doe"))).isSameAs(pdxInstance);
+
+		verify(factory).writeString("firstname", "Jon");
+		verify(factory).writeString("lastname", "Doe");
+	}
+}